@@ -0,0 +1,197 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.net.protocol.LanePacket;
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+import com.bulletstream.server.net.BroadcastStage;
+import com.bulletstream.server.net.NettyTransport;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * JMH Benchmark for state fan-out to many loopback TCP connections: encode once and write
+ * retained slices per event loop (BroadcastStage) vs. encode and writeAndFlush per client.
+ * Each operation is one broadcast, timed until every client has received it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    @Param({"1000"})
+    private int connections;
+
+    @Param({"1000"})
+    private int entities;
+
+    @Param({"1", "4"})
+    private int ioThreads;
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup serverGroup;
+    private EventLoopGroup clientGroup;
+    private Channel listener;
+    private Channel[] serverChannels;
+    private Channel[] clientChannels;
+    private BroadcastStage stage;
+    private final AtomicLong received = new AtomicLong();
+    private long expected;
+
+    /**
+     * Tick-thread cost per iteration (the part that competes with the simulation);
+     * per broadcast = encodeNanos / broadcasts and submitNanos / broadcasts.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Cost {
+        public long encodeNanos;
+        public long submitNanos;
+        public long broadcasts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            encodeNanos = 0;
+            submitNanos = 0;
+            broadcasts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        bossGroup = NettyTransport.newEventLoopGroup(1);
+        serverGroup = NettyTransport.newEventLoopGroup(ioThreads);
+        clientGroup = NettyTransport.newEventLoopGroup(1);
+        ConcurrentLinkedQueue<Channel> accepted = new ConcurrentLinkedQueue<>();
+        listener = new ServerBootstrap()
+                .group(bossGroup, serverGroup)
+                .channel(NettyTransport.serverChannelType())
+                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        accepted.add(ch);
+                    }
+                })
+                .bind("127.0.0.1", 0).sync().channel();
+
+        ChannelHandler counter = new ByteCounter(received);
+        Bootstrap client = new Bootstrap()
+                .group(clientGroup)
+                .channel(Epoll.isAvailable() ? EpollSocketChannel.class : NioSocketChannel.class)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .handler(counter);
+        clientChannels = new Channel[connections];
+        for (int c = 0; c < connections; c++) {
+            clientChannels[c] = client.connect(listener.localAddress()).sync().channel();
+        }
+        while (accepted.size() < connections) {
+            Thread.sleep(1);
+        }
+        serverChannels = accepted.toArray(new Channel[0]);
+        stage = new BroadcastStage(PooledByteBufAllocator.DEFAULT, null,
+                                   ProtocolCodec.stateBytes(entities), connections);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (Channel channel : clientChannels) {
+            channel.close();
+        }
+        listener.close().syncUninterruptibly();
+        clientGroup.shutdownGracefully().syncUninterruptibly();
+        serverGroup.shutdownGracefully().syncUninterruptibly();
+        bossGroup.shutdownGracefully().syncUninterruptibly();
+    }
+
+    @Benchmark
+    public long encodeOnceFanOut(Cost cost) {
+        long start = System.nanoTime();
+        ByteBuffer buf = stage.begin();
+        encodeState(buf);
+        stage.seal(buf);
+        for (int c = 0; c < serverChannels.length; c++) {
+            stage.add(serverChannels[c]);
+        }
+        stage.publish();
+        cost.encodeNanos += stage.getLastEncodeNanos();
+        cost.submitNanos += System.nanoTime() - start;
+        cost.broadcasts++;
+        return awaitDelivery(stage.getLastBytesOut());
+    }
+
+    @Benchmark
+    public long encodePerClient(Cost cost) {
+        long start = System.nanoTime();
+        long bytes = 0;
+        for (int c = 0; c < serverChannels.length; c++) {
+            Channel channel = serverChannels[c];
+            long encodeStart = System.nanoTime();
+            ByteBuf buf = channel.alloc().directBuffer(ProtocolCodec.stateBytes(entities));
+            ByteBuffer nio = buf.internalNioBuffer(0, buf.capacity());
+            int offset = nio.position();
+            encodeState(nio);
+            buf.writerIndex(nio.position() - offset);
+            cost.encodeNanos += System.nanoTime() - encodeStart;
+            bytes += buf.readableBytes();
+            channel.writeAndFlush(buf, channel.voidPromise());
+        }
+        cost.submitNanos += System.nanoTime() - start;
+        cost.broadcasts++;
+        return awaitDelivery(bytes);
+    }
+
+    private void encodeState(ByteBuffer buf) {
+        int start = ProtocolCodec.beginState(buf, LanePacket.LANE_RELIABLE, 1L, 1L);
+        for (int i = 0; i < entities; i++) {
+            ProtocolCodec.putEntity(buf, i, i * 1.5f, i * 2.5f);
+        }
+        ProtocolCodec.endState(buf, start);
+    }
+
+    private long awaitDelivery(long bytes) {
+        expected += bytes;
+        while (received.get() < expected) {
+            LockSupport.parkNanos(10_000L);
+        }
+        return expected;
+    }
+
+    @ChannelHandler.Sharable
+    private static final class ByteCounter extends ChannelInboundHandlerAdapter {
+        private final AtomicLong received;
+
+        ByteCounter(AtomicLong received) {
+            this.received = received;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ByteBuf buf = (ByteBuf) msg;
+            received.addAndGet(buf.readableBytes());
+            buf.release();
+        }
+    }
+}
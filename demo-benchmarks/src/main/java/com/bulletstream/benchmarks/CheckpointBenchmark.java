@@ -0,0 +1,110 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.checkpoint.CheckpointReader;
+import com.bulletstream.core.checkpoint.CheckpointWriter;
+import com.bulletstream.core.storage.ComponentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for world checkpoints of a full world (one in eight indices free):
+ * {@code capture} is what the tick pays ({@link GameWorld#writeCheckpoint} into a native staging
+ * buffer), {@code writeFile} a synchronous checkpoint straight to a mapped file including
+ * {@code force}, and {@code restore} mapping that file back into a second world.
+ * The written size is reported as the {@code bytes} / {@code checkpoints} aux counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2G", "--add-modules=jdk.incubator.vector"})
+public class CheckpointBenchmark {
+
+    private static final float WORLD_SIZE = 4096.0f;
+
+    @Param({"heap", "offheap"})
+    private String storage;
+
+    @Param({"1048576"})
+    private int entities;
+
+    private GameWorld world;
+    private GameWorld target;
+    private Arena arena;
+    private MemorySegment staging;
+    private Path dir;
+    private Path file;
+    private long tick;
+
+    /**
+     * Checkpoint output per iteration; bytes per checkpoint = bytes / checkpoints.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+        public long checkpoints;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            checkpoints = 0;
+        }
+
+        long record(long checkpointBytes) {
+            bytes += checkpointBytes;
+            checkpoints++;
+            return checkpointBytes;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        world = new GameWorld(ComponentStore.forName(storage, entities));
+        Random random = new Random(42);
+        for (int i = 0; i < entities; i++) {
+            world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                              random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, GameWorld.FLAG_BULLET);
+        }
+        for (int i = 0; i < entities; i += 8) {
+            world.despawnEntity(world.getEntityId(i));
+        }
+        target = new GameWorld(ComponentStore.forName(storage, entities));
+        arena = Arena.ofShared();
+        staging = arena.allocate(GameWorld.maxCheckpointBytes(entities), 8);
+        dir = Files.createTempDirectory("checkpoint-bench");
+        file = dir.resolve("world.ckpt");
+        CheckpointWriter.write(world, 0L, file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        arena.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public long capture(Size size) {
+        return size.record(world.writeCheckpoint(staging, tick++));
+    }
+
+    @Benchmark
+    public long writeFile(Size size) throws IOException {
+        return size.record(CheckpointWriter.write(world, tick++, file));
+    }
+
+    @Benchmark
+    public long restore() throws IOException {
+        return CheckpointReader.restore(target, file);
+    }
+}
@@ -0,0 +1,160 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.net.protocol.AdminCommand;
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.core.net.protocol.LanePacket;
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+import com.bulletstream.core.net.protocol.StatePayload;
+import io.fury.Fury;
+import io.fury.config.Language;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark comparing the hand-written ProtocolCodec against Fury for
+ * encode/decode time and bytes per message (the "bytes" and "messages" aux counters).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int entities;
+
+    private Fury fury;
+    private ByteBuffer buffer;
+    private LanePacket inputPacket;
+    private LanePacket statePacket;
+
+    private ByteBuffer encodedInput;
+    private ByteBuffer encodedState;
+    private byte[] furyInput;
+    private byte[] furyState;
+
+    private final InputPayload inputScratch = new InputPayload();
+    private final StatePayload stateScratch = new StatePayload();
+    private final ProtocolCodec.StateView stateView = new ProtocolCodec.StateView();
+
+    /**
+     * Encoded output per iteration; bytes per message = bytes / messages.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+        public long messages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            messages = 0;
+        }
+
+        void record(int messageBytes) {
+            bytes += messageBytes;
+            messages++;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fury = Fury.builder()
+                .withLanguage(Language.JAVA)
+                .requireClassRegistration(false)
+                .build();
+        fury.register(LanePacket.class);
+        fury.register(InputPayload.class);
+        fury.register(StatePayload.class);
+        fury.register(AdminCommand.class);
+
+        float[] data = new float[entities * 3];
+        for (int i = 0; i < entities; i++) {
+            data[i * 3] = i;
+            data[i * 3 + 1] = i * 1.5f;
+            data[i * 3 + 2] = i * 2.5f;
+        }
+        inputPacket = new LanePacket(LanePacket.LANE_UNRELIABLE, 1L,
+                                     new InputPayload(42L, InputPayload.INPUT_UP, 0.5f));
+        statePacket = new LanePacket(LanePacket.LANE_UNRELIABLE, 1L, new StatePayload(42L, entities, data));
+
+        buffer = ByteBuffer.allocateDirect(ProtocolCodec.stateBytes(entities));
+        encodedInput = ByteBuffer.allocateDirect(ProtocolCodec.INPUT_BYTES);
+        ProtocolCodec.encode(encodedInput, inputPacket);
+        encodedState = ByteBuffer.allocateDirect(ProtocolCodec.stateBytes(entities));
+        ProtocolCodec.encode(encodedState, statePacket);
+        furyInput = fury.serialize(inputPacket);
+        furyState = fury.serialize(statePacket);
+    }
+
+    @Benchmark
+    public int encodeInputCodec(Size size) {
+        buffer.clear();
+        ProtocolCodec.encode(buffer, inputPacket);
+        size.record(buffer.position());
+        return buffer.position();
+    }
+
+    @Benchmark
+    public byte[] encodeInputFury(Size size) {
+        byte[] bytes = fury.serialize(inputPacket);
+        size.record(bytes.length);
+        return bytes;
+    }
+
+    @Benchmark
+    public InputPayload decodeInputCodec() {
+        encodedInput.clear();
+        ProtocolCodec.decodeInput(encodedInput, inputScratch);
+        return inputScratch;
+    }
+
+    @Benchmark
+    public Object decodeInputFury() {
+        return fury.deserialize(furyInput);
+    }
+
+    @Benchmark
+    public int encodeStateCodec(Size size) {
+        buffer.clear();
+        ProtocolCodec.encode(buffer, statePacket);
+        size.record(buffer.position());
+        return buffer.position();
+    }
+
+    @Benchmark
+    public byte[] encodeStateFury(Size size) {
+        byte[] bytes = fury.serialize(statePacket);
+        size.record(bytes.length);
+        return bytes;
+    }
+
+    @Benchmark
+    public StatePayload decodeStateCodec() {
+        encodedState.clear();
+        ProtocolCodec.decodeState(encodedState, stateScratch);
+        return stateScratch;
+    }
+
+    /** Zero-copy read: wrap the message and touch every entity in place. */
+    @Benchmark
+    public float readStateViewCodec() {
+        encodedState.clear();
+        ProtocolCodec.StateView view = stateView.wrap(encodedState);
+        float sum = 0.0f;
+        for (int i = 0; i < view.getEntityCount(); i++) {
+            sum += view.getX(i) + view.getY(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Object decodeStateFury() {
+        return fury.deserialize(furyState);
+    }
+}
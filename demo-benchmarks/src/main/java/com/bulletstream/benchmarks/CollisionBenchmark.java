@@ -0,0 +1,60 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SortedSpatialHash;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.SpatialIndex;
+import com.bulletstream.core.system.CollisionSystem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for CollisionSystem (hash rebuild + bullet narrowphase) at 100k entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4G", "-Xms4G", "--add-modules=jdk.incubator.vector"})
+public class CollisionBenchmark {
+
+    private static final int ENTITIES = 100_000;
+    private static final float WORLD_SIZE = 8192.0f;
+
+    /** Fraction of entities that are bullets; the rest are players/enemies. */
+    @Param({"0.9"})
+    private double bulletRatio;
+
+    @Param({"linked", "sorted"})
+    private String layout;
+
+    private GameWorld world;
+    private CollisionSystem collisions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = new GameWorld(ENTITIES);
+        SpatialIndex index = "sorted".equals(layout)
+                ? new SortedSpatialHash(WORLD_SIZE, WORLD_SIZE, ENTITIES)
+                : new SpatialHash(WORLD_SIZE, WORLD_SIZE, ENTITIES);
+        collisions = new CollisionSystem(index, ENTITIES);
+
+        Random random = new Random(42);
+        int bullets = (int) (ENTITIES * bulletRatio);
+        for (int i = 0; i < ENTITIES; i++) {
+            boolean bullet = i < bullets;
+            byte entityFlags = bullet ? GameWorld.FLAG_BULLET : (i % 2 == 0 ? GameWorld.FLAG_PLAYER : GameWorld.FLAG_ENEMY);
+            int entityId = world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                                             0.0f, 0.0f, entityFlags);
+            world.setRadius(world.indexOf(entityId), bullet ? 4.0f : 16.0f);
+        }
+    }
+
+    @Benchmark
+    public int detectCollisions() {
+        return collisions.update(world);
+    }
+}
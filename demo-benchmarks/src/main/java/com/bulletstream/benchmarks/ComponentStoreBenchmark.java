@@ -0,0 +1,76 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.net.snapshot.DeltaSnapshotCodec;
+import com.bulletstream.core.net.snapshot.Snapshot;
+import com.bulletstream.core.net.snapshot.SnapshotRing;
+import com.bulletstream.core.storage.ComponentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for heap arrays vs off-heap MemorySegment component storage at 1M entities,
+ * over the three passes that read every column each tick: integration, spatial hash insertion
+ * and snapshot capture (state packing).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4G", "-Xms4G", "--add-modules=jdk.incubator.vector"})
+public class ComponentStoreBenchmark {
+
+    private static final float DT = 1.0f / 60.0f;
+    private static final float WORLD_SIZE = 16384.0f;
+
+    @Param({"heap", "offheap"})
+    private String storage;
+
+    @Param({"1000000"})
+    private int entities;
+
+    private GameWorld world;
+    private SpatialHash hash;
+    private DeltaSnapshotCodec codec;
+    private SnapshotRing ring;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = new GameWorld(ComponentStore.forName(storage, entities));
+        Random random = new Random(42);
+        for (int i = 0; i < entities; i++) {
+            world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                              random.nextFloat() * 2.0f - 1.0f, random.nextFloat() * 2.0f - 1.0f,
+                              GameWorld.FLAG_BULLET);
+        }
+        hash = new SpatialHash(WORLD_SIZE, WORLD_SIZE, entities);
+        codec = new DeltaSnapshotCodec(DeltaSnapshotCodec.DEFAULT_QUANTUM, DT, DeltaSnapshotCodec.DEFAULT_THRESHOLD);
+        ring = new SnapshotRing(2, entities);
+    }
+
+    @Benchmark
+    public void update() {
+        world.update(DT);
+    }
+
+    @Benchmark
+    public void spatialInsert() {
+        hash.clear();
+        int active = world.getActiveCount();
+        for (int s = 0; s < active; s++) {
+            int index = world.getActiveIndex(s);
+            hash.insert(index, world.getPositionX(index), world.getPositionY(index));
+        }
+        hash.build();
+    }
+
+    @Benchmark
+    public Snapshot capture() {
+        return codec.capture(world, tick++, ring);
+    }
+}
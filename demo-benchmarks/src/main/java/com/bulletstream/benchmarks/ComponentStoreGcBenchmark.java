@@ -0,0 +1,107 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.storage.ComponentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for GC pauses with a 1M-entity world on heap vs off-heap component storage.
+ * Each op is one tick plus a garbage-heavy side load (short-lived buffers and a rolling window of
+ * retained objects that get promoted), so the collector runs while the world's columns are live.
+ * Aux counters: "gcPauses" collections and "gcMillis" total collection time per iteration
+ * (sampled every 256 ops, so the last partial window is not counted).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx512m", "-Xms512m", "-XX:+UseG1GC", "--add-modules=jdk.incubator.vector"})
+public class ComponentStoreGcBenchmark {
+
+    private static final float DT = 1.0f / 60.0f;
+    private static final int ENTITIES = 1_000_000;
+    private static final int RETAINED = 4096;        // Objects kept alive long enough to be promoted
+    private static final int GARBAGE_BYTES = 256 * 1024;
+    private static final int SAMPLE_MASK = 255;     // Read the collector beans every 256 ops
+
+    @Param({"heap", "offheap"})
+    private String storage;
+
+    private GameWorld world;
+    private final Object[] retained = new Object[RETAINED];
+    private int next;
+
+    /**
+     * Collector activity during one iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class GcCounters {
+        private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+        public long gcPauses;
+        public long gcMillis;
+        private long startCount;
+        private long startMillis;
+        private int ops;
+
+        @Setup(Level.Iteration)
+        public void start() {
+            startCount = totalCount();
+            startMillis = totalMillis();
+            gcPauses = 0;
+            gcMillis = 0;
+        }
+
+        // JMH reads aux counters before iteration teardown, so keep them current while running
+        void sample() {
+            if ((++ops & SAMPLE_MASK) == 0) {
+                gcPauses = totalCount() - startCount;
+                gcMillis = totalMillis() - startMillis;
+            }
+        }
+
+        private static long totalCount() {
+            long count = 0;
+            for (int i = 0; i < COLLECTORS.size(); i++) {
+                count += Math.max(0L, COLLECTORS.get(i).getCollectionCount());
+            }
+            return count;
+        }
+
+        private static long totalMillis() {
+            long millis = 0;
+            for (int i = 0; i < COLLECTORS.size(); i++) {
+                millis += Math.max(0L, COLLECTORS.get(i).getCollectionTime());
+            }
+            return millis;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = new GameWorld(ComponentStore.forName(storage, ENTITIES));
+        Random random = new Random(42);
+        for (int i = 0; i < ENTITIES; i++) {
+            world.spawnEntity(random.nextFloat() * 8192.0f, random.nextFloat() * 8192.0f,
+                              random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, GameWorld.FLAG_BULLET);
+        }
+    }
+
+    @Benchmark
+    public Object tickUnderGarbage(GcCounters gc) {
+        world.update(DT);
+        byte[] garbage = new byte[GARBAGE_BYTES];
+        retained[next] = new long[64];
+        next = (next + 1) % RETAINED;
+        gc.sample();
+        return garbage;
+    }
+}
@@ -0,0 +1,144 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.net.protocol.LanePacket;
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+import com.bulletstream.core.net.snapshot.DeltaSnapshotCodec;
+import com.bulletstream.core.net.snapshot.Snapshot;
+import com.bulletstream.core.net.snapshot.SnapshotRing;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for full vs delta-compressed state on a recorded bullet-heavy session:
+ * 200 players steering every half second and firing every 10 ticks, bullets living 2 seconds.
+ * The "bytes" / "messages" aux counters give the encoded size per message; baselineLag is the client's ack delay in ticks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeltaSnapshotBenchmark {
+
+    private static final float DT = 1.0f / 60.0f;
+    private static final int PLAYERS = 200;
+    private static final int FIRE_INTERVAL = 10;
+    private static final int BULLET_LIFETIME = 120;
+    private static final int RECORDED_TICKS = 480;
+    private static final int MAX_ENTITIES = PLAYERS + PLAYERS * (BULLET_LIFETIME / FIRE_INTERVAL + 1);
+
+    @Param({"1", "4"})
+    private int baselineLag;
+
+    private DeltaSnapshotCodec codec;
+    private SnapshotRing session;
+    private ByteBuffer buffer;
+    private long firstTick;
+    private long tick;
+
+    /**
+     * Encoded output per iteration; bytes per message = bytes / messages.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+        public long messages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            messages = 0;
+        }
+
+        void record(int messageBytes) {
+            bytes += messageBytes;
+            messages++;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        codec = new DeltaSnapshotCodec(DeltaSnapshotCodec.DEFAULT_QUANTUM, DT, DeltaSnapshotCodec.DEFAULT_THRESHOLD);
+        session = new SnapshotRing(RECORDED_TICKS, MAX_ENTITIES);
+        buffer = ByteBuffer.allocateDirect(ProtocolCodec.stateBytes(MAX_ENTITIES) * 2);
+        record(new GameWorld(MAX_ENTITIES));
+        firstTick = baselineLag;
+        tick = firstTick;
+    }
+
+    private void record(GameWorld world) {
+        Random random = new Random(42);
+        int[] players = new int[PLAYERS];
+        for (int p = 0; p < PLAYERS; p++) {
+            players[p] = world.spawnEntity(random.nextFloat() * 4096.0f, random.nextFloat() * 4096.0f,
+                                           0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        }
+        int[] bullets = new int[MAX_ENTITIES];
+        long[] expiry = new long[MAX_ENTITIES];
+        int head = 0;
+        int tail = 0;
+
+        for (long t = 0; t < RECORDED_TICKS; t++) {
+            for (int p = 0; p < PLAYERS; p++) {
+                int index = world.indexOf(players[p]);
+                if ((t + p) % 30 == 0) {
+                    world.setVelocity(index, random.nextFloat() * 200.0f - 100.0f,
+                                      random.nextFloat() * 200.0f - 100.0f);
+                }
+                if ((t + p) % FIRE_INTERVAL == 0) {
+                    float angle = random.nextFloat() * 6.2831855f;
+                    int bullet = world.spawnEntity(world.getPositionX(index), world.getPositionY(index),
+                                                   (float) Math.cos(angle) * 400.0f,
+                                                   (float) Math.sin(angle) * 400.0f, GameWorld.FLAG_BULLET);
+                    bullets[tail % MAX_ENTITIES] = bullet;
+                    expiry[tail % MAX_ENTITIES] = t + BULLET_LIFETIME;
+                    tail++;
+                }
+            }
+            while (head < tail && expiry[head % MAX_ENTITIES] <= t) {
+                world.despawnEntity(bullets[head % MAX_ENTITIES]);
+                head++;
+            }
+            world.update(DT);
+            codec.capture(world, t, session);
+        }
+    }
+
+    private long nextTick() {
+        long current = tick;
+        tick = tick + 1 < RECORDED_TICKS ? tick + 1 : firstTick;
+        return current;
+    }
+
+    /** Baseline: every entity as a full ProtocolCodec STATE message. */
+    @Benchmark
+    public int encodeFull(Size size) {
+        Snapshot snapshot = session.get(nextTick());
+        buffer.clear();
+        int start = ProtocolCodec.beginState(buffer, LanePacket.LANE_UNRELIABLE, snapshot.getTick(), snapshot.getTick());
+        for (int i = 0; i < snapshot.getCount(); i++) {
+            ProtocolCodec.putEntity(buffer, snapshot.getEntityId(i),
+                                    codec.dequantize(snapshot.getQx(i)), codec.dequantize(snapshot.getQy(i)));
+        }
+        ProtocolCodec.endState(buffer, start);
+        size.record(buffer.position());
+        return buffer.position();
+    }
+
+    /** Delta against the snapshot the client acked baselineLag ticks ago. */
+    @Benchmark
+    public int encodeDelta(Size size) {
+        long current = nextTick();
+        buffer.clear();
+        int entries = codec.encode(buffer, LanePacket.LANE_UNRELIABLE, current,
+                                   session.get(current - baselineLag), session.get(current));
+        size.record(buffer.position());
+        return entries;
+    }
+}
@@ -0,0 +1,46 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for spawnEntity/despawnEntity throughput under bullet churn: the world is kept
+ * half full and every op retires the oldest bullet and spawns a new one (FIFO lifetimes).
+ * 65536 uses the default 16/16 ID layout; 1000000 needs 20/12.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class EntityLifecycleBenchmark {
+
+    @Param({"65536", "1000000"})
+    private int capacity;
+
+    private GameWorld world;
+    private int[] live;     // Ring of live bullet IDs, oldest at head
+    private int head;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = new GameWorld(capacity);
+        live = new int[capacity / 2];
+        for (int i = 0; i < live.length; i++) {
+            live[i] = world.spawnEntity(i, i, 1.0f, 1.0f, GameWorld.FLAG_BULLET);
+        }
+        head = 0;
+    }
+
+    @Benchmark
+    public int churn() {
+        world.despawnEntity(live[head]);
+        int id = world.spawnEntity(1.0f, 2.0f, 3.0f, 4.0f, GameWorld.FLAG_BULLET);
+        live[head] = id;
+        head = head + 1 == live.length ? 0 : head + 1;
+        return id;
+    }
+}
@@ -13,10 +13,11 @@ import java.util.concurrent.TimeUnit;
 @OutputTimeUnit(TimeUnit.MICROSECONDS)
 @Warmup(iterations = 3, time = 1)
 @Measurement(iterations = 5, time = 1)
-@Fork(1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
 public class GameWorldBenchmark {
 
     private GameWorld world;
+    private GameWorld churnedWorld;
 
     @Setup
     public void setup() {
@@ -25,10 +26,26 @@ public class GameWorldBenchmark {
         for (int i = 0; i < 1000; i++) {
             world.addEntity(0, 0, 1, 1);
         }
+
+        // Bullet churn: 100k slots allocated, 90% despawned again
+        churnedWorld = new GameWorld(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            churnedWorld.spawnEntity(0, 0, 1, 1, GameWorld.FLAG_BULLET);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            if (i % 10 != 0) {
+                churnedWorld.despawnEntity(churnedWorld.getEntityId(i));
+            }
+        }
     }
 
     @Benchmark
     public void updateWorld() {
         world.update(0.016f); // 60 FPS
     }
+
+    @Benchmark
+    public void updateChurnedWorld() {
+        churnedWorld.update(0.016f);
+    }
 }
@@ -0,0 +1,50 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.input.InputQueue;
+import com.bulletstream.core.net.protocol.InputPayload;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for draining 10k inputs per tick into GameWorld.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputQueueBenchmark {
+
+    private static final int INPUTS_PER_TICK = 10_000;
+
+    private GameWorld world;
+    private InputQueue queue;
+    private int[] players;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = new GameWorld(INPUTS_PER_TICK);
+        queue = new InputQueue(16384);
+        players = new int[INPUTS_PER_TICK];
+        for (int i = 0; i < INPUTS_PER_TICK; i++) {
+            players[i] = world.spawnEntity(i, i, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        }
+    }
+
+    /** Network side stand-in: publish one input per player (off-clock for drain). */
+    @Setup(Level.Invocation)
+    public void publish() {
+        for (int i = 0; i < INPUTS_PER_TICK; i++) {
+            queue.offer(players[i], 1L, InputPayload.INPUT_UP, 0.25f);
+        }
+    }
+
+    /** Tick side: one batch drain of 10k inputs. */
+    @Benchmark
+    public int drain() {
+        return queue.drain(world);
+    }
+}
@@ -0,0 +1,59 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.core.pattern.BulletPattern;
+import com.bulletstream.core.system.InputSystem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for the input pass with 1k players, every one moving diagonally and holding SHOOT.
+ * {@code move} is the velocity pass alone (shots queued but not spawned); {@code fire} is a full
+ * tick of firing: queue 1k shots, spawn them as one batch, then retire that tick's bullets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class InputSystemBenchmark {
+
+    private static final int PLAYERS = 1000;
+
+    private GameWorld world;
+    private InputSystem inputSystem;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = new GameWorld(8192);
+        inputSystem = new InputSystem(8192, PLAYERS, BulletPattern.spread(1, 0.0f),
+                                      200.0f, 600.0f, 4.0f, 1);
+        byte mask = (byte) (InputPayload.INPUT_UP | InputPayload.INPUT_RIGHT | InputPayload.INPUT_SHOOT);
+        for (int i = 0; i < PLAYERS; i++) {
+            int id = world.spawnEntity(i % 32 * 100.0f, i / 32 * 100.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+            world.applyInput(id, 1L, mask, i * 0.01f);
+        }
+        tick = 0L;
+    }
+
+    @Benchmark
+    public int move() {
+        return inputSystem.update(world, tick++);
+    }
+
+    @Benchmark
+    public int fire() {
+        inputSystem.update(world, tick++);
+        int spawned = inputSystem.spawnShots(world);
+        int activeCount = world.getActiveCount();
+        for (int s = PLAYERS; s < activeCount; s++) {
+            world.queueDespawn(world.getEntityId(world.getActiveIndex(s)));
+        }
+        world.flushDespawns();
+        return spawned;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.Integrator;
+import com.bulletstream.core.VectorIntegrator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the scalar and SIMD position integrators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class IntegratorBenchmark {
+
+    @Param({"10000", "100000"})
+    private int entities;
+
+    /** Fraction of slots left inactive (despawn holes). */
+    @Param({"0.0", "0.5"})
+    private double holeRatio;
+
+    private float[] positionsX;
+    private float[] positionsY;
+    private float[] velocitiesX;
+    private float[] velocitiesY;
+    private byte[] flags;
+
+    @Setup
+    public void setup() {
+        positionsX = new float[entities];
+        positionsY = new float[entities];
+        velocitiesX = new float[entities];
+        velocitiesY = new float[entities];
+        flags = new byte[entities];
+
+        int holeEvery = holeRatio > 0 ? (int) Math.round(1.0 / holeRatio) : 0;
+        for (int i = 0; i < entities; i++) {
+            velocitiesX[i] = 1.0f;
+            velocitiesY[i] = -1.0f;
+            boolean hole = holeEvery > 0 && i % holeEvery == 0;
+            flags[i] = hole ? 0 : (byte) (GameWorld.FLAG_ACTIVE | GameWorld.FLAG_BULLET);
+        }
+    }
+
+    @Benchmark
+    public void scalar() {
+        Integrator.integrateScalar(positionsX, positionsY, velocitiesX, velocitiesY, flags, 0, entities, 0.016f);
+    }
+
+    @Benchmark
+    public void vector() {
+        VectorIntegrator.integrate(positionsX, positionsY, velocitiesX, velocitiesY, flags, 0, entities, 0.016f);
+    }
+}
@@ -0,0 +1,78 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SortedSpatialHash;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.SpatialIndex;
+import com.bulletstream.core.net.interest.InterestManager;
+import com.bulletstream.core.util.StripeRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for area-of-interest packing: 200 players and 50k bullets,
+ * one 1920x1080 view per player, by index layout, cell size and worker thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4G", "-Xms4G"})
+public class InterestBenchmark {
+
+    private static final int PLAYERS = 200;
+    private static final int BULLETS = 50_000;
+    private static final float WORLD_SIZE = 8192.0f;
+
+    @Param({"linked", "sorted"})
+    private String layout;
+
+    @Param({"64", "256"})
+    private float cellSize;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private ForkJoinPool pool;
+    private GameWorld world;
+    private InterestManager interest;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = new ForkJoinPool(threads);
+        StripeRunner runner = threads > 1 ? new StripeRunner(pool, threads) : null;
+        world = new GameWorld(PLAYERS + BULLETS);
+        SpatialIndex index = "sorted".equals(layout)
+                ? new SortedSpatialHash(WORLD_SIZE, WORLD_SIZE, PLAYERS + BULLETS, cellSize)
+                : new SpatialHash(WORLD_SIZE, WORLD_SIZE, PLAYERS + BULLETS, cellSize);
+        interest = new InterestManager(index, PLAYERS + BULLETS, PLAYERS, 4096, 1920.0f, 1080.0f, runner);
+
+        Random random = new Random(42);
+        for (int p = 0; p < PLAYERS; p++) {
+            int player = world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                                           0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+            interest.setViewer(p, player);
+        }
+        for (int i = 0; i < BULLETS; i++) {
+            world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                              random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, GameWorld.FLAG_BULLET);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /** Rebuild the index and pack all 200 client views. */
+    @Benchmark
+    public int update() {
+        interest.update(world, tick++);
+        return interest.getVisibleCount(0);
+    }
+}
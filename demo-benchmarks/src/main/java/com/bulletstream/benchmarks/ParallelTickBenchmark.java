@@ -0,0 +1,68 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.system.CollisionSystem;
+import com.bulletstream.core.util.StripeRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for the striped physics + collision step, scaling with worker thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4G", "-Xms4G", "--add-modules=jdk.incubator.vector"})
+public class ParallelTickBenchmark {
+
+    private static final int ENTITIES = 200_000;
+    private static final float WORLD_SIZE = 8192.0f;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private ForkJoinPool pool;
+    private StripeRunner runner;
+    private GameWorld world;
+    private CollisionSystem collisions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = new ForkJoinPool(threads);
+        runner = new StripeRunner(pool, threads);
+        world = new GameWorld(ENTITIES);
+        collisions = new CollisionSystem(new SpatialHash(WORLD_SIZE, WORLD_SIZE, ENTITIES), ENTITIES,
+                                         threads > 1 ? runner : null);
+
+        Random random = new Random(42);
+        for (int i = 0; i < ENTITIES; i++) {
+            boolean bullet = i % 10 != 0;
+            int entityId = world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                                             random.nextFloat() - 0.5f, random.nextFloat() - 0.5f,
+                                             bullet ? GameWorld.FLAG_BULLET : GameWorld.FLAG_ENEMY);
+            world.setRadius(world.indexOf(entityId), bullet ? 4.0f : 16.0f);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /** One full tick: integrate + collide. Throughput = ticks/sec. */
+    @Benchmark
+    public int tick() {
+        if (threads > 1) {
+            world.update(0.016f, runner);
+        } else {
+            world.update(0.016f);
+        }
+        return collisions.update(world);
+    }
+}
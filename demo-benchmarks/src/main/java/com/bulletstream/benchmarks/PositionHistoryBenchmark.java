@@ -0,0 +1,85 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.history.PositionHistory;
+import com.bulletstream.core.storage.ComponentStore;
+import com.bulletstream.core.system.CollisionSystem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for lag compensation: {@code record} is the per-tick cost of copying the position
+ * and ID columns into the history ring (32 ticks), {@code collidePresent} / {@code collideRewound}
+ * compare the plain collision step with the lag-compensated one. 1k players each view a different
+ * tick (0..15 behind), so the rewound step rebuilds the hash for 16 frames.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2G", "--add-modules=jdk.incubator.vector"})
+public class PositionHistoryBenchmark {
+
+    private static final int HISTORY_TICKS = 32;
+    private static final int PLAYERS = 1000;
+    private static final float WORLD_SIZE = 4096.0f;
+
+    @Param({"heap", "offheap"})
+    private String storage;
+
+    @Param({"8192", "65536"})
+    private int entities;
+
+    private GameWorld world;
+    private PositionHistory history;
+    private CollisionSystem collisions;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = new GameWorld(ComponentStore.forName(storage, entities));
+        Random random = new Random(42);
+        int[] players = new int[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                                           0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+            world.setRadius(world.indexOf(players[i]), 12.0f);
+        }
+        for (int i = PLAYERS; i < entities; i++) {
+            int bullet = world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                                           0.0f, 0.0f, GameWorld.FLAG_BULLET);
+            int index = world.indexOf(bullet);
+            world.setRadius(index, 4.0f);
+            world.setOwnerId(index, players[i % PLAYERS]);
+        }
+        history = new PositionHistory(HISTORY_TICKS, entities);
+        for (tick = 0; tick < HISTORY_TICKS; tick++) {
+            history.record(world, tick);
+        }
+        for (int i = 0; i < PLAYERS; i++) {
+            world.applyInput(players[i], tick - 1 - (i & 15), (byte) 0, 0.0f);
+        }
+        collisions = new CollisionSystem(new SpatialHash(WORLD_SIZE, WORLD_SIZE, entities), entities);
+        collisions.setLagCompensation(history);
+    }
+
+    @Benchmark
+    public long record() {
+        history.record(world, tick++);
+        return history.getLatestTick();
+    }
+
+    @Benchmark
+    public int collidePresent() {
+        return collisions.update(world);
+    }
+
+    @Benchmark
+    public int collideRewound() {
+        return collisions.update(world, history);
+    }
+}
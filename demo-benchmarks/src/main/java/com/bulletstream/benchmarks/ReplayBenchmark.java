@@ -0,0 +1,123 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.core.replay.ReplayPlayer;
+import com.bulletstream.core.replay.ReplayRecorder;
+import com.bulletstream.core.system.SimulationStep;
+import com.bulletstream.server.GameServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark replaying a recorded session through the server's own simulation step, unpaced:
+ * score is the time to fast-forward the whole log (per tick: divide by ticks / replays).
+ * Pass a log captured with {@code GameServer ... <replayFile>} as {@code -p replayFile=...};
+ * by default a 10 s session of 512 players walking and shooting is recorded at setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class ReplayBenchmark {
+
+    private static final int CAPACITY = 8192;
+    private static final int PLAYERS = 512;
+    private static final int TICKS = 600;
+    private static final float DT = 1.0f / 60.0f;
+
+    @Param({""})
+    private String replayFile;
+
+    private Path synthesized;
+    private ReplayPlayer player;
+    private SimulationStep step;
+
+    /**
+     * Replayed ticks per iteration; ticks per replay = ticks / replays.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Progress {
+        public long ticks;
+        public long replays;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ticks = 0;
+            replays = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Path file;
+        if (replayFile.isEmpty()) {
+            synthesized = Files.createTempFile("bulletstream", ".replay");
+            recordSession(synthesized);
+            file = synthesized;
+        } else {
+            file = Path.of(replayFile);
+        }
+        player = new ReplayPlayer(file);
+        player.play(newStep());
+        if (player.getMismatches() != 0) {
+            throw new IllegalStateException("Replay diverged at tick " + player.getFirstMismatchTick());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void freshWorld() {
+        step = newStep();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (synthesized != null) {
+            Files.deleteIfExists(synthesized);
+        }
+    }
+
+    @Benchmark
+    public long replay(Progress progress) {
+        long ticks = player.play(step);
+        progress.ticks += ticks;
+        progress.replays++;
+        return ticks;
+    }
+
+    private SimulationStep newStep() {
+        return GameServer.newSimulation(new GameWorld(player == null ? CAPACITY : player.getMaxEntities()), null);
+    }
+
+    private void recordSession(Path file) throws IOException {
+        SimulationStep live = newStep();
+        GameWorld world = live.getWorld();
+        int[] players = new int[PLAYERS];
+        try (ReplayRecorder recorder = new ReplayRecorder(file, CAPACITY, 60)) {
+            for (int i = 0; i < PLAYERS; i++) {
+                float x = 128.0f + i % 32 * 120.0f;
+                float y = 128.0f + i / 32 * 240.0f;
+                players[i] = world.spawnEntity(x, y, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+                world.setRadius(world.indexOf(players[i]), 12.0f);
+                recorder.recordSpawn(players[i], x, y, 0.0f, 0.0f, GameWorld.FLAG_PLAYER, 12.0f);
+            }
+            for (long tick = 0; tick < TICKS; tick++) {
+                for (int i = 0; i < PLAYERS; i++) {
+                    byte mask = (byte) ((1 << ((tick / 60 + i) & 3)) | InputPayload.INPUT_SHOOT);
+                    float angle = tick * 0.05f + i;
+                    world.applyInput(players[i], tick, mask, angle);
+                    recorder.recordInput(players[i], tick, mask, angle);
+                }
+                live.run(tick, DT);
+                recorder.endTick(tick, DT, world);
+            }
+        }
+    }
+}
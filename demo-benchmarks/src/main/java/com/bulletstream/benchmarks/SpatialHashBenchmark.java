@@ -0,0 +1,96 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.SortedSpatialHash;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.SpatialIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH A/B Benchmark for SpatialIndex layouts: linked-list cells vs counting-sorted buckets.
+ * Measures rebuild (clear + insert + build), a neighbour scan around every entity and
+ * large-radius queries, across cell sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpatialHashBenchmark {
+
+    private static final int MAX_ENTITIES = 100_000;
+
+    @Param({"linked", "sorted"})
+    private String layout;
+
+    @Param({"500", "100000"})
+    private int entities;
+
+    /** 16384 = large sparse map (65k cells), 2048 = dense bullet cloud. */
+    @Param({"16384", "2048"})
+    private float worldSize;
+
+    @Param({"32", "64", "128"})
+    private float cellSize;
+
+    private SpatialIndex index;
+    private float[] xs;
+    private float[] ys;
+    private final CountingCallback counter = new CountingCallback();
+    private final int[] sink = new int[MAX_ENTITIES];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        index = "sorted".equals(layout)
+                ? new SortedSpatialHash(worldSize, worldSize, MAX_ENTITIES, cellSize)
+                : new SpatialHash(worldSize, worldSize, MAX_ENTITIES, cellSize);
+        xs = new float[entities];
+        ys = new float[entities];
+        Random random = new Random(42);
+        for (int i = 0; i < entities; i++) {
+            xs[i] = random.nextFloat() * worldSize;
+            ys[i] = random.nextFloat() * worldSize;
+        }
+        rebuild();
+    }
+
+    @Benchmark
+    public void rebuild() {
+        index.clear();
+        for (int i = 0; i < entities; i++) {
+            index.insert(i, xs[i], ys[i]);
+        }
+        index.build();
+    }
+
+    @Benchmark
+    public long queryNeighborsAll() {
+        counter.sum = 0;
+        for (int i = 0; i < entities; i++) {
+            index.queryNeighbors(xs[i], ys[i], counter);
+        }
+        return counter.sum;
+    }
+
+    /** AoE-style query (radius 200) around every 100th entity into a reusable sink. */
+    @Benchmark
+    public long queryRadiusSink() {
+        long found = 0;
+        for (int i = 0; i < entities; i += 100) {
+            found += index.queryRadius(xs[i], ys[i], 200.0f, sink);
+        }
+        return found;
+    }
+
+    private static final class CountingCallback implements SpatialIndex.QueryCallback {
+        long sum;
+
+        @Override
+        public void onEntity(int entityIndex) {
+            sum += entityIndex;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpawnBatch;
+import com.bulletstream.core.pattern.BulletPattern;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for a bullet burst: spawn one ring volley and retire it again, per op.
+ * {@code single} is the per-entity loop; {@code batch} uses spawnBatch/despawnBatch;
+ * {@code deferred} queues the despawns during the "collision pass" and flushes once.
+ * The world stays half full of long-lived entities so recycling and the active set are realistic.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class SpawnBatchBenchmark {
+
+    private static final int CAPACITY = 65536;
+
+    @Param({"64", "512"})
+    private int burst;
+
+    private GameWorld world;
+    private SpawnBatch batch;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = new GameWorld(CAPACITY);
+        for (int i = 0; i < CAPACITY / 2; i++) {
+            world.spawnEntity(i, i, 1.0f, 1.0f, GameWorld.FLAG_BULLET);
+        }
+        batch = new SpawnBatch(burst);
+        BulletPattern.ring(burst).emit(batch, 100.0f, 100.0f, 0.0f, 300.0f);
+        ids = new int[burst];
+    }
+
+    @Benchmark
+    public int single() {
+        for (int k = 0; k < burst; k++) {
+            ids[k] = world.spawnEntity(batch.getX(k), batch.getY(k), batch.getVelocityX(k), batch.getVelocityY(k),
+                                       GameWorld.FLAG_BULLET);
+        }
+        for (int k = 0; k < burst; k++) {
+            world.despawnEntity(ids[k]);
+        }
+        return world.getActiveCount();
+    }
+
+    @Benchmark
+    public int batch() {
+        int n = world.spawnBatch(batch, GameWorld.FLAG_BULLET, ids);
+        world.despawnBatch(ids, 0, n);
+        return world.getActiveCount();
+    }
+
+    @Benchmark
+    public int deferred() {
+        int n = world.spawnBatch(batch, GameWorld.FLAG_BULLET, ids);
+        for (int k = 0; k < n; k++) {
+            world.queueDespawn(ids[k]);
+        }
+        world.flushDespawns();
+        return world.getActiveCount();
+    }
+}
@@ -0,0 +1,90 @@
+package com.bulletstream.benchmarks;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.net.interest.InterestManager;
+import com.bulletstream.core.net.snapshot.DeltaSnapshotCodec;
+import com.bulletstream.core.net.snapshot.SnapshotRing;
+import com.bulletstream.core.net.snapshot.StateBuffer;
+import com.bulletstream.core.net.snapshot.StateFrame;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark for the tick thread's share of state broadcast, 200 players' views:
+ * {@code inline} is snapshot capture plus interest packing straight from the world (what the tick
+ * used to pay), {@code publish} the bulk copy into a {@link StateBuffer} frame (what it pays now),
+ * and {@code packFrame} the same capture and packing from the frame, now on the publisher thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2G", "--add-modules=jdk.incubator.vector"})
+public class StatePublishBenchmark {
+
+    private static final int PLAYERS = 200;
+    private static final float WORLD_SIZE = 4096.0f;
+    private static final float DT = 1.0f / 60.0f;
+
+    @Param({"8192", "65536"})
+    private int entities;
+
+    private GameWorld world;
+    private StateBuffer stateBuffer;
+    private DeltaSnapshotCodec codec;
+    private SnapshotRing ring;
+    private InterestManager interest;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = new GameWorld(entities);
+        Random random = new Random(42);
+        int[] players = new int[PLAYERS];
+        for (int p = 0; p < PLAYERS; p++) {
+            players[p] = world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                                           0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        }
+        for (int i = PLAYERS; i < entities; i++) {
+            world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                              random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f,
+                              GameWorld.FLAG_BULLET);
+        }
+        stateBuffer = new StateBuffer(entities, world.getIdLayout());
+        codec = new DeltaSnapshotCodec(DeltaSnapshotCodec.DEFAULT_QUANTUM, DT, DeltaSnapshotCodec.DEFAULT_THRESHOLD);
+        ring = new SnapshotRing(64, entities);
+        interest = new InterestManager(new SpatialHash(WORLD_SIZE, WORLD_SIZE, entities), entities, PLAYERS, 4096,
+                                       1920.0f, 1080.0f, null);
+        for (int p = 0; p < PLAYERS; p++) {
+            interest.setViewer(p, players[p]);
+        }
+    }
+
+    @Benchmark
+    public int inline() {
+        long t = tick++;
+        codec.capture(world, t, ring);
+        interest.update(world, t);
+        return interest.getVisibleCount(0);
+    }
+
+    @Benchmark
+    public boolean publish() {
+        return stateBuffer.publish(world, tick++, DT);
+    }
+
+    @Benchmark
+    public int packFrame() {
+        long t = tick++;
+        stateBuffer.publish(world, t, DT);
+        StateFrame frame = stateBuffer.acquire();
+        codec.capture(frame, t, ring);
+        interest.update(frame, t);
+        stateBuffer.release(frame);
+        return interest.getVisibleCount(0);
+    }
+}
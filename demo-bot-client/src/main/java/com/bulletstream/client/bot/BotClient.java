@@ -3,14 +3,40 @@ package com.bulletstream.client.bot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Headless Bot Client for stress testing.
+ * Usage: {@code BotClient [host] [bots] [seconds] [ioThreads] [report.json] [tcpPort] [udpPort] [tickRate]}
  */
 public final class BotClient {
     private static final Logger log = LoggerFactory.getLogger(BotClient.class);
 
-    public static void main(String[] args) {
+    private static final int CONNECT_TIMEOUT_SECONDS = 30;
+
+    public static void main(String[] args) throws InterruptedException, IOException {
         log.info("BulletStream Bot Client - Starting");
-        log.info("Stress testing client implementation pending");
+        String host = args.length > 0 ? args[0] : "127.0.0.1";
+        int bots = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int ioThreads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Path reportPath = Path.of(args.length > 4 ? args[4] : "bot-report.json");
+        int tcpPort = args.length > 5 ? Integer.parseInt(args[5]) : 7777;
+        int udpPort = args.length > 6 ? Integer.parseInt(args[6]) : 7778;
+        int tickRate = args.length > 7 ? Integer.parseInt(args[7]) : 60;
+
+        try (BotSwarm swarm = new BotSwarm(new InetSocketAddress(host, tcpPort), new InetSocketAddress(host, udpPort),
+                                           ioThreads, tickRate)) {
+            swarm.connect(bots, CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            SwarmReport report = swarm.run(seconds, TimeUnit.SECONDS);
+            String json = report.toJson();
+            Files.writeString(reportPath, json, StandardCharsets.UTF_8);
+            log.info("Report written to {}: {}", reportPath, json);
+        }
     }
 }
@@ -0,0 +1,416 @@
+package com.bulletstream.client.bot;
+
+import com.bulletstream.core.net.protocol.LanePacket;
+import com.bulletstream.core.net.protocol.LaneSequencer;
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+import com.bulletstream.core.net.snapshot.DeltaSnapshotCodec;
+import com.bulletstream.core.net.snapshot.Snapshot;
+import com.bulletstream.core.net.snapshot.SnapshotRing;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bot's dual-lane connection to the server.
+ * Handshake: HELLO over TCP, WELCOME back (client id, player entity, token), then BIND over UDP
+ * so the server learns this bot's datagram address. BIND is unacknowledged; resend it until
+ * state starts arriving.
+ *
+ * <p>Any number of connections can share one event loop group. Incoming state is read in place
+ * on the event loop and handed to the {@link Listener}; late datagrams are dropped first.
+ * STATE_DELTA views are reconstructed into a small snapshot history and acknowledged, so the
+ * server sends the next ones against them. A delta whose baseline has already left that history is
+ * dropped unacknowledged; the server falls back to a full view once its own copy is evicted.
+ *
+ * <p>The unreliable lane's sequence is confined to the UDP event loop, where the acks are sent:
+ * BIND, inputs and acks sent from any other thread are handed to that loop, in call order.
+ */
+public final class BotConnection implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(BotConnection.class);
+
+    private static final int MAX_FRAME_BYTES = 0xFFFF;
+    private static final int LENGTH_FIELD_BYTES = 2;
+
+    // Decoded views kept as baselines (ticks), and entities per view (the server's view limit)
+    private static final int SNAPSHOT_HISTORY = 16;
+    private static final int VIEW_CAPACITY = 4096;
+    private static final int BASELINE_TICK_OFFSET = ProtocolCodec.HEADER_BYTES + 8;
+
+    /**
+     * Called on the connection's event loop thread.
+     */
+    public interface Listener {
+        /**
+         * @param state valid only for the duration of the call
+         */
+        void onState(BotConnection connection, ProtocolCodec.StateView state);
+
+        /**
+         * The server applied inputs up to {@code inputTick}; the next state reflects them.
+         */
+        default void onInputAck(BotConnection connection, long inputTick) {
+            // Ignored unless measuring input latency
+        }
+
+        /**
+         * A STATE_DELTA was applied: this bot's view of the server at {@code snapshot.getTick()}.
+         * @param snapshot valid only for the duration of the call
+         */
+        default void onSnapshot(BotConnection connection, Snapshot snapshot) {
+            // Ignored unless the bot reads entities
+        }
+    }
+
+    private final Listener listener;
+    private final LaneSequencer sequencer = new LaneSequencer();
+    private final CountDownLatch welcomed = new CountDownLatch(1);
+    private final ProtocolCodec.StateView stateView = new ProtocolCodec.StateView(); // Event loop only
+    private final DeltaSnapshotCodec snapshotCodec = new DeltaSnapshotCodec(
+            DeltaSnapshotCodec.DEFAULT_QUANTUM, 1.0f / 60.0f, DeltaSnapshotCodec.DEFAULT_THRESHOLD); // Decode only
+    private final SnapshotRing snapshots = new SnapshotRing(SNAPSHOT_HISTORY, VIEW_CAPACITY); // Event loop only
+    private Channel tcpChannel;
+    private Channel udpChannel;
+
+    private volatile int clientId = -1;
+    private volatile int entityId = -1;
+    private volatile long token;
+    private volatile long statesReceived;   // Written by the event loop only
+    private volatile long staleDropped;     // Written by the event loop only
+    private volatile long snapshotsReceived; // Written by the event loop only
+    private volatile long deltasReceived;   // Written by the event loop only
+    private volatile long deltasDropped;    // Written by the event loop only
+    private volatile boolean ackSnapshots = true;
+    private long ackedInputTick = -1L;      // Event loop only
+    private long lastServerTick = -1L;      // Event loop only: newest state handed to the listener
+
+    private BotConnection(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Open both lanes and send HELLO. Follow with {@link #awaitWelcome} and {@link #sendBind()}.
+     */
+    public static BotConnection connect(EventLoopGroup group, InetSocketAddress tcpAddress,
+                                        InetSocketAddress udpAddress, Listener listener)
+            throws InterruptedException {
+        BotConnection connection = new BotConnection(listener);
+        connection.tcpChannel = new Bootstrap()
+                .group(group)
+                .channel(NettyTransport.socketChannelType())
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(
+                                new LengthFieldBasedFrameDecoder(MAX_FRAME_BYTES, 0, LENGTH_FIELD_BYTES,
+                                                                 0, LENGTH_FIELD_BYTES),
+                                new LengthFieldPrepender(LENGTH_FIELD_BYTES),
+                                connection.new ReliableHandler());
+                    }
+                })
+                .connect(tcpAddress).sync().channel();
+        connection.udpChannel = new Bootstrap()
+                .group(group)
+                .channel(NettyTransport.datagramChannelType())
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .handler(connection.new UnreliableHandler())
+                .connect(udpAddress).sync().channel();
+
+        Channel tcp = connection.tcpChannel;
+        ByteBuf hello = tcp.alloc().directBuffer(ProtocolCodec.HELLO_BYTES);
+        ProtocolCodec.encodeHello(hello.internalNioBuffer(0, ProtocolCodec.HELLO_BYTES),
+                                  connection.sequencer.nextOutgoing(LanePacket.LANE_RELIABLE));
+        hello.writerIndex(ProtocolCodec.HELLO_BYTES);
+        tcp.writeAndFlush(hello, tcp.voidPromise());
+        return connection;
+    }
+
+    /**
+     * @return false if WELCOME did not arrive in time
+     */
+    public boolean awaitWelcome(long timeout, TimeUnit unit) throws InterruptedException {
+        return welcomed.await(timeout, unit);
+    }
+
+    public boolean isWelcomed() {
+        return welcomed.getCount() == 0;
+    }
+
+    /**
+     * Tie this bot's UDP address to its session. Requires WELCOME.
+     * @throws IllegalStateException if WELCOME has not arrived
+     */
+    public void sendBind() {
+        if (!isWelcomed()) {
+            throw new IllegalStateException("BIND before WELCOME");
+        }
+        EventLoop loop = udpChannel.eventLoop();
+        if (!loop.inEventLoop()) {
+            loop.execute(this::sendBind);
+            return;
+        }
+        ByteBuf buf = udpChannel.alloc().directBuffer(ProtocolCodec.BIND_BYTES);
+        ProtocolCodec.encodeBind(buf.internalNioBuffer(0, ProtocolCodec.BIND_BYTES),
+                                 sequencer.nextOutgoing(LanePacket.LANE_UNRELIABLE), clientId, token);
+        writeUnreliable(buf, ProtocolCodec.BIND_BYTES, true);
+    }
+
+    /**
+     * Queue an input stamped with the server tick of the newest state received (-1 before any),
+     * the view a lag-compensating server tests this input's shots against.
+     */
+    public void sendInput(byte inputMask, float angle, boolean flush) {
+        EventLoop loop = udpChannel.eventLoop();
+        if (!loop.inEventLoop()) {
+            loop.execute(() -> sendInput(inputMask, angle, flush));
+            return;
+        }
+        sendInput(lastServerTick, inputMask, angle, flush);
+    }
+
+    /**
+     * Queue an input datagram with an explicit tick stamp; {@code flush} sends it (and anything
+     * queued before) right away.
+     */
+    public void sendInput(long tick, byte inputMask, float angle, boolean flush) {
+        EventLoop loop = udpChannel.eventLoop();
+        if (!loop.inEventLoop()) {
+            loop.execute(() -> sendInput(tick, inputMask, angle, flush));
+            return;
+        }
+        ByteBuf buf = udpChannel.alloc().directBuffer(ProtocolCodec.INPUT_BYTES);
+        ProtocolCodec.encodeInput(buf.internalNioBuffer(0, ProtocolCodec.INPUT_BYTES), LanePacket.LANE_UNRELIABLE,
+                                  sequencer.nextOutgoing(LanePacket.LANE_UNRELIABLE), tick, inputMask, angle);
+        writeUnreliable(buf, ProtocolCodec.INPUT_BYTES, flush);
+    }
+
+    /**
+     * Acknowledge a snapshot so the server can use it as a delta baseline.
+     */
+    public void sendAck(long snapshotTick, boolean flush) {
+        EventLoop loop = udpChannel.eventLoop();
+        if (!loop.inEventLoop()) {
+            loop.execute(() -> sendAck(snapshotTick, flush));
+            return;
+        }
+        ByteBuf buf = udpChannel.alloc().directBuffer(ProtocolCodec.ACK_BYTES);
+        ProtocolCodec.encodeAck(buf.internalNioBuffer(0, ProtocolCodec.ACK_BYTES),
+                                sequencer.nextOutgoing(LanePacket.LANE_UNRELIABLE), snapshotTick);
+        writeUnreliable(buf, ProtocolCodec.ACK_BYTES, flush);
+    }
+
+    /**
+     * Send an admin command on the reliable lane (the server accepts these from loopback only).
+     * @param commandType one of the {@code AdminCommand.TYPE_*} constants
+     */
+    public void sendAdmin(int commandType, float value) {
+        ByteBuf buf = tcpChannel.alloc().directBuffer(ProtocolCodec.ADMIN_BYTES);
+        ProtocolCodec.encodeAdmin(buf.internalNioBuffer(0, ProtocolCodec.ADMIN_BYTES), LanePacket.LANE_RELIABLE,
+                                  sequencer.nextOutgoing(LanePacket.LANE_RELIABLE), commandType, value);
+        buf.writerIndex(ProtocolCodec.ADMIN_BYTES);
+        tcpChannel.writeAndFlush(buf, tcpChannel.voidPromise());
+    }
+
+    /**
+     * Acknowledge every decoded STATE_DELTA (the default). Without acks the server keeps sending
+     * full views.
+     */
+    public void setAckSnapshots(boolean enabled) {
+        this.ackSnapshots = enabled;
+    }
+
+    public void flush() {
+        udpChannel.flush();
+    }
+
+    /**
+     * Send a pre-encoded datagram as-is (tests: replayed or malformed packets).
+     */
+    void writeUnreliable(ByteBuffer message) {
+        ByteBuf buf = udpChannel.alloc().directBuffer(message.remaining());
+        buf.writeBytes(message);
+        udpChannel.writeAndFlush(buf, udpChannel.voidPromise());
+    }
+
+    private void writeUnreliable(ByteBuf buf, int length, boolean flush) {
+        buf.writerIndex(length);
+        if (flush) {
+            udpChannel.writeAndFlush(buf, udpChannel.voidPromise());
+        } else {
+            udpChannel.write(buf, udpChannel.voidPromise());
+        }
+    }
+
+    public int getClientId() {
+        return clientId;
+    }
+
+    /**
+     * @return this bot's player entity id, or -1 before WELCOME
+     */
+    public int getEntityId() {
+        return entityId;
+    }
+
+    public long getStatesReceived() {
+        return statesReceived;
+    }
+
+    public long getStaleDropped() {
+        return staleDropped;
+    }
+
+    /**
+     * @return server tick of the newest STATE or decoded STATE_DELTA, or -1 before the first (event loop only)
+     */
+    public long getLastServerTick() {
+        return lastServerTick;
+    }
+
+    /**
+     * @return STATE_DELTA views decoded, with or without a baseline
+     */
+    public long getSnapshotsReceived() {
+        return snapshotsReceived;
+    }
+
+    /**
+     * @return STATE_DELTA views decoded against an acknowledged baseline
+     */
+    public long getDeltasReceived() {
+        return deltasReceived;
+    }
+
+    /**
+     * @return STATE_DELTA views dropped because their baseline had left the history (or malformed)
+     */
+    public long getDeltasDropped() {
+        return deltasDropped;
+    }
+
+    /**
+     * @return the UDP lane's event loop (all callbacks for this connection run there)
+     */
+    public Channel getUdpChannel() {
+        return udpChannel;
+    }
+
+    @Override
+    public void close() {
+        if (tcpChannel != null) {
+            tcpChannel.close().syncUninterruptibly();
+        }
+        if (udpChannel != null) {
+            udpChannel.close().syncUninterruptibly();
+        }
+    }
+
+    private final class ReliableHandler extends SimpleChannelInboundHandler<ByteBuf> {
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+            ByteBuffer nio = frame.internalNioBuffer(frame.readerIndex(), frame.readableBytes());
+            if (nio.remaining() < ProtocolCodec.HEADER_BYTES
+                    || ProtocolCodec.peekType(nio) != ProtocolCodec.TYPE_WELCOME) {
+                log.debug("Ignoring reliable message ({} bytes)", nio.remaining());
+                return;
+            }
+            sequencer.acceptIncoming(LanePacket.LANE_RELIABLE, ProtocolCodec.readHeader(nio, ProtocolCodec.TYPE_WELCOME));
+            clientId = nio.getInt();
+            entityId = nio.getInt();
+            token = nio.getLong();
+            welcomed.countDown();
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.warn("Closing {}: {}", ctx.channel().remoteAddress(), cause.toString());
+            ctx.close();
+        }
+    }
+
+    private final class UnreliableHandler extends SimpleChannelInboundHandler<DatagramPacket> {
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket packet) {
+            ByteBuf content = packet.content();
+            if (content.readableBytes() < ProtocolCodec.HEADER_BYTES) {
+                return;
+            }
+            ByteBuffer nio = content.internalNioBuffer(content.readerIndex(), content.readableBytes());
+            byte type = ProtocolCodec.peekType(nio);
+            if (type == ProtocolCodec.TYPE_INPUT_ACK && nio.remaining() >= ProtocolCodec.INPUT_ACK_BYTES) {
+                // Shares the server tick as sequence with the STATE after it: order by input tick instead
+                ProtocolCodec.readHeader(nio, ProtocolCodec.TYPE_INPUT_ACK);
+                long inputTick = nio.getLong();
+                if (inputTick > ackedInputTick) {
+                    ackedInputTick = inputTick;
+                    listener.onInputAck(BotConnection.this, inputTick);
+                }
+                return;
+            }
+            if (type != ProtocolCodec.TYPE_STATE && type != ProtocolCodec.TYPE_STATE_DELTA) {
+                return;
+            }
+            if (!sequencer.acceptIncoming(LanePacket.LANE_UNRELIABLE, ProtocolCodec.peekSequence(nio))) {
+                staleDropped++;
+                return;
+            }
+            statesReceived++;
+            if (type == ProtocolCodec.TYPE_STATE) {
+                ProtocolCodec.StateView state = stateView.wrap(nio);
+                lastServerTick = state.getServerTick();
+                listener.onState(BotConnection.this, state);
+            } else {
+                onDelta(nio);
+            }
+        }
+
+        private void onDelta(ByteBuffer nio) {
+            if (nio.remaining() < BASELINE_TICK_OFFSET + 8) {
+                deltasDropped++;
+                return;
+            }
+            boolean hasBaseline = nio.getLong(nio.position() + BASELINE_TICK_OFFSET) != DeltaSnapshotCodec.NO_BASELINE;
+            Snapshot snapshot;
+            try {
+                snapshot = snapshotCodec.decode(nio, snapshots);
+            } catch (IllegalStateException | IllegalArgumentException | BufferUnderflowException e) {
+                deltasDropped++; // Not acked: the server falls back to a full view once the baseline ages out
+                return;
+            }
+            snapshotsReceived++;
+            if (hasBaseline) {
+                deltasReceived++;
+            }
+            lastServerTick = snapshot.getTick();
+            listener.onSnapshot(BotConnection.this, snapshot);
+            if (ackSnapshots) {
+                sendAck(snapshot.getTick(), true);
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.warn("UDP error: {}", cause.toString());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.bulletstream.client.bot;
+
+import com.bulletstream.core.util.LatencyHistogram;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many simulated players on one shared event loop group.
+ * Each loop gets a single {@link SwarmDriver} that sends inputs for all of its bots at the
+ * server tick rate, so thousands of bots cost a handful of threads and no per-bot timers.
+ *
+ * <pre>
+ * try (BotSwarm swarm = new BotSwarm(tcp, udp, ioThreads, 60)) {
+ *     swarm.connect(1000, timeout);
+ *     SwarmReport report = swarm.run(duration);
+ * }
+ * </pre>
+ */
+public final class BotSwarm implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(BotSwarm.class);
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long BIND_RETRY_MILLIS = 50;
+
+    private final InetSocketAddress tcpAddress;
+    private final InetSocketAddress udpAddress;
+    private final int tickRate;
+    private final long tickNanos;
+    private final EventLoopGroup group;
+    private final List<SwarmBot> bots = new ArrayList<>();
+    private final List<SwarmBot> bound = new ArrayList<>();
+    private int requested;
+
+    /**
+     * @param tickRate the server's tick rate (inputs are sent once per tick)
+     */
+    public BotSwarm(InetSocketAddress tcpAddress, InetSocketAddress udpAddress, int ioThreads, int tickRate) {
+        if (ioThreads <= 0 || tickRate <= 0) {
+            throw new IllegalArgumentException("ioThreads and tickRate must be positive");
+        }
+        this.tcpAddress = tcpAddress;
+        this.udpAddress = udpAddress;
+        this.tickRate = tickRate;
+        this.tickNanos = 1_000_000_000L / tickRate;
+        this.group = NettyTransport.newEventLoopGroup(ioThreads);
+    }
+
+    /**
+     * Connect and handshake {@code count} bots. Bots refused by the server (full) or not
+     * receiving state before the timeout are left out of the run.
+     * @return number of bots ready to run
+     */
+    public int connect(int count, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        requested += count;
+        for (int i = 0; i < count; i++) {
+            SwarmBot bot = new SwarmBot(tickNanos);
+            bot.setConnection(BotConnection.connect(group, tcpAddress, udpAddress, bot));
+            bots.add(bot);
+        }
+        for (int i = 0; i < bots.size(); i++) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !bots.get(i).getConnection().awaitWelcome(remaining, TimeUnit.NANOSECONDS)) {
+                break;
+            }
+        }
+
+        // BIND is fire-and-forget: repeat until state arrives on every welcomed bot
+        while (System.nanoTime() < deadline) {
+            int pending = 0;
+            for (int i = 0; i < bots.size(); i++) {
+                BotConnection connection = bots.get(i).getConnection();
+                if (connection.isWelcomed() && connection.getStatesReceived() == 0) {
+                    connection.sendBind();
+                    pending++;
+                }
+            }
+            if (pending == 0) {
+                break;
+            }
+            Thread.sleep(BIND_RETRY_MILLIS);
+        }
+
+        bound.clear();
+        for (int i = 0; i < bots.size(); i++) {
+            if (bots.get(i).getConnection().getStatesReceived() > 0) {
+                bound.add(bots.get(i));
+            }
+        }
+        log.info("{} of {} bots connected", bound.size(), requested);
+        return bound.size();
+    }
+
+    /**
+     * Drive every connected bot for the given time and collect the measurements.
+     */
+    public SwarmReport run(long duration, TimeUnit unit) throws InterruptedException {
+        List<SwarmDriver> drivers = new ArrayList<>();
+        for (EventExecutor executor : group) {
+            drivers.add(new SwarmDriver((EventLoop) executor, tickRate, HIGHEST_TRACKABLE_NANOS));
+        }
+        for (int i = 0; i < bound.size(); i++) {
+            SwarmBot bot = bound.get(i);
+            SwarmDriver driver = driverFor(drivers, bot.getConnection().getUdpChannel().eventLoop());
+            driver.getLoop().submit(() -> driver.add(bot)).syncUninterruptibly();
+        }
+
+        long start = System.nanoTime();
+        List<ScheduledFuture<?>> schedules = new ArrayList<>();
+        for (int d = 0; d < drivers.size(); d++) {
+            SwarmDriver driver = drivers.get(d);
+            schedules.add(driver.getLoop().scheduleAtFixedRate(driver, tickNanos, tickNanos, TimeUnit.NANOSECONDS));
+        }
+        Thread.sleep(unit.toMillis(duration));
+
+        LatencyHistogram roundTrip = new LatencyHistogram(HIGHEST_TRACKABLE_NANOS);
+        LatencyHistogram tickJitter = new LatencyHistogram(HIGHEST_TRACKABLE_NANOS);
+        long inputsSent = 0;
+        for (int d = 0; d < drivers.size(); d++) {
+            SwarmDriver driver = drivers.get(d);
+            ScheduledFuture<?> schedule = schedules.get(d);
+            // Stop and detach on the driver's own loop; completion publishes its counters to this thread
+            driver.getLoop().submit(() -> {
+                schedule.cancel(false);
+                detach(driver);
+            }).syncUninterruptibly();
+            roundTrip.add(driver.getRoundTrip());
+            tickJitter.add(driver.getTickJitter());
+            inputsSent += driver.getInputsSent();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long statesReceived = 0;
+        long staleDropped = 0;
+        for (int i = 0; i < bound.size(); i++) {
+            statesReceived += bound.get(i).getConnection().getStatesReceived();
+            staleDropped += bound.get(i).getConnection().getStaleDropped();
+        }
+        return new SwarmReport(requested, bound.size(), tickRate, seconds, inputsSent, statesReceived,
+                               staleDropped, roundTrip, tickJitter);
+    }
+
+    private void detach(SwarmDriver driver) {
+        for (int i = 0; i < bound.size(); i++) {
+            SwarmBot bot = bound.get(i);
+            if (bot.getConnection().getUdpChannel().eventLoop() == driver.getLoop()) {
+                bot.setDriver(null);
+            }
+        }
+    }
+
+    private static SwarmDriver driverFor(List<SwarmDriver> drivers, EventLoop loop) {
+        for (int d = 0; d < drivers.size(); d++) {
+            if (drivers.get(d).getLoop() == loop) {
+                return drivers.get(d);
+            }
+        }
+        throw new IllegalStateException("Channel loop not in the swarm group");
+    }
+
+    @Override
+    public void close() {
+        for (int i = 0; i < bots.size(); i++) {
+            bots.get(i).getConnection().close();
+        }
+        group.shutdownGracefully().syncUninterruptibly();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bulletstream.client.bot;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+/**
+ * Native epoll transport when the platform supports it, NIO otherwise (client side).
+ */
+public final class NettyTransport {
+    private static final boolean EPOLL = Epoll.isAvailable();
+
+    private NettyTransport() {
+        // Static helpers
+    }
+
+    public static boolean isEpoll() {
+        return EPOLL;
+    }
+
+    public static EventLoopGroup newEventLoopGroup(int threads) {
+        return EPOLL ? new EpollEventLoopGroup(threads) : new NioEventLoopGroup(threads);
+    }
+
+    public static Class<? extends SocketChannel> socketChannelType() {
+        return EPOLL ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    public static Class<? extends DatagramChannel> datagramChannelType() {
+        return EPOLL ? EpollDatagramChannel.class : NioDatagramChannel.class;
+    }
+}
@@ -0,0 +1,96 @@
+package com.bulletstream.client.bot;
+
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+import com.bulletstream.core.net.snapshot.Snapshot;
+
+import java.util.Arrays;
+
+/**
+ * One simulated player: its connection plus the timing state for latency measurement.
+ * Everything except construction runs on the connection's UDP event loop.
+ *
+ * <p>Inputs are stamped with the server tick of the newest state received, as lag compensation
+ * expects. Inputs sent between two states share a stamp.
+ *
+ * <p>Input latency: the send time of the first input with each stamp is kept in a ring keyed by
+ * the stamp. When the server reports (INPUT_ACK) a newer stamp applied, that first input is the one
+ * it applied, and the next state (STATE or STATE_DELTA) is the first one that reflects it; its
+ * arrival time minus the input's send time is the input-to-state round trip.
+ *
+ * <p>Tick jitter: the gap between two state arrivals minus the gap the server ticks say it
+ * should be. This is the server's send-time jitter as seen through the network.
+ */
+final class SwarmBot implements BotConnection.Listener {
+    private static final int SEND_RING = 256; // Stamps whose send time is kept (~4 s at 60 Hz)
+
+    private final long tickNanos;
+    private final long[] sentTicks = new long[SEND_RING];
+    private final long[] sentNanos = new long[SEND_RING];
+    private BotConnection connection;
+    private SwarmDriver driver;               // Set on the event loop when the run starts
+    private long pendingInputTick = -1L;
+    private long lastServerTick = -1L;
+    private long lastArrivalNanos;
+
+    SwarmBot(long tickNanos) {
+        this.tickNanos = tickNanos;
+        Arrays.fill(sentTicks, -1L);
+    }
+
+    void setConnection(BotConnection connection) {
+        this.connection = connection;
+    }
+
+    BotConnection getConnection() {
+        return connection;
+    }
+
+    void setDriver(SwarmDriver driver) {
+        this.driver = driver;
+    }
+
+    void sendInput(byte inputMask, float angle) {
+        long tick = connection.getLastServerTick();
+        int slot = (int) (tick & (SEND_RING - 1));
+        if (sentTicks[slot] != tick) {
+            sentTicks[slot] = tick;
+            sentNanos[slot] = System.nanoTime();
+        }
+        connection.sendInput(tick, inputMask, angle, true);
+    }
+
+    @Override
+    public void onInputAck(BotConnection source, long inputTick) {
+        pendingInputTick = inputTick;
+    }
+
+    @Override
+    public void onState(BotConnection source, ProtocolCodec.StateView state) {
+        onServerState(state.getServerTick());
+    }
+
+    @Override
+    public void onSnapshot(BotConnection source, Snapshot snapshot) {
+        onServerState(snapshot.getTick());
+    }
+
+    private void onServerState(long serverTick) {
+        if (driver == null) {
+            return; // Still binding
+        }
+        long now = System.nanoTime();
+        if (pendingInputTick >= 0) {
+            int slot = (int) (pendingInputTick & (SEND_RING - 1));
+            if (sentTicks[slot] == pendingInputTick) {
+                driver.getRoundTrip().record(now - sentNanos[slot]);
+            }
+            pendingInputTick = -1L;
+        }
+        if (lastServerTick >= 0 && serverTick > lastServerTick) {
+            long expected = (serverTick - lastServerTick) * tickNanos;
+            driver.getTickJitter().record(Math.abs(now - lastArrivalNanos - expected));
+        }
+        lastServerTick = serverTick;
+        lastArrivalNanos = now;
+    }
+}
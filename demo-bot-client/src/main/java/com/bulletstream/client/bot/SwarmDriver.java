@@ -0,0 +1,73 @@
+package com.bulletstream.client.bot;
+
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.core.util.LatencyHistogram;
+import io.netty.channel.EventLoop;
+
+import java.util.Arrays;
+
+/**
+ * Drives every bot whose UDP channel lives on one event loop: one scheduled task per loop sends
+ * all of their inputs each tick, and their measurements land in this loop's histograms.
+ * Confined to its event loop once scheduled; read the results only after it has been stopped.
+ */
+final class SwarmDriver implements Runnable {
+    private static final byte[] DIRECTIONS = {
+        InputPayload.INPUT_UP, InputPayload.INPUT_RIGHT, InputPayload.INPUT_DOWN, InputPayload.INPUT_LEFT
+    };
+
+    private final EventLoop loop;
+    private final int ticksPerDirection;
+    private final LatencyHistogram roundTrip;
+    private final LatencyHistogram tickJitter;
+    private SwarmBot[] bots = new SwarmBot[16];
+    private int botCount;
+    private long tick;
+    private long inputsSent;
+
+    SwarmDriver(EventLoop loop, int tickRate, long highestTrackableNanos) {
+        this.loop = loop;
+        this.ticksPerDirection = tickRate; // Turn every second
+        this.roundTrip = new LatencyHistogram(highestTrackableNanos);
+        this.tickJitter = new LatencyHistogram(highestTrackableNanos);
+    }
+
+    EventLoop getLoop() {
+        return loop;
+    }
+
+    /**
+     * Event loop only.
+     */
+    void add(SwarmBot bot) {
+        if (botCount == bots.length) {
+            bots = Arrays.copyOf(bots, botCount * 2);
+        }
+        bots[botCount++] = bot;
+        bot.setDriver(this);
+    }
+
+    @Override
+    public void run() {
+        tick++;
+        float angle = tick * 0.05f;
+        for (int i = 0; i < botCount; i++) {
+            // Bots start on different headings so the swarm spreads out
+            byte mask = DIRECTIONS[(int) ((tick / ticksPerDirection + i) & 3)];
+            bots[i].sendInput(mask, angle);
+        }
+        inputsSent += botCount;
+    }
+
+    LatencyHistogram getRoundTrip() {
+        return roundTrip;
+    }
+
+    LatencyHistogram getTickJitter() {
+        return tickJitter;
+    }
+
+    long getInputsSent() {
+        return inputsSent;
+    }
+}
@@ -0,0 +1,106 @@
+package com.bulletstream.client.bot;
+
+import com.bulletstream.core.util.LatencyHistogram;
+
+import java.util.Locale;
+
+/**
+ * Result of one swarm run, rendered as JSON for dashboards and sizing scripts.
+ * Latencies are reported in microseconds.
+ */
+public final class SwarmReport {
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+    private final int botsRequested;
+    private final int botsConnected;
+    private final int tickRate;
+    private final double durationSeconds;
+    private final long inputsSent;
+    private final long statesReceived;
+    private final long staleDropped;
+    private final LatencyHistogram roundTrip;
+    private final LatencyHistogram tickJitter;
+
+    SwarmReport(int botsRequested, int botsConnected, int tickRate, double durationSeconds,
+                long inputsSent, long statesReceived, long staleDropped,
+                LatencyHistogram roundTrip, LatencyHistogram tickJitter) {
+        this.botsRequested = botsRequested;
+        this.botsConnected = botsConnected;
+        this.tickRate = tickRate;
+        this.durationSeconds = durationSeconds;
+        this.inputsSent = inputsSent;
+        this.statesReceived = statesReceived;
+        this.staleDropped = staleDropped;
+        this.roundTrip = roundTrip;
+        this.tickJitter = tickJitter;
+    }
+
+    public int getBotsRequested() {
+        return botsRequested;
+    }
+
+    public int getBotsConnected() {
+        return botsConnected;
+    }
+
+    public long getInputsSent() {
+        return inputsSent;
+    }
+
+    public long getStatesReceived() {
+        return statesReceived;
+    }
+
+    public long getStaleDropped() {
+        return staleDropped;
+    }
+
+    /**
+     * @return input send to first reflecting state arrival, nanoseconds
+     */
+    public LatencyHistogram getRoundTrip() {
+        return roundTrip;
+    }
+
+    /**
+     * @return deviation of state inter-arrival times from the server tick spacing, nanoseconds
+     */
+    public LatencyHistogram getTickJitter() {
+        return tickJitter;
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder(512);
+        json.append('{');
+        json.append("\"botsRequested\":").append(botsRequested);
+        json.append(",\"botsConnected\":").append(botsConnected);
+        json.append(",\"tickRate\":").append(tickRate);
+        json.append(",\"durationSeconds\":").append(format(durationSeconds));
+        json.append(",\"inputsSent\":").append(inputsSent);
+        json.append(",\"statesReceived\":").append(statesReceived);
+        json.append(",\"staleDropped\":").append(staleDropped);
+        json.append(",\"inputRoundTripMicros\":");
+        appendHistogram(json, roundTrip);
+        json.append(",\"tickJitterMicros\":");
+        appendHistogram(json, tickJitter);
+        json.append('}');
+        return json.toString();
+    }
+
+    private static void appendHistogram(StringBuilder json, LatencyHistogram histogram) {
+        json.append("{\"count\":").append(histogram.getCount());
+        json.append(",\"min\":").append(format(histogram.getMin() / 1_000.0));
+        json.append(",\"mean\":").append(format(histogram.getMean() / 1_000.0));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            json.append(",\"").append(PERCENTILE_NAMES[i]).append("\":")
+                .append(format(histogram.getValueAtPercentile(PERCENTILES[i]) / 1_000.0));
+        }
+        json.append(",\"max\":").append(format(histogram.getMax() / 1_000.0));
+        json.append('}');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}
@@ -0,0 +1,251 @@
+package com.bulletstream.client.bot;
+
+import com.bulletstream.core.net.protocol.AdminCommand;
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.core.net.protocol.LanePacket;
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+import com.bulletstream.core.net.snapshot.Snapshot;
+import com.bulletstream.server.GameServer;
+import com.bulletstream.server.net.NetServer;
+import io.netty.channel.EventLoopGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end over loopback: a real server tick loop and transport, one bot connection.
+ */
+@Tag("integration")
+@Timeout(value = 10, unit = TimeUnit.SECONDS)
+class BotConnectionLoopbackTest {
+
+    private static final String HOST = "127.0.0.1";
+    private static final int LAG_HISTORY_TICKS = 16;
+
+    private GameServer server;
+    private Thread tickThread;
+    private NetServer transport;
+    private EventLoopGroup group;
+    private BotConnection bot;
+    private volatile boolean sawOwnEntity;
+    private volatile long firstServerTick = -1L;
+    private volatile long inputAcked = -1L;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        server = new GameServer(1000, 60);
+        transport = new NetServer(server.getSessions(), server.getInputQueue(), server.getClientBaselines(), 1);
+        transport.bind(HOST, 0, 0);
+        server.attachTransport(transport);
+        tickThread = new Thread(server::start, "tick");
+        group = NettyTransport.newEventLoopGroup(1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (bot != null) {
+            bot.close();
+        }
+        server.stop();
+        tickThread.join();
+        transport.close();
+        group.shutdownGracefully().syncUninterruptibly();
+    }
+
+    @Test
+    void testHandshakeInputsAndAcks() throws InterruptedException {
+        tickThread.start();
+        connectAndBind(false); // No automatic acks: the baseline checked below is the one sent here
+
+        for (int tick = 0; tick < 10; tick++) {
+            bot.sendInput(tick, (byte) 1, 0.0f, true);
+        }
+        awaitCondition(() -> transport.getInputsReceived() == 10);
+
+        // A replayed (old) sequence number is dropped before it reaches the input queue
+        ByteBuffer replay = ByteBuffer.allocate(ProtocolCodec.INPUT_BYTES);
+        ProtocolCodec.encodeInput(replay, LanePacket.LANE_UNRELIABLE, 0L, 99L, (byte) 1, 0.0f);
+        replay.flip();
+        bot.writeUnreliable(replay);
+        awaitCondition(() -> transport.getStaleDropped() == 1);
+        assertEquals(10, transport.getInputsReceived());
+
+        bot.sendAck(1234L, true);
+        awaitCondition(() -> server.getClientBaselines().getAckedTick(bot.getClientId()) == 1234L);
+        assertTrue(bot.getStatesReceived() > 0);
+    }
+
+    @Test
+    void testMalformedDatagramDoesNotAdvanceSequence() throws InterruptedException {
+        tickThread.start();
+        connectAndBind(false);
+        long refused = transport.getRejectedCount();
+
+        // Truncated INPUT and unknown type, both claiming the newest sequence there could be
+        ByteBuffer truncated = ByteBuffer.allocate(ProtocolCodec.HEADER_BYTES);
+        ProtocolCodec.writeHeader(truncated, LanePacket.LANE_UNRELIABLE, ProtocolCodec.TYPE_INPUT, Long.MAX_VALUE);
+        truncated.flip();
+        bot.writeUnreliable(truncated);
+        ByteBuffer unknown = ByteBuffer.allocate(ProtocolCodec.ACK_BYTES);
+        ProtocolCodec.writeHeader(unknown, LanePacket.LANE_UNRELIABLE, (byte) 0x7F, Long.MAX_VALUE);
+        unknown.putLong(0L).flip();
+        bot.writeUnreliable(unknown);
+        awaitCondition(() -> transport.getRejectedCount() == refused + 2);
+
+        bot.sendInput(1L, (byte) 1, 0.0f, true);
+        awaitCondition(() -> transport.getInputsReceived() == 1);
+        assertEquals(0, transport.getStaleDropped());
+    }
+
+    @Test
+    void testDeltasFollowAcks() throws InterruptedException {
+        tickThread.start();
+        connectAndBind(false);
+
+        // Nothing acked: every view arrives whole
+        awaitCondition(() -> bot.getSnapshotsReceived() >= 3);
+        assertEquals(0, bot.getDeltasReceived());
+        assertEquals(0, server.getDeltaStatesSent());
+        assertTrue(server.getFullStatesSent() >= 3);
+
+        bot.setAckSnapshots(true);
+        awaitCondition(() -> bot.getDeltasReceived() >= 3);
+        assertTrue(server.getClientBaselines().getAckedTick(bot.getClientId()) >= 0);
+        assertTrue(server.getDeltaStatesSent() >= 3);
+        assertTrue(sawOwnEntity);
+    }
+
+    @Test
+    void testDeltasFollowAcksWithParallelEncodes() throws InterruptedException {
+        transport.close();
+        server = new GameServer(1000, 60, 2); // Views encoded across two client stripes
+        transport = new NetServer(server.getSessions(), server.getInputQueue(), server.getClientBaselines(), 1);
+        transport.bind(HOST, 0, 0);
+        server.attachTransport(transport);
+        tickThread = new Thread(server::start, "tick");
+        tickThread.start();
+        connectAndBind(true);
+
+        awaitCondition(() -> bot.getDeltasReceived() >= 3);
+        assertTrue(server.getDeltaStatesSent() >= 3);
+    }
+
+    @Test
+    void testInputsCarryServerTicksUnderLagCompensation() throws InterruptedException {
+        server.setLagCompensation(LAG_HISTORY_TICKS);
+        tickThread.start();
+        connectAndBind(true);
+
+        // Shots stamped with the newest server tick received, the tick the server rewinds to
+        for (int i = 0; i < 20; i++) {
+            bot.sendInput((byte) (InputPayload.INPUT_SHOOT | InputPayload.INPUT_RIGHT), 0.0f, true);
+            Thread.sleep(5);
+        }
+        awaitCondition(() -> inputAcked >= 0);
+        assertTrue(inputAcked >= firstServerTick, "stamp is a server tick the bot received");
+        assertTrue(inputAcked <= server.getCurrentTick());
+
+        long states = bot.getStatesReceived();
+        awaitCondition(() -> bot.getStatesReceived() > states + 2);
+    }
+
+    @Test
+    void testBroadcastWithoutInterestFiltering() throws InterruptedException {
+        server.setInterestFiltering(false);
+        tickThread.start();
+        connectAndBind(true);
+
+        long states = bot.getStatesReceived();
+        awaitCondition(() -> bot.getStatesReceived() > states + 2);
+        assertTrue(server.getBroadcast().getMessagesOut() > 0);
+        assertTrue(server.getBroadcast().getLastEncodeNanos() > 0);
+    }
+
+    @Test
+    void testAdminCommandsChangeTickRateBetweenTicks() throws InterruptedException {
+        tickThread.start();
+        connectAndBind(true);
+
+        // Refused until the server opts in
+        long refused = transport.getRejectedCount();
+        bot.sendAdmin(AdminCommand.TYPE_SET_TICK_RATE, 30.0f);
+        awaitCondition(() -> transport.getRejectedCount() == refused + 1);
+        assertEquals(60, server.getTickControl().getTickRate());
+
+        transport.setAdminControl(server.getTickControl());
+        bot.sendAdmin(AdminCommand.TYPE_SET_TICK_RATE, 30.0f);
+        bot.sendAdmin(AdminCommand.TYPE_SET_TIME_SCALE, 0.5f);
+        awaitCondition(() -> server.getTickControl().getTimeScale() == 0.5f);
+        assertEquals(30, server.getTickControl().getTargetTickRate());
+
+        // Out of range: logged and skipped, the tick loop keeps running
+        bot.sendAdmin(AdminCommand.TYPE_SET_TICK_RATE, 100_000.0f);
+        awaitCondition(() -> server.getTickControl().getRejectedCount() == 1);
+        long tick = server.getCurrentTick();
+        awaitCondition(() -> server.getCurrentTick() > tick + 2);
+    }
+
+    /**
+     * Connect, await WELCOME, then resend BIND (fire-and-forget) until our own player shows up
+     * in the state stream (STATE or a decoded STATE_DELTA view).
+     */
+    private void connectAndBind(boolean ackSnapshots) throws InterruptedException {
+        bot = BotConnection.connect(group, new InetSocketAddress(HOST, transport.getTcpPort()),
+                                    new InetSocketAddress(HOST, transport.getUdpPort()),
+                                    new BotConnection.Listener() {
+                                        @Override
+                                        public void onState(BotConnection connection, ProtocolCodec.StateView state) {
+                                            onServerTick(state.getServerTick());
+                                            for (int i = 0; i < state.getEntityCount(); i++) {
+                                                if (state.getEntityId(i) == connection.getEntityId()) {
+                                                    sawOwnEntity = true;
+                                                }
+                                            }
+                                        }
+
+                                        @Override
+                                        public void onSnapshot(BotConnection connection, Snapshot snapshot) {
+                                            onServerTick(snapshot.getTick());
+                                            for (int i = 0; i < snapshot.getCount(); i++) {
+                                                if (snapshot.getEntityId(i) == connection.getEntityId()) {
+                                                    sawOwnEntity = true;
+                                                }
+                                            }
+                                        }
+
+                                        @Override
+                                        public void onInputAck(BotConnection connection, long inputTick) {
+                                            inputAcked = inputTick;
+                                        }
+                                    });
+        bot.setAckSnapshots(ackSnapshots);
+        assertTrue(bot.awaitWelcome(5, TimeUnit.SECONDS), "WELCOME");
+        assertTrue(bot.getEntityId() >= 0);
+
+        awaitCondition(() -> {
+            bot.sendBind();
+            return sawOwnEntity;
+        });
+    }
+
+    private void onServerTick(long serverTick) {
+        if (firstServerTick < 0) {
+            firstServerTick = serverTick;
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            Thread.sleep(5);
+        }
+    }
+}
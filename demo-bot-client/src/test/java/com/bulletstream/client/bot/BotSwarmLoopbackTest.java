@@ -0,0 +1,69 @@
+package com.bulletstream.client.bot;
+
+import com.bulletstream.server.GameServer;
+import com.bulletstream.server.net.NetServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A small swarm against a real server over loopback.
+ */
+@Tag("integration")
+@Timeout(value = 20, unit = TimeUnit.SECONDS)
+class BotSwarmLoopbackTest {
+
+    private static final String HOST = "127.0.0.1";
+    private static final int TICK_RATE = 60;
+    private static final int BOTS = 20;
+
+    private GameServer server;
+    private Thread tickThread;
+    private NetServer transport;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        server = new GameServer(1000, TICK_RATE);
+        transport = new NetServer(server.getSessions(), server.getInputQueue(), server.getClientBaselines(), 1);
+        transport.bind(HOST, 0, 0);
+        server.attachTransport(transport);
+        tickThread = new Thread(server::start, "tick");
+        tickThread.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        server.stop();
+        tickThread.join();
+        transport.close();
+    }
+
+    @Test
+    void testSwarmReportsLatencies() throws InterruptedException {
+        SwarmReport report;
+        try (BotSwarm swarm = new BotSwarm(new InetSocketAddress(HOST, transport.getTcpPort()),
+                                           new InetSocketAddress(HOST, transport.getUdpPort()), 2, TICK_RATE)) {
+            assertEquals(BOTS, swarm.connect(BOTS, 10, TimeUnit.SECONDS));
+            report = swarm.run(1, TimeUnit.SECONDS);
+        }
+
+        assertEquals(BOTS, report.getBotsConnected());
+        assertTrue(report.getInputsSent() >= BOTS * 10L, "inputs at the tick rate");
+        assertTrue(report.getStatesReceived() > 0);
+        assertTrue(report.getRoundTrip().getCount() > 0, "input acks matched to states");
+        assertTrue(report.getRoundTrip().getValueAtPercentile(50.0) > 0);
+        assertTrue(report.getTickJitter().getCount() > 0);
+
+        String json = report.toJson();
+        assertTrue(json.startsWith("{\"botsRequested\":20,\"botsConnected\":20,"), json);
+        assertTrue(json.contains("\"inputRoundTripMicros\":{\"count\":"), json);
+        assertTrue(json.contains("\"p999\":"), json);
+    }
+}
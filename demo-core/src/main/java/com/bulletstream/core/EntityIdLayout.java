@@ -0,0 +1,95 @@
+package com.bulletstream.core;
+
+/**
+ * How a 32-bit entity ID splits into a generation (upper bits) and an index (lower bits).
+ * More index bits allow bigger worlds; more generation bits let a slot be recycled more often
+ * before a stale ID could match again. IDs stay 32-bit so the wire format is unchanged.
+ *
+ * <p>Generation 0 is never issued (an ID of 0 is never valid past the first slot's first use)
+ * and the all-ones generation is skipped, so no ID equals -1 ("no entity").
+ */
+public final class EntityIdLayout {
+    public static final int MIN_INDEX_BITS = 8;
+    public static final int MAX_INDEX_BITS = 24;
+
+    /** 16/16: 65,536 entities, 65,534 generations per slot. */
+    public static final EntityIdLayout DEFAULT = new EntityIdLayout(16);
+
+    private final int indexBits;
+    private final int indexMask;
+    private final int maxGeneration;
+
+    /**
+     * @param indexBits bits for the index; the remaining 32 - indexBits hold the generation
+     * @throws IllegalArgumentException if outside [MIN_INDEX_BITS, MAX_INDEX_BITS]
+     */
+    public EntityIdLayout(int indexBits) {
+        if (indexBits < MIN_INDEX_BITS || indexBits > MAX_INDEX_BITS) {
+            throw new IllegalArgumentException("Index bits out of range [" + MIN_INDEX_BITS + ", "
+                                               + MAX_INDEX_BITS + "]: " + indexBits);
+        }
+        this.indexBits = indexBits;
+        this.indexMask = (1 << indexBits) - 1;
+        this.maxGeneration = (1 << (Integer.SIZE - indexBits)) - 2;
+    }
+
+    /**
+     * The default 16/16 layout when it fits, otherwise just enough index bits for the capacity
+     * (e.g. 20/12 for 1M entities).
+     * @throws IllegalArgumentException if the capacity needs more than MAX_INDEX_BITS
+     */
+    public static EntityIdLayout forCapacity(int maxEntities) {
+        if (maxEntities <= DEFAULT.getMaxEntities()) {
+            return DEFAULT;
+        }
+        return new EntityIdLayout(Integer.SIZE - Integer.numberOfLeadingZeros(maxEntities - 1));
+    }
+
+    public int compose(int generation, int index) {
+        return (generation << indexBits) | index;
+    }
+
+    public int index(int entityId) {
+        return entityId & indexMask;
+    }
+
+    public int generation(int entityId) {
+        return entityId >>> indexBits;
+    }
+
+    /**
+     * @return the generation after {@code entityId}'s, wrapping from the maximum back to 1
+     */
+    public int nextGeneration(int entityId) {
+        int generation = generation(entityId) + 1;
+        return generation > maxGeneration ? 1 : generation;
+    }
+
+    public int getIndexBits() {
+        return indexBits;
+    }
+
+    public int getIndexMask() {
+        return indexMask;
+    }
+
+    public int getGenerationBits() {
+        return Integer.SIZE - indexBits;
+    }
+
+    public int getMaxGeneration() {
+        return maxGeneration;
+    }
+
+    /**
+     * @return the largest world this layout can address
+     */
+    public int getMaxEntities() {
+        return indexMask + 1;
+    }
+
+    @Override
+    public String toString() {
+        return getGenerationBits() + "/" + indexBits;
+    }
+}
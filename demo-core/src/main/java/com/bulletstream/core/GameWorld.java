@@ -1,14 +1,23 @@
 package com.bulletstream.core;
 
+import com.bulletstream.core.storage.ComponentStore;
+import com.bulletstream.core.storage.HeapComponentStore;
 import com.bulletstream.core.util.IntStack;
+import com.bulletstream.core.util.StripeRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
 /**
  * Core ECS GameWorld using Data-Oriented Design with primitive arrays.
  * Zero-allocation update loop with entity lifecycle management.
+ * Component columns live in a {@link ComponentStore}: Java arrays by default, or native memory
+ * for very large worlds.
  */
-public final class GameWorld {
+public final class GameWorld implements WorldView {
     private static final Logger log = LoggerFactory.getLogger(GameWorld.class);
 
     // Entity Flags
@@ -17,74 +26,106 @@ public final class GameWorld {
     public static final byte FLAG_BULLET = 4;
     public static final byte FLAG_ENEMY = 8;
 
-    // Entity Component Arrays (Structure of Arrays)
-    private final int[] entityIds;      // Upper 16 bits = Generation, Lower 16 bits = Index
-    private final byte[] flags;         // Bitmask: ACTIVE(1), PLAYER(2), BULLET(4), ENEMY(8)
-    private final float[] positionsX;
-    private final float[] positionsY;
-    private final float[] velocitiesX;
-    private final float[] velocitiesY;
-    private final float[] radius;       // Collision radius (squared)
-    private final int[] ownerId;        // Entity ID of who fired this bullet
-    private final byte[] inputMask;     // Current tick input state (if player)
+    // Checkpoint format: 64-byte little-endian header, then the store columns, free stack and active set
+    private static final int CHECKPOINT_MAGIC = 0x4253434B; // "BSCK"
+    private static final int CHECKPOINT_VERSION = 1;
+    private static final int CHECKPOINT_HEADER_BYTES = 64;
+    private static final ValueLayout.OfInt LE_INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LE_LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    // Entity Component Columns (Structure of Arrays)
+    private final ComponentStore store;
     
     // Entity Lifecycle Management
+    private final EntityIdLayout idLayout;  // Generation/index split of entity IDs
+    private final int indexMask;            // idLayout's, kept in a field for the hot paths
     private final IntStack freeIndices; // Recycling stack for destroyed entities
-    private int entityCount;
+    private int entityCount;            // High-water mark of allocated indices
     private final int maxEntities;
 
+    // Dense Active Set (sparse-set over entity indices, swap-remove on despawn)
+    private final int[] activeIndices;  // Dense list of live entity indices
+    private final int[] activeSlot;     // Entity index -> position in activeIndices (valid while active)
+    private int activeCount;
+
+    // Despawns queued during the tick, applied together by flushDespawns()
+    private final int[] pendingDespawns;
+    private int pendingDespawnCount;
+
+    // Reusable body for parallel update (no per-tick allocation)
+    private final UpdateStripe updateStripe = new UpdateStripe();
+
     public GameWorld(int maxEntities) {
+        this(new HeapComponentStore(maxEntities));
+    }
+
+    /**
+     * @param store empty component storage; its capacity is the world's entity capacity
+     */
+    public GameWorld(ComponentStore store) {
+        this(store, EntityIdLayout.forCapacity(store.capacity()));
+    }
+
+    /**
+     * @param idLayout entity ID layout; must address the store's whole capacity
+     * @throws IllegalArgumentException if the layout has too few index bits for the capacity
+     */
+    public GameWorld(ComponentStore store, EntityIdLayout idLayout) {
+        int maxEntities = store.capacity();
+        if (maxEntities > idLayout.getMaxEntities()) {
+            throw new IllegalArgumentException("ID layout " + idLayout + " addresses " + idLayout.getMaxEntities()
+                                               + " entities, capacity is " + maxEntities);
+        }
         this.maxEntities = maxEntities;
-        this.entityIds = new int[maxEntities];
-        this.flags = new byte[maxEntities];
-        this.positionsX = new float[maxEntities];
-        this.positionsY = new float[maxEntities];
-        this.velocitiesX = new float[maxEntities];
-        this.velocitiesY = new float[maxEntities];
-        this.radius = new float[maxEntities];
-        this.ownerId = new int[maxEntities];
-        this.inputMask = new byte[maxEntities];
+        this.store = store;
+        this.idLayout = idLayout;
+        this.indexMask = idLayout.getIndexMask();
         this.freeIndices = new IntStack(maxEntities);
         this.entityCount = 0;
+        this.activeIndices = new int[maxEntities];
+        this.activeSlot = new int[maxEntities];
+        this.activeCount = 0;
+        this.pendingDespawns = new int[maxEntities];
+        this.pendingDespawnCount = 0;
         
-        log.info("GameWorld initialized with capacity: {}", maxEntities);
+        log.info("GameWorld initialized with capacity: {} ({}, ID layout {})", maxEntities,
+                 store.getClass().getSimpleName(), idLayout);
     }
 
     /**
      * Spawn a new entity with recycling support.
-     * @return entity ID (generation in upper 16 bits, index in lower 16 bits), or -1 if full
+     * @return entity ID (generation in the upper bits, index in the lower bits, see
+     *         {@link EntityIdLayout}), or -1 if full
      */
     public int spawnEntity(float x, float y, float vx, float vy, byte entityFlags) {
         // Use free list or allocate new index
         int index;
         if (!freeIndices.isEmpty()) {
             index = freeIndices.pop();
-            // Increment generation to invalidate stale references
-            int generation = (entityIds[index] >>> 16) + 1;
-            if (generation >= 0xFFFF) {
-                generation = 1; // Wrap around (skip 0)
-            }
-            entityIds[index] = (generation << 16) | index;
+            // Increment generation to invalidate stale references (wraps around, skipping 0)
+            store.setEntityId(index, idLayout.compose(idLayout.nextGeneration(store.getEntityId(index)), index));
         } else {
             if (entityCount >= maxEntities) {
                 return -1;
             }
             index = entityCount++;
             // Initialize generation to 1 (0 is reserved for null/invalid)
-            entityIds[index] = (1 << 16) | index;
+            store.setEntityId(index, idLayout.compose(1, index));
         }
         
         // Reset all component arrays
-        flags[index] = (byte) (entityFlags | FLAG_ACTIVE);
-        positionsX[index] = x;
-        positionsY[index] = y;
-        velocitiesX[index] = vx;
-        velocitiesY[index] = vy;
-        radius[index] = 0.0f;
-        ownerId[index] = 0;
-        inputMask[index] = 0;
+        store.setFlags(index, (byte) (entityFlags | FLAG_ACTIVE));
+        store.setPosition(index, x, y);
+        store.setVelocity(index, vx, vy);
+        store.setRadius(index, 0.0f);
+        store.setOwnerId(index, 0);
+        store.setInput(index, (byte) 0, 0.0f, -1L);
+
+        // Append to dense active set
+        activeSlot[index] = activeCount;
+        activeIndices[activeCount++] = index;
         
-        return entityIds[index];
+        return store.getEntityId(index);
     }
 
     /**
@@ -93,7 +134,7 @@ public final class GameWorld {
      * @throws IllegalArgumentException if entity ID is invalid or stale
      */
     public void despawnEntity(int entityId) {
-        int index = entityId & 0xFFFF;
+        int index = entityId & indexMask;
         
         // Validate index range (against maxEntities to account for recycled indices)
         if (index < 0 || index >= maxEntities) {
@@ -101,17 +142,130 @@ public final class GameWorld {
         }
         
         // Validate generation (prevent stale access)
-        if (entityIds[index] != entityId) {
-            throw new IllegalArgumentException("Stale entity ID: " + entityId + " (current: " + entityIds[index] + ")");
+        int current = store.getEntityId(index);
+        if (current != entityId) {
+            throw new IllegalArgumentException("Stale entity ID: " + entityId + " (current: " + current + ")");
+        }
+
+        // Reject double despawn (generation is only bumped on respawn)
+        if ((store.getFlags(index) & FLAG_ACTIVE) == 0) {
+            throw new IllegalArgumentException("Entity already despawned: " + entityId);
         }
         
         // Clear ACTIVE flag
-        flags[index] = 0;
+        store.setFlags(index, (byte) 0);
+
+        // Swap-remove from dense active set (last live index fills the hole)
+        int slot = activeSlot[index];
+        int lastIndex = activeIndices[--activeCount];
+        activeIndices[slot] = lastIndex;
+        activeSlot[lastIndex] = slot;
         
         // Add to free list for recycling
         freeIndices.push(index);
     }
 
+    /**
+     * Spawn up to {@code count} entities from parallel source columns in one pass: free indices are
+     * claimed from the recycling stack in bulk, the rest as one fresh range, and each component
+     * column is filled in its own tight loop.
+     * @param offset first source row
+     * @param outIds receives the new entity IDs in source row order, starting at index 0
+     * @return number spawned; fewer than {@code count} only if the world filled up
+     * @throws IllegalArgumentException if a source array or {@code outIds} is too short
+     */
+    public int spawnBatch(float[] x, float[] y, float[] vx, float[] vy, int offset, int count,
+                          byte entityFlags, int[] outIds) {
+        int end = offset + count;
+        if (offset < 0 || count < 0 || end > x.length || end > y.length || end > vx.length || end > vy.length
+                || count > outIds.length) {
+            throw new IllegalArgumentException("Batch of " + count + " at " + offset + " exceeds its arrays");
+        }
+        int n = Math.min(count, freeIndices.size() + (maxEntities - entityCount));
+        int recycled = freeIndices.popBatch(outIds, 0, n);
+        for (int k = recycled; k < n; k++) {
+            outIds[k] = entityCount++;
+        }
+        store.initialize(outIds, 0, n, x, y, vx, vy, offset, (byte) (entityFlags | FLAG_ACTIVE));
+
+        // Index -> ID (recycled slots bump their generation), then append to the dense active set
+        for (int k = 0; k < recycled; k++) {
+            int index = outIds[k];
+            store.setEntityId(index, idLayout.compose(idLayout.nextGeneration(store.getEntityId(index)), index));
+        }
+        for (int k = recycled; k < n; k++) {
+            store.setEntityId(outIds[k], idLayout.compose(1, outIds[k]));
+        }
+        for (int k = 0; k < n; k++) {
+            int index = outIds[k];
+            activeSlot[index] = activeCount;
+            activeIndices[activeCount++] = index;
+            outIds[k] = store.getEntityId(index);
+        }
+        return n;
+    }
+
+    /**
+     * Spawn every row of a staging batch; see the array variant above.
+     */
+    public int spawnBatch(SpawnBatch batch, byte entityFlags, int[] outIds) {
+        return spawnBatch(batch.x, batch.y, batch.vx, batch.vy, 0, batch.size(), entityFlags, outIds);
+    }
+
+    /**
+     * Despawn entities in one pass. Unlike {@link #despawnEntity}, IDs that are stale or already
+     * despawned (including duplicates within the batch) are skipped, not rejected.
+     * @return number despawned
+     */
+    public int despawnBatch(int[] entityIds, int offset, int count) {
+        int despawned = 0;
+        for (int k = offset; k < offset + count; k++) {
+            int entityId = entityIds[k];
+            if (!isActive(entityId)) {
+                continue;
+            }
+            int index = entityId & indexMask;
+            store.setFlags(index, (byte) 0);
+            int slot = activeSlot[index];
+            int lastIndex = activeIndices[--activeCount];
+            activeIndices[slot] = lastIndex;
+            activeSlot[lastIndex] = slot;
+            freeIndices.push(index);
+            despawned++;
+        }
+        return despawned;
+    }
+
+    /**
+     * Despawn an entity at the next {@link #flushDespawns()} instead of now, so the active set and
+     * component columns stay stable while a system is iterating them. The entity stays active
+     * (and queued again harmlessly) until the flush.
+     * @throws IllegalStateException if the queue is full (more queued despawns than entities)
+     */
+    public void queueDespawn(int entityId) {
+        if (pendingDespawnCount == pendingDespawns.length) {
+            throw new IllegalStateException("Despawn queue full");
+        }
+        pendingDespawns[pendingDespawnCount++] = entityId;
+    }
+
+    /**
+     * Apply every queued despawn; call at the end of the tick's simulation.
+     * @return number despawned (duplicates and stale IDs are skipped)
+     */
+    public int flushDespawns() {
+        int despawned = despawnBatch(pendingDespawns, 0, pendingDespawnCount);
+        pendingDespawnCount = 0;
+        return despawned;
+    }
+
+    /**
+     * @return despawns queued since the last flush
+     */
+    public int getPendingDespawnCount() {
+        return pendingDespawnCount;
+    }
+
     /**
      * Legacy method for backward compatibility.
      * @deprecated Use {@link #spawnEntity(float, float, float, float, byte)} instead
@@ -119,19 +273,42 @@ public final class GameWorld {
     @Deprecated
     public int addEntity(float x, float y, float vx, float vy) {
         int entityId = spawnEntity(x, y, vx, vy, (byte) 0);
-        return entityId == -1 ? -1 : (entityId & 0xFFFF); // Return index for compatibility
+        return entityId == -1 ? -1 : (entityId & indexMask); // Return index for compatibility
     }
 
     /**
      * Update all active entities (Zero-allocation loop).
+     * Scans [0, entityCount) with the SIMD integrator when mostly occupied,
+     * otherwise walks the dense active set so despawn holes are skipped.
      */
     public void update(float deltaTime) {
-        for (int i = 0; i < entityCount; i++) {
-            // Only update active entities
-            if ((flags[i] & FLAG_ACTIVE) != 0) {
-                positionsX[i] += velocitiesX[i] * deltaTime;
-                positionsY[i] += velocitiesY[i] * deltaTime;
-            }
+        updatePartition(0, 1, deltaTime);
+    }
+
+    /**
+     * Update all active entities with the work split across the runner's stripes.
+     * Bit-identical to {@link #update(float)}: every entity is integrated exactly once.
+     */
+    public void update(float deltaTime, StripeRunner runner) {
+        if (runner.getStripeCount() == 1) {
+            update(deltaTime);
+            return;
+        }
+        updateStripe.deltaTime = deltaTime;
+        runner.run(updateStripe);
+    }
+
+    /**
+     * Update one of {@code parts} disjoint, contiguous slices of the world.
+     * Different parts touch different entities and may run concurrently.
+     */
+    public void updatePartition(int part, int parts, float deltaTime) {
+        if (activeCount * 2 < entityCount) {
+            store.integrateIndexed(activeIndices, StripeRunner.sliceStart(activeCount, part, parts),
+                                   StripeRunner.sliceStart(activeCount, part + 1, parts), deltaTime);
+        } else {
+            store.integrate(StripeRunner.sliceStart(entityCount, part, parts),
+                            StripeRunner.sliceStart(entityCount, part + 1, parts), deltaTime);
         }
     }
 
@@ -140,34 +317,328 @@ public final class GameWorld {
      * @param entityId the entity ID to check
      * @return true if active, false otherwise
      */
+    @Override
     public boolean isActive(int entityId) {
-        int index = entityId & 0xFFFF;
+        int index = entityId & indexMask;
         if (index < 0 || index >= entityCount) {
             return false;
         }
-        if (entityIds[index] != entityId) {
+        if (store.getEntityId(index) != entityId) {
             return false; // Stale reference
         }
-        return (flags[index] & FLAG_ACTIVE) != 0;
+        return (store.getFlags(index) & FLAG_ACTIVE) != 0;
+    }
+
+    /**
+     * Apply a player's input state for the coming tick.
+     * @param entityId the target entity ID (generation-checked)
+     * @param tick the client's tick stamp for this input (echoed back as the last processed input)
+     * @return false if the entity is stale or no longer active (input ignored)
+     */
+    public boolean applyInput(int entityId, long tick, byte mask, float angle) {
+        if (!isActive(entityId)) {
+            return false;
+        }
+        int index = entityId & indexMask;
+        store.setInput(index, mask, angle, tick);
+        return true;
     }
 
+    /**
+     * @return the component index of an entity ID (no liveness check)
+     */
+    @Override
+    public int indexOf(int entityId) {
+        return entityId & indexMask;
+    }
+
+    /**
+     * Bulk-copy the positions and entity IDs of every allocated index [0, getEntityCount()),
+     * free slots included (their ID is stale, so lookups by live ID miss them).
+     * @return number of indices copied
+     */
+    public int copyPositions(float[] x, float[] y, int[] ids) {
+        store.copyPositions(entityCount, x, y, ids);
+        return entityCount;
+    }
+
+    /**
+     * Bulk-copy the columns state broadcast reads for every allocated index [0, getEntityCount()),
+     * free slots included (see {@link #copyPositions}).
+     * @return number of indices copied
+     */
+    public int copyState(int[] ids, byte[] flags, float[] x, float[] y, float[] vx, float[] vy, long[] inputTicks) {
+        store.copyState(entityCount, ids, flags, x, y, vx, vy, inputTicks);
+        return entityCount;
+    }
+
+    /**
+     * Copy the dense active set, in slot order, into {@code out[0, getActiveCount())}.
+     * @return number of active entities
+     */
+    public int copyActiveIndices(int[] out) {
+        System.arraycopy(activeIndices, 0, out, 0, activeCount);
+        return activeCount;
+    }
+
+    /**
+     * 64-bit hash of every live entity's ID, flags, position, velocity, radius and owner, for checking
+     * that two runs of the same simulation agree (replay verification). Independent of active-set
+     * order; O(getEntityCount()).
+     */
+    public long stateHash() {
+        long hash = activeCount;
+        for (int index = 0; index < entityCount; index++) {
+            byte entityFlags = store.getFlags(index);
+            if ((entityFlags & FLAG_ACTIVE) == 0) {
+                continue;
+            }
+            hash = mix(hash, store.getEntityId(index));
+            hash = mix(hash, entityFlags);
+            hash = mix(hash, Float.floatToRawIntBits(store.getPositionX(index)));
+            hash = mix(hash, Float.floatToRawIntBits(store.getPositionY(index)));
+            hash = mix(hash, Float.floatToRawIntBits(store.getVelocityX(index)));
+            hash = mix(hash, Float.floatToRawIntBits(store.getVelocityY(index)));
+            hash = mix(hash, Float.floatToRawIntBits(store.getRadius(index)));
+            hash = mix(hash, store.getOwnerId(index));
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        long h = (hash ^ (value & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * @return the largest checkpoint a world of this capacity can produce, for sizing buffers
+     */
+    public static long maxCheckpointBytes(int capacity) {
+        return checkpointBytes(capacity, capacity, capacity);
+    }
+
+    private static long checkpointBytes(int entityCount, int freeCount, int activeCount) {
+        return CHECKPOINT_HEADER_BYTES + ComponentStore.checkpointBytes(entityCount)
+               + pad8((long) freeCount * Integer.BYTES) + pad8((long) activeCount * Integer.BYTES);
+    }
+
+    private static long pad8(long bytes) {
+        return (bytes + 7) & -8L;
+    }
+
+    /**
+     * @return size of the checkpoint {@link #writeCheckpoint} would write now
+     */
+    public long getCheckpointBytes() {
+        return checkpointBytes(entityCount, freeIndices.size(), activeCount);
+    }
+
+    /**
+     * Copy the whole world state (component columns of every allocated index, free list, active
+     * set order) into {@code out} as a versioned checkpoint: a few bulk copies, O(getEntityCount()),
+     * readable by worlds of either store backend. Call between ticks.
+     * @param tick caller's tick, returned by {@link #restoreCheckpoint}
+     * @return bytes written ({@link #getCheckpointBytes()})
+     * @throws IllegalStateException if despawns are queued (flush first)
+     * @throws IndexOutOfBoundsException if {@code out} is too small
+     */
+    public long writeCheckpoint(MemorySegment out, long tick) {
+        if (pendingDespawnCount != 0) {
+            throw new IllegalStateException(pendingDespawnCount + " despawns queued; flush before a checkpoint");
+        }
+        int freeCount = freeIndices.size();
+        long total = getCheckpointBytes();
+        if (out.byteSize() < total) {
+            throw new IndexOutOfBoundsException("Checkpoint needs " + total + " bytes, buffer has " + out.byteSize());
+        }
+        out.set(LE_INT, 0, CHECKPOINT_MAGIC);
+        out.set(LE_INT, 4, CHECKPOINT_VERSION);
+        out.set(LE_INT, 8, maxEntities);
+        out.set(LE_INT, 12, idLayout.getIndexBits());
+        out.set(LE_INT, 16, entityCount);
+        out.set(LE_INT, 20, freeCount);
+        out.set(LE_INT, 24, activeCount);
+        out.set(LE_INT, 28, 0);
+        out.set(LE_LONG, 32, tick);
+        out.set(LE_LONG, 40, total);
+        out.asSlice(48, CHECKPOINT_HEADER_BYTES - 48).fill((byte) 0);
+
+        long at = CHECKPOINT_HEADER_BYTES;
+        store.exportColumns(entityCount, out, at);
+        at += ComponentStore.checkpointBytes(entityCount);
+        freeIndices.writeTo(out, LE_INT, at);
+        at += pad8((long) freeCount * Integer.BYTES);
+        MemorySegment.copy(activeIndices, 0, out, LE_INT, at, activeCount);
+        return total;
+    }
+
+    /**
+     * Replace the whole world state with a checkpoint from {@link #writeCheckpoint}. The header and
+     * every stored index are validated before anything is overwritten, so a rejected checkpoint
+     * leaves the world untouched. Queued despawns are discarded.
+     * @return the tick the checkpoint was written at
+     * @throws IllegalArgumentException if the data is not a version-1 checkpoint, is truncated, or
+     *         does not fit this world (more entities than capacity, different ID layout)
+     */
+    public long restoreCheckpoint(MemorySegment in) {
+        if (in.byteSize() < CHECKPOINT_HEADER_BYTES || in.get(LE_INT, 0) != CHECKPOINT_MAGIC) {
+            throw new IllegalArgumentException("Not a world checkpoint");
+        }
+        int version = in.get(LE_INT, 4);
+        if (version != CHECKPOINT_VERSION) {
+            throw new IllegalArgumentException("Unsupported checkpoint version " + version);
+        }
+        int indexBits = in.get(LE_INT, 12);
+        int savedCount = in.get(LE_INT, 16);
+        int freeCount = in.get(LE_INT, 20);
+        int savedActive = in.get(LE_INT, 24);
+        if (indexBits != idLayout.getIndexBits()) {
+            throw new IllegalArgumentException("Checkpoint uses " + indexBits + " index bits, world uses "
+                                               + idLayout.getIndexBits());
+        }
+        if (savedCount < 0 || savedCount > maxEntities || freeCount < 0 || savedActive < 0
+                || freeCount + savedActive != savedCount) {
+            throw new IllegalArgumentException("Checkpoint of " + savedCount + " entities (" + freeCount + " free, "
+                                               + savedActive + " active) does not fit capacity " + maxEntities);
+        }
+        long total = checkpointBytes(savedCount, freeCount, savedActive);
+        if (in.get(LE_LONG, 40) != total || in.byteSize() < total) {
+            throw new IllegalArgumentException("Truncated checkpoint: " + in.byteSize() + " of " + total + " bytes");
+        }
+        long freeAt = CHECKPOINT_HEADER_BYTES + ComponentStore.checkpointBytes(savedCount);
+        long activeAt = freeAt + pad8((long) freeCount * Integer.BYTES);
+        checkIndices(in, freeAt, freeCount, savedCount);
+        checkIndices(in, activeAt, savedActive, savedCount);
+
+        store.importColumns(savedCount, in, CHECKPOINT_HEADER_BYTES);
+        entityCount = savedCount;
+        freeIndices.readFrom(in, LE_INT, freeAt, freeCount);
+        MemorySegment.copy(in, LE_INT, activeAt, activeIndices, 0, savedActive);
+        activeCount = savedActive;
+        for (int slot = 0; slot < activeCount; slot++) {
+            activeSlot[activeIndices[slot]] = slot;
+        }
+        pendingDespawnCount = 0;
+        return in.get(LE_LONG, 32);
+    }
+
+    private static void checkIndices(MemorySegment in, long offset, int count, int entityCount) {
+        for (int k = 0; k < count; k++) {
+            int index = in.get(LE_INT, offset + (long) k * Integer.BYTES);
+            if (index < 0 || index >= entityCount) {
+                throw new IllegalArgumentException("Checkpoint index " + index + " outside [0, " + entityCount + ")");
+            }
+        }
+    }
+
+    public EntityIdLayout getIdLayout() {
+        return idLayout;
+    }
+
+    @Override
     public int getEntityCount() {
         return entityCount;
     }
 
+    /**
+     * @return number of live entities (size of the dense active set)
+     */
+    @Override
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Get the entity index stored at a dense slot.
+     * Hot loops iterate {@code for (int s = 0; s < getActiveCount(); s++)} to skip despawned holes.
+     * Slots are reordered by despawn, so do not hold on to them across lifecycle calls.
+     * @param slot dense slot in [0, activeCount)
+     * @return entity index
+     */
+    @Override
+    public int getActiveIndex(int slot) {
+        return activeIndices[slot];
+    }
+
+    @Override
     public float getPositionX(int index) {
-        return positionsX[index];
+        return store.getPositionX(index);
     }
 
+    @Override
     public float getPositionY(int index) {
-        return positionsY[index];
+        return store.getPositionY(index);
+    }
+
+    @Override
+    public float getVelocityX(int index) {
+        return store.getVelocityX(index);
+    }
+
+    @Override
+    public float getVelocityY(int index) {
+        return store.getVelocityY(index);
     }
 
+    public void setVelocity(int index, float vx, float vy) {
+        store.setVelocity(index, vx, vy);
+    }
+
+    @Override
     public byte getFlags(int index) {
-        return flags[index];
+        return store.getFlags(index);
+    }
+
+    public float getRadius(int index) {
+        return store.getRadius(index);
+    }
+
+    public void setRadius(int index, float value) {
+        store.setRadius(index, value);
+    }
+
+    public int getOwnerId(int index) {
+        return store.getOwnerId(index);
     }
 
+    public void setOwnerId(int index, int value) {
+        store.setOwnerId(index, value);
+    }
+
+    public byte getInputMask(int index) {
+        return store.getInputMask(index);
+    }
+
+    public float getAimAngle(int index) {
+        return store.getAimAngle(index);
+    }
+
+    /**
+     * @return client tick stamp of the last input applied to this entity, or -1 if none
+     */
+    @Override
+    public long getInputTick(int index) {
+        return store.getInputTick(index);
+    }
+
+    @Override
     public int getEntityId(int index) {
-        return entityIds[index];
+        return store.getEntityId(index);
+    }
+
+    /**
+     * @return the component storage backend
+     */
+    public ComponentStore getStore() {
+        return store;
+    }
+
+    private final class UpdateStripe implements StripeRunner.StripeBody {
+        float deltaTime;
+
+        @Override
+        public void run(int stripe, int stripeCount) {
+            updatePartition(stripe, stripeCount, deltaTime);
+        }
     }
 }
@@ -0,0 +1,141 @@
+package com.bulletstream.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Euler position integration over SoA component columns.
+ * Dispatches to the SIMD kernel when {@code jdk.incubator.vector} is present,
+ * otherwise falls back to the scalar loop. Both paths are bit-identical.
+ */
+public final class Integrator {
+    private static final Logger log = LoggerFactory.getLogger(Integrator.class);
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /** Set to {@code false} to force the scalar path (A/B runs). */
+    public static final String SIMD_PROPERTY = "bulletstream.simd";
+
+    private static final boolean SIMD_ENABLED = detectSimd();
+
+    private Integrator() {
+    }
+
+    /**
+     * Integrate positions for all entities in [from, to) whose ACTIVE flag is set.
+     * Zero-allocation.
+     */
+    public static void integrate(float[] positionsX, float[] positionsY,
+                                 float[] velocitiesX, float[] velocitiesY,
+                                 byte[] flags, int from, int to, float deltaTime) {
+        if (SIMD_ENABLED) {
+            VectorIntegrator.integrate(positionsX, positionsY, velocitiesX, velocitiesY, flags, from, to, deltaTime);
+        } else {
+            integrateScalar(positionsX, positionsY, velocitiesX, velocitiesY, flags, from, to, deltaTime);
+        }
+    }
+
+    /**
+     * Scalar reference kernel (one lane at a time).
+     */
+    public static void integrateScalar(float[] positionsX, float[] positionsY,
+                                       float[] velocitiesX, float[] velocitiesY,
+                                       byte[] flags, int from, int to, float deltaTime) {
+        for (int i = from; i < to; i++) {
+            if ((flags[i] & GameWorld.FLAG_ACTIVE) != 0) {
+                positionsX[i] += velocitiesX[i] * deltaTime;
+                positionsY[i] += velocitiesY[i] * deltaTime;
+            }
+        }
+    }
+
+    /**
+     * Integrate positions for the entities listed in indices[from, to).
+     * Used for sparse worlds; every listed entity is assumed active.
+     */
+    public static void integrateIndexed(float[] positionsX, float[] positionsY,
+                                        float[] velocitiesX, float[] velocitiesY,
+                                        int[] indices, int from, int to, float deltaTime) {
+        for (int k = from; k < to; k++) {
+            int i = indices[k];
+            positionsX[i] += velocitiesX[i] * deltaTime;
+            positionsY[i] += velocitiesY[i] * deltaTime;
+        }
+    }
+
+    /**
+     * Off-heap variant of {@link #integrate(float[], float[], float[], float[], byte[], int, int, float)}:
+     * float columns and a byte flags column in native memory, addressed by entity index.
+     */
+    public static void integrate(MemorySegment positionsX, MemorySegment positionsY,
+                                 MemorySegment velocitiesX, MemorySegment velocitiesY,
+                                 MemorySegment flags, int from, int to, float deltaTime) {
+        if (SIMD_ENABLED) {
+            VectorIntegrator.integrate(positionsX, positionsY, velocitiesX, velocitiesY, flags, from, to, deltaTime);
+        } else {
+            integrateScalar(positionsX, positionsY, velocitiesX, velocitiesY, flags, from, to, deltaTime);
+        }
+    }
+
+    /**
+     * Scalar reference kernel over native memory columns.
+     */
+    public static void integrateScalar(MemorySegment positionsX, MemorySegment positionsY,
+                                       MemorySegment velocitiesX, MemorySegment velocitiesY,
+                                       MemorySegment flags, int from, int to, float deltaTime) {
+        for (int i = from; i < to; i++) {
+            if ((flags.get(ValueLayout.JAVA_BYTE, i) & GameWorld.FLAG_ACTIVE) != 0) {
+                step(positionsX, velocitiesX, i, deltaTime);
+                step(positionsY, velocitiesY, i, deltaTime);
+            }
+        }
+    }
+
+    /**
+     * Off-heap variant of {@link #integrateIndexed(float[], float[], float[], float[], int[], int, int, float)}.
+     */
+    public static void integrateIndexed(MemorySegment positionsX, MemorySegment positionsY,
+                                        MemorySegment velocitiesX, MemorySegment velocitiesY,
+                                        int[] indices, int from, int to, float deltaTime) {
+        for (int k = from; k < to; k++) {
+            int i = indices[k];
+            step(positionsX, velocitiesX, i, deltaTime);
+            step(positionsY, velocitiesY, i, deltaTime);
+        }
+    }
+
+    private static void step(MemorySegment positions, MemorySegment velocities, long i, float deltaTime) {
+        positions.setAtIndex(ValueLayout.JAVA_FLOAT, i,
+                             positions.getAtIndex(ValueLayout.JAVA_FLOAT, i)
+                             + velocities.getAtIndex(ValueLayout.JAVA_FLOAT, i) * deltaTime);
+    }
+
+    /**
+     * @return true if {@link #integrate} runs the SIMD kernel
+     */
+    public static boolean isSimdEnabled() {
+        return SIMD_ENABLED;
+    }
+
+    private static boolean detectSimd() {
+        if (!Boolean.parseBoolean(System.getProperty(SIMD_PROPERTY, "true"))) {
+            log.info("SIMD integration disabled via -D{}=false", SIMD_PROPERTY);
+            return false;
+        }
+        // Only touch VectorIntegrator once the module is known to be resolvable
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.info("{} not present (launch with --add-modules {}), using scalar integration",
+                     VECTOR_MODULE, VECTOR_MODULE);
+            return false;
+        }
+        if (!VectorIntegrator.isSupported()) {
+            log.info("No byte/float vector species pair on this CPU, using scalar integration");
+            return false;
+        }
+        log.info("SIMD integration enabled ({} float lanes)", VectorIntegrator.laneCount());
+        return true;
+    }
+}
@@ -0,0 +1,221 @@
+package com.bulletstream.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spatial Hash Grid with contiguous per-cell buckets (Data-Oriented Design).
+ * Inserts are staged, then {@link #build()} runs a two-pass counting sort so every
+ * cell is a contiguous run of {@code sortedEntities}; queries are linear reads
+ * instead of pointer chasing through a linked list.
+ * Only touched cells are counted, prefixed and cleared, so cost scales with inserts.
+ */
+public final class SortedSpatialHash implements SpatialIndex {
+    private static final Logger log = LoggerFactory.getLogger(SortedSpatialHash.class);
+
+    private final float cellSize;
+    private final int gridWidth;
+    private final int gridHeight;
+    private final int[] cellCount;      // Entities per cell (0 for untouched cells)
+    private final int[] cellEnd;        // Exclusive end of the cell's run in sortedEntities (after build)
+    private final int[] touchedCells;   // Cells made non-empty since the last clear
+    private int touchedCount;
+
+    private final int[] stagedEntity;   // Insert order: entity index
+    private final int[] stagedCell;     // Insert order: cell index
+    private int stagedCount;
+
+    private final int[] sortedEntities; // Entity indices grouped by cell
+    private boolean built;
+    private final int maxEntities;
+
+    /**
+     * Create a sorted spatial hash grid.
+     * @param worldWidth width of the world in game units
+     * @param worldHeight height of the world in game units
+     * @param maxEntities maximum number of entities
+     */
+    public SortedSpatialHash(float worldWidth, float worldHeight, int maxEntities) {
+        this(worldWidth, worldHeight, maxEntities, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Create a sorted spatial hash grid with a custom cell size.
+     * @param worldWidth width of the world in game units
+     * @param worldHeight height of the world in game units
+     * @param maxEntities maximum number of entities
+     * @param cellSize cell edge length in game units
+     * @throws IllegalArgumentException if cellSize is not positive
+     */
+    public SortedSpatialHash(float worldWidth, float worldHeight, int maxEntities, float cellSize) {
+        if (!(cellSize > 0.0f)) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.gridWidth = (int) Math.ceil(worldWidth / cellSize);
+        this.gridHeight = (int) Math.ceil(worldHeight / cellSize);
+        int cells = gridWidth * gridHeight;
+        this.cellCount = new int[cells];
+        this.cellEnd = new int[cells];
+        this.touchedCells = new int[Math.min(cells, maxEntities)];
+        this.stagedEntity = new int[maxEntities];
+        this.stagedCell = new int[maxEntities];
+        this.sortedEntities = new int[maxEntities];
+        this.maxEntities = maxEntities;
+        this.built = true;
+
+        log.info("SortedSpatialHash initialized: {}x{} cells of {} ({} total), {} entities max",
+                 gridWidth, gridHeight, cellSize, cells, maxEntities);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < touchedCount; i++) {
+            cellCount[touchedCells[i]] = 0;
+        }
+        touchedCount = 0;
+        stagedCount = 0;
+        built = true;
+    }
+
+    /**
+     * Stage an entity for the next {@link #build()}.
+     */
+    @Override
+    public void insert(int entityIndex, float x, float y) {
+        if (entityIndex < 0 || entityIndex >= maxEntities || stagedCount >= maxEntities) {
+            return; // Silently ignore invalid indices
+        }
+
+        int cellX = (int) (x / cellSize);
+        int cellY = (int) (y / cellSize);
+
+        // Clamp to grid bounds
+        if (cellX < 0) cellX = 0;
+        if (cellX >= gridWidth) cellX = gridWidth - 1;
+        if (cellY < 0) cellY = 0;
+        if (cellY >= gridHeight) cellY = gridHeight - 1;
+
+        int cellIndex = cellY * gridWidth + cellX;
+
+        // Pass 1 (count) happens on insert
+        if (cellCount[cellIndex]++ == 0) {
+            touchedCells[touchedCount++] = cellIndex;
+        }
+        stagedEntity[stagedCount] = entityIndex;
+        stagedCell[stagedCount] = cellIndex;
+        stagedCount++;
+        built = false;
+    }
+
+    /**
+     * Prefix-sum the touched cells and scatter staged entities into contiguous buckets.
+     * Bucket order follows insert order (stable).
+     */
+    @Override
+    public void build() {
+        // Prefix sum: cellEnd temporarily holds each bucket's start (write cursor)
+        int offset = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int cell = touchedCells[i];
+            cellEnd[cell] = offset;
+            offset += cellCount[cell];
+        }
+
+        // Pass 2 (scatter): cursor ends up at the bucket's exclusive end
+        for (int i = 0; i < stagedCount; i++) {
+            sortedEntities[cellEnd[stagedCell[i]]++] = stagedEntity[i];
+        }
+        built = true;
+    }
+
+    @Override
+    public void query(float x, float y, QueryCallback callback) {
+        checkBuilt();
+        int cellX = (int) (x / cellSize);
+        int cellY = (int) (y / cellSize);
+
+        // Check bounds
+        if (cellX < 0 || cellX >= gridWidth || cellY < 0 || cellY >= gridHeight) {
+            return;
+        }
+
+        visitBucket(cellY * gridWidth + cellX, callback);
+    }
+
+    @Override
+    public void queryNeighbors(float x, float y, QueryCallback callback) {
+        checkBuilt();
+        int centerCellX = (int) (x / cellSize);
+        int centerCellY = (int) (y / cellSize);
+
+        // Check 3x3 grid centered on the cell
+        for (int dy = -1; dy <= 1; dy++) {
+            int cellY = centerCellY + dy;
+            if (cellY < 0 || cellY >= gridHeight) {
+                continue;
+            }
+            for (int dx = -1; dx <= 1; dx++) {
+                int cellX = centerCellX + dx;
+                if (cellX < 0 || cellX >= gridWidth) {
+                    continue;
+                }
+                visitBucket(cellY * gridWidth + cellX, callback);
+            }
+        }
+    }
+
+    @Override
+    public void visitCell(int cellX, int cellY, QueryCallback callback) {
+        checkBuilt();
+        visitBucket(cellY * gridWidth + cellX, callback);
+    }
+
+    @Override
+    public int collectCell(int cellX, int cellY, int[] out, int count) {
+        checkBuilt();
+        int cellIndex = cellY * gridWidth + cellX;
+        int size = cellCount[cellIndex];
+        if (size == 0) {
+            return count; // cellEnd is stale for untouched cells
+        }
+        // Contiguous bucket: copy whatever fits in one go
+        int fit = Math.min(size, out.length - count);
+        if (fit > 0) {
+            System.arraycopy(sortedEntities, cellEnd[cellIndex] - size, out, count, fit);
+        }
+        return count + size;
+    }
+
+    private void visitBucket(int cellIndex, QueryCallback callback) {
+        int count = cellCount[cellIndex];
+        if (count == 0) {
+            return; // cellEnd is stale for untouched cells
+        }
+        int end = cellEnd[cellIndex];
+        for (int i = end - count; i < end; i++) {
+            callback.onEntity(sortedEntities[i]);
+        }
+    }
+
+    private void checkBuilt() {
+        if (!built) {
+            throw new IllegalStateException("SortedSpatialHash queried before build()");
+        }
+    }
+
+    @Override
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    @Override
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    @Override
+    public float getCellSize() {
+        return cellSize;
+    }
+}
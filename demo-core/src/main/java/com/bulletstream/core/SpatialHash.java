@@ -3,19 +3,24 @@ package com.bulletstream.core;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+
 /**
  * Spatial Hash Grid for O(1) collision detection.
  * Uses embedded linked-list in arrays (Data-Oriented Design).
+ * Clearing only resets cells touched since the last clear, so rebuild cost
+ * scales with inserted entities rather than world size.
  */
-public final class SpatialHash {
+public final class SpatialHash implements SpatialIndex {
     private static final Logger log = LoggerFactory.getLogger(SpatialHash.class);
 
-    private static final float CELL_SIZE = 64.0f;
-    
+    private final float cellSize;
     private final int gridWidth;
     private final int gridHeight;
     private final int[] cellHead;     // Head of linked list for each cell (entity index or -1)
     private final int[] nextEntity;   // Next entity in same cell (or -1 for end of list)
+    private final int[] touchedCells; // Cells made non-empty since the last clear
+    private int touchedCount;
     private final int maxEntities;
 
     /**
@@ -25,30 +30,49 @@ public final class SpatialHash {
      * @param maxEntities maximum number of entities
      */
     public SpatialHash(float worldWidth, float worldHeight, int maxEntities) {
-        this.gridWidth = (int) Math.ceil(worldWidth / CELL_SIZE);
-        this.gridHeight = (int) Math.ceil(worldHeight / CELL_SIZE);
+        this(worldWidth, worldHeight, maxEntities, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Create a spatial hash grid with a custom cell size.
+     * @param worldWidth width of the world in game units
+     * @param worldHeight height of the world in game units
+     * @param maxEntities maximum number of entities
+     * @param cellSize cell edge length in game units
+     * @throws IllegalArgumentException if cellSize is not positive
+     */
+    public SpatialHash(float worldWidth, float worldHeight, int maxEntities, float cellSize) {
+        if (!(cellSize > 0.0f)) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.gridWidth = (int) Math.ceil(worldWidth / cellSize);
+        this.gridHeight = (int) Math.ceil(worldHeight / cellSize);
         this.cellHead = new int[gridWidth * gridHeight];
         this.nextEntity = new int[maxEntities];
+        // Each insert makes at most one cell non-empty
+        this.touchedCells = new int[Math.min(cellHead.length, maxEntities)];
+        this.touchedCount = 0;
         this.maxEntities = maxEntities;
         
-        clear();
+        Arrays.fill(cellHead, -1);
+        Arrays.fill(nextEntity, -1);
         
-        log.info("SpatialHash initialized: {}x{} cells ({} total), {} entities max", 
-                 gridWidth, gridHeight, cellHead.length, maxEntities);
+        log.info("SpatialHash initialized: {}x{} cells of {} ({} total), {} entities max", 
+                 gridWidth, gridHeight, cellSize, cellHead.length, maxEntities);
     }
 
     /**
      * Clear all cells (Zero-allocation).
+     * Resets only the touched cells; nextEntity needs no reset because it is
+     * always written on insert before any list walk can reach it.
      */
+    @Override
     public void clear() {
-        // Initialize all cells to empty (-1)
-        for (int i = 0; i < cellHead.length; i++) {
-            cellHead[i] = -1;
-        }
-        // Initialize all next pointers to -1
-        for (int i = 0; i < nextEntity.length; i++) {
-            nextEntity[i] = -1;
+        for (int i = 0; i < touchedCount; i++) {
+            cellHead[touchedCells[i]] = -1;
         }
+        touchedCount = 0;
     }
 
     /**
@@ -57,13 +81,14 @@ public final class SpatialHash {
      * @param x entity X position
      * @param y entity Y position
      */
+    @Override
     public void insert(int entityIndex, float x, float y) {
         if (entityIndex < 0 || entityIndex >= maxEntities) {
             return; // Silently ignore invalid indices
         }
         
-        int cellX = (int) (x / CELL_SIZE);
-        int cellY = (int) (y / CELL_SIZE);
+        int cellX = (int) (x / cellSize);
+        int cellY = (int) (y / cellSize);
         
         // Clamp to grid bounds
         if (cellX < 0) cellX = 0;
@@ -72,21 +97,35 @@ public final class SpatialHash {
         if (cellY >= gridHeight) cellY = gridHeight - 1;
         
         int cellIndex = cellY * gridWidth + cellX;
+
+        // Remember first insert into this cell so clear() can reset it
+        if (cellHead[cellIndex] == -1) {
+            touchedCells[touchedCount++] = cellIndex;
+        }
         
         // Insert at head of linked list
         nextEntity[entityIndex] = cellHead[cellIndex];
         cellHead[cellIndex] = entityIndex;
     }
 
+    /**
+     * Linked lists are complete after each insert; nothing to finalize.
+     */
+    @Override
+    public void build() {
+        // No-op
+    }
+
     /**
      * Query entities in a cell.
      * @param x world X position
      * @param y world Y position
      * @param callback callback for each entity in the cell
      */
+    @Override
     public void query(float x, float y, QueryCallback callback) {
-        int cellX = (int) (x / CELL_SIZE);
-        int cellY = (int) (y / CELL_SIZE);
+        int cellX = (int) (x / cellSize);
+        int cellY = (int) (y / cellSize);
         
         // Check bounds
         if (cellX < 0 || cellX >= gridWidth || cellY < 0 || cellY >= gridHeight) {
@@ -109,9 +148,10 @@ public final class SpatialHash {
      * @param y world Y position
      * @param callback callback for each entity found
      */
+    @Override
     public void queryNeighbors(float x, float y, QueryCallback callback) {
-        int centerCellX = (int) (x / CELL_SIZE);
-        int centerCellY = (int) (y / CELL_SIZE);
+        int centerCellX = (int) (x / cellSize);
+        int centerCellY = (int) (y / cellSize);
         
         // Check 3x3 grid centered on the cell
         for (int dy = -1; dy <= 1; dy++) {
@@ -136,23 +176,47 @@ public final class SpatialHash {
         }
     }
 
-    /**
-     * Callback interface for spatial queries.
-     */
-    @FunctionalInterface
-    public interface QueryCallback {
-        void onEntity(int entityIndex);
+    @Override
+    public void visitCell(int cellX, int cellY, QueryCallback callback) {
+        int entityIndex = cellHead[cellY * gridWidth + cellX];
+        while (entityIndex != -1) {
+            callback.onEntity(entityIndex);
+            entityIndex = nextEntity[entityIndex];
+        }
+    }
+
+    @Override
+    public int collectCell(int cellX, int cellY, int[] out, int count) {
+        int entityIndex = cellHead[cellY * gridWidth + cellX];
+        while (entityIndex != -1) {
+            if (count < out.length) {
+                out[count] = entityIndex;
+            }
+            count++;
+            entityIndex = nextEntity[entityIndex];
+        }
+        return count;
     }
 
+    @Override
     public int getGridWidth() {
         return gridWidth;
     }
 
+    @Override
     public int getGridHeight() {
         return gridHeight;
     }
 
+    /**
+     * @return number of non-empty cells since the last clear
+     */
+    public int getTouchedCellCount() {
+        return touchedCount;
+    }
+
+    @Override
     public float getCellSize() {
-        return CELL_SIZE;
+        return cellSize;
     }
 }
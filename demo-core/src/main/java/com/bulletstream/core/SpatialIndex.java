@@ -0,0 +1,178 @@
+package com.bulletstream.core;
+
+/**
+ * Uniform-grid broadphase over entity indices.
+ * Per tick: {@link #clear()}, {@link #insert} every entity, {@link #build()}, then query.
+ * Implementations differ only in cell layout so they can be A/B tested.
+ * Queries return broadphase candidates (every entity in a covered cell), not exact hits.
+ */
+public interface SpatialIndex {
+
+    /** Cell size used when none is given; tune per instance to bullet density. */
+    float DEFAULT_CELL_SIZE = 64.0f;
+
+    /**
+     * Remove all entities (Zero-allocation).
+     */
+    void clear();
+
+    /**
+     * Insert an entity; positions outside the world clamp to the border cells.
+     * @param entityIndex the entity index
+     * @param x entity X position
+     * @param y entity Y position
+     */
+    void insert(int entityIndex, float x, float y);
+
+    /**
+     * Finalize inserts so the index can be queried. No-op for incremental layouts.
+     */
+    void build();
+
+    /**
+     * Query entities in the cell containing (x, y).
+     */
+    void query(float x, float y, QueryCallback callback);
+
+    /**
+     * Query entities in the cell containing (x, y) and its 8 neighbors (3x3 grid).
+     */
+    void queryNeighbors(float x, float y, QueryCallback callback);
+
+    /**
+     * Visit every entity in one cell.
+     * @param cellX cell column in [0, gridWidth)
+     * @param cellY cell row in [0, gridHeight)
+     */
+    void visitCell(int cellX, int cellY, QueryCallback callback);
+
+    /**
+     * Append every entity in one cell to a sink.
+     * @param cellX cell column in [0, gridWidth)
+     * @param cellY cell row in [0, gridHeight)
+     * @param out caller-provided sink; writes stop at out.length
+     * @param count entities found so far
+     * @return count plus the entities in this cell (may exceed out.length)
+     */
+    int collectCell(int cellX, int cellY, int[] out, int count);
+
+    /**
+     * Query entities in every cell overlapped by the box [minX, maxX] x [minY, maxY].
+     * Boxes reaching past the world edge are clamped to the border cells.
+     */
+    default void queryAabb(float minX, float minY, float maxX, float maxY, QueryCallback callback) {
+        if (!(minX <= maxX && minY <= maxY)) {
+            return; // Empty or NaN box
+        }
+        int cellX0 = clampCellX(minX);
+        int cellX1 = clampCellX(maxX);
+        int cellY1 = clampCellY(maxY);
+        for (int cellY = clampCellY(minY); cellY <= cellY1; cellY++) {
+            for (int cellX = cellX0; cellX <= cellX1; cellX++) {
+                visitCell(cellX, cellY, callback);
+            }
+        }
+    }
+
+    /**
+     * Allocation-free variant of {@link #queryAabb(float, float, float, float, QueryCallback)}.
+     * @param out caller-provided sink; entities past out.length are counted but not written
+     * @return number of entities found (compare against out.length to detect truncation)
+     */
+    default int queryAabb(float minX, float minY, float maxX, float maxY, int[] out) {
+        if (!(minX <= maxX && minY <= maxY)) {
+            return 0;
+        }
+        int count = 0;
+        int cellX0 = clampCellX(minX);
+        int cellX1 = clampCellX(maxX);
+        int cellY1 = clampCellY(maxY);
+        for (int cellY = clampCellY(minY); cellY <= cellY1; cellY++) {
+            for (int cellX = cellX0; cellX <= cellX1; cellX++) {
+                count = collectCell(cellX, cellY, out, count);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Query entities in every cell that intersects the circle at (x, y) with the given radius.
+     * Corner cells of the bounding box that the circle does not reach are skipped. Border cells
+     * count as extending past the world edge, matching how inserts clamp there.
+     */
+    default void queryRadius(float x, float y, float radius, QueryCallback callback) {
+        if (!(radius >= 0.0f)) {
+            return; // Negative or NaN radius
+        }
+        int cellX0 = clampCellX(x - radius);
+        int cellX1 = clampCellX(x + radius);
+        int cellY1 = clampCellY(y + radius);
+        for (int cellY = clampCellY(y - radius); cellY <= cellY1; cellY++) {
+            for (int cellX = cellX0; cellX <= cellX1; cellX++) {
+                if (cellIntersectsCircle(cellX, cellY, x, y, radius)) {
+                    visitCell(cellX, cellY, callback);
+                }
+            }
+        }
+    }
+
+    /**
+     * Allocation-free variant of {@link #queryRadius(float, float, float, QueryCallback)}.
+     * @param out caller-provided sink; entities past out.length are counted but not written
+     * @return number of entities found (compare against out.length to detect truncation)
+     */
+    default int queryRadius(float x, float y, float radius, int[] out) {
+        if (!(radius >= 0.0f)) {
+            return 0;
+        }
+        int count = 0;
+        int cellX0 = clampCellX(x - radius);
+        int cellX1 = clampCellX(x + radius);
+        int cellY1 = clampCellY(y + radius);
+        for (int cellY = clampCellY(y - radius); cellY <= cellY1; cellY++) {
+            for (int cellX = cellX0; cellX <= cellX1; cellX++) {
+                if (cellIntersectsCircle(cellX, cellY, x, y, radius)) {
+                    count = collectCell(cellX, cellY, out, count);
+                }
+            }
+        }
+        return count;
+    }
+
+    int getGridWidth();
+
+    int getGridHeight();
+
+    float getCellSize();
+
+    private int clampCellX(float x) {
+        int cellX = (int) (x / getCellSize());
+        return Math.max(0, Math.min(cellX, getGridWidth() - 1));
+    }
+
+    private int clampCellY(float y) {
+        int cellY = (int) (y / getCellSize());
+        return Math.max(0, Math.min(cellY, getGridHeight() - 1));
+    }
+
+    private boolean cellIntersectsCircle(int cellX, int cellY, float x, float y, float radius) {
+        float cellSize = getCellSize();
+        // Border cells also hold everything clamped into them from beyond the world edge
+        float left = cellX == 0 ? Float.NEGATIVE_INFINITY : cellX * cellSize;
+        float right = cellX == getGridWidth() - 1 ? Float.POSITIVE_INFINITY : (cellX + 1) * cellSize;
+        float top = cellY == 0 ? Float.NEGATIVE_INFINITY : cellY * cellSize;
+        float bottom = cellY == getGridHeight() - 1 ? Float.POSITIVE_INFINITY : (cellY + 1) * cellSize;
+        // Closest point of the cell rectangle to the circle centre
+        float dx = x - Math.max(left, Math.min(x, right));
+        float dy = y - Math.max(top, Math.min(y, bottom));
+        return dx * dx + dy * dy <= radius * radius;
+    }
+
+    /**
+     * Callback interface for spatial queries.
+     */
+    @FunctionalInterface
+    interface QueryCallback {
+        void onEntity(int entityIndex);
+    }
+}
@@ -0,0 +1,73 @@
+package com.bulletstream.core;
+
+/**
+ * Reusable staging rows for {@link GameWorld#spawnBatch(SpawnBatch, byte, int[])}: position and
+ * velocity of each entity to spawn, as parallel primitive columns. Fill with {@link #add} or a
+ * {@link com.bulletstream.core.pattern.BulletPattern}, spawn, then {@link #clear()} for the next burst.
+ */
+public final class SpawnBatch {
+    final float[] x;
+    final float[] y;
+    final float[] vx;
+    final float[] vy;
+    private int size;
+
+    /**
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public SpawnBatch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.vx = new float[capacity];
+        this.vy = new float[capacity];
+    }
+
+    /**
+     * @throws IllegalStateException if the batch is full
+     */
+    public void add(float px, float py, float pvx, float pvy) {
+        if (size == x.length) {
+            throw new IllegalStateException("SpawnBatch is full");
+        }
+        x[size] = px;
+        y[size] = py;
+        vx[size] = pvx;
+        vy[size] = pvy;
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return x.length;
+    }
+
+    public int remaining() {
+        return x.length - size;
+    }
+
+    public float getX(int row) {
+        return x[row];
+    }
+
+    public float getY(int row) {
+        return y[row];
+    }
+
+    public float getVelocityX(int row) {
+        return vx[row];
+    }
+
+    public float getVelocityY(int row) {
+        return vy[row];
+    }
+}
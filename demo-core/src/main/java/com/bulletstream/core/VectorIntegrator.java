@@ -0,0 +1,107 @@
+package com.bulletstream.core;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+
+/**
+ * SIMD position integrator using the Vector API (jdk.incubator.vector).
+ * The ACTIVE mask for each float block is built from the matching block of the
+ * flags byte array, so inactive lanes are never written.
+ * Must only be loaded when the incubator module is resolvable (see {@link Integrator}).
+ */
+public final class VectorIntegrator {
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = byteSpeciesFor(FLOATS.length());
+    private static final ByteOrder ORDER = ByteOrder.nativeOrder();
+
+    private VectorIntegrator() {
+    }
+
+    /**
+     * Integrate positions for all entities in [from, to) whose ACTIVE flag is set.
+     * Uses mul-then-add (not FMA) so results are bit-identical to the scalar kernel.
+     */
+    public static void integrate(float[] positionsX, float[] positionsY,
+                                 float[] velocitiesX, float[] velocitiesY,
+                                 byte[] flags, int from, int to, float deltaTime) {
+        int lanes = FLOATS.length();
+        int upper = from + FLOATS.loopBound(to - from);
+        FloatVector dt = FloatVector.broadcast(FLOATS, deltaTime);
+
+        int i = from;
+        for (; i < upper; i += lanes) {
+            VectorMask<Float> active = ByteVector.fromArray(BYTES, flags, i)
+                    .and(GameWorld.FLAG_ACTIVE)
+                    .compare(VectorOperators.NE, (byte) 0)
+                    .cast(FLOATS);
+
+            FloatVector x = FloatVector.fromArray(FLOATS, positionsX, i);
+            FloatVector vx = FloatVector.fromArray(FLOATS, velocitiesX, i);
+            x.add(vx.mul(dt)).intoArray(positionsX, i, active);
+
+            FloatVector y = FloatVector.fromArray(FLOATS, positionsY, i);
+            FloatVector vy = FloatVector.fromArray(FLOATS, velocitiesY, i);
+            y.add(vy.mul(dt)).intoArray(positionsY, i, active);
+        }
+
+        // Tail (fewer than one vector of lanes left)
+        Integrator.integrateScalar(positionsX, positionsY, velocitiesX, velocitiesY, flags, i, to, deltaTime);
+    }
+
+    /**
+     * Same kernel over native memory columns (float offsets are index * 4, flag offsets index * 1).
+     */
+    public static void integrate(MemorySegment positionsX, MemorySegment positionsY,
+                                 MemorySegment velocitiesX, MemorySegment velocitiesY,
+                                 MemorySegment flags, int from, int to, float deltaTime) {
+        int lanes = FLOATS.length();
+        int upper = from + FLOATS.loopBound(to - from);
+        FloatVector dt = FloatVector.broadcast(FLOATS, deltaTime);
+
+        int i = from;
+        for (; i < upper; i += lanes) {
+            VectorMask<Float> active = ByteVector.fromMemorySegment(BYTES, flags, i, ORDER)
+                    .and(GameWorld.FLAG_ACTIVE)
+                    .compare(VectorOperators.NE, (byte) 0)
+                    .cast(FLOATS);
+            long offset = (long) i * Float.BYTES;
+
+            FloatVector x = FloatVector.fromMemorySegment(FLOATS, positionsX, offset, ORDER);
+            FloatVector vx = FloatVector.fromMemorySegment(FLOATS, velocitiesX, offset, ORDER);
+            x.add(vx.mul(dt)).intoMemorySegment(positionsX, offset, ORDER, active);
+
+            FloatVector y = FloatVector.fromMemorySegment(FLOATS, positionsY, offset, ORDER);
+            FloatVector vy = FloatVector.fromMemorySegment(FLOATS, velocitiesY, offset, ORDER);
+            y.add(vy.mul(dt)).intoMemorySegment(positionsY, offset, ORDER, active);
+        }
+
+        Integrator.integrateScalar(positionsX, positionsY, velocitiesX, velocitiesY, flags, i, to, deltaTime);
+    }
+
+    /**
+     * @return true if a byte species with the same lane count as the float species exists
+     */
+    public static boolean isSupported() {
+        return BYTES != null;
+    }
+
+    public static int laneCount() {
+        return FLOATS.length();
+    }
+
+    private static VectorSpecies<Byte> byteSpeciesFor(int lanes) {
+        // Byte vectors need at least 64 bits; 4-lane float species (128-bit) have no match
+        int bits = lanes * Byte.SIZE;
+        if (bits < 64 || bits > 512) {
+            return null;
+        }
+        return VectorSpecies.of(byte.class, VectorShape.forBitSize(bits));
+    }
+}
@@ -0,0 +1,53 @@
+package com.bulletstream.core;
+
+/**
+ * Read-only view of the entity state that snapshot, interest and broadcast code consume:
+ * the live {@link GameWorld} on the tick thread, or a published
+ * {@link com.bulletstream.core.net.snapshot.StateFrame} copy of it on another thread.
+ * Indices are component indices in [0, getEntityCount()).
+ */
+public interface WorldView {
+
+    /**
+     * @return high-water mark of allocated indices
+     */
+    int getEntityCount();
+
+    /**
+     * @return number of live entities (size of the dense active set)
+     */
+    int getActiveCount();
+
+    /**
+     * @param slot dense slot in [0, getActiveCount())
+     * @return entity index
+     */
+    int getActiveIndex(int slot);
+
+    int getEntityId(int index);
+
+    byte getFlags(int index);
+
+    float getPositionX(int index);
+
+    float getPositionY(int index);
+
+    float getVelocityX(int index);
+
+    float getVelocityY(int index);
+
+    /**
+     * @return client tick stamp of the last input applied to this entity, or -1 if none
+     */
+    long getInputTick(int index);
+
+    /**
+     * @return true if the ID is current (generation matches) and the entity is live
+     */
+    boolean isActive(int entityId);
+
+    /**
+     * @return the component index of an entity ID (no liveness check)
+     */
+    int indexOf(int entityId);
+}
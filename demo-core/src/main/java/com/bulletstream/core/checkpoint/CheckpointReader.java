@@ -0,0 +1,32 @@
+package com.bulletstream.core.checkpoint;
+
+import com.bulletstream.core.GameWorld;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Restores worlds from checkpoint files written by {@link CheckpointWriter}: the file is mapped
+ * read-only and bulk-copied into the world's columns, with no intermediate buffer.
+ */
+public final class CheckpointReader {
+    private CheckpointReader() {
+    }
+
+    /**
+     * Replace the world's whole state with the checkpoint in {@code file}; see
+     * {@link GameWorld#restoreCheckpoint}.
+     * @return the tick the checkpoint was written at
+     * @throws IllegalArgumentException if the file is not a valid checkpoint for this world
+     */
+    public static long restore(GameWorld world, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ); Arena mapping = Arena.ofConfined()) {
+            MemorySegment in = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size(), mapping);
+            return world.restoreCheckpoint(in);
+        }
+    }
+}
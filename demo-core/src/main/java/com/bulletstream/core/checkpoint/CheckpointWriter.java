@@ -0,0 +1,206 @@
+package com.bulletstream.core.checkpoint;
+
+import com.bulletstream.core.GameWorld;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes {@link GameWorld} checkpoints to disk without holding up the tick.
+ * {@link #checkpoint} copies the world into one of two native staging buffers (bulk copies, no
+ * allocation) and hands the buffer to a background thread, which maps the target file, copies
+ * the checkpoint in, forces it to disk and atomically renames it into place. The tick thread
+ * can capture into the second buffer while the first is still being written; if both are busy
+ * the checkpoint is skipped, never queued.
+ *
+ * <p>A crash mid-write leaves the previous checkpoint intact (only the {@code .tmp} file is
+ * partial). Read checkpoints back with {@link CheckpointReader}.
+ */
+public final class CheckpointWriter implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(CheckpointWriter.class);
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 30L;
+
+    private final Arena arena = Arena.ofShared();
+    private final Buffer[] buffers;
+    private final ExecutorService writer;
+
+    private long capturedCount;                // Tick thread only
+    private long skippedCount;                 // Tick thread only
+    private long lastCaptureNanos;             // Tick thread only
+    private volatile long writtenCount;        // Written by the writer thread only
+    private volatile long failedCount;         // Written by the writer thread only
+    private volatile long lastWriteNanos;      // Written by the writer thread only
+
+    /**
+     * @param capacity entity capacity of the worlds to checkpoint (sizes the staging buffers)
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public CheckpointWriter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        long bytes = GameWorld.maxCheckpointBytes(capacity);
+        this.buffers = new Buffer[] {new Buffer(arena.allocate(bytes, 8)), new Buffer(arena.allocate(bytes, 8))};
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Capture the world now and write it to {@code file} in the background. Call between ticks
+     * (after despawns are flushed) from the thread that owns the world.
+     * @param tick stored in the checkpoint and returned on restore
+     * @return false if both buffers are still being written (checkpoint skipped)
+     */
+    public boolean checkpoint(GameWorld world, long tick, Path file) {
+        Buffer buffer = buffers[0].busy ? buffers[1] : buffers[0];
+        if (buffer.busy) {
+            skippedCount++;
+            return false;
+        }
+        long start = System.nanoTime();
+        buffer.bytes = world.writeCheckpoint(buffer.segment, tick);
+        buffer.file = file;
+        lastCaptureNanos = System.nanoTime() - start;
+        capturedCount++;
+        buffer.busy = true;
+        writer.execute(buffer);
+        return true;
+    }
+
+    /**
+     * Write a checkpoint straight to {@code file} on the calling thread (no staging copy), e.g. at
+     * shutdown or in tools. Atomic like the background writes.
+     * @return bytes written
+     */
+    public static long write(GameWorld world, long tick, Path file) throws IOException {
+        Path tmp = tempFile(file);
+        long bytes = world.getCheckpointBytes();
+        try (FileChannel channel = open(tmp); Arena mapping = Arena.ofConfined()) {
+            MemorySegment out = channel.map(FileChannel.MapMode.READ_WRITE, 0L, bytes, mapping);
+            world.writeCheckpoint(out, tick);
+            out.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return bytes;
+    }
+
+    private static void writeFile(MemorySegment checkpoint, long bytes, Path file) throws IOException {
+        Path tmp = tempFile(file);
+        try (FileChannel channel = open(tmp); Arena mapping = Arena.ofConfined()) {
+            MemorySegment out = channel.map(FileChannel.MapMode.READ_WRITE, 0L, bytes, mapping);
+            MemorySegment.copy(checkpoint, 0L, out, 0L, bytes);
+            out.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static Path tempFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    /**
+     * @return true while a checkpoint is being written (or waiting to be)
+     */
+    public boolean isWriting() {
+        return buffers[0].busy || buffers[1].busy;
+    }
+
+    public long getCapturedCount() {
+        return capturedCount;
+    }
+
+    /**
+     * @return checkpoints dropped because both buffers were still being written
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * @return checkpoints fully on disk
+     */
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return tick-thread time of the last capture (the only part that holds up the tick)
+     */
+    public long getLastCaptureNanos() {
+        return lastCaptureNanos;
+    }
+
+    /**
+     * @return background time of the last write, from mapping the file to the rename
+     */
+    public long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    /**
+     * Finish the checkpoints already captured, then release the buffers.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        writer.shutdown();
+        if (!writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Checkpoint writer did not finish in {}s", CLOSE_TIMEOUT_SECONDS);
+            writer.shutdownNow();
+            writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        arena.close();
+    }
+
+    /**
+     * One staging buffer; owned by the tick thread while idle, by the writer thread while busy.
+     */
+    private final class Buffer implements Runnable {
+        private final MemorySegment segment;
+        private long bytes;
+        private Path file;
+        private volatile boolean busy;
+
+        Buffer(MemorySegment segment) {
+            this.segment = segment;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                writeFile(segment, bytes, file);
+                lastWriteNanos = System.nanoTime() - start;
+                writtenCount++;
+            } catch (IOException | RuntimeException e) {
+                failedCount++;
+                log.warn("Checkpoint to {} failed: {}", file, e.toString());
+            } finally {
+                busy = false;
+            }
+        }
+    }
+}
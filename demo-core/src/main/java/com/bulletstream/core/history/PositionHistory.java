@@ -0,0 +1,150 @@
+package com.bulletstream.core.history;
+
+import com.bulletstream.core.GameWorld;
+
+/**
+ * Fixed ring of past entity positions for lag compensation (slot = tick mod size).
+ * Each tick {@link #record} bulk-copies the world's position and entity ID columns into the
+ * oldest frame; {@link #rewind} then answers "where was entity X at tick T" for any of the last
+ * {@code size} ticks, so hit detection can test a shot against what its shooter was seeing.
+ *
+ * <p>Memory is fixed at construction: {@code historyTicks * maxEntities * 12} bytes.
+ * Not thread-safe: record and query on the tick thread.
+ */
+public final class PositionHistory {
+
+    /**
+     * Positions of every allocated entity index at one tick.
+     */
+    public static final class Frame {
+        private final float[] x;
+        private final float[] y;
+        private final int[] entityIds;
+        private long tick = -1L;
+        private int entityCount;
+
+        Frame(int capacity) {
+            this.x = new float[capacity];
+            this.y = new float[capacity];
+            this.entityIds = new int[capacity];
+        }
+
+        public long getTick() {
+            return tick;
+        }
+
+        /**
+         * @return true if this entity (same index and generation) was alive at this frame's tick,
+         *         assuming it is alive now
+         */
+        public boolean contains(int index, int entityId) {
+            return index < entityCount && entityIds[index] == entityId;
+        }
+
+        public float getPositionX(int index) {
+            return x[index];
+        }
+
+        public float getPositionY(int index) {
+            return y[index];
+        }
+    }
+
+    private final Frame[] frames;
+    private final int maxEntities;
+    private long latestTick = -1L;
+    private int stored;
+
+    /**
+     * @param historyTicks frames kept (e.g. 250 ms of ticks covers clients up to that ping)
+     * @param maxEntities world capacity
+     * @throws IllegalArgumentException if either is not positive
+     */
+    public PositionHistory(int historyTicks, int maxEntities) {
+        if (historyTicks <= 0 || maxEntities <= 0) {
+            throw new IllegalArgumentException("historyTicks and maxEntities must be positive");
+        }
+        this.frames = new Frame[historyTicks];
+        for (int i = 0; i < historyTicks; i++) {
+            frames[i] = new Frame(maxEntities);
+        }
+        this.maxEntities = maxEntities;
+    }
+
+    /**
+     * Copy the world's current positions as the frame for {@code tick}, evicting the oldest.
+     * @throws IllegalArgumentException if the tick is not after the latest recorded one, or the
+     *         world is larger than this history
+     */
+    public void record(GameWorld world, long tick) {
+        if (tick <= latestTick) {
+            throw new IllegalArgumentException("Tick " + tick + " is not after " + latestTick);
+        }
+        if (world.getEntityCount() > maxEntities) {
+            throw new IllegalArgumentException("World has " + world.getEntityCount()
+                                               + " entity slots, history holds " + maxEntities);
+        }
+        Frame frame = frames[slotOf(tick)];
+        frame.entityCount = world.copyPositions(frame.x, frame.y, frame.entityIds);
+        frame.tick = tick;
+        // A gap in recorded ticks leaves holes: count only the contiguous run ending at this tick
+        stored = tick == latestTick + 1 ? Math.min(stored + 1, frames.length) : 1;
+        latestTick = tick;
+    }
+
+    /**
+     * @return the frame recorded for exactly this tick, or null if never recorded or evicted
+     */
+    public Frame get(long tick) {
+        if (tick < 0 || tick > latestTick || latestTick - tick >= stored) {
+            return null;
+        }
+        return frames[slotOf(tick)];
+    }
+
+    /**
+     * Closest available frame to {@code tick}: ticks older than the history get the oldest frame
+     * (compensation is capped at the history length), ticks at or past the latest get the latest.
+     * @return the frame, or null if nothing has been recorded
+     */
+    public Frame rewind(long tick) {
+        if (stored == 0) {
+            return null;
+        }
+        long clamped = Math.max(latestTick - stored + 1, Math.min(tick, latestTick));
+        return frames[slotOf(clamped)];
+    }
+
+    /**
+     * @return the latest recorded tick, or -1 if none
+     */
+    public long getLatestTick() {
+        return latestTick;
+    }
+
+    /**
+     * @return consecutive ticks currently available, at most {@link #size()}
+     */
+    public int getStoredCount() {
+        return stored;
+    }
+
+    public int size() {
+        return frames.length;
+    }
+
+    public int getMaxEntities() {
+        return maxEntities;
+    }
+
+    /**
+     * @return bytes held by the frame columns
+     */
+    public long getFootprintBytes() {
+        return (long) frames.length * maxEntities * (Float.BYTES * 2 + Integer.BYTES);
+    }
+
+    private int slotOf(long tick) {
+        return (int) Long.remainderUnsigned(tick, frames.length);
+    }
+}
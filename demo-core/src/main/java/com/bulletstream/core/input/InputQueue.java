@@ -0,0 +1,106 @@
+package com.bulletstream.core.input;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.replay.ReplayRecorder;
+import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpscArrayQueue;
+import org.jctools.queues.SpmcArrayQueue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free bridge from network I/O threads to the tick thread.
+ * Records cycle between two JCTools queues: a free pool (tick thread returns,
+ * I/O threads take) and an MPSC pending queue (I/O threads publish, tick thread drains).
+ * Zero allocation after construction on both sides.
+ */
+public final class InputQueue {
+    private final SpmcArrayQueue<InputRecord> freeRecords;  // Single producer: tick thread
+    private final MpscArrayQueue<InputRecord> pending;      // Single consumer: tick thread
+    private final Applier applier;
+    private final AtomicLong dropped = new AtomicLong();   // Offers rejected because the pool was empty
+
+    /**
+     * @param capacity maximum number of inputs in flight between two drains
+     */
+    public InputQueue(int capacity) {
+        this.freeRecords = new SpmcArrayQueue<>(capacity);
+        this.pending = new MpscArrayQueue<>(capacity);
+        this.applier = new Applier(freeRecords);
+        for (int i = 0; i < capacity; i++) {
+            freeRecords.offer(new InputRecord());
+        }
+    }
+
+    /**
+     * Publish an input (any thread, lock-free).
+     * @return false if all records are in flight (input dropped)
+     */
+    public boolean offer(int entityId, long tick, byte inputMask, float angle) {
+        InputRecord record = freeRecords.poll();
+        if (record == null) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        record.set(entityId, tick, inputMask, angle);
+        // Never fails: pending capacity >= number of records
+        pending.offer(record);
+        return true;
+    }
+
+    /**
+     * Apply every pending input to the world in one batch (tick thread only).
+     * Later inputs for the same entity overwrite earlier ones.
+     * @return number of inputs drained
+     */
+    public int drain(GameWorld world) {
+        return drain(world, null);
+    }
+
+    /**
+     * {@link #drain(GameWorld)}, also appending every drained input to a replay log.
+     * @param recorder replay log, or null
+     */
+    public int drain(GameWorld world, ReplayRecorder recorder) {
+        applier.world = world;
+        applier.recorder = recorder;
+        return pending.drain(applier);
+    }
+
+    /**
+     * @return inputs from the last drains that targeted a stale or despawned entity (tick thread only)
+     */
+    public long getRejectedCount() {
+        return applier.rejected;
+    }
+
+    /**
+     * @return inputs dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private static final class Applier implements MessagePassingQueue.Consumer<InputRecord> {
+        private final SpmcArrayQueue<InputRecord> freeRecords;
+        GameWorld world;
+        ReplayRecorder recorder;
+        long rejected;
+
+        Applier(SpmcArrayQueue<InputRecord> freeRecords) {
+            this.freeRecords = freeRecords;
+        }
+
+        @Override
+        public void accept(InputRecord record) {
+            if (recorder != null) {
+                // Rejected inputs too: the replay rejects them the same way
+                recorder.recordInput(record.entityId, record.tick, record.inputMask, record.angle);
+            }
+            if (!world.applyInput(record.entityId, record.tick, record.inputMask, record.angle)) {
+                rejected++;
+            }
+            freeRecords.offer(record);
+        }
+    }
+}
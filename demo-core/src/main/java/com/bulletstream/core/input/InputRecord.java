@@ -0,0 +1,19 @@
+package com.bulletstream.core.input;
+
+/**
+ * Preallocated, reusable input record passed from network threads to the tick thread.
+ * Struct-like: public fields, owned by whichever side currently holds it.
+ */
+public final class InputRecord {
+    public int entityId;     // Player entity the input applies to
+    public long tick;        // Client tick the input was sampled at
+    public byte inputMask;   // InputPayload.INPUT_* bits
+    public float angle;      // Aim angle in radians
+
+    void set(int entityId, long tick, byte inputMask, float angle) {
+        this.entityId = entityId;
+        this.tick = tick;
+        this.inputMask = inputMask;
+        this.angle = angle;
+    }
+}
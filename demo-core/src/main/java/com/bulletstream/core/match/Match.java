@@ -0,0 +1,177 @@
+package com.bulletstream.core.match;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.input.InputQueue;
+import com.bulletstream.core.system.SimulationStep;
+import com.bulletstream.core.tick.TickControl;
+
+/**
+ * One independent game: a world with its {@link SimulationStep} and input queue, stepped at a fixed
+ * rate by a {@link MatchScheduler} worker. Each tick runs the same step as the standalone server and
+ * replay (input movement and shots, integration, bullet culling, collisions, lag compensation if
+ * the step has it). A match is ticked by exactly one worker thread for its whole
+ * life, so its state stays in that core's cache and needs no synchronization.
+ *
+ * <p>Stats are written by the owning worker and readable from any thread.
+ */
+public final class Match {
+
+    /**
+     * Per-tick hook (state send, game rules), called on the worker thread after the step.
+     */
+    public interface Listener {
+        void afterTick(Match match);
+    }
+
+    private static final Listener NO_LISTENER = match -> { };
+
+    private final int matchId;
+    private final SimulationStep simulation;
+    private final InputQueue inputs;
+    private final int tickRate;
+    private final long dtNanos;
+    private final float dtSeconds;
+    private Listener listener = NO_LISTENER;
+
+    long nextDeadlineNanos;                 // Owning worker only
+    private long currentTick;               // Owning worker only
+    volatile boolean removed;
+    volatile int worker = -1;
+
+    private volatile long ticks;            // Written by the owning worker only
+    private volatile long overruns;
+    private volatile long skippedTicks;
+    private volatile long lastWorkNanos;
+    private volatile long maxWorkNanos;
+    private volatile long maxLatenessNanos;
+
+    /**
+     * @throws IllegalArgumentException if the tick rate is outside TickControl's range
+     */
+    public Match(int matchId, SimulationStep simulation, InputQueue inputs, int tickRate) {
+        if (tickRate < TickControl.MIN_TICK_RATE || tickRate > TickControl.MAX_TICK_RATE) {
+            throw new IllegalArgumentException("Tick rate out of range: " + tickRate);
+        }
+        this.matchId = matchId;
+        this.simulation = simulation;
+        this.inputs = inputs;
+        this.tickRate = tickRate;
+        this.dtNanos = 1_000_000_000L / tickRate;
+        this.dtSeconds = dtNanos / 1_000_000_000.0f;
+    }
+
+    /**
+     * Set before the match is scheduled.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * One fixed step: drain inputs, run the simulation step, then the listener.
+     */
+    void tick() {
+        inputs.drain(simulation.getWorld());
+        simulation.run(currentTick, dtSeconds);
+        currentTick++;
+        listener.afterTick(this);
+    }
+
+    /**
+     * Record one scheduled tick.
+     * @param latenessNanos how long after its deadline the tick started
+     * @param overrun the tick ended after the next tick's deadline
+     */
+    void recordTick(long latenessNanos, long workNanos, boolean overrun) {
+        ticks++;
+        lastWorkNanos = workNanos;
+        if (workNanos > maxWorkNanos) {
+            maxWorkNanos = workNanos;
+        }
+        if (latenessNanos > maxLatenessNanos) {
+            maxLatenessNanos = latenessNanos;
+        }
+        if (overrun) {
+            overruns++;
+        }
+    }
+
+    void recordSkipped(long skipped) {
+        skippedTicks += skipped;
+    }
+
+    public int getMatchId() {
+        return matchId;
+    }
+
+    public GameWorld getWorld() {
+        return simulation.getWorld();
+    }
+
+    public SimulationStep getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Inputs for this match; any thread may offer.
+     */
+    public InputQueue getInputQueue() {
+        return inputs;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    long getDtNanos() {
+        return dtNanos;
+    }
+
+    /**
+     * @return simulation ticks run so far (worker thread; use {@link #getTicks()} elsewhere)
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return the worker this match is pinned to, or -1 before it is scheduled
+     */
+    public int getWorker() {
+        return worker;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return ticks that finished after the following tick was already due
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * @return ticks dropped to resynchronize after falling too far behind
+     */
+    public long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    public long getLastWorkNanos() {
+        return lastWorkNanos;
+    }
+
+    public long getMaxWorkNanos() {
+        return maxWorkNanos;
+    }
+
+    public long getMaxLatenessNanos() {
+        return maxLatenessNanos;
+    }
+}
@@ -0,0 +1,257 @@
+package com.bulletstream.core.match;
+
+import com.bulletstream.core.tick.TickPacer;
+import com.bulletstream.core.util.LatencyHistogram;
+import org.jctools.queues.MpscArrayQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs many independent {@link Match}es on a fixed pool of worker threads (size it to the cores).
+ * A match is pinned to the least loaded worker when added and never migrates. Each worker keeps
+ * its matches in a min-heap by next tick deadline, runs whichever is due first and then waits
+ * with its {@link TickPacer} until the next deadline.
+ *
+ * <p>Deadlines advance by exactly one period per tick, so every match keeps its fixed step when
+ * a worker is briefly late. A match more than {@link #MAX_CATCH_UP_TICKS} behind drops the backlog
+ * instead of bursting through it (counted as skipped ticks).
+ *
+ * <p>A match whose tick throws is logged and removed; its worker keeps ticking the others.
+ */
+public final class MatchScheduler implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(MatchScheduler.class);
+
+    /** Ticks a match may run back-to-back to catch up before the backlog is dropped. */
+    public static final int MAX_CATCH_UP_TICKS = 3;
+
+    private static final int INBOX_CAPACITY = 1024;
+    private static final long IDLE_WAIT_NANOS = 1_000_000L;
+    private static final long STATS_WINDOW_NANOS = 1_000_000_000L;
+    private static final long MAX_LATENESS_NANOS = 1_000_000_000L;
+
+    private final Worker[] workers;
+    private volatile boolean running;
+
+    /**
+     * @param pacerName how workers wait between deadlines, see {@link TickPacer#forName}
+     * @throws IllegalArgumentException if workers is not positive or the pacer name is unknown
+     */
+    public MatchScheduler(int workers, String pacerName) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive: " + workers);
+        }
+        this.workers = new Worker[workers];
+        for (int w = 0; w < workers; w++) {
+            this.workers[w] = new Worker(w, TickPacer.forName(pacerName));
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if already started
+     */
+    public void start() {
+        if (running) {
+            throw new IllegalStateException("Scheduler already started");
+        }
+        running = true;
+        for (int w = 0; w < workers.length; w++) {
+            workers[w].thread.start();
+        }
+        log.info("Match scheduler started with {} workers", workers.length);
+    }
+
+    /**
+     * Pin a match to the least loaded worker; its first tick is due one period from now.
+     * @return the worker index
+     * @throws IllegalStateException if the match was scheduled before or the worker inbox is full
+     */
+    public int add(Match match) {
+        if (match.worker != -1) {
+            throw new IllegalStateException("Match " + match.getMatchId() + " already scheduled");
+        }
+        Worker target = workers[0];
+        for (int w = 1; w < workers.length; w++) {
+            if (workers[w].matchCount.get() < target.matchCount.get()) {
+                target = workers[w];
+            }
+        }
+        match.worker = target.index;
+        target.matchCount.incrementAndGet();
+        if (!target.inbox.offer(match)) {
+            target.matchCount.decrementAndGet();
+            match.worker = -1;
+            throw new IllegalStateException("Worker " + target.index + " inbox full");
+        }
+        return target.index;
+    }
+
+    /**
+     * Stop ticking a match; its worker drops it at its next deadline.
+     */
+    public void remove(Match match) {
+        match.removed = true;
+    }
+
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    /**
+     * @return matches pinned to a worker (including ones not yet picked up or dropped)
+     */
+    public int getMatchCount(int worker) {
+        return workers[worker].matchCount.get();
+    }
+
+    /**
+     * @return 99th percentile tick-start lateness across a worker's matches over the last second
+     */
+    public long getLatenessP99Nanos(int worker) {
+        return workers[worker].latenessP99Nanos;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        for (int w = 0; w < workers.length; w++) {
+            workers[w].thread.interrupt();
+        }
+        for (int w = 0; w < workers.length; w++) {
+            workers[w].thread.join();
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final int index;
+        private final TickPacer pacer;
+        private final Thread thread;
+        private final MpscArrayQueue<Match> inbox = new MpscArrayQueue<>(INBOX_CAPACITY);
+        private final AtomicInteger matchCount = new AtomicInteger();
+        private final LatencyHistogram lateness = new LatencyHistogram(MAX_LATENESS_NANOS); // Worker only
+        private Match[] heap = new Match[16];   // Worker only; min-heap on nextDeadlineNanos
+        private int size;
+        private long windowStartNanos;
+        private volatile long latenessP99Nanos;
+
+        Worker(int index, TickPacer pacer) {
+            this.index = index;
+            this.pacer = pacer;
+            this.thread = new Thread(this, "match-worker-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            windowStartNanos = System.nanoTime();
+            while (running) {
+                drainInbox();
+                if (size == 0) {
+                    pacer.awaitDeadline(System.nanoTime() + IDLE_WAIT_NANOS);
+                    continue;
+                }
+                Match match = heap[0];
+                if (match.removed) {
+                    pollTop();
+                    matchCount.decrementAndGet();
+                    continue;
+                }
+                long now = System.nanoTime();
+                if (now < match.nextDeadlineNanos) {
+                    pacer.awaitDeadline(match.nextDeadlineNanos);
+                    continue;
+                }
+                try {
+                    runTick(match, now);
+                } catch (RuntimeException e) {
+                    log.error("Match {} failed at tick {}, removing it", match.getMatchId(),
+                              match.getCurrentTick(), e);
+                    match.removed = true;
+                    pollTop();
+                    matchCount.decrementAndGet();
+                    continue;
+                }
+                siftDown(0);
+                publishStats(now);
+            }
+        }
+
+        private void runTick(Match match, long startNanos) {
+            long dt = match.getDtNanos();
+            long late = startNanos - match.nextDeadlineNanos;
+            if (late >= MAX_CATCH_UP_TICKS * dt) {
+                long skipped = late / dt;
+                match.nextDeadlineNanos += skipped * dt;
+                match.recordSkipped(skipped);
+                late -= skipped * dt;
+            }
+            match.tick();
+            long end = System.nanoTime();
+            match.nextDeadlineNanos += dt;
+            match.recordTick(late, end - startNanos, end > match.nextDeadlineNanos);
+            lateness.record(Math.min(late, MAX_LATENESS_NANOS));
+        }
+
+        private void publishStats(long now) {
+            if (now - windowStartNanos >= STATS_WINDOW_NANOS) {
+                latenessP99Nanos = lateness.getValueAtPercentile(99.0);
+                lateness.reset();
+                windowStartNanos = now;
+            }
+        }
+
+        private void drainInbox() {
+            Match match;
+            while ((match = inbox.poll()) != null) {
+                match.nextDeadlineNanos = System.nanoTime() + match.getDtNanos();
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, size * 2);
+                }
+                heap[size] = match;
+                siftUp(size++);
+            }
+        }
+
+        private void pollTop() {
+            size--;
+            heap[0] = heap[size];
+            heap[size] = null;
+            if (size > 0) {
+                siftDown(0);
+            }
+        }
+
+        private void siftUp(int i) {
+            Match match = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent].nextDeadlineNanos - match.nextDeadlineNanos <= 0) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = match;
+        }
+
+        private void siftDown(int i) {
+            Match match = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int right = child + 1;
+                if (right < size && heap[right].nextDeadlineNanos - heap[child].nextDeadlineNanos < 0) {
+                    child = right;
+                }
+                if (match.nextDeadlineNanos - heap[child].nextDeadlineNanos <= 0) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = match;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.bulletstream.core.net.interest;
+
+import com.bulletstream.core.WorldView;
+import com.bulletstream.core.SpatialIndex;
+import com.bulletstream.core.net.protocol.LanePacket;
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+import com.bulletstream.core.util.StripeRunner;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Area-of-interest filtering for state broadcast.
+ * Each client slot watches one player entity; per update, every active entity is indexed,
+ * then each client's view rectangle (centred on its player) is queried and the entities
+ * inside it are packed into that client's STATE message.
+ *
+ * <p>After the index is built, ids and positions are gathered once into cell-ordered (row-major)
+ * arrays, so a view is a few contiguous row scans instead of a random gather per candidate.
+ *
+ * <p>Viewers, updates and reads of the packed messages must all happen on one thread (the tick
+ * thread, or the thread packing published {@link com.bulletstream.core.net.snapshot.StateFrame}s).
+ *
+ * <p>All per-client arrays and buffers are preallocated. With a {@link StripeRunner} the
+ * client slots are split into stripes that query the (read-only) index concurrently;
+ * each stripe only writes its own clients' buffers.
+ */
+public final class InterestManager {
+    private static final int NO_VIEWER = -1;
+
+    private final SpatialIndex index;
+    private final float halfWidth;
+    private final float halfHeight;
+    private final StripeRunner runner;
+
+    // Cell-ordered copy of the index: cell c holds [cellStart[c], cellStart[c + 1])
+    private final int[] cellStart;
+    private final int[] cellEntities;
+    private final int[] cellIds;
+    private final float[] cellX;
+    private final float[] cellY;
+
+    // Per client slot
+    private final int[] viewerIds;
+    private final int[][] visible;
+    private final int[] visibleCounts;
+    private final int[] truncated;
+    private final ByteBuffer[] packed;
+    private int viewerCount;
+
+    private final PackStripe packStripe;
+
+    /**
+     * @param index spatial index sized for the world (owned by this manager, rebuilt every update)
+     * @param maxEntities world capacity
+     * @param maxClients number of client slots
+     * @param maxVisible entities packed per client; the rest are counted as truncated
+     * @param viewWidth width of a client's view rectangle in world units
+     * @param viewHeight height of a client's view rectangle in world units
+     * @param runner stripe runner for per-client packing, or null for single-threaded
+     * @throws IllegalArgumentException if a size is not positive
+     */
+    public InterestManager(SpatialIndex index, int maxEntities, int maxClients, int maxVisible,
+                           float viewWidth, float viewHeight, StripeRunner runner) {
+        if (maxEntities <= 0 || maxClients <= 0 || maxVisible <= 0 || !(viewWidth > 0.0f) || !(viewHeight > 0.0f)) {
+            throw new IllegalArgumentException("Entity count, client count, visible count and view size must be positive");
+        }
+        this.index = index;
+        this.halfWidth = viewWidth * 0.5f;
+        this.halfHeight = viewHeight * 0.5f;
+        this.runner = runner;
+
+        this.cellStart = new int[index.getGridWidth() * index.getGridHeight() + 1];
+        this.cellEntities = new int[maxEntities];
+        this.cellIds = new int[maxEntities];
+        this.cellX = new float[maxEntities];
+        this.cellY = new float[maxEntities];
+
+        this.viewerIds = new int[maxClients];
+        this.visible = new int[maxClients][maxVisible];
+        this.visibleCounts = new int[maxClients];
+        this.truncated = new int[maxClients];
+        this.packed = new ByteBuffer[maxClients];
+        for (int c = 0; c < maxClients; c++) {
+            viewerIds[c] = NO_VIEWER;
+            packed[c] = ByteBuffer.allocate(ProtocolCodec.stateBytes(maxVisible));
+            packed[c].limit(0);
+        }
+        this.viewerCount = 0;
+        this.packStripe = new PackStripe();
+    }
+
+    /**
+     * Attach a client slot to the player entity its view follows.
+     */
+    public void setViewer(int client, int playerEntityId) {
+        if (viewerIds[client] == NO_VIEWER) {
+            viewerCount++;
+        }
+        viewerIds[client] = playerEntityId;
+    }
+
+    /**
+     * Detach a client slot; it gets no state until a viewer is set again.
+     */
+    public void removeViewer(int client) {
+        if (viewerIds[client] != NO_VIEWER) {
+            viewerCount--;
+        }
+        viewerIds[client] = NO_VIEWER;
+        visibleCounts[client] = 0;
+        truncated[client] = 0;
+        packed[client].limit(0);
+    }
+
+    /**
+     * Rebuild the index and pack every client's visible entities for this tick.
+     * Skipped entirely when no client is attached.
+     * @throws IllegalStateException if the world holds more entities than maxEntities
+     */
+    public void update(WorldView world, long tick) {
+        if (viewerCount == 0) {
+            return;
+        }
+        rebuild(world);
+        if (runner == null || runner.getStripeCount() == 1) {
+            packRange(world, tick, 0, viewerIds.length);
+        } else {
+            packStripe.world = world;
+            packStripe.tick = tick;
+            runner.run(packStripe);
+        }
+    }
+
+    /**
+     * Rebuild the index and pack only the listed client slots, on the calling thread: for the few
+     * clients that need a STATE when the rest are sent something else. The other slots keep what
+     * they last packed.
+     * @param clients client slots to pack, in [0, count)
+     * @throws IllegalStateException if the world holds more entities than maxEntities
+     */
+    public void update(WorldView world, long tick, int[] clients, int count) {
+        if (count == 0) {
+            return;
+        }
+        rebuild(world);
+        for (int k = 0; k < count; k++) {
+            int client = clients[k];
+            if (viewerIds[client] != NO_VIEWER) {
+                pack(world, tick, client, viewerIds[client]);
+            }
+        }
+    }
+
+    /**
+     * Client's STATE message from the last update, positioned for reading
+     * (no remaining bytes if the slot has no live viewer). Valid until the next update.
+     */
+    public ByteBuffer getPacked(int client) {
+        return packed[client];
+    }
+
+    public int getVisibleCount(int client) {
+        return visibleCounts[client];
+    }
+
+    /**
+     * @return entity index of the i-th visible entity, in spatial (cell) order
+     */
+    public int getVisibleIndex(int client, int i) {
+        return visible[client][i];
+    }
+
+    /**
+     * @return entities inside the client's view that did not fit in maxVisible during the last update
+     */
+    public int getTruncatedCount(int client) {
+        return truncated[client];
+    }
+
+    /**
+     * @return the player entity ID the client slot follows, or -1 if detached
+     */
+    public int getViewer(int client) {
+        return viewerIds[client];
+    }
+
+    public int getViewerCount() {
+        return viewerCount;
+    }
+
+    private void rebuild(WorldView world) {
+        index.clear();
+        int activeCount = world.getActiveCount();
+        for (int s = 0; s < activeCount; s++) {
+            int entity = world.getActiveIndex(s);
+            index.insert(entity, world.getPositionX(entity), world.getPositionY(entity));
+        }
+        index.build();
+
+        // Flatten the buckets row-major, then gather once so views read contiguous memory
+        int gridWidth = index.getGridWidth();
+        int gridHeight = index.getGridHeight();
+        int count = 0;
+        for (int cellY = 0; cellY < gridHeight; cellY++) {
+            for (int cellX = 0; cellX < gridWidth; cellX++) {
+                cellStart[cellY * gridWidth + cellX] = count;
+                count = index.collectCell(cellX, cellY, cellEntities, count);
+            }
+        }
+        if (count > cellEntities.length) {
+            throw new IllegalStateException("Indexed " + count + " entities, capacity is " + cellEntities.length);
+        }
+        cellStart[gridWidth * gridHeight] = count;
+        for (int i = 0; i < count; i++) {
+            int entity = cellEntities[i];
+            cellIds[i] = world.getEntityId(entity);
+            cellX[i] = world.getPositionX(entity);
+            cellY[i] = world.getPositionY(entity);
+        }
+    }
+
+    private void packRange(WorldView world, long tick, int fromClient, int toClient) {
+        for (int c = fromClient; c < toClient; c++) {
+            int viewerId = viewerIds[c];
+            if (viewerId != NO_VIEWER) {
+                pack(world, tick, c, viewerId);
+            }
+        }
+    }
+
+    private void pack(WorldView world, long tick, int client, int viewerId) {
+        ByteBuffer buf = packed[client];
+        buf.clear();
+        if (!world.isActive(viewerId)) {
+            visibleCounts[client] = 0;
+            truncated[client] = 0;
+            buf.limit(0);
+            return;
+        }
+        int viewer = world.indexOf(viewerId);
+        float minX = world.getPositionX(viewer) - halfWidth;
+        float minY = world.getPositionY(viewer) - halfHeight;
+        float maxX = world.getPositionX(viewer) + halfWidth;
+        float maxY = world.getPositionY(viewer) + halfHeight;
+
+        float cellSize = index.getCellSize();
+        int gridWidth = index.getGridWidth();
+        int cellX0 = clampCell(minX, cellSize, gridWidth);
+        int cellX1 = clampCell(maxX, cellSize, gridWidth);
+        int cellY0 = clampCell(minY, cellSize, index.getGridHeight());
+        int cellY1 = clampCell(maxY, cellSize, index.getGridHeight());
+
+        int[] out = visible[client];
+        int count = 0;
+        int cut = 0;
+        int start = ProtocolCodec.beginState(buf, LanePacket.LANE_UNRELIABLE, tick, tick);
+        int offset = buf.position();
+        for (int row = cellY0; row <= cellY1; row++) {
+            // Cells [cellX0, cellX1] of one row are contiguous in the flattened arrays
+            int from = cellStart[row * gridWidth + cellX0];
+            int to = cellStart[row * gridWidth + cellX1 + 1];
+            for (int i = from; i < to; i++) {
+                float x = cellX[i];
+                float y = cellY[i];
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    if (count == out.length) {
+                        cut++;
+                        continue;
+                    }
+                    out[count++] = cellEntities[i];
+                    // Absolute puts (buffer holds maxVisible entities, so no overflow check needed)
+                    buf.putInt(offset, cellIds[i]);
+                    buf.putFloat(offset + 4, x);
+                    buf.putFloat(offset + 8, y);
+                    offset += ProtocolCodec.STATE_ENTITY_BYTES;
+                }
+            }
+        }
+        buf.position(offset);
+        ProtocolCodec.endState(buf, start);
+        buf.flip();
+        visibleCounts[client] = count;
+        truncated[client] = cut;
+    }
+
+    private static int clampCell(float coordinate, float cellSize, int cells) {
+        int cell = (int) (coordinate / cellSize);
+        return Math.max(0, Math.min(cell, cells - 1));
+    }
+
+    private final class PackStripe implements StripeRunner.StripeBody {
+        WorldView world;
+        long tick;
+
+        @Override
+        public void run(int stripe, int stripeCount) {
+            int clients = viewerIds.length;
+            packRange(world, tick, StripeRunner.sliceStart(clients, stripe, stripeCount),
+                      StripeRunner.sliceStart(clients, stripe + 1, stripeCount));
+        }
+    }
+}
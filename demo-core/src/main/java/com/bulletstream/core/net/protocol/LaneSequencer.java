@@ -0,0 +1,72 @@
+package com.bulletstream.core.net.protocol;
+
+/**
+ * Per-lane sequence numbers for one peer.
+ * Outgoing: each lane numbers its packets 0, 1, 2, ...
+ * Incoming: a packet is accepted only if its sequence is newer than the last accepted one on
+ * that lane, so late or duplicated UDP datagrams are dropped instead of rolling state back.
+ * (TCP already delivers in order; the reliable lane check only guards against protocol bugs.)
+ *
+ * <p>Not thread-safe: each direction of a lane must be used from a single thread
+ * (the channel's event loop for incoming, that lane's sending thread for outgoing).
+ * Different lanes may belong to different threads. A server only numbers its reliable lane here,
+ * from the tick thread; on its unreliable lane the sequence is the server tick (STATE, STATE_DELTA
+ * and INPUT_ACK all carry it), so that lane's outgoing counter is unused.
+ */
+public final class LaneSequencer {
+    private static final int LANES = 2;
+
+    private final long[] nextOutgoing = new long[LANES];
+    private final long[] lastIncoming = new long[LANES];
+    private final long[] stale = new long[LANES];
+
+    public LaneSequencer() {
+        for (int lane = 0; lane < LANES; lane++) {
+            lastIncoming[lane] = -1L;
+        }
+    }
+
+    /**
+     * @return the sequence number for the next packet sent on this lane
+     * @throws IllegalArgumentException if the lane is unknown
+     */
+    public long nextOutgoing(byte laneId) {
+        return nextOutgoing[checkLane(laneId)]++;
+    }
+
+    /**
+     * Record an incoming packet.
+     * @return false if it is not newer than the last accepted packet on its lane (drop it)
+     * @throws IllegalArgumentException if the lane is unknown
+     */
+    public boolean acceptIncoming(byte laneId, long sequence) {
+        int lane = checkLane(laneId);
+        if (sequence <= lastIncoming[lane]) {
+            stale[lane]++;
+            return false;
+        }
+        lastIncoming[lane] = sequence;
+        return true;
+    }
+
+    /**
+     * @return last accepted sequence on the lane, or -1 if none
+     */
+    public long getLastIncoming(byte laneId) {
+        return lastIncoming[checkLane(laneId)];
+    }
+
+    /**
+     * @return number of packets dropped as stale on the lane
+     */
+    public long getStaleCount(byte laneId) {
+        return stale[checkLane(laneId)];
+    }
+
+    private static int checkLane(byte laneId) {
+        if (laneId != LanePacket.LANE_RELIABLE && laneId != LanePacket.LANE_UNRELIABLE) {
+            throw new IllegalArgumentException("Unknown lane: " + laneId);
+        }
+        return laneId;
+    }
+}
@@ -0,0 +1,331 @@
+package com.bulletstream.core.net.protocol;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Hand-written binary codec for the protocol messages.
+ * Fixed layouts, written and read straight from a {@link ByteBuffer} (a Netty ByteBuf can be
+ * exposed through {@code nioBuffer}), so the hot path creates no intermediate objects.
+ * Multi-byte values use the buffer's byte order (big-endian by default, same as Netty).
+ *
+ * <pre>
+ * Header  (10 bytes): laneId:u8  type:u8  sequence:i64
+ * INPUT   (+13):      tick:i64  inputMask:u8  angle:f32
+ * ADMIN   (+8):       commandType:i32  value:f32
+ * STATE   (+12+12n):  serverTick:i64  entityCount:i32  n x (entityId:i32  x:f32  y:f32)
+ * HELLO   (+0):       client opens a session (reliable lane)
+ * WELCOME (+16):      clientId:i32  entityId:i32  token:i64   (reliable lane)
+ * BIND    (+12):      clientId:i32  token:i64                 (unreliable lane: ties the UDP address to the session)
+ * ACK     (+8):       snapshotTick:i64                        (unreliable lane: delta baseline acknowledgement)
+ * INPUT_ACK (+8):     inputTick:i64                           (unreliable lane: last input the server applied)
+ * </pre>
+ * Control messages (HELLO..INPUT_ACK) have no payload class: read them with {@link #readHeader}
+ * followed by the fields in the order above.
+ *
+ * Encoders write at the buffer position and advance it. Decoders read a whole message
+ * from the buffer position, advance past it, and fill caller-owned payload objects.
+ */
+public final class ProtocolCodec {
+    public static final byte TYPE_INPUT = 1;
+    public static final byte TYPE_STATE = 2;
+    public static final byte TYPE_ADMIN = 3;
+    public static final byte TYPE_STATE_DELTA = 4; // Layout owned by DeltaSnapshotCodec
+    public static final byte TYPE_HELLO = 5;
+    public static final byte TYPE_WELCOME = 6;
+    public static final byte TYPE_BIND = 7;
+    public static final byte TYPE_ACK = 8;
+    public static final byte TYPE_INPUT_ACK = 9;
+
+    public static final int HEADER_BYTES = 10;
+    public static final int INPUT_BYTES = HEADER_BYTES + 13;
+    public static final int ADMIN_BYTES = HEADER_BYTES + 8;
+    public static final int STATE_FIXED_BYTES = HEADER_BYTES + 12;
+    public static final int STATE_ENTITY_BYTES = 12;
+    public static final int HELLO_BYTES = HEADER_BYTES;
+    public static final int WELCOME_BYTES = HEADER_BYTES + 16;
+    public static final int BIND_BYTES = HEADER_BYTES + 12;
+    public static final int ACK_BYTES = HEADER_BYTES + 8;
+    public static final int INPUT_ACK_BYTES = HEADER_BYTES + 8;
+
+    private static final int TYPE_OFFSET = 1;
+    private static final int SEQUENCE_OFFSET = 2;
+    private static final int STATE_COUNT_OFFSET = HEADER_BYTES + 8;
+
+    private ProtocolCodec() {
+        // Static codec
+    }
+
+    /**
+     * @return encoded size of a STATE message carrying the given number of entities
+     */
+    public static int stateBytes(int entityCount) {
+        return STATE_FIXED_BYTES + entityCount * STATE_ENTITY_BYTES;
+    }
+
+    // ---- Header peeks (absolute reads at the buffer position, nothing consumed) ----
+
+    public static byte peekLane(ByteBuffer buf) {
+        return buf.get(buf.position());
+    }
+
+    public static byte peekType(ByteBuffer buf) {
+        return buf.get(buf.position() + TYPE_OFFSET);
+    }
+
+    public static long peekSequence(ByteBuffer buf) {
+        return buf.getLong(buf.position() + SEQUENCE_OFFSET);
+    }
+
+    // ---- Encoders ----
+
+    public static void encodeInput(ByteBuffer buf, byte laneId, long sequence,
+                                   long tick, byte inputMask, float angle) {
+        writeHeader(buf, laneId, TYPE_INPUT, sequence);
+        buf.putLong(tick);
+        buf.put(inputMask);
+        buf.putFloat(angle);
+    }
+
+    public static void encodeAdmin(ByteBuffer buf, byte laneId, long sequence, int commandType, float value) {
+        writeHeader(buf, laneId, TYPE_ADMIN, sequence);
+        buf.putInt(commandType);
+        buf.putFloat(value);
+    }
+
+    public static void encodeHello(ByteBuffer buf, long sequence) {
+        writeHeader(buf, LanePacket.LANE_RELIABLE, TYPE_HELLO, sequence);
+    }
+
+    public static void encodeWelcome(ByteBuffer buf, long sequence, int clientId, int entityId, long token) {
+        writeHeader(buf, LanePacket.LANE_RELIABLE, TYPE_WELCOME, sequence);
+        buf.putInt(clientId);
+        buf.putInt(entityId);
+        buf.putLong(token);
+    }
+
+    public static void encodeBind(ByteBuffer buf, long sequence, int clientId, long token) {
+        writeHeader(buf, LanePacket.LANE_UNRELIABLE, TYPE_BIND, sequence);
+        buf.putInt(clientId);
+        buf.putLong(token);
+    }
+
+    public static void encodeAck(ByteBuffer buf, long sequence, long snapshotTick) {
+        writeHeader(buf, LanePacket.LANE_UNRELIABLE, TYPE_ACK, sequence);
+        buf.putLong(snapshotTick);
+    }
+
+    public static void encodeInputAck(ByteBuffer buf, long sequence, long inputTick) {
+        writeHeader(buf, LanePacket.LANE_UNRELIABLE, TYPE_INPUT_ACK, sequence);
+        buf.putLong(inputTick);
+    }
+
+    /**
+     * Start a STATE message whose entities are appended with {@link #putEntity}.
+     * @return offset of the message, to pass to {@link #endState}
+     */
+    public static int beginState(ByteBuffer buf, byte laneId, long sequence, long serverTick) {
+        int start = buf.position();
+        writeHeader(buf, laneId, TYPE_STATE, sequence);
+        buf.putLong(serverTick);
+        buf.putInt(0); // Patched by endState
+        return start;
+    }
+
+    public static void putEntity(ByteBuffer buf, int entityId, float x, float y) {
+        buf.putInt(entityId);
+        buf.putFloat(x);
+        buf.putFloat(y);
+    }
+
+    /**
+     * Patch the entity count of a STATE message started at {@code start}.
+     * @return number of entities written
+     */
+    public static int endState(ByteBuffer buf, int start) {
+        int entityCount = (buf.position() - start - STATE_FIXED_BYTES) / STATE_ENTITY_BYTES;
+        buf.putInt(start + STATE_COUNT_OFFSET, entityCount);
+        return entityCount;
+    }
+
+    /**
+     * Encode a packet envelope and its payload.
+     * @throws IllegalArgumentException if the payload type has no wire layout
+     */
+    public static void encode(ByteBuffer buf, LanePacket packet) {
+        Object payload = packet.getPayload();
+        if (payload instanceof InputPayload input) {
+            encodeInput(buf, packet.getLaneId(), packet.getSequence(),
+                        input.getTick(), input.getInputMask(), input.getAngle());
+        } else if (payload instanceof StatePayload state) {
+            encodeState(buf, packet.getLaneId(), packet.getSequence(), state);
+        } else if (payload instanceof AdminCommand admin) {
+            encodeAdmin(buf, packet.getLaneId(), packet.getSequence(), admin.getType(), admin.getValue());
+        } else {
+            throw new IllegalArgumentException("No wire layout for payload: " + payload);
+        }
+    }
+
+    /**
+     * Encode a StatePayload ({@code [id, x, y, ...]} floats; ids are written as ints).
+     */
+    public static void encodeState(ByteBuffer buf, byte laneId, long sequence, StatePayload state) {
+        float[] data = state.getPackedPositionData();
+        int entityCount = state.getEntityCount();
+        int start = beginState(buf, laneId, sequence, state.getServerTick());
+        int offset = buf.position();
+        if (buf.remaining() < entityCount * STATE_ENTITY_BYTES) {
+            throw new BufferOverflowException();
+        }
+        // Absolute puts: one bounds check per field, no position bookkeeping
+        for (int i = 0; i < entityCount; i++) {
+            int base = i * 3;
+            buf.putInt(offset, (int) data[base]);
+            buf.putFloat(offset + 4, data[base + 1]);
+            buf.putFloat(offset + 8, data[base + 2]);
+            offset += STATE_ENTITY_BYTES;
+        }
+        buf.position(offset);
+        endState(buf, start);
+    }
+
+    // ---- Decoders ----
+
+    /**
+     * Decode an INPUT message into {@code into}.
+     * @return the packet sequence number
+     * @throws IllegalArgumentException if the message is not an INPUT
+     */
+    public static long decodeInput(ByteBuffer buf, InputPayload into) {
+        long sequence = readHeader(buf, TYPE_INPUT);
+        into.setTick(buf.getLong());
+        into.setInputMask(buf.get());
+        into.setAngle(buf.getFloat());
+        return sequence;
+    }
+
+    /**
+     * Decode an ADMIN message into {@code into}.
+     * @return the packet sequence number
+     * @throws IllegalArgumentException if the message is not an ADMIN
+     */
+    public static long decodeAdmin(ByteBuffer buf, AdminCommand into) {
+        long sequence = readHeader(buf, TYPE_ADMIN);
+        into.setType(buf.getInt());
+        into.setValue(buf.getFloat());
+        return sequence;
+    }
+
+    /**
+     * Decode a STATE message into {@code into}, reusing its position array when it is large enough.
+     * @return the packet sequence number
+     * @throws IllegalArgumentException if the message is not a STATE or its entity count is malformed
+     */
+    public static long decodeState(ByteBuffer buf, StatePayload into) {
+        long sequence = readHeader(buf, TYPE_STATE);
+        long serverTick = buf.getLong();
+        int entityCount = readEntityCount(buf);
+
+        float[] data = into.getPackedPositionData();
+        if (data == null || data.length < entityCount * 3) {
+            data = new float[entityCount * 3];
+            into.setPackedPositionData(data);
+        }
+        int offset = buf.position();
+        for (int i = 0; i < entityCount; i++) {
+            int base = i * 3;
+            data[base] = buf.getInt(offset);
+            data[base + 1] = buf.getFloat(offset + 4);
+            data[base + 2] = buf.getFloat(offset + 8);
+            offset += STATE_ENTITY_BYTES;
+        }
+        buf.position(offset);
+        into.setServerTick(serverTick);
+        into.setEntityCount(entityCount);
+        return sequence;
+    }
+
+    /**
+     * Write the common 10-byte header (for message types encoded outside this class).
+     */
+    public static void writeHeader(ByteBuffer buf, byte laneId, byte type, long sequence) {
+        buf.put(laneId);
+        buf.put(type);
+        buf.putLong(sequence);
+    }
+
+    /**
+     * Consume the common header.
+     * @return the packet sequence number
+     * @throws IllegalArgumentException if the message type is not {@code expectedType}
+     */
+    public static long readHeader(ByteBuffer buf, byte expectedType) {
+        buf.get(); // Lane: see peekLane
+        byte type = buf.get();
+        if (type != expectedType) {
+            throw new IllegalArgumentException("Expected message type " + expectedType + " but was " + type);
+        }
+        return buf.getLong();
+    }
+
+    /**
+     * Read and bound-check a STATE entity count against the bytes actually present.
+     */
+    static int readEntityCount(ByteBuffer buf) {
+        int entityCount = buf.getInt();
+        if (entityCount < 0 || (long) entityCount * STATE_ENTITY_BYTES > buf.remaining()) {
+            throw new IllegalArgumentException("Malformed entity count: " + entityCount);
+        }
+        return entityCount;
+    }
+
+    /**
+     * Zero-copy reader over an encoded STATE message: entity fields are read in place.
+     * Reusable; valid until the underlying buffer is overwritten.
+     */
+    public static final class StateView {
+        private ByteBuffer buf;
+        private int entitiesOffset;
+        private long sequence;
+        private long serverTick;
+        private int entityCount;
+
+        /**
+         * Point this view at the STATE message at the buffer position and advance past it.
+         * @throws IllegalArgumentException if the message is not a STATE or its entity count is malformed
+         */
+        public StateView wrap(ByteBuffer buffer) {
+            sequence = readHeader(buffer, TYPE_STATE);
+            serverTick = buffer.getLong();
+            entityCount = readEntityCount(buffer);
+            buf = buffer;
+            entitiesOffset = buffer.position();
+            buffer.position(entitiesOffset + entityCount * STATE_ENTITY_BYTES);
+            return this;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public long getServerTick() {
+            return serverTick;
+        }
+
+        public int getEntityCount() {
+            return entityCount;
+        }
+
+        public int getEntityId(int i) {
+            return buf.getInt(entitiesOffset + i * STATE_ENTITY_BYTES);
+        }
+
+        public float getX(int i) {
+            return buf.getFloat(entitiesOffset + i * STATE_ENTITY_BYTES + 4);
+        }
+
+        public float getY(int i) {
+            return buf.getFloat(entitiesOffset + i * STATE_ENTITY_BYTES + 8);
+        }
+    }
+}
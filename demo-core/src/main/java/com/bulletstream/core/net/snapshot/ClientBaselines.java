@@ -0,0 +1,48 @@
+package com.bulletstream.core.net.snapshot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Last acknowledged snapshot tick per client slot.
+ * Acks are recorded lock-free from network threads; the state publisher reads them to pick
+ * each client's delta baseline. Acks only move forward (late or duplicate acks are ignored).
+ */
+public final class ClientBaselines {
+    private final AtomicLongArray ackedTicks;
+
+    public ClientBaselines(int maxClients) {
+        this.ackedTicks = new AtomicLongArray(maxClients);
+        for (int i = 0; i < maxClients; i++) {
+            ackedTicks.set(i, DeltaSnapshotCodec.NO_BASELINE);
+        }
+    }
+
+    /**
+     * Record that a client has reconstructed the snapshot for {@code tick} (any thread).
+     */
+    public void acknowledge(int client, long tick) {
+        ackedTicks.accumulateAndGet(client, tick, Math::max);
+    }
+
+    /**
+     * Forget a client's baseline (new connection in the slot, or the client asked for a full snapshot).
+     */
+    public void reset(int client) {
+        ackedTicks.set(client, DeltaSnapshotCodec.NO_BASELINE);
+    }
+
+    public long getAckedTick(int client) {
+        return ackedTicks.get(client);
+    }
+
+    /**
+     * @return the client's baseline snapshot, or null if it has none or it was evicted (send a full snapshot)
+     */
+    public Snapshot baselineFor(int client, SnapshotRing history) {
+        return history.get(ackedTicks.get(client));
+    }
+
+    public int capacity() {
+        return ackedTicks.length();
+    }
+}
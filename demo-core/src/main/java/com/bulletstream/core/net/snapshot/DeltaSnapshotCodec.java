@@ -0,0 +1,407 @@
+package com.bulletstream.core.net.snapshot;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.WorldView;
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Delta-compressed state snapshots against a per-client baseline.
+ *
+ * <p>Positions are quantized to fixed-point ints ({@code quantum} world units per step) and each
+ * entity carries a quantized per-tick velocity. Capture dead-reckons every entity from the previous
+ * snapshot and keeps the prediction while it stays within {@code threshold} quanta of the true
+ * position and the velocity is unchanged, so a bullet flying straight stores an exactly linear track.
+ * The encoder then only writes entities whose snapshot values differ from the baseline's prediction:
+ * spawns, despawns and corrections. Because snapshots are canonical (independent of any client),
+ * the client reconstructs the server snapshot bit for bit from any baseline it still holds.
+ *
+ * <pre>
+ * Header (10 bytes, type STATE_DELTA)
+ * serverTick:i64  baselineTick:i64 (-1 = none)  entryCount:i32
+ * entries, ascending entity index:  varint(indexGap &lt;&lt; 2 | kind)  then
+ *   SPAWN:   varint entityId  flags:u8  zigzag x, y, vx, vy     (absolute)
+ *   UPDATE:  zigzag dx, dy, dvx, dvy                            (vs. baseline prediction)
+ *   DESPAWN: nothing
+ * </pre>
+ * indexGap is the number of indices skipped since the previous entry. Zero allocation on all paths.
+ *
+ * <p>{@link #encodeView} restricts both snapshots to one client's area of interest, defined from
+ * the snapshot itself (quantized distance to the viewer) and cut to the viewer plus the entities
+ * with the lowest indices, so the client's reconstruction of its view is exact too: entities
+ * leaving the view are sent as despawns, entities entering it as spawns. {@link #maxViewEntities}
+ * gives the cut that always fits a byte budget.
+ */
+public final class DeltaSnapshotCodec {
+    public static final float DEFAULT_QUANTUM = 1.0f / 16.0f;
+    public static final int DEFAULT_THRESHOLD = 8; // Quanta: half a world unit at the default quantum
+    public static final long NO_BASELINE = -1L;
+
+    private static final int KIND_UPDATE = 0;
+    private static final int KIND_SPAWN = 1;
+    private static final int KIND_DESPAWN = 2;
+
+    // Header, serverTick, baselineTick, entryCount
+    private static final int FIXED_BYTES = ProtocolCodec.HEADER_BYTES + 8 + 8 + 4;
+    // Largest entry: head and entity ID varints, flags, four zigzag varints
+    private static final int MAX_ENTRY_BYTES = 5 + 5 + 1 + 4 * 5;
+    // Largest despawn entry: the head varint alone
+    private static final int MAX_DESPAWN_BYTES = 5;
+    // Viewer position meaning "no view restriction"
+    private static final int WHOLE_WORLD = -2;
+
+    private final float quantum;
+    private final float inverseQuantum;
+    private float tickSeconds;
+    private final int threshold;
+
+    /**
+     * @param quantum world units per quantization step (1/16 covers a 4096-unit world in 16 bits)
+     * @param tickSeconds simulation step, to turn velocities into quanta per tick
+     * @param threshold max drift in quanta before a dead-reckoned entity is corrected (0 = exact)
+     * @throws IllegalArgumentException if quantum or tickSeconds is not positive, or threshold is negative
+     */
+    public DeltaSnapshotCodec(float quantum, float tickSeconds, int threshold) {
+        if (!(quantum > 0.0f) || !(tickSeconds > 0.0f)) {
+            throw new IllegalArgumentException("Quantum and tick length must be positive: "
+                                               + quantum + ", " + tickSeconds);
+        }
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative: " + threshold);
+        }
+        this.quantum = quantum;
+        this.inverseQuantum = 1.0f / quantum;
+        this.tickSeconds = tickSeconds;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Change the simulation step (tick rate or time scale changed); applies from the next capture.
+     * Zero is allowed: a paused simulation dead-reckons nothing.
+     * @throws IllegalArgumentException if negative or NaN
+     */
+    public void setTickSeconds(float tickSeconds) {
+        if (!(tickSeconds >= 0.0f)) {
+            throw new IllegalArgumentException("Tick length must not be negative: " + tickSeconds);
+        }
+        this.tickSeconds = tickSeconds;
+    }
+
+    /**
+     * Largest {@code maxEntities} for {@link #encodeView} whose delta always fits in {@code maxBytes},
+     * whatever the baseline: every entity of the view may be a spawn and every entity of the
+     * baseline's view a despawn.
+     * @return the view cut, or 0 if not even one entity fits
+     */
+    public static int maxViewEntities(int maxBytes) {
+        // The encoder wants MAX_ENTRY_BYTES free before each entry, including the last
+        return Math.max(0, (maxBytes - FIXED_BYTES - MAX_ENTRY_BYTES) / (MAX_ENTRY_BYTES + MAX_DESPAWN_BYTES));
+    }
+
+    public int quantize(float value) {
+        return Math.round(value * inverseQuantum);
+    }
+
+    public float dequantize(int quantized) {
+        return quantized * quantum;
+    }
+
+    /**
+     * Capture the world into the ring slot for {@code tick}, continuing the tracks of the latest snapshot.
+     * @return the captured snapshot
+     * @throws IllegalArgumentException if tick is not after the latest captured tick
+     */
+    public Snapshot capture(WorldView world, long tick, SnapshotRing ring) {
+        Snapshot previous = ring.latest();
+        if (previous != null && tick <= previous.getTick()) {
+            throw new IllegalArgumentException("Snapshot ticks must increase: " + tick
+                                               + " after " + previous.getTick());
+        }
+        int elapsed = previous == null ? 0 : (int) Math.min(tick - previous.getTick(), Integer.MAX_VALUE);
+        int previousCount = previous == null ? 0 : previous.getCount();
+        Snapshot current = ring.acquire(tick);
+
+        int p = 0;
+        int entityCount = world.getEntityCount();
+        for (int index = 0; index < entityCount; index++) {
+            byte entityFlags = world.getFlags(index);
+            if ((entityFlags & GameWorld.FLAG_ACTIVE) == 0) {
+                continue;
+            }
+            int entityId = world.getEntityId(index);
+            int x = quantize(world.getPositionX(index));
+            int y = quantize(world.getPositionY(index));
+            int vx = quantize(world.getVelocityX(index) * tickSeconds);
+            int vy = quantize(world.getVelocityY(index) * tickSeconds);
+
+            while (p < previousCount && previous.getIndex(p) < index) {
+                p++;
+            }
+            if (p < previousCount && previous.getIndex(p) == index && sameEntity(previous, p, entityId, entityFlags)
+                    && previous.getQvx(p) == vx && previous.getQvy(p) == vy) {
+                int predictedX = previous.getQx(p) + vx * elapsed;
+                int predictedY = previous.getQy(p) + vy * elapsed;
+                if (Math.abs(x - predictedX) <= threshold && Math.abs(y - predictedY) <= threshold) {
+                    x = predictedX;
+                    y = predictedY;
+                }
+            }
+            current.add(index, entityId, entityFlags, x, y, vx, vy);
+        }
+        return current;
+    }
+
+    /**
+     * Encode {@code current} as a delta against {@code baseline} at the buffer position.
+     * @param baseline snapshot the client acknowledged, or null for a full snapshot
+     * @return number of entries written (0 = nothing changed), or -1 if the delta does not fit in buf
+     */
+    public int encode(ByteBuffer buf, byte laneId, long sequence, Snapshot baseline, Snapshot current) {
+        return encode(buf, laneId, sequence, baseline, WHOLE_WORLD, current, WHOLE_WORLD, 0L, 0L, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Encode one client's view of {@code current} as a delta against its view of {@code baseline}.
+     * A snapshot's view is the viewer and the first {@code maxEntities - 1} other entities, by index,
+     * within {@code halfWidth} x {@code halfHeight} world units of the viewer's position in that
+     * snapshot (compared in quanta), and nothing if the viewer is not in it. Pass the same maxEntities
+     * on every send to a client: its baseline view is recomputed with it.
+     * @param baseline snapshot the client acknowledged, or null for a full view
+     * @param viewerIndex entity index of the viewer (an entity keeps its index across snapshots)
+     * @param maxEntities most entities a view holds (see {@link #maxViewEntities})
+     * @return number of entries written, or -1 if the delta does not fit in buf (the buffer contents
+     *         are then unspecified)
+     * @throws IllegalArgumentException if maxEntities is not positive
+     */
+    public int encodeView(ByteBuffer buf, byte laneId, long sequence, Snapshot baseline, Snapshot current,
+                          int viewerIndex, int viewerId, float halfWidth, float halfHeight, int maxEntities) {
+        if (maxEntities <= 0) {
+            throw new IllegalArgumentException("maxEntities must be positive: " + maxEntities);
+        }
+        int baselineViewer = baseline == null ? -1 : baseline.find(viewerIndex, viewerId);
+        int currentViewer = current.find(viewerIndex, viewerId);
+        return encode(buf, laneId, sequence, baseline, baselineViewer, current, currentViewer,
+                      quantize(halfWidth), quantize(halfHeight), maxEntities);
+    }
+
+    private int encode(ByteBuffer buf, byte laneId, long sequence, Snapshot baseline, int baselineViewer,
+                       Snapshot current, int currentViewer, long halfX, long halfY, int maxEntities) {
+        ProtocolCodec.writeHeader(buf, laneId, ProtocolCodec.TYPE_STATE_DELTA, sequence);
+        buf.putLong(current.getTick());
+        buf.putLong(baseline == null ? NO_BASELINE : baseline.getTick());
+        int countOffset = buf.position();
+        buf.putInt(0); // Patched below
+
+        int elapsed = baseline == null ? 0 : (int) (current.getTick() - baseline.getTick());
+        int baselineCount = baseline == null ? 0 : baseline.getCount();
+        int currentCount = current.getCount();
+        int entries = 0;
+        int baselineViewed = 0;
+        int currentViewed = 0;
+        int lastIndex = -1;
+        int b = 0;
+        int c = 0;
+        while (b < baselineCount || c < currentCount) {
+            if (b < baselineCount && !inView(baseline, b, baselineViewer, halfX, halfY, baselineViewed, maxEntities)) {
+                b++; // Not in the client's view of the baseline: it never had it
+                continue;
+            }
+            if (c < currentCount && !inView(current, c, currentViewer, halfX, halfY, currentViewed, maxEntities)) {
+                c++;
+                continue;
+            }
+            if (buf.remaining() < MAX_ENTRY_BYTES) {
+                return -1;
+            }
+            int baselineIndex = b < baselineCount ? baseline.getIndex(b) : Integer.MAX_VALUE;
+            int currentIndex = c < currentCount ? current.getIndex(c) : Integer.MAX_VALUE;
+            if (baselineIndex < currentIndex) {
+                putEntryHead(buf, baselineIndex, lastIndex, KIND_DESPAWN);
+                lastIndex = baselineIndex;
+                entries++;
+                if (b != baselineViewer) {
+                    baselineViewed++;
+                }
+                b++;
+                continue;
+            }
+            if (baselineIndex == currentIndex
+                    && sameEntity(baseline, b, current.getEntityId(c), current.getFlags(c))) {
+                int dx = current.getQx(c) - (baseline.getQx(b) + baseline.getQvx(b) * elapsed);
+                int dy = current.getQy(c) - (baseline.getQy(b) + baseline.getQvy(b) * elapsed);
+                int dvx = current.getQvx(c) - baseline.getQvx(b);
+                int dvy = current.getQvy(c) - baseline.getQvy(b);
+                if ((dx | dy | dvx | dvy) != 0) {
+                    putEntryHead(buf, currentIndex, lastIndex, KIND_UPDATE);
+                    putZigZag(buf, dx);
+                    putZigZag(buf, dy);
+                    putZigZag(buf, dvx);
+                    putZigZag(buf, dvy);
+                    lastIndex = currentIndex;
+                    entries++;
+                }
+            } else {
+                // New entity, or the index was reused by a new generation
+                putEntryHead(buf, currentIndex, lastIndex, KIND_SPAWN);
+                putVarint(buf, current.getEntityId(c));
+                buf.put(current.getFlags(c));
+                putZigZag(buf, current.getQx(c));
+                putZigZag(buf, current.getQy(c));
+                putZigZag(buf, current.getQvx(c));
+                putZigZag(buf, current.getQvy(c));
+                lastIndex = currentIndex;
+                entries++;
+            }
+            if (baselineIndex == currentIndex) {
+                if (b != baselineViewer) {
+                    baselineViewed++;
+                }
+                b++;
+            }
+            if (c != currentViewer) {
+                currentViewed++;
+            }
+            c++;
+        }
+        buf.putInt(countOffset, entries);
+        return entries;
+    }
+
+    /**
+     * Decode a delta at the buffer position, reconstruct the snapshot against the client's
+     * history and store it in the ring.
+     * @return the reconstructed snapshot
+     * @throws IllegalStateException if the baseline is no longer in the ring
+     * @throws IllegalArgumentException if the message is malformed
+     */
+    public Snapshot decode(ByteBuffer buf, SnapshotRing ring) {
+        ProtocolCodec.readHeader(buf, ProtocolCodec.TYPE_STATE_DELTA);
+        long tick = buf.getLong();
+        long baselineTick = buf.getLong();
+        int entries = buf.getInt();
+        if (entries < 0 || entries > buf.remaining()) {
+            throw new IllegalArgumentException("Malformed entry count: " + entries);
+        }
+
+        Snapshot baseline = null;
+        if (baselineTick != NO_BASELINE) {
+            if (tick <= baselineTick) {
+                throw new IllegalArgumentException("Baseline " + baselineTick + " is not before tick " + tick);
+            }
+            baseline = ring.get(baselineTick);
+            if (baseline == null || !ring.canHold(tick, baselineTick)) {
+                throw new IllegalStateException("Baseline tick " + baselineTick + " is not in history");
+            }
+        }
+        int elapsed = baseline == null ? 0 : (int) (tick - baselineTick);
+        int baselineCount = baseline == null ? 0 : baseline.getCount();
+        Snapshot out = ring.acquire(tick);
+
+        int b = 0;
+        int index = -1;
+        for (int e = 0; e < entries; e++) {
+            int head = getVarint(buf);
+            index += (head >>> 2) + 1;
+            while (b < baselineCount && baseline.getIndex(b) < index) {
+                addPredicted(out, baseline, b, elapsed);
+                b++;
+            }
+            boolean inBaseline = b < baselineCount && baseline.getIndex(b) == index;
+            switch (head & 3) {
+                case KIND_SPAWN -> {
+                    int entityId = getVarint(buf);
+                    byte entityFlags = buf.get();
+                    int x = getZigZag(buf);
+                    int y = getZigZag(buf);
+                    int vx = getZigZag(buf);
+                    int vy = getZigZag(buf);
+                    out.add(index, entityId, entityFlags, x, y, vx, vy);
+                }
+                case KIND_UPDATE -> {
+                    if (!inBaseline) {
+                        throw new IllegalArgumentException("Update for index " + index + " not in baseline");
+                    }
+                    int x = baseline.getQx(b) + baseline.getQvx(b) * elapsed + getZigZag(buf);
+                    int y = baseline.getQy(b) + baseline.getQvy(b) * elapsed + getZigZag(buf);
+                    int vx = baseline.getQvx(b) + getZigZag(buf);
+                    int vy = baseline.getQvy(b) + getZigZag(buf);
+                    out.add(index, baseline.getEntityId(b), baseline.getFlags(b), x, y, vx, vy);
+                }
+                case KIND_DESPAWN -> {
+                    if (!inBaseline) {
+                        throw new IllegalArgumentException("Despawn for index " + index + " not in baseline");
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown entry kind: " + (head & 3));
+            }
+            if (inBaseline) {
+                b++;
+            }
+        }
+        while (b < baselineCount) {
+            addPredicted(out, baseline, b, elapsed);
+            b++;
+        }
+        return out;
+    }
+
+    /**
+     * @param viewed entities other than the viewer already in the view
+     */
+    private static boolean inView(Snapshot snapshot, int i, int viewer, long halfX, long halfY,
+                                  int viewed, int maxEntities) {
+        if (viewer == WHOLE_WORLD || i == viewer) {
+            return true; // The viewer is always in its own view
+        }
+        return viewer >= 0 && viewed < maxEntities - 1
+                && Math.abs((long) snapshot.getQx(i) - snapshot.getQx(viewer)) <= halfX
+                && Math.abs((long) snapshot.getQy(i) - snapshot.getQy(viewer)) <= halfY;
+    }
+
+    private static boolean sameEntity(Snapshot snapshot, int i, int entityId, byte entityFlags) {
+        return snapshot.getEntityId(i) == entityId && snapshot.getFlags(i) == entityFlags;
+    }
+
+    private static void addPredicted(Snapshot out, Snapshot baseline, int b, int elapsed) {
+        out.add(baseline.getIndex(b), baseline.getEntityId(b), baseline.getFlags(b),
+                baseline.getQx(b) + baseline.getQvx(b) * elapsed,
+                baseline.getQy(b) + baseline.getQvy(b) * elapsed,
+                baseline.getQvx(b), baseline.getQvy(b));
+    }
+
+    private static void putEntryHead(ByteBuffer buf, int index, int lastIndex, int kind) {
+        putVarint(buf, ((index - lastIndex - 1) << 2) | kind);
+    }
+
+    // ---- Varints (unsigned LEB128) and zigzag ----
+
+    static void putVarint(ByteBuffer buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    static int getVarint(ByteBuffer buf) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buf.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    static void putZigZag(ByteBuffer buf, int value) {
+        putVarint(buf, (value << 1) ^ (value >> 31));
+    }
+
+    static int getZigZag(ByteBuffer buf) {
+        int raw = getVarint(buf);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+}
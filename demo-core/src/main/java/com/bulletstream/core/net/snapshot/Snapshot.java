@@ -0,0 +1,116 @@
+package com.bulletstream.core.net.snapshot;
+
+/**
+ * Quantized world state at one tick, as both server and client see it.
+ * Entities are stored in ascending entity index order so two snapshots can be
+ * merge-joined in one pass. Positions are in quanta; velocities in quanta per tick.
+ * Preallocated to a fixed capacity and refilled in place.
+ */
+public final class Snapshot {
+    private final int[] indices;
+    private final int[] entityIds;
+    private final byte[] flags;
+    private final int[] qx;
+    private final int[] qy;
+    private final int[] qvx;
+    private final int[] qvy;
+    private long tick;
+    private int count;
+
+    public Snapshot(int capacity) {
+        this.indices = new int[capacity];
+        this.entityIds = new int[capacity];
+        this.flags = new byte[capacity];
+        this.qx = new int[capacity];
+        this.qy = new int[capacity];
+        this.qvx = new int[capacity];
+        this.qvy = new int[capacity];
+        this.tick = -1L;
+        this.count = 0;
+    }
+
+    /**
+     * Empty the snapshot and stamp it with a new tick.
+     */
+    public void reset(long newTick) {
+        tick = newTick;
+        count = 0;
+    }
+
+    /**
+     * Append an entity; callers must add in ascending index order.
+     * @throws IllegalStateException if the snapshot is full
+     */
+    public void add(int index, int entityId, byte entityFlags, int x, int y, int vx, int vy) {
+        if (count == indices.length) {
+            throw new IllegalStateException("Snapshot full: capacity " + indices.length);
+        }
+        indices[count] = index;
+        entityIds[count] = entityId;
+        flags[count] = entityFlags;
+        qx[count] = x;
+        qy[count] = y;
+        qvx[count] = vx;
+        qvy[count] = vy;
+        count++;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int capacity() {
+        return indices.length;
+    }
+
+    public int getIndex(int i) {
+        return indices[i];
+    }
+
+    /**
+     * @return position of the entity at {@code index} if it is {@code entityId}, or -1 (binary search)
+     */
+    public int find(int index, int entityId) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indices[mid] < index) {
+                low = mid + 1;
+            } else if (indices[mid] > index) {
+                high = mid - 1;
+            } else {
+                return entityIds[mid] == entityId ? mid : -1;
+            }
+        }
+        return -1;
+    }
+
+    public int getEntityId(int i) {
+        return entityIds[i];
+    }
+
+    public byte getFlags(int i) {
+        return flags[i];
+    }
+
+    public int getQx(int i) {
+        return qx[i];
+    }
+
+    public int getQy(int i) {
+        return qy[i];
+    }
+
+    public int getQvx(int i) {
+        return qvx[i];
+    }
+
+    public int getQvy(int i) {
+        return qvy[i];
+    }
+}
@@ -0,0 +1,72 @@
+package com.bulletstream.core.net.snapshot;
+
+/**
+ * Fixed ring of recent snapshots keyed by tick (slot = tick mod size).
+ * The server keeps one as the baseline history; each client keeps one for the
+ * snapshots it has reconstructed. A tick older than {@code size} ticks is evicted.
+ */
+public final class SnapshotRing {
+    private final Snapshot[] slots;
+    private long latestTick;
+
+    /**
+     * @param size number of ticks of history (at least 2: a new snapshot is built from the previous one)
+     * @param snapshotCapacity max entities per snapshot
+     * @throws IllegalArgumentException if size is less than 2
+     */
+    public SnapshotRing(int size, int snapshotCapacity) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Ring must hold at least 2 snapshots: " + size);
+        }
+        this.slots = new Snapshot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Snapshot(snapshotCapacity);
+        }
+        this.latestTick = -1L;
+    }
+
+    /**
+     * Claim the slot for a tick, evicting whatever it held. The returned snapshot is empty.
+     */
+    public Snapshot acquire(long tick) {
+        Snapshot snapshot = slots[slotOf(tick)];
+        snapshot.reset(tick);
+        if (tick > latestTick) {
+            latestTick = tick;
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return the snapshot for exactly this tick, or null if it was never stored or has been evicted
+     */
+    public Snapshot get(long tick) {
+        if (tick < 0) {
+            return null;
+        }
+        Snapshot snapshot = slots[slotOf(tick)];
+        return snapshot.getTick() == tick ? snapshot : null;
+    }
+
+    /**
+     * @return the most recently acquired snapshot, or null if none
+     */
+    public Snapshot latest() {
+        return get(latestTick);
+    }
+
+    /**
+     * @return true if acquiring {@code tick} would not evict {@code baselineTick}
+     */
+    public boolean canHold(long tick, long baselineTick) {
+        return tick - baselineTick < slots.length;
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    private int slotOf(long tick) {
+        return (int) Long.remainderUnsigned(tick, slots.length);
+    }
+}
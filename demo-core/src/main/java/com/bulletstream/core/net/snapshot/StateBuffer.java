@@ -0,0 +1,91 @@
+package com.bulletstream.core.net.snapshot;
+
+import com.bulletstream.core.EntityIdLayout;
+import com.bulletstream.core.GameWorld;
+
+/**
+ * Front/back pair of {@link StateFrame}s that hands world state from the tick thread to one
+ * reader thread (snapshot capture, interest packing, broadcast encoding) so that work runs in
+ * parallel with the next simulation step.
+ *
+ * <p>At the end of a step the tick thread bulk-copies the world into the back frame and makes it
+ * the front with a single volatile write. The reader claims the front frame for as long as it
+ * packs it. While the reader still holds the frame the tick thread would overwrite next (it is
+ * more than a tick behind), that publish is skipped: state is latest-wins, and the reader picks
+ * up the other frame when it is done. Neither side ever waits.
+ */
+public final class StateBuffer {
+    private static final int NONE = -1;
+
+    private final StateFrame[] frames;
+    private volatile int front = NONE;      // Written by the tick thread only
+    private long publishedCount;            // Tick thread only
+    private long skippedCount;              // Tick thread only
+
+    /**
+     * @param capacity entity capacity of the published world
+     * @param idLayout the world's entity ID layout
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public StateBuffer(int capacity, EntityIdLayout idLayout) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.frames = new StateFrame[] {new StateFrame(capacity, idLayout), new StateFrame(capacity, idLayout)};
+    }
+
+    /**
+     * Copy the world into the back frame and make it the front (tick thread, after the step).
+     * @param tick the tick just simulated
+     * @param stepSeconds simulated seconds of that step
+     * @return false if the reader still holds the back frame (nothing published)
+     */
+    public boolean publish(GameWorld world, long tick, float stepSeconds) {
+        int back = front == 0 ? 1 : 0;
+        StateFrame frame = frames[back];
+        if (frame.held) {
+            skippedCount++;
+            return false;
+        }
+        frame.capture(world, tick, stepSeconds);
+        front = back;
+        publishedCount++;
+        return true;
+    }
+
+    /**
+     * Claim the latest published frame (reader thread). The tick thread will not overwrite it
+     * until {@link #release}; release before acquiring again.
+     * @return the frame, or null if nothing has been published yet
+     */
+    public StateFrame acquire() {
+        while (true) {
+            int f = front;
+            if (f == NONE) {
+                return null;
+            }
+            StateFrame frame = frames[f];
+            frame.held = true;
+            // Still the front after the claim: the tick thread sees the claim before it comes back to this frame
+            if (front == f) {
+                return frame;
+            }
+            frame.held = false;
+        }
+    }
+
+    public void release(StateFrame frame) {
+        frame.held = false;
+    }
+
+    public long getPublishedCount() {
+        return publishedCount;
+    }
+
+    /**
+     * @return publishes skipped because the reader still held the back frame
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+}
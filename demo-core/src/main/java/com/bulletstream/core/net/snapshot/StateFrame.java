@@ -0,0 +1,121 @@
+package com.bulletstream.core.net.snapshot;
+
+import com.bulletstream.core.EntityIdLayout;
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.WorldView;
+
+/**
+ * A copy of the world columns that state broadcast reads (IDs, flags, positions, velocities,
+ * input ticks and the active set order) as of one tick, so snapshots can be captured and packed
+ * off the tick thread. Filled by {@link StateBuffer#publish}; read-only once published.
+ */
+public final class StateFrame implements WorldView {
+    private final int indexMask;
+    private final int[] entityIds;
+    private final byte[] flags;
+    private final float[] positionsX;
+    private final float[] positionsY;
+    private final float[] velocitiesX;
+    private final float[] velocitiesY;
+    private final long[] inputTicks;
+    private final int[] activeIndices;
+    private int entityCount;
+    private int activeCount;
+    private long tick = -1L;
+    private float stepSeconds;
+    volatile boolean held;                  // Claimed by the reader, see StateBuffer
+
+    StateFrame(int capacity, EntityIdLayout idLayout) {
+        this.indexMask = idLayout.getIndexMask();
+        this.entityIds = new int[capacity];
+        this.flags = new byte[capacity];
+        this.positionsX = new float[capacity];
+        this.positionsY = new float[capacity];
+        this.velocitiesX = new float[capacity];
+        this.velocitiesY = new float[capacity];
+        this.inputTicks = new long[capacity];
+        this.activeIndices = new int[capacity];
+    }
+
+    void capture(GameWorld world, long tick, float stepSeconds) {
+        entityCount = world.copyState(entityIds, flags, positionsX, positionsY, velocitiesX, velocitiesY, inputTicks);
+        activeCount = world.copyActiveIndices(activeIndices);
+        this.tick = tick;
+        this.stepSeconds = stepSeconds;
+    }
+
+    /**
+     * @return the tick this frame shows the result of
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return simulated seconds of that tick's step
+     */
+    public float getStepSeconds() {
+        return stepSeconds;
+    }
+
+    @Override
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    @Override
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    @Override
+    public int getActiveIndex(int slot) {
+        return activeIndices[slot];
+    }
+
+    @Override
+    public int getEntityId(int index) {
+        return entityIds[index];
+    }
+
+    @Override
+    public byte getFlags(int index) {
+        return flags[index];
+    }
+
+    @Override
+    public float getPositionX(int index) {
+        return positionsX[index];
+    }
+
+    @Override
+    public float getPositionY(int index) {
+        return positionsY[index];
+    }
+
+    @Override
+    public float getVelocityX(int index) {
+        return velocitiesX[index];
+    }
+
+    @Override
+    public float getVelocityY(int index) {
+        return velocitiesY[index];
+    }
+
+    @Override
+    public long getInputTick(int index) {
+        return inputTicks[index];
+    }
+
+    @Override
+    public boolean isActive(int entityId) {
+        int index = entityId & indexMask;
+        return index < entityCount && entityIds[index] == entityId && (flags[index] & GameWorld.FLAG_ACTIVE) != 0;
+    }
+
+    @Override
+    public int indexOf(int entityId) {
+        return entityId & indexMask;
+    }
+}
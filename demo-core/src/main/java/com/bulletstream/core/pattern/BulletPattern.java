@@ -0,0 +1,47 @@
+package com.bulletstream.core.pattern;
+
+import com.bulletstream.core.SpawnBatch;
+
+/**
+ * Generates one volley of bullets (spawn position and velocity rows) into a {@link SpawnBatch}.
+ * Direction tables are computed once at construction; a volley costs one sin/cos for the base
+ * angle, then a rotate-and-scale per bullet, with no allocation.
+ */
+public interface BulletPattern {
+
+    /**
+     * Append one volley, all bullets starting at the origin.
+     * @param angle base direction in radians
+     * @throws IllegalStateException if the batch cannot hold the whole volley (nothing is added)
+     */
+    void emit(SpawnBatch batch, float originX, float originY, float angle, float speed);
+
+    /**
+     * @return bullets per volley
+     */
+    int size();
+
+    /**
+     * {@code count} bullets evenly around the full circle, the first along the base angle.
+     */
+    static BulletPattern ring(int count) {
+        return new DirectionPattern(count, (float) (2.0 * Math.PI / count), 0.0f);
+    }
+
+    /**
+     * {@code count} bullets fanned evenly across {@code arcRadians}, centred on the base angle.
+     */
+    static BulletPattern spread(int count, float arcRadians) {
+        if (count == 1) {
+            return new DirectionPattern(1, 0.0f, 0.0f);
+        }
+        return new DirectionPattern(count, arcRadians / (count - 1), -arcRadians / 2.0f);
+    }
+
+    /**
+     * A ring of {@code arms} bullets that turns by {@code turnRadians} every volley (stateful).
+     */
+    static BulletPattern spiral(int arms, float turnRadians) {
+        return new SpiralPattern(arms, turnRadians);
+    }
+}
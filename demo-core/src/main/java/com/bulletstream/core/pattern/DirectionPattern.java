@@ -0,0 +1,47 @@
+package com.bulletstream.core.pattern;
+
+import com.bulletstream.core.SpawnBatch;
+
+/**
+ * Fixed set of directions relative to the base angle: {@code start + k * step} for k in [0, count).
+ */
+final class DirectionPattern implements BulletPattern {
+    private final float[] cos;
+    private final float[] sin;
+
+    DirectionPattern(int count, float step, float start) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Bullet count must be positive: " + count);
+        }
+        this.cos = new float[count];
+        this.sin = new float[count];
+        for (int k = 0; k < count; k++) {
+            double angle = start + (double) k * step;
+            cos[k] = (float) Math.cos(angle);
+            sin[k] = (float) Math.sin(angle);
+        }
+    }
+
+    @Override
+    public void emit(SpawnBatch batch, float originX, float originY, float angle, float speed) {
+        emitRotated(batch, originX, originY, (float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed);
+    }
+
+    /**
+     * @param dirX base direction times speed
+     */
+    void emitRotated(SpawnBatch batch, float originX, float originY, float dirX, float dirY) {
+        int count = cos.length;
+        if (batch.remaining() < count) {
+            throw new IllegalStateException("SpawnBatch cannot hold " + count + " more bullets");
+        }
+        for (int k = 0; k < count; k++) {
+            batch.add(originX, originY, cos[k] * dirX - sin[k] * dirY, sin[k] * dirX + cos[k] * dirY);
+        }
+    }
+
+    @Override
+    public int size() {
+        return cos.length;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bulletstream.core.pattern;
+
+import com.bulletstream.core.SpawnBatch;
+
+/**
+ * Ring whose phase advances by a fixed turn after every volley. One instance per emitter.
+ */
+final class SpiralPattern implements BulletPattern {
+    private static final double TWO_PI = 2.0 * Math.PI;
+
+    private final DirectionPattern ring;
+    private final double turn;
+    private double phase;
+
+    SpiralPattern(int arms, float turnRadians) {
+        this.ring = new DirectionPattern(arms, (float) (TWO_PI / arms), 0.0f);
+        this.turn = turnRadians;
+    }
+
+    @Override
+    public void emit(SpawnBatch batch, float originX, float originY, float angle, float speed) {
+        double direction = angle + phase;
+        ring.emitRotated(batch, originX, originY, (float) Math.cos(direction) * speed,
+                         (float) Math.sin(direction) * speed);
+        phase = (phase + turn) % TWO_PI;
+    }
+
+    @Override
+    public int size() {
+        return ring.size();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bulletstream.core.replay;
+
+/**
+ * Binary layout of a replay log, written by {@link ReplayRecorder} and read by {@link ReplayPlayer}.
+ * Big-endian. A 16-byte header (magic, version, world capacity, hash interval) is followed by
+ * records, each a type byte and a fixed payload:
+ * <pre>
+ * INPUT   int entityId, long inputTick, byte mask, float angle   applied input
+ * ADMIN   int type, float value                                  applied admin command
+ * SPAWN   int entityId, float x, y, vx, vy, byte flags, float radius
+ * DESPAWN int entityId
+ * TICK    long tick, float stepSeconds                           run one simulation step now
+ * HASH    long stateHash                                         world hash after the preceding TICK
+ * </pre>
+ * A zero type byte marks the end (a log cut short by a crash ends in zero-filled mapped space).
+ */
+final class ReplayLog {
+    static final int MAGIC = 0x42535250; // "BSRP"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    static final byte TYPE_END = 0;
+    static final byte TYPE_INPUT = 1;
+    static final byte TYPE_ADMIN = 2;
+    static final byte TYPE_SPAWN = 3;
+    static final byte TYPE_DESPAWN = 4;
+    static final byte TYPE_TICK = 5;
+    static final byte TYPE_HASH = 6;
+
+    static final int INPUT_BYTES = 1 + 4 + 8 + 1 + 4;
+    static final int ADMIN_BYTES = 1 + 4 + 4;
+    static final int SPAWN_BYTES = 1 + 4 + 4 * 4 + 1 + 4;
+    static final int DESPAWN_BYTES = 1 + 4;
+    static final int TICK_BYTES = 1 + 8 + 4;
+    static final int HASH_BYTES = 1 + 8;
+
+    private ReplayLog() {
+    }
+}
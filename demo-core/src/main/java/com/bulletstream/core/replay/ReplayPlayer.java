@@ -0,0 +1,188 @@
+package com.bulletstream.core.replay;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.system.SimulationStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Headless fast-forward of a {@link ReplayRecorder} log: every recorded spawn, despawn and input
+ * is applied to a fresh world and every TICK runs the simulation step immediately, with no pacing,
+ * so a session replays as fast as the step allows. Recorded hashes are checked against the
+ * replayed world; the first divergence is reported by tick.
+ *
+ * <p>The step must be configured like the recording server's (same systems and settings).
+ * The log is mapped read-only once and can be played any number of times, each into a new world.
+ */
+public final class ReplayPlayer {
+    private static final Logger log = LoggerFactory.getLogger(ReplayPlayer.class);
+
+    private final ByteBuffer data;
+    private final int maxEntities;
+    private final int hashInterval;
+
+    private long ticks;
+    private long inputs;
+    private long adminCommands;
+    private long hashChecks;
+    private long mismatches;
+    private long firstMismatchTick = -1L;
+
+    /**
+     * @throws IOException if the file cannot be read, is not a replay log, or exceeds 2 GB
+     */
+    public ReplayPlayer(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Replay log larger than 2 GB: " + file);
+            }
+            if (size < ReplayLog.HEADER_BYTES) {
+                throw new IOException("Not a replay log: " + file);
+            }
+            this.data = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+        }
+        if (data.getInt(0) != ReplayLog.MAGIC || data.getInt(4) != ReplayLog.VERSION) {
+            throw new IOException("Not a replay log (or unsupported version): " + file);
+        }
+        this.maxEntities = data.getInt(8);
+        this.hashInterval = data.getInt(12);
+    }
+
+    /**
+     * Replay the whole log into {@code step}'s world, as fast as possible.
+     * Divergence (hash or spawn ID mismatch) is counted and logged once, and replay continues.
+     * @return ticks simulated
+     * @throws IllegalArgumentException if the world's capacity differs from the recording or it is not empty
+     * @throws IllegalStateException if the log is corrupt
+     */
+    public long play(SimulationStep step) {
+        GameWorld world = step.getWorld();
+        if (world.getStore().capacity() != maxEntities || world.getEntityCount() != 0) {
+            throw new IllegalArgumentException("Replay needs an empty world of capacity " + maxEntities);
+        }
+        ticks = 0;
+        inputs = 0;
+        adminCommands = 0;
+        hashChecks = 0;
+        mismatches = 0;
+        firstMismatchTick = -1L;
+
+        ByteBuffer in = data.duplicate().position(ReplayLog.HEADER_BYTES);
+        long lastTick = -1L;
+        try {
+            while (in.hasRemaining()) {
+                byte type = in.get();
+                switch (type) {
+                    case ReplayLog.TYPE_END -> {
+                        return ticks;
+                    }
+                    case ReplayLog.TYPE_INPUT -> {
+                        world.applyInput(in.getInt(), in.getLong(), in.get(), in.getFloat());
+                        inputs++;
+                    }
+                    case ReplayLog.TYPE_ADMIN -> {
+                        int commandType = in.getInt();
+                        float value = in.getFloat();
+                        adminCommands++;
+                        log.debug("Admin command {} = {} after tick {}", commandType, value, lastTick);
+                    }
+                    case ReplayLog.TYPE_SPAWN -> {
+                        int expected = in.getInt();
+                        int id = world.spawnEntity(in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat(), in.get());
+                        float radius = in.getFloat();
+                        if (id != expected) {
+                            diverged(lastTick + 1, "spawned " + id + ", recorded " + expected);
+                        }
+                        if (id != -1) {
+                            world.setRadius(world.indexOf(id), radius);
+                        }
+                    }
+                    case ReplayLog.TYPE_DESPAWN -> {
+                        int id = in.getInt();
+                        if (world.isActive(id)) {
+                            world.despawnEntity(id);
+                        } else {
+                            diverged(lastTick + 1, "despawn of inactive entity " + id);
+                        }
+                    }
+                    case ReplayLog.TYPE_TICK -> {
+                        lastTick = in.getLong();
+                        step.run(lastTick, in.getFloat());
+                        ticks++;
+                    }
+                    case ReplayLog.TYPE_HASH -> {
+                        long recorded = in.getLong();
+                        hashChecks++;
+                        long replayed = world.stateHash();
+                        if (replayed != recorded) {
+                            diverged(lastTick, "state hash " + Long.toHexString(replayed)
+                                               + ", recorded " + Long.toHexString(recorded));
+                        }
+                    }
+                    default -> throw new IllegalStateException("Corrupt replay log: record type " + type
+                                                               + " at offset " + (in.position() - 1));
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            // Last record cut short (recorder did not close): everything before it has been replayed
+            log.warn("Replay log ends mid-record after tick {}", lastTick);
+        }
+        return ticks;
+    }
+
+    private void diverged(long tick, String detail) {
+        if (mismatches++ == 0) {
+            firstMismatchTick = tick;
+            log.warn("Replay diverged at tick {}: {}", tick, detail);
+        }
+    }
+
+    public int getMaxEntities() {
+        return maxEntities;
+    }
+
+    public int getHashInterval() {
+        return hashInterval;
+    }
+
+    /**
+     * @return ticks simulated by the last {@link #play}
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getInputs() {
+        return inputs;
+    }
+
+    public long getAdminCommands() {
+        return adminCommands;
+    }
+
+    public long getHashChecks() {
+        return hashChecks;
+    }
+
+    /**
+     * @return hash or spawn mismatches in the last {@link #play} (0 = faithful replay)
+     */
+    public long getMismatches() {
+        return mismatches;
+    }
+
+    /**
+     * @return tick of the first mismatch in the last {@link #play}, or -1 if none
+     */
+    public long getFirstMismatchTick() {
+        return firstMismatchTick;
+    }
+}
@@ -0,0 +1,122 @@
+package com.bulletstream.core.replay;
+
+import com.bulletstream.core.GameWorld;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only, memory-mapped log of everything that changes a world from outside the simulation:
+ * spawns and despawns of players, applied inputs and admin commands, and the step length of every
+ * tick, with a world hash every {@code hashInterval} ticks. Replaying it with {@link ReplayPlayer}
+ * through the same {@link com.bulletstream.core.system.SimulationStep} reproduces the session.
+ *
+ * <p>Records are written straight into a mapped window of the file; when a window fills, the next
+ * one is mapped after it (the file grows a window at a time and is cut to its real length on
+ * {@link #close()}). No allocation or system call per record. Tick thread only.
+ */
+public final class ReplayRecorder implements AutoCloseable {
+    static final int DEFAULT_WINDOW_BYTES = 4 << 20;
+
+    private final FileChannel channel;
+    private final int windowBytes;
+    private final int hashInterval;
+    private MappedByteBuffer window;
+    private long windowStart;               // File offset of the window
+    private long ticks;
+
+    /**
+     * Create (or overwrite) a log.
+     * @param maxEntities capacity of the recorded world (replays need the same)
+     * @param hashInterval write the world hash every this many ticks (0 = never)
+     * @throws IllegalArgumentException if maxEntities is not positive or hashInterval is negative
+     */
+    public ReplayRecorder(Path file, int maxEntities, int hashInterval) throws IOException {
+        this(file, maxEntities, hashInterval, DEFAULT_WINDOW_BYTES);
+    }
+
+    ReplayRecorder(Path file, int maxEntities, int hashInterval, int windowBytes) throws IOException {
+        if (maxEntities <= 0 || hashInterval < 0 || windowBytes < ReplayLog.HEADER_BYTES) {
+            throw new IllegalArgumentException("Invalid replay log settings");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.windowBytes = windowBytes;
+        this.hashInterval = hashInterval;
+        this.window = channel.map(FileChannel.MapMode.READ_WRITE, 0L, windowBytes);
+        window.putInt(ReplayLog.MAGIC);
+        window.putInt(ReplayLog.VERSION);
+        window.putInt(maxEntities);
+        window.putInt(hashInterval);
+    }
+
+    public void recordInput(int entityId, long inputTick, byte mask, float angle) {
+        reserve(ReplayLog.INPUT_BYTES)
+                .put(ReplayLog.TYPE_INPUT).putInt(entityId).putLong(inputTick).put(mask).putFloat(angle);
+    }
+
+    public void recordAdmin(int type, float value) {
+        reserve(ReplayLog.ADMIN_BYTES).put(ReplayLog.TYPE_ADMIN).putInt(type).putFloat(value);
+    }
+
+    /**
+     * A spawn from outside the simulation (a player joining); record it after the spawn succeeded.
+     * @param flags the flags passed to spawnEntity
+     */
+    public void recordSpawn(int entityId, float x, float y, float vx, float vy, byte flags, float radius) {
+        reserve(ReplayLog.SPAWN_BYTES).put(ReplayLog.TYPE_SPAWN).putInt(entityId)
+                .putFloat(x).putFloat(y).putFloat(vx).putFloat(vy).put(flags).putFloat(radius);
+    }
+
+    public void recordDespawn(int entityId) {
+        reserve(ReplayLog.DESPAWN_BYTES).put(ReplayLog.TYPE_DESPAWN).putInt(entityId);
+    }
+
+    /**
+     * Close a tick: everything recorded since the previous tick was applied before this step ran.
+     * Call after the step, so the hash (every hashInterval ticks) covers its result.
+     */
+    public void endTick(long tick, float stepSeconds, GameWorld world) {
+        reserve(ReplayLog.TICK_BYTES).put(ReplayLog.TYPE_TICK).putLong(tick).putFloat(stepSeconds);
+        ticks++;
+        if (hashInterval > 0 && tick % hashInterval == 0) {
+            reserve(ReplayLog.HASH_BYTES).put(ReplayLog.TYPE_HASH).putLong(world.stateHash());
+        }
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getBytesWritten() {
+        return windowStart + window.position();
+    }
+
+    /**
+     * Cut the file to the bytes written and close it.
+     */
+    @Override
+    public void close() throws IOException {
+        long length = getBytesWritten();
+        window.force();
+        channel.truncate(length);
+        channel.close();
+    }
+
+    private MappedByteBuffer reserve(int bytes) {
+        if (window.remaining() < bytes) {
+            // Continue in a fresh window starting right after the last record
+            windowStart += window.position();
+            try {
+                window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, windowBytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot extend replay log", e);
+            }
+        }
+        return window;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bulletstream.core.storage;
+
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Checkpoint layout of the component columns, shared by both backends so either can restore the
+ * other's checkpoint: each column's first {@code count} values, little-endian, in declaration
+ * order (entity ID, flags, position X/Y, velocity X/Y, radius, owner, input mask, aim angle,
+ * input tick), every column starting on an 8-byte boundary.
+ */
+final class CheckpointColumns {
+    static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+
+    private CheckpointColumns() {
+    }
+
+    static long pad(long bytes) {
+        return (bytes + 7) & -8L;
+    }
+
+    /**
+     * @return bytes taken by the columns of {@code count} entities
+     */
+    static long size(int count) {
+        long words = pad((long) count * Integer.BYTES);
+        return 8 * words + 2 * pad(count) + pad((long) count * Long.BYTES); // 4-byte columns: IDs, owners, six floats
+    }
+}
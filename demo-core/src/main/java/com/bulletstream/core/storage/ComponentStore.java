@@ -0,0 +1,111 @@
+package com.bulletstream.core.storage;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Backing storage for the {@link com.bulletstream.core.GameWorld} component columns
+ * (Structure of Arrays, one column per component, indexed by entity index).
+ * Everything that reads the world (update, spatial hash insertion, state packing) goes through
+ * the world's accessors, so it runs unchanged against either backend.
+ *
+ * <p>Not thread-safe; the parallel update writes disjoint index ranges.
+ */
+public interface ComponentStore {
+
+    /**
+     * @param name "heap" (Java arrays) or "offheap" (one native segment, see {@link OffHeapComponentStore})
+     * @throws IllegalArgumentException for any other name
+     */
+    static ComponentStore forName(String name, int capacity) {
+        return switch (name) {
+            case "heap" -> new HeapComponentStore(capacity);
+            case "offheap" -> new OffHeapComponentStore(capacity);
+            default -> throw new IllegalArgumentException("Unknown component storage: " + name);
+        };
+    }
+
+    /**
+     * @return bytes {@link #exportColumns} writes for {@code count} entities (same for every backend)
+     */
+    static long checkpointBytes(int count) {
+        return CheckpointColumns.size(count);
+    }
+
+    int capacity();
+
+    int getEntityId(int index);
+
+    void setEntityId(int index, int entityId);
+
+    byte getFlags(int index);
+
+    void setFlags(int index, byte flags);
+
+    float getPositionX(int index);
+
+    float getPositionY(int index);
+
+    void setPosition(int index, float x, float y);
+
+    float getVelocityX(int index);
+
+    float getVelocityY(int index);
+
+    void setVelocity(int index, float vx, float vy);
+
+    float getRadius(int index);
+
+    void setRadius(int index, float radius);
+
+    int getOwnerId(int index);
+
+    void setOwnerId(int index, int ownerId);
+
+    byte getInputMask(int index);
+
+    float getAimAngle(int index);
+
+    long getInputTick(int index);
+
+    void setInput(int index, byte mask, float angle, long tick);
+
+    /**
+     * Reset the components of freshly claimed entities in tight per-column loops: entity
+     * {@code indices[k]} for k in [from, to) takes source row {@code srcOffset + k - from}.
+     * Radius, owner and input are cleared (input tick -1); the entity ID column is left alone.
+     */
+    void initialize(int[] indices, int from, int to, float[] x, float[] y, float[] vx, float[] vy,
+                    int srcOffset, byte flags);
+
+    /**
+     * Bulk-copy the positions and entity IDs of indices [0, count) to the start of the given arrays.
+     */
+    void copyPositions(int count, float[] x, float[] y, int[] entityIds);
+
+    /**
+     * Bulk-copy the columns state broadcast reads for indices [0, count) (one copy per column).
+     */
+    void copyState(int count, int[] entityIds, byte[] flags, float[] x, float[] y, float[] vx, float[] vy,
+                   long[] inputTicks);
+
+    /**
+     * Bulk-copy every column's values for indices [0, count) into {@code out} at {@code offset}
+     * in the backend-neutral checkpoint layout ({@link #checkpointBytes} bytes).
+     */
+    void exportColumns(int count, MemorySegment out, long offset);
+
+    /**
+     * Inverse of {@link #exportColumns}: overwrite indices [0, count) from a checkpoint.
+     */
+    void importColumns(int count, MemorySegment in, long offset);
+
+    /**
+     * Euler-integrate positions for every index in [from, to) whose ACTIVE flag is set.
+     */
+    void integrate(int from, int to, float deltaTime);
+
+    /**
+     * Euler-integrate positions for the indices listed in indices[from, to) (all assumed active).
+     */
+    void integrateIndexed(int[] indices, int from, int to, float deltaTime);
+}
@@ -0,0 +1,234 @@
+package com.bulletstream.core.storage;
+
+import com.bulletstream.core.Integrator;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Component columns as plain Java arrays (the default backend).
+ */
+public final class HeapComponentStore implements ComponentStore {
+    private final int[] entityIds;      // Generation and index, split by the world's EntityIdLayout
+    private final byte[] flags;         // Bitmask: ACTIVE(1), PLAYER(2), BULLET(4), ENEMY(8)
+    private final float[] positionsX;
+    private final float[] positionsY;
+    private final float[] velocitiesX;
+    private final float[] velocitiesY;
+    private final float[] radius;       // Collision radius (compared squared against distance)
+    private final int[] ownerId;        // Entity ID of who fired this bullet
+    private final byte[] inputMask;     // Current tick input state (if player)
+    private final float[] aimAngles;    // Current aim angle in radians (if player)
+    private final long[] inputTicks;    // Client tick stamp of the last applied input (if player), -1 if none
+
+    public HeapComponentStore(int capacity) {
+        this.entityIds = new int[capacity];
+        this.flags = new byte[capacity];
+        this.positionsX = new float[capacity];
+        this.positionsY = new float[capacity];
+        this.velocitiesX = new float[capacity];
+        this.velocitiesY = new float[capacity];
+        this.radius = new float[capacity];
+        this.ownerId = new int[capacity];
+        this.inputMask = new byte[capacity];
+        this.aimAngles = new float[capacity];
+        this.inputTicks = new long[capacity];
+    }
+
+    @Override
+    public int capacity() {
+        return entityIds.length;
+    }
+
+    @Override
+    public int getEntityId(int index) {
+        return entityIds[index];
+    }
+
+    @Override
+    public void setEntityId(int index, int entityId) {
+        entityIds[index] = entityId;
+    }
+
+    @Override
+    public byte getFlags(int index) {
+        return flags[index];
+    }
+
+    @Override
+    public void setFlags(int index, byte value) {
+        flags[index] = value;
+    }
+
+    @Override
+    public float getPositionX(int index) {
+        return positionsX[index];
+    }
+
+    @Override
+    public float getPositionY(int index) {
+        return positionsY[index];
+    }
+
+    @Override
+    public void setPosition(int index, float x, float y) {
+        positionsX[index] = x;
+        positionsY[index] = y;
+    }
+
+    @Override
+    public float getVelocityX(int index) {
+        return velocitiesX[index];
+    }
+
+    @Override
+    public float getVelocityY(int index) {
+        return velocitiesY[index];
+    }
+
+    @Override
+    public void setVelocity(int index, float vx, float vy) {
+        velocitiesX[index] = vx;
+        velocitiesY[index] = vy;
+    }
+
+    @Override
+    public float getRadius(int index) {
+        return radius[index];
+    }
+
+    @Override
+    public void setRadius(int index, float value) {
+        radius[index] = value;
+    }
+
+    @Override
+    public int getOwnerId(int index) {
+        return ownerId[index];
+    }
+
+    @Override
+    public void setOwnerId(int index, int value) {
+        ownerId[index] = value;
+    }
+
+    @Override
+    public byte getInputMask(int index) {
+        return inputMask[index];
+    }
+
+    @Override
+    public float getAimAngle(int index) {
+        return aimAngles[index];
+    }
+
+    @Override
+    public long getInputTick(int index) {
+        return inputTicks[index];
+    }
+
+    @Override
+    public void setInput(int index, byte mask, float angle, long tick) {
+        inputMask[index] = mask;
+        aimAngles[index] = angle;
+        inputTicks[index] = tick;
+    }
+
+    @Override
+    public void initialize(int[] indices, int from, int to, float[] x, float[] y, float[] vx, float[] vy,
+                           int srcOffset, byte value) {
+        int shift = srcOffset - from;
+        for (int k = from; k < to; k++) {
+            flags[indices[k]] = value;
+        }
+        for (int k = from; k < to; k++) {
+            int i = indices[k];
+            positionsX[i] = x[k + shift];
+            positionsY[i] = y[k + shift];
+        }
+        for (int k = from; k < to; k++) {
+            int i = indices[k];
+            velocitiesX[i] = vx[k + shift];
+            velocitiesY[i] = vy[k + shift];
+        }
+        for (int k = from; k < to; k++) {
+            int i = indices[k];
+            radius[i] = 0.0f;
+            ownerId[i] = 0;
+            inputMask[i] = 0;
+            aimAngles[i] = 0.0f;
+            inputTicks[i] = -1L;
+        }
+    }
+
+    @Override
+    public void copyPositions(int count, float[] x, float[] y, int[] ids) {
+        System.arraycopy(positionsX, 0, x, 0, count);
+        System.arraycopy(positionsY, 0, y, 0, count);
+        System.arraycopy(entityIds, 0, ids, 0, count);
+    }
+
+    @Override
+    public void copyState(int count, int[] ids, byte[] flags, float[] x, float[] y, float[] vx, float[] vy,
+                          long[] inputTicks) {
+        System.arraycopy(entityIds, 0, ids, 0, count);
+        System.arraycopy(this.flags, 0, flags, 0, count);
+        System.arraycopy(positionsX, 0, x, 0, count);
+        System.arraycopy(positionsY, 0, y, 0, count);
+        System.arraycopy(velocitiesX, 0, vx, 0, count);
+        System.arraycopy(velocitiesY, 0, vy, 0, count);
+        System.arraycopy(this.inputTicks, 0, inputTicks, 0, count);
+    }
+
+    @Override
+    public void exportColumns(int count, MemorySegment out, long offset) {
+        long at = offset;
+        at = put(entityIds, count, out, CheckpointColumns.INT, at);
+        at = put(flags, count, out, CheckpointColumns.BYTE, at);
+        at = put(positionsX, count, out, CheckpointColumns.FLOAT, at);
+        at = put(positionsY, count, out, CheckpointColumns.FLOAT, at);
+        at = put(velocitiesX, count, out, CheckpointColumns.FLOAT, at);
+        at = put(velocitiesY, count, out, CheckpointColumns.FLOAT, at);
+        at = put(radius, count, out, CheckpointColumns.FLOAT, at);
+        at = put(ownerId, count, out, CheckpointColumns.INT, at);
+        at = put(inputMask, count, out, CheckpointColumns.BYTE, at);
+        at = put(aimAngles, count, out, CheckpointColumns.FLOAT, at);
+        put(inputTicks, count, out, CheckpointColumns.LONG, at);
+    }
+
+    @Override
+    public void importColumns(int count, MemorySegment in, long offset) {
+        long at = offset;
+        at = get(in, CheckpointColumns.INT, at, entityIds, count);
+        at = get(in, CheckpointColumns.BYTE, at, flags, count);
+        at = get(in, CheckpointColumns.FLOAT, at, positionsX, count);
+        at = get(in, CheckpointColumns.FLOAT, at, positionsY, count);
+        at = get(in, CheckpointColumns.FLOAT, at, velocitiesX, count);
+        at = get(in, CheckpointColumns.FLOAT, at, velocitiesY, count);
+        at = get(in, CheckpointColumns.FLOAT, at, radius, count);
+        at = get(in, CheckpointColumns.INT, at, ownerId, count);
+        at = get(in, CheckpointColumns.BYTE, at, inputMask, count);
+        at = get(in, CheckpointColumns.FLOAT, at, aimAngles, count);
+        get(in, CheckpointColumns.LONG, at, inputTicks, count);
+    }
+
+    private static long put(Object column, int count, MemorySegment out, ValueLayout layout, long at) {
+        MemorySegment.copy(column, 0, out, layout, at, count);
+        return at + CheckpointColumns.pad(count * layout.byteSize());
+    }
+
+    private static long get(MemorySegment in, ValueLayout layout, long at, Object column, int count) {
+        MemorySegment.copy(in, layout, at, column, 0, count);
+        return at + CheckpointColumns.pad(count * layout.byteSize());
+    }
+
+    @Override
+    public void integrate(int from, int to, float deltaTime) {
+        Integrator.integrate(positionsX, positionsY, velocitiesX, velocitiesY, flags, from, to, deltaTime);
+    }
+
+    @Override
+    public void integrateIndexed(int[] indices, int from, int to, float deltaTime) {
+        Integrator.integrateIndexed(positionsX, positionsY, velocitiesX, velocitiesY, indices, from, to, deltaTime);
+    }
+}
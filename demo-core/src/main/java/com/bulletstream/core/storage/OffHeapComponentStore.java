@@ -0,0 +1,270 @@
+package com.bulletstream.core.storage;
+
+import com.bulletstream.core.Integrator;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Component columns in native memory ({@link MemorySegment}), same SoA layout as the heap backend.
+ * All columns live in one allocation, each starting on a cache-line boundary so SIMD loads never
+ * straddle two columns. The GC sees one small object per world instead of eleven large arrays,
+ * which keeps multi-million-entity worlds out of heap sizing and old-generation scanning.
+ *
+ * <p>Memory comes from an automatic arena: it is freed once the store becomes unreachable.
+ */
+public final class OffHeapComponentStore implements ComponentStore {
+    /** Column alignment in bytes (one cache line, also the widest AVX-512 vector). */
+    public static final long COLUMN_ALIGNMENT = 64L;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT;
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG;
+    private static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+
+    private final int capacity;
+    private final MemorySegment entityIds;
+    private final MemorySegment flags;
+    private final MemorySegment positionsX;
+    private final MemorySegment positionsY;
+    private final MemorySegment velocitiesX;
+    private final MemorySegment velocitiesY;
+    private final MemorySegment radius;
+    private final MemorySegment ownerId;
+    private final MemorySegment inputMask;
+    private final MemorySegment aimAngles;
+    private final MemorySegment inputTicks;
+
+    /**
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public OffHeapComponentStore(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+        long intColumn = align((long) capacity * Integer.BYTES);
+        long byteColumn = align(capacity);
+        long longColumn = align((long) capacity * Long.BYTES);
+        long total = 8 * intColumn + 2 * byteColumn + longColumn; // 6 float + 2 int (entityIds, ownerId) columns
+        MemorySegment block = Arena.ofAuto().allocate(Math.max(total, 1L), COLUMN_ALIGNMENT);
+        // Fresh native memory is zeroed, like new arrays. Columns start at aligned offsets but are
+        // sliced to their exact length, so segment bounds checks match array bounds checks.
+        long ints = (long) capacity * Integer.BYTES;
+        this.entityIds = block.asSlice(0, ints);
+        this.positionsX = block.asSlice(intColumn, ints);
+        this.positionsY = block.asSlice(2 * intColumn, ints);
+        this.velocitiesX = block.asSlice(3 * intColumn, ints);
+        this.velocitiesY = block.asSlice(4 * intColumn, ints);
+        this.radius = block.asSlice(5 * intColumn, ints);
+        this.ownerId = block.asSlice(6 * intColumn, ints);
+        this.aimAngles = block.asSlice(7 * intColumn, ints);
+        this.inputTicks = block.asSlice(8 * intColumn, (long) capacity * Long.BYTES);
+        this.flags = block.asSlice(8 * intColumn + longColumn, capacity);
+        this.inputMask = block.asSlice(8 * intColumn + longColumn + byteColumn, capacity);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + COLUMN_ALIGNMENT - 1) & -COLUMN_ALIGNMENT;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getEntityId(int index) {
+        return entityIds.getAtIndex(INT, index);
+    }
+
+    @Override
+    public void setEntityId(int index, int entityId) {
+        entityIds.setAtIndex(INT, index, entityId);
+    }
+
+    @Override
+    public byte getFlags(int index) {
+        return flags.get(BYTE, index);
+    }
+
+    @Override
+    public void setFlags(int index, byte value) {
+        flags.set(BYTE, index, value);
+    }
+
+    @Override
+    public float getPositionX(int index) {
+        return positionsX.getAtIndex(FLOAT, index);
+    }
+
+    @Override
+    public float getPositionY(int index) {
+        return positionsY.getAtIndex(FLOAT, index);
+    }
+
+    @Override
+    public void setPosition(int index, float x, float y) {
+        positionsX.setAtIndex(FLOAT, index, x);
+        positionsY.setAtIndex(FLOAT, index, y);
+    }
+
+    @Override
+    public float getVelocityX(int index) {
+        return velocitiesX.getAtIndex(FLOAT, index);
+    }
+
+    @Override
+    public float getVelocityY(int index) {
+        return velocitiesY.getAtIndex(FLOAT, index);
+    }
+
+    @Override
+    public void setVelocity(int index, float vx, float vy) {
+        velocitiesX.setAtIndex(FLOAT, index, vx);
+        velocitiesY.setAtIndex(FLOAT, index, vy);
+    }
+
+    @Override
+    public float getRadius(int index) {
+        return radius.getAtIndex(FLOAT, index);
+    }
+
+    @Override
+    public void setRadius(int index, float value) {
+        radius.setAtIndex(FLOAT, index, value);
+    }
+
+    @Override
+    public int getOwnerId(int index) {
+        return ownerId.getAtIndex(INT, index);
+    }
+
+    @Override
+    public void setOwnerId(int index, int value) {
+        ownerId.setAtIndex(INT, index, value);
+    }
+
+    @Override
+    public byte getInputMask(int index) {
+        return inputMask.get(BYTE, index);
+    }
+
+    @Override
+    public float getAimAngle(int index) {
+        return aimAngles.getAtIndex(FLOAT, index);
+    }
+
+    @Override
+    public long getInputTick(int index) {
+        return inputTicks.getAtIndex(LONG, index);
+    }
+
+    @Override
+    public void setInput(int index, byte mask, float angle, long tick) {
+        inputMask.set(BYTE, index, mask);
+        aimAngles.setAtIndex(FLOAT, index, angle);
+        inputTicks.setAtIndex(LONG, index, tick);
+    }
+
+    @Override
+    public void initialize(int[] indices, int from, int to, float[] x, float[] y, float[] vx, float[] vy,
+                           int srcOffset, byte value) {
+        int shift = srcOffset - from;
+        for (int k = from; k < to; k++) {
+            flags.set(BYTE, indices[k], value);
+        }
+        for (int k = from; k < to; k++) {
+            long i = indices[k];
+            positionsX.setAtIndex(FLOAT, i, x[k + shift]);
+            positionsY.setAtIndex(FLOAT, i, y[k + shift]);
+        }
+        for (int k = from; k < to; k++) {
+            long i = indices[k];
+            velocitiesX.setAtIndex(FLOAT, i, vx[k + shift]);
+            velocitiesY.setAtIndex(FLOAT, i, vy[k + shift]);
+        }
+        for (int k = from; k < to; k++) {
+            long i = indices[k];
+            radius.setAtIndex(FLOAT, i, 0.0f);
+            ownerId.setAtIndex(INT, i, 0);
+            inputMask.set(BYTE, i, (byte) 0);
+            aimAngles.setAtIndex(FLOAT, i, 0.0f);
+            inputTicks.setAtIndex(LONG, i, -1L);
+        }
+    }
+
+    @Override
+    public void copyPositions(int count, float[] x, float[] y, int[] ids) {
+        MemorySegment.copy(positionsX, FLOAT, 0L, x, 0, count);
+        MemorySegment.copy(positionsY, FLOAT, 0L, y, 0, count);
+        MemorySegment.copy(entityIds, INT, 0L, ids, 0, count);
+    }
+
+    @Override
+    public void copyState(int count, int[] ids, byte[] flags, float[] x, float[] y, float[] vx, float[] vy,
+                          long[] inputTicks) {
+        MemorySegment.copy(entityIds, INT, 0L, ids, 0, count);
+        MemorySegment.copy(this.flags, BYTE, 0L, flags, 0, count);
+        MemorySegment.copy(positionsX, FLOAT, 0L, x, 0, count);
+        MemorySegment.copy(positionsY, FLOAT, 0L, y, 0, count);
+        MemorySegment.copy(velocitiesX, FLOAT, 0L, vx, 0, count);
+        MemorySegment.copy(velocitiesY, FLOAT, 0L, vy, 0, count);
+        MemorySegment.copy(this.inputTicks, LONG, 0L, inputTicks, 0, count);
+    }
+
+    @Override
+    public void exportColumns(int count, MemorySegment out, long offset) {
+        long at = offset;
+        at = put(entityIds, INT, count, out, CheckpointColumns.INT, at);
+        at = put(flags, BYTE, count, out, CheckpointColumns.BYTE, at);
+        at = put(positionsX, FLOAT, count, out, CheckpointColumns.FLOAT, at);
+        at = put(positionsY, FLOAT, count, out, CheckpointColumns.FLOAT, at);
+        at = put(velocitiesX, FLOAT, count, out, CheckpointColumns.FLOAT, at);
+        at = put(velocitiesY, FLOAT, count, out, CheckpointColumns.FLOAT, at);
+        at = put(radius, FLOAT, count, out, CheckpointColumns.FLOAT, at);
+        at = put(ownerId, INT, count, out, CheckpointColumns.INT, at);
+        at = put(inputMask, BYTE, count, out, CheckpointColumns.BYTE, at);
+        at = put(aimAngles, FLOAT, count, out, CheckpointColumns.FLOAT, at);
+        put(inputTicks, LONG, count, out, CheckpointColumns.LONG, at);
+    }
+
+    @Override
+    public void importColumns(int count, MemorySegment in, long offset) {
+        long at = offset;
+        at = get(in, CheckpointColumns.INT, at, entityIds, INT, count);
+        at = get(in, CheckpointColumns.BYTE, at, flags, BYTE, count);
+        at = get(in, CheckpointColumns.FLOAT, at, positionsX, FLOAT, count);
+        at = get(in, CheckpointColumns.FLOAT, at, positionsY, FLOAT, count);
+        at = get(in, CheckpointColumns.FLOAT, at, velocitiesX, FLOAT, count);
+        at = get(in, CheckpointColumns.FLOAT, at, velocitiesY, FLOAT, count);
+        at = get(in, CheckpointColumns.FLOAT, at, radius, FLOAT, count);
+        at = get(in, CheckpointColumns.INT, at, ownerId, INT, count);
+        at = get(in, CheckpointColumns.BYTE, at, inputMask, BYTE, count);
+        at = get(in, CheckpointColumns.FLOAT, at, aimAngles, FLOAT, count);
+        get(in, CheckpointColumns.LONG, at, inputTicks, LONG, count);
+    }
+
+    private static long put(MemorySegment column, ValueLayout layout, int count,
+                            MemorySegment out, ValueLayout outLayout, long at) {
+        MemorySegment.copy(column, layout, 0L, out, outLayout, at, count);
+        return at + CheckpointColumns.pad(count * layout.byteSize());
+    }
+
+    private static long get(MemorySegment in, ValueLayout inLayout, long at,
+                            MemorySegment column, ValueLayout layout, int count) {
+        MemorySegment.copy(in, inLayout, at, column, layout, 0L, count);
+        return at + CheckpointColumns.pad(count * layout.byteSize());
+    }
+
+    @Override
+    public void integrate(int from, int to, float deltaTime) {
+        Integrator.integrate(positionsX, positionsY, velocitiesX, velocitiesY, flags, from, to, deltaTime);
+    }
+
+    @Override
+    public void integrateIndexed(int[] indices, int from, int to, float deltaTime) {
+        Integrator.integrateIndexed(positionsX, positionsY, velocitiesX, velocitiesY, indices, from, to, deltaTime);
+    }
+}
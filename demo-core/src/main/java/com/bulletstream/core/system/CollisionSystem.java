@@ -0,0 +1,308 @@
+package com.bulletstream.core.system;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialIndex;
+import com.bulletstream.core.history.PositionHistory;
+import com.bulletstream.core.util.StripeRunner;
+
+import java.util.Arrays;
+
+/**
+ * Bullet-vs-player/enemy collision detection.
+ * Broadphase: rebuild the SpatialIndex with all live targets each tick.
+ * Narrowphase: squared-distance test against the sum of radii.
+ * Zero-allocation: results go to a preallocated {@link ContactBuffer}.
+ *
+ * <p>The broadphase scans the 3x3 cell block around each bullet, so
+ * {@code bulletRadius + targetRadius} must not exceed the index cell size.
+ *
+ * <p>With a {@link StripeRunner}, the index is still rebuilt on the calling thread,
+ * then the dense active range is split into contiguous stripes that query the
+ * (read-only) index concurrently. Stripe buffers are merged in stripe order, so the
+ * contact list is identical to the single-threaded one.
+ *
+ * <p>With a {@link PositionHistory}, hits are lag-compensated: see {@link #update(GameWorld, PositionHistory)}.
+ * Its scratch arrays are sized once by {@link #setLagCompensation(PositionHistory)}.
+ */
+public final class CollisionSystem {
+    private static final int TARGET_MASK = GameWorld.FLAG_PLAYER | GameWorld.FLAG_ENEMY;
+
+    private final SpatialIndex hash;
+    private final ContactBuffer contacts;
+    private final Narrowphase narrowphase;
+
+    // Parallel mode (null runner = single-threaded)
+    private final StripeRunner runner;
+    private final Narrowphase[] stripeNarrowphases;
+    private final ContactBuffer[] stripeContacts;
+    private final DetectStripe detectStripe;
+
+    // Lag-compensated mode: bullets bucketed by rewind age (sized by setLagCompensation)
+    private int[] bulletIndices = new int[0];
+    private int[] bulletAges = new int[0];
+    private int[] groupedBullets = new int[0];
+    private int[] ageEnds = new int[0];
+
+    /**
+     * @param hash spatial index sized for the world (owned by this system, cleared every tick)
+     * @param maxContacts contact buffer capacity
+     */
+    public CollisionSystem(SpatialIndex hash, int maxContacts) {
+        this(hash, maxContacts, null);
+    }
+
+    /**
+     * @param hash spatial index sized for the world (owned by this system, cleared every tick)
+     * @param maxContacts contact buffer capacity
+     * @param runner stripe runner for the narrowphase, or null for single-threaded
+     */
+    public CollisionSystem(SpatialIndex hash, int maxContacts, StripeRunner runner) {
+        this.hash = hash;
+        this.contacts = new ContactBuffer(maxContacts);
+        this.narrowphase = new Narrowphase(hash);
+        this.runner = runner;
+
+        int stripes = runner == null ? 0 : runner.getStripeCount();
+        this.stripeNarrowphases = new Narrowphase[stripes];
+        this.stripeContacts = new ContactBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            stripeNarrowphases[i] = new Narrowphase(hash);
+            // Each stripe may need the full capacity so the merge can truncate exactly like one thread
+            stripeContacts[i] = new ContactBuffer(maxContacts);
+        }
+        this.detectStripe = new DetectStripe();
+    }
+
+    /**
+     * Size the lag-compensation scratch for {@code history} (its entity capacity and tick count),
+     * so that {@link #update(GameWorld, PositionHistory)} does not allocate; null releases it.
+     */
+    public void setLagCompensation(PositionHistory history) {
+        int maxEntities = history == null ? 0 : history.getMaxEntities();
+        bulletIndices = new int[maxEntities];
+        bulletAges = new int[maxEntities];
+        groupedBullets = new int[maxEntities];
+        ageEnds = new int[history == null ? 0 : history.size()];
+    }
+
+    /**
+     * Run broadphase + narrowphase for the current world state.
+     * @return number of contacts written to {@link #getContacts()}
+     */
+    public int update(GameWorld world) {
+        contacts.clear();
+        rebuild(world);
+
+        if (runner == null || runner.getStripeCount() == 1) {
+            detect(world, narrowphase, contacts, 0, world.getActiveCount());
+        } else {
+            detectStripe.world = world;
+            runner.run(detectStripe);
+            for (int i = 0; i < stripeContacts.length; i++) {
+                contacts.appendAll(stripeContacts[i]);
+            }
+        }
+        return contacts.size();
+    }
+
+    /**
+     * Lag-compensated broadphase + narrowphase: each bullet is tested against the targets where
+     * they were at its shooter's latest input tick (what the shooter was looking at), clamped to
+     * the recorded history. Bullets are bucketed by how far back that is and the index is rebuilt
+     * from each distinct frame once; targets that did not exist yet at a frame's tick cannot be hit.
+     * Record the history after this tick's physics step so that a rewind of 0 is the present.
+     * Runs single-threaded.
+     * @return number of contacts written to {@link #getContacts()}
+     * @throws IllegalStateException if {@link #setLagCompensation} was not given a history this large
+     */
+    public int update(GameWorld world, PositionHistory history) {
+        if (history.getStoredCount() == 0) {
+            return update(world);
+        }
+        if (ageEnds.length < history.size() || bulletIndices.length < world.getActiveCount()) {
+            throw new IllegalStateException("Lag compensation is sized for " + ageEnds.length + " ticks and "
+                                            + bulletIndices.length + " entities; call setLagCompensation");
+        }
+        contacts.clear();
+
+        // Counting sort of the bullets by rewind age
+        int ages = history.getStoredCount();
+        Arrays.fill(ageEnds, 0, ages, 0);
+        long latestTick = history.getLatestTick();
+        int bullets = 0;
+        int activeCount = world.getActiveCount();
+        for (int s = 0; s < activeCount; s++) {
+            int index = world.getActiveIndex(s);
+            if ((world.getFlags(index) & GameWorld.FLAG_BULLET) != 0) {
+                int age = rewindAge(world, history, latestTick, index);
+                bulletIndices[bullets] = index;
+                bulletAges[bullets] = age;
+                ageEnds[age]++;
+                bullets++;
+            }
+        }
+        int end = 0;
+        for (int a = 0; a < ages; a++) {
+            int count = ageEnds[a];
+            ageEnds[a] = end; // Start for now; the scatter below advances it to the end
+            end += count;
+        }
+        for (int b = 0; b < bullets; b++) {
+            groupedBullets[ageEnds[bulletAges[b]]++] = bulletIndices[b];
+        }
+
+        int start = 0;
+        for (int a = 0; a < ages; a++) {
+            int stop = ageEnds[a];
+            if (stop > start) {
+                PositionHistory.Frame frame = history.rewind(latestTick - a);
+                rebuild(world, frame);
+                narrowphase.begin(world, contacts, frame);
+                for (int k = start; k < stop; k++) {
+                    narrowphase.testBullet(groupedBullets[k]);
+                }
+            }
+            start = stop;
+        }
+        return contacts.size();
+    }
+
+    /**
+     * @return how many recorded ticks to rewind for this bullet: 0 if its shooter is gone or has sent no input
+     */
+    private static int rewindAge(GameWorld world, PositionHistory history, long latestTick, int bullet) {
+        int owner = world.getOwnerId(bullet);
+        if (!world.isActive(owner)) {
+            return 0;
+        }
+        long viewTick = world.getInputTick(world.indexOf(owner));
+        if (viewTick < 0) {
+            return 0;
+        }
+        return (int) (latestTick - history.rewind(viewTick).getTick());
+    }
+
+    /**
+     * Contacts from the last {@link #update(GameWorld)} call, valid until the next one.
+     */
+    public ContactBuffer getContacts() {
+        return contacts;
+    }
+
+    private void rebuild(GameWorld world) {
+        hash.clear();
+        int activeCount = world.getActiveCount();
+        for (int s = 0; s < activeCount; s++) {
+            int index = world.getActiveIndex(s);
+            byte entityFlags = world.getFlags(index);
+            if ((entityFlags & TARGET_MASK) != 0 && (entityFlags & GameWorld.FLAG_BULLET) == 0) {
+                hash.insert(index, world.getPositionX(index), world.getPositionY(index));
+            }
+        }
+        hash.build();
+    }
+
+    /**
+     * Rebuild from the targets' positions in a past frame; targets absent from it are left out.
+     */
+    private void rebuild(GameWorld world, PositionHistory.Frame frame) {
+        hash.clear();
+        int activeCount = world.getActiveCount();
+        for (int s = 0; s < activeCount; s++) {
+            int index = world.getActiveIndex(s);
+            byte entityFlags = world.getFlags(index);
+            if ((entityFlags & TARGET_MASK) != 0 && (entityFlags & GameWorld.FLAG_BULLET) == 0
+                    && frame.contains(index, world.getEntityId(index))) {
+                hash.insert(index, frame.getPositionX(index), frame.getPositionY(index));
+            }
+        }
+        hash.build();
+    }
+
+    /**
+     * Test every bullet in dense active slots [fromSlot, toSlot).
+     */
+    private static void detect(GameWorld world, Narrowphase narrowphase, ContactBuffer out,
+                               int fromSlot, int toSlot) {
+        narrowphase.begin(world, out);
+        for (int s = fromSlot; s < toSlot; s++) {
+            int index = world.getActiveIndex(s);
+            if ((world.getFlags(index) & GameWorld.FLAG_BULLET) != 0) {
+                narrowphase.testBullet(index);
+            }
+        }
+    }
+
+    private final class DetectStripe implements StripeRunner.StripeBody {
+        GameWorld world;
+
+        @Override
+        public void run(int stripe, int stripeCount) {
+            int activeCount = world.getActiveCount();
+            ContactBuffer out = stripeContacts[stripe];
+            out.clear();
+            detect(world, stripeNarrowphases[stripe], out,
+                   StripeRunner.sliceStart(activeCount, stripe, stripeCount),
+                   StripeRunner.sliceStart(activeCount, stripe + 1, stripeCount));
+        }
+    }
+
+    /**
+     * Reusable query callback holding the bullet under test (avoids a capturing lambda per bullet).
+     */
+    private static final class Narrowphase implements SpatialIndex.QueryCallback {
+        private final SpatialIndex hash;
+        private GameWorld world;
+        private ContactBuffer out;
+        private PositionHistory.Frame frame;    // Target positions; null = current
+        private int bullet;
+        private int bulletOwner;
+        private float bulletX;
+        private float bulletY;
+        private float bulletRadius;
+
+        Narrowphase(SpatialIndex hash) {
+            this.hash = hash;
+        }
+
+        void begin(GameWorld world, ContactBuffer out) {
+            begin(world, out, null);
+        }
+
+        void begin(GameWorld world, ContactBuffer out, PositionHistory.Frame frame) {
+            this.world = world;
+            this.out = out;
+            this.frame = frame;
+        }
+
+        void testBullet(int index) {
+            bullet = index;
+            bulletOwner = world.getOwnerId(index);
+            bulletX = world.getPositionX(index);
+            bulletY = world.getPositionY(index);
+            bulletRadius = world.getRadius(index);
+            hash.queryNeighbors(bulletX, bulletY, this);
+        }
+
+        @Override
+        public void onEntity(int target) {
+            // Bullets never hit whoever fired them
+            if (world.getEntityId(target) == bulletOwner) {
+                return;
+            }
+            float dx;
+            float dy;
+            if (frame == null) {
+                dx = world.getPositionX(target) - bulletX;
+                dy = world.getPositionY(target) - bulletY;
+            } else {
+                dx = frame.getPositionX(target) - bulletX;
+                dy = frame.getPositionY(target) - bulletY;
+            }
+            float r = bulletRadius + world.getRadius(target);
+            if (dx * dx + dy * dy <= r * r) {
+                out.add(bullet, target);
+            }
+        }
+    }
+}
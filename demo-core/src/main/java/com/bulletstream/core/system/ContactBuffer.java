@@ -0,0 +1,78 @@
+package com.bulletstream.core.system;
+
+/**
+ * Fixed-capacity buffer of (bullet, target) entity index pairs.
+ * Zero-allocation: contacts past capacity are dropped and counted.
+ */
+public final class ContactBuffer {
+    private final int[] bullets;
+    private final int[] targets;
+    private int size;
+    private int dropped;
+
+    public ContactBuffer(int capacity) {
+        this.bullets = new int[capacity];
+        this.targets = new int[capacity];
+        this.size = 0;
+        this.dropped = 0;
+    }
+
+    /**
+     * Record a contact.
+     * @param bulletIndex entity index of the bullet
+     * @param targetIndex entity index of the entity that was hit
+     * @return false if the buffer is full (contact dropped)
+     */
+    public boolean add(int bulletIndex, int targetIndex) {
+        if (size >= bullets.length) {
+            dropped++;
+            return false;
+        }
+        bullets[size] = bulletIndex;
+        targets[size] = targetIndex;
+        size++;
+        return true;
+    }
+
+    /**
+     * Append another buffer's contacts in order; whatever does not fit is counted as dropped.
+     */
+    public void appendAll(ContactBuffer other) {
+        int fit = Math.min(other.size, bullets.length - size);
+        System.arraycopy(other.bullets, 0, bullets, size, fit);
+        System.arraycopy(other.targets, 0, targets, size, fit);
+        size += fit;
+        dropped += other.size - fit + other.dropped;
+    }
+
+    /**
+     * Clear all contacts and the dropped counter.
+     */
+    public void clear() {
+        size = 0;
+        dropped = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return bullets.length;
+    }
+
+    /**
+     * @return number of contacts rejected since the last clear because the buffer was full
+     */
+    public int getDropped() {
+        return dropped;
+    }
+
+    public int getBullet(int contact) {
+        return bullets[contact];
+    }
+
+    public int getTarget(int contact) {
+        return targets[contact];
+    }
+}
@@ -0,0 +1,85 @@
+package com.bulletstream.core.system;
+
+/**
+ * Fixed-capacity buffer of shots fired this tick: shooter entity ID, muzzle position and aim angle.
+ * Zero-allocation: shots past capacity are dropped and counted.
+ */
+public final class FireBuffer {
+    private final int[] shooters;
+    private final float[] x;
+    private final float[] y;
+    private final float[] angles;
+    private int size;
+    private int dropped;
+
+    /**
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public FireBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.shooters = new int[capacity];
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.angles = new float[capacity];
+    }
+
+    /**
+     * Record a shot.
+     * @param shooterId entity ID of the shooter (becomes the bullets' owner)
+     * @param angle aim direction in radians
+     * @return false if the buffer is full (shot dropped)
+     */
+    public boolean add(int shooterId, float px, float py, float angle) {
+        if (size >= shooters.length) {
+            dropped++;
+            return false;
+        }
+        shooters[size] = shooterId;
+        x[size] = px;
+        y[size] = py;
+        angles[size] = angle;
+        size++;
+        return true;
+    }
+
+    /**
+     * Clear all shots and the dropped counter.
+     */
+    public void clear() {
+        size = 0;
+        dropped = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return shooters.length;
+    }
+
+    /**
+     * @return number of shots rejected since the last clear because the buffer was full
+     */
+    public int getDropped() {
+        return dropped;
+    }
+
+    public int getShooter(int shot) {
+        return shooters[shot];
+    }
+
+    public float getX(int shot) {
+        return x[shot];
+    }
+
+    public float getY(int shot) {
+        return y[shot];
+    }
+
+    public float getAngle(int shot) {
+        return angles[shot];
+    }
+}
@@ -0,0 +1,132 @@
+package com.bulletstream.core.system;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpawnBatch;
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.core.pattern.BulletPattern;
+
+/**
+ * Turns each player's latest input into movement and shots.
+ * One pass over the dense active set: a player's velocity comes straight from a 16-entry table
+ * indexed by the direction bits of its input mask (opposite keys cancel, diagonals are normalized),
+ * and a held SHOOT bit queues a shot into a preallocated {@link FireBuffer} once the player's
+ * fire interval has elapsed. {@link #spawnShots} then turns the queued shots into bullets with a
+ * single {@link GameWorld#spawnBatch} call.
+ *
+ * <p>Screen coordinates: UP is -y, RIGHT is +x. Zero-allocation after construction.
+ */
+public final class InputSystem {
+    private static final int DIRECTION_BITS = InputPayload.INPUT_UP | InputPayload.INPUT_DOWN
+                                              | InputPayload.INPUT_LEFT | InputPayload.INPUT_RIGHT;
+
+    private final float[] velocityX = new float[DIRECTION_BITS + 1];
+    private final float[] velocityY = new float[DIRECTION_BITS + 1];
+    private final long[] readyTick;     // Per entity index: first tick the player may fire again
+    private final int[] readyOwner;     // Per entity index: entity ID readyTick was set for (0 = none)
+    private final int fireIntervalTicks;
+    private final FireBuffer shots;
+    private final BulletPattern pattern;
+    private final SpawnBatch batch;
+    private final int[] bulletIds;
+    private final float bulletSpeed;
+    private final float bulletRadius;
+
+    /**
+     * @param maxEntities world capacity
+     * @param maxShots most shots queued per tick (the rest are dropped and counted)
+     * @param pattern volley fired per shot, aimed along the player's aim angle
+     * @param moveSpeed player speed in game units per second
+     * @param bulletSpeed bullet speed in game units per second
+     * @param bulletRadius collision radius given to every spawned bullet
+     * @param fireIntervalTicks ticks between two shots of one player (1 = every tick)
+     * @throws IllegalArgumentException if a size or the fire interval is not positive
+     */
+    public InputSystem(int maxEntities, int maxShots, BulletPattern pattern, float moveSpeed,
+                       float bulletSpeed, float bulletRadius, int fireIntervalTicks) {
+        if (maxEntities <= 0 || maxShots <= 0 || fireIntervalTicks <= 0) {
+            throw new IllegalArgumentException("maxEntities, maxShots and fireIntervalTicks must be positive");
+        }
+        this.readyTick = new long[maxEntities];
+        this.readyOwner = new int[maxEntities];
+        this.fireIntervalTicks = fireIntervalTicks;
+        this.shots = new FireBuffer(maxShots);
+        this.pattern = pattern;
+        this.batch = new SpawnBatch(maxShots * pattern.size());
+        this.bulletIds = new int[batch.capacity()];
+        this.bulletSpeed = bulletSpeed;
+        this.bulletRadius = bulletRadius;
+
+        float diagonal = (float) (moveSpeed / Math.sqrt(2.0));
+        for (int mask = 0; mask <= DIRECTION_BITS; mask++) {
+            int dx = ((mask & InputPayload.INPUT_RIGHT) != 0 ? 1 : 0) - ((mask & InputPayload.INPUT_LEFT) != 0 ? 1 : 0);
+            int dy = ((mask & InputPayload.INPUT_DOWN) != 0 ? 1 : 0) - ((mask & InputPayload.INPUT_UP) != 0 ? 1 : 0);
+            float speed = dx != 0 && dy != 0 ? diagonal : moveSpeed;
+            velocityX[mask] = dx * speed;
+            velocityY[mask] = dy * speed;
+        }
+    }
+
+    /**
+     * Set every player's velocity from its input and queue this tick's shots.
+     * Clears the shots left over from the previous tick first.
+     * @param tick current simulation tick (drives the fire interval)
+     * @return shots queued
+     */
+    public int update(GameWorld world, long tick) {
+        shots.clear();
+        float[] tableX = velocityX;
+        float[] tableY = velocityY;
+        int activeCount = world.getActiveCount();
+        for (int s = 0; s < activeCount; s++) {
+            int index = world.getActiveIndex(s);
+            if ((world.getFlags(index) & GameWorld.FLAG_PLAYER) == 0) {
+                continue;
+            }
+            byte mask = world.getInputMask(index);
+            int direction = mask & DIRECTION_BITS;
+            world.setVelocity(index, tableX[direction], tableY[direction]);
+            if ((mask & InputPayload.INPUT_SHOOT) == 0) {
+                continue;
+            }
+            // A recycled index starts a new player: the previous occupant's cooldown does not apply
+            int entityId = world.getEntityId(index);
+            if (readyOwner[index] != entityId || tick >= readyTick[index]) {
+                readyOwner[index] = entityId;
+                readyTick[index] = tick + fireIntervalTicks;
+                shots.add(entityId, world.getPositionX(index), world.getPositionY(index), world.getAimAngle(index));
+            }
+        }
+        return shots.size();
+    }
+
+    /**
+     * Spawn the queued shots as bullets owned by their shooters, in one batch.
+     * Bullets that do not fit in the world are not spawned.
+     * @return bullets spawned
+     */
+    public int spawnShots(GameWorld world) {
+        int count = shots.size();
+        if (count == 0) {
+            return 0;
+        }
+        batch.clear();
+        for (int i = 0; i < count; i++) {
+            pattern.emit(batch, shots.getX(i), shots.getY(i), shots.getAngle(i), bulletSpeed);
+        }
+        int spawned = world.spawnBatch(batch, GameWorld.FLAG_BULLET, bulletIds);
+        int perShot = pattern.size();
+        for (int k = 0; k < spawned; k++) {
+            int index = world.indexOf(bulletIds[k]);
+            world.setOwnerId(index, shots.getShooter(k / perShot));
+            world.setRadius(index, bulletRadius);
+        }
+        return spawned;
+    }
+
+    /**
+     * Shots queued by the last {@link #update}, valid until the next one.
+     */
+    public FireBuffer getShots() {
+        return shots;
+    }
+}
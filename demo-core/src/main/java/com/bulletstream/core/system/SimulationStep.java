@@ -0,0 +1,108 @@
+package com.bulletstream.core.system;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.history.PositionHistory;
+import com.bulletstream.core.util.StripeRunner;
+
+/**
+ * The world-mutating part of one server tick, shared by the live server and offline replay so
+ * both run exactly the same code: player input, shots, integration, retiring bullets that left
+ * the world, collision, and spending the bullets that hit. Given the same world, the same applied
+ * inputs and the same step lengths, it produces the same world (parallel stripes included).
+ *
+ * <p>Networking, snapshots and pacing stay with the caller. Tick thread only.
+ */
+public final class SimulationStep {
+    private final GameWorld world;
+    private final InputSystem inputSystem;
+    private final CollisionSystem collisionSystem;
+    private final StripeRunner runner;
+    private final float worldWidth;
+    private final float worldHeight;
+    private PositionHistory lagHistory;     // null: hits tested against current positions
+
+    /**
+     * @param runner stripe runner for the parallel update, or null for single-threaded
+     * @param worldWidth bullets outside [0, worldWidth) x [0, worldHeight) are retired
+     */
+    public SimulationStep(GameWorld world, InputSystem inputSystem, CollisionSystem collisionSystem,
+                          StripeRunner runner, float worldWidth, float worldHeight) {
+        this.world = world;
+        this.inputSystem = inputSystem;
+        this.collisionSystem = collisionSystem;
+        this.runner = runner;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+    }
+
+    /**
+     * Test hits against a rewound history (see {@link CollisionSystem#update(GameWorld, PositionHistory)}),
+     * or null for current positions. Recorded by {@link #run} every tick.
+     */
+    public void setLagCompensation(PositionHistory history) {
+        collisionSystem.setLagCompensation(history);
+        this.lagHistory = history;
+    }
+
+    /**
+     * Run one tick; the world's inputs must already be applied.
+     * @param tick simulation tick (fire intervals, history frames)
+     * @param stepSeconds simulated seconds this tick
+     * @return number of contacts (bullets spent this tick, before de-duplication)
+     */
+    public int run(long tick, float stepSeconds) {
+        inputSystem.update(world, tick);
+        inputSystem.spawnShots(world);
+
+        if (runner != null) {
+            world.update(stepSeconds, runner);
+        } else {
+            world.update(stepSeconds);
+        }
+        cullEscapedBullets();
+        world.flushDespawns(); // Escaped bullets leave before the collision step
+
+        if (lagHistory != null) {
+            lagHistory.record(world, tick);
+            collisionSystem.update(world, lagHistory);
+        } else {
+            collisionSystem.update(world);
+        }
+        ContactBuffer contacts = collisionSystem.getContacts();
+        int size = contacts.size();
+        for (int c = 0; c < size; c++) {
+            world.queueDespawn(world.getEntityId(contacts.getBullet(c)));
+        }
+        world.flushDespawns(); // Despawns queued during the step apply once it is over
+        return size;
+    }
+
+    /**
+     * Contacts from the last {@link #run}, valid until the next one.
+     */
+    public ContactBuffer getContacts() {
+        return collisionSystem.getContacts();
+    }
+
+    public GameWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Bullets that left the world will never hit anything: retire them.
+     */
+    private void cullEscapedBullets() {
+        int activeCount = world.getActiveCount();
+        for (int s = 0; s < activeCount; s++) {
+            int index = world.getActiveIndex(s);
+            if ((world.getFlags(index) & GameWorld.FLAG_BULLET) == 0) {
+                continue;
+            }
+            float x = world.getPositionX(index);
+            float y = world.getPositionY(index);
+            if (x < 0.0f || y < 0.0f || x >= worldWidth || y >= worldHeight) {
+                world.queueDespawn(world.getEntityId(index));
+            }
+        }
+    }
+}
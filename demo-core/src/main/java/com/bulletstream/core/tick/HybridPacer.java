@@ -0,0 +1,63 @@
+package com.bulletstream.core.tick;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Parks until a margin before the deadline, then spins the rest.
+ * The margin adapts to this machine's park overshoot: it tracks a moving average of how late
+ * {@code parkNanos} wakes up and keeps the spin window at twice that, within bounds. A quiet
+ * box converges to a few tens of microseconds of spinning per tick.
+ */
+public final class HybridPacer implements TickPacer {
+    public static final long DEFAULT_MIN_MARGIN_NANOS = 20_000L;    // 20 us
+    public static final long DEFAULT_MAX_MARGIN_NANOS = 2_000_000L; // 2 ms
+
+    private final long minMarginNanos;
+    private final long maxMarginNanos;
+    private long overshootNanos;     // Moving average of park lateness (1/8 weight)
+    private long marginNanos;
+
+    public HybridPacer() {
+        this(DEFAULT_MIN_MARGIN_NANOS, DEFAULT_MAX_MARGIN_NANOS);
+    }
+
+    /**
+     * @throws IllegalArgumentException unless 0 <= min <= max
+     */
+    public HybridPacer(long minMarginNanos, long maxMarginNanos) {
+        if (minMarginNanos < 0 || maxMarginNanos < minMarginNanos) {
+            throw new IllegalArgumentException("Need 0 <= minMargin <= maxMargin");
+        }
+        this.minMarginNanos = minMarginNanos;
+        this.maxMarginNanos = maxMarginNanos;
+        this.overshootNanos = maxMarginNanos / 2; // Start cautious, learn downwards
+        this.marginNanos = maxMarginNanos;
+    }
+
+    @Override
+    public void awaitDeadline(long deadlineNanos) {
+        long now = System.nanoTime();
+        while (deadlineNanos - now > marginNanos) {
+            long parkNanos = deadlineNanos - now - marginNanos;
+            LockSupport.parkNanos(parkNanos);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            long woke = System.nanoTime();
+            long overshoot = Math.max(0L, woke - now - parkNanos);
+            overshootNanos += (overshoot - overshootNanos) >> 3;
+            marginNanos = Math.min(maxMarginNanos, Math.max(minMarginNanos, overshootNanos * 2));
+            now = woke;
+        }
+        while (System.nanoTime() < deadlineNanos) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * @return current spin window before each deadline
+     */
+    public long getMarginNanos() {
+        return marginNanos;
+    }
+}
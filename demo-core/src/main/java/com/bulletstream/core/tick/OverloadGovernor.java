@@ -0,0 +1,69 @@
+package com.bulletstream.core.tick;
+
+/**
+ * Lowers the tick rate when ticks overrun their budget and restores it when load falls.
+ * Load is the tick work time (simulation and send, not the wait) over a window of about one
+ * second of ticks, as a fraction of the wall time those ticks are allotted. Above the high
+ * water mark the rate drops by a quarter (never below the floor); below the low water mark it
+ * climbs back by a quarter (never above the operator's target). Each change starts a fresh window.
+ *
+ * <p>Tick thread only.
+ */
+public final class OverloadGovernor {
+    public static final double DEFAULT_HIGH_WATER = 0.9;
+    public static final double DEFAULT_LOW_WATER = 0.5;
+
+    private final int floorTickRate;
+    private final double highWater;
+    private final double lowWater;
+    private long windowWorkNanos;
+    private long windowBudgetNanos;
+    private int windowTicks;
+
+    public OverloadGovernor(int floorTickRate) {
+        this(floorTickRate, DEFAULT_HIGH_WATER, DEFAULT_LOW_WATER);
+    }
+
+    /**
+     * @throws IllegalArgumentException unless 0 < lowWater < highWater and the floor is a valid rate
+     */
+    public OverloadGovernor(int floorTickRate, double highWater, double lowWater) {
+        if (floorTickRate < TickControl.MIN_TICK_RATE || !(lowWater > 0.0 && lowWater < highWater)) {
+            throw new IllegalArgumentException("Invalid governor settings");
+        }
+        this.floorTickRate = floorTickRate;
+        this.highWater = highWater;
+        this.lowWater = lowWater;
+    }
+
+    /**
+     * Record one tick.
+     * @param workNanos time the tick spent working
+     * @return the tick rate to run from now on ({@code tickRate} if unchanged)
+     */
+    public int onTick(long workNanos, long dtNanos, int tickRate, int targetTickRate) {
+        windowWorkNanos += workNanos;
+        windowBudgetNanos += dtNanos;
+        if (++windowTicks < tickRate) {
+            return tickRate;
+        }
+        double load = (double) windowWorkNanos / windowBudgetNanos;
+        reset();
+        if (load > highWater && tickRate > floorTickRate) {
+            return Math.max(floorTickRate, tickRate - Math.max(1, tickRate / 4));
+        }
+        if (load < lowWater && tickRate < targetTickRate) {
+            return Math.min(targetTickRate, tickRate + Math.max(1, tickRate / 4));
+        }
+        return tickRate;
+    }
+
+    /**
+     * Forget the current window (e.g. after an operator changed the rate).
+     */
+    public void reset() {
+        windowWorkNanos = 0;
+        windowBudgetNanos = 0;
+        windowTicks = 0;
+    }
+}
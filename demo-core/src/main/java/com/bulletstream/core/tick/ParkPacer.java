@@ -0,0 +1,20 @@
+package com.bulletstream.core.tick;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Parks for the remaining time, re-parking after early (spurious) wake-ups.
+ */
+public final class ParkPacer implements TickPacer {
+
+    @Override
+    public void awaitDeadline(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.bulletstream.core.tick;
+
+/**
+ * Sleeps in 1 ms steps until the deadline has passed (the original game loop behaviour).
+ */
+public final class SleepPacer implements TickPacer {
+
+    @Override
+    public void awaitDeadline(long deadlineNanos) {
+        while (System.nanoTime() < deadlineNanos) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
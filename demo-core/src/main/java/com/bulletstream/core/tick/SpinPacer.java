@@ -0,0 +1,17 @@
+package com.bulletstream.core.tick;
+
+/**
+ * Busy-spins until the deadline. Lowest jitter; occupies a core for the whole wait.
+ */
+public final class SpinPacer implements TickPacer {
+
+    @Override
+    public void awaitDeadline(long deadlineNanos) {
+        while (System.nanoTime() < deadlineNanos) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.bulletstream.core.tick;
+
+import com.bulletstream.core.net.protocol.AdminCommand;
+import com.bulletstream.core.replay.ReplayRecorder;
+import org.jctools.queues.MpscArrayQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tick rate and time scale of a running simulation, changeable without a restart.
+ * Any thread may {@link #offer} an {@link AdminCommand} (lock-free MPSC queue); the tick thread
+ * applies pending commands between ticks with {@link #applyPending()}, so a tick never sees a
+ * half-applied change. Rates and scale are volatile for metrics readers; only the tick thread writes.
+ *
+ * <p>Wall time per tick is {@code 1 / tickRate}; simulated time per tick is that times the
+ * time scale (0 pauses the simulation, 2 runs it at double speed).
+ */
+public final class TickControl {
+    private static final Logger log = LoggerFactory.getLogger(TickControl.class);
+
+    public static final int MIN_TICK_RATE = 10;
+    public static final int MAX_TICK_RATE = 240;
+    public static final float MAX_TIME_SCALE = 8.0f;
+
+    private static final int COMMAND_CAPACITY = 64;
+
+    private final MpscArrayQueue<AdminCommand> pending = new MpscArrayQueue<>(COMMAND_CAPACITY);
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int tickRate;
+    private volatile int targetTickRate;  // Last rate an operator asked for; the governor restores towards it
+    private volatile float timeScale = 1.0f;
+    private long dtNanos;
+
+    /**
+     * @throws IllegalArgumentException if the rate is outside [MIN_TICK_RATE, MAX_TICK_RATE]
+     */
+    public TickControl(int tickRate) {
+        checkTickRate(tickRate);
+        this.tickRate = tickRate;
+        this.targetTickRate = tickRate;
+        this.dtNanos = 1_000_000_000L / tickRate;
+    }
+
+    /**
+     * Queue a command for the next tick boundary (any thread).
+     * @return false if too many commands are pending (command dropped)
+     */
+    public boolean offer(int type, float value) {
+        if (!pending.offer(new AdminCommand(type, value))) {
+            rejected.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Apply every pending command in arrival order (tick thread only).
+     * Invalid commands are logged, counted and skipped.
+     * @return number of commands applied
+     */
+    public int applyPending() {
+        return applyPending(null);
+    }
+
+    /**
+     * {@link #applyPending()}, also appending every applied command to a replay log.
+     * @param recorder replay log, or null
+     */
+    public int applyPending(ReplayRecorder recorder) {
+        int applied = 0;
+        AdminCommand command;
+        while ((command = pending.poll()) != null) {
+            try {
+                apply(command);
+                applied++;
+                if (recorder != null) {
+                    recorder.recordAdmin(command.getType(), command.getValue());
+                }
+            } catch (IllegalArgumentException e) {
+                rejected.incrementAndGet();
+                log.warn("Rejected {}: {}", command, e.getMessage());
+            }
+        }
+        return applied;
+    }
+
+    private void apply(AdminCommand command) {
+        float value = command.getValue();
+        switch (command.getType()) {
+            case AdminCommand.TYPE_SET_TICK_RATE -> {
+                if (!(value == Math.rint(value))) {
+                    throw new IllegalArgumentException("Tick rate must be a whole number: " + value);
+                }
+                setTickRate((int) value);
+                targetTickRate = (int) value;
+                log.info("Tick rate set to {}", (int) value);
+            }
+            case AdminCommand.TYPE_SET_TIME_SCALE -> {
+                setTimeScale(value);
+                log.info("Time scale set to {}", value);
+            }
+            default -> throw new IllegalArgumentException("Unknown admin command type " + command.getType());
+        }
+    }
+
+    /**
+     * Change the tick rate (tick thread only; operators go through {@link #offer}).
+     * Does not move the governor target.
+     * @throws IllegalArgumentException if the rate is outside [MIN_TICK_RATE, MAX_TICK_RATE]
+     */
+    public void setTickRate(int rate) {
+        checkTickRate(rate);
+        tickRate = rate;
+        dtNanos = 1_000_000_000L / rate;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the scale is outside [0, MAX_TIME_SCALE] or NaN
+     */
+    public void setTimeScale(float scale) {
+        if (!(scale >= 0.0f && scale <= MAX_TIME_SCALE)) {
+            throw new IllegalArgumentException("Time scale out of range: " + scale);
+        }
+        timeScale = scale;
+    }
+
+    /**
+     * Carry leftover accumulator time across a tick rate change as the same fraction of a tick,
+     * so the next tick is neither skipped nor doubled.
+     */
+    public static long rescaleAccumulator(long accumulatorNanos, long oldDtNanos, long newDtNanos) {
+        return accumulatorNanos * newDtNanos / oldDtNanos;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    public int getTargetTickRate() {
+        return targetTickRate;
+    }
+
+    public float getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * @return wall-clock nanoseconds per tick (tick thread)
+     */
+    public long getDtNanos() {
+        return dtNanos;
+    }
+
+    /**
+     * @return simulated seconds per tick: wall time per tick times the time scale (tick thread)
+     */
+    public float getStepSeconds() {
+        return dtNanos / 1_000_000_000.0f * timeScale;
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private static void checkTickRate(int rate) {
+        if (rate < MIN_TICK_RATE || rate > MAX_TICK_RATE) {
+            throw new IllegalArgumentException("Tick rate out of range [" + MIN_TICK_RATE + ", "
+                                               + MAX_TICK_RATE + "]: " + rate);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bulletstream.core.tick;
+
+/**
+ * Waits for the next tick deadline. Implementations trade CPU for wake-up precision:
+ * <ul>
+ *   <li>{@link SleepPacer}: {@code Thread.sleep(1)} until due; cheapest, ~1-2 ms late</li>
+ *   <li>{@link ParkPacer}: one {@code parkNanos} to the deadline; timer-slack late (~50-100 us on Linux)</li>
+ *   <li>{@link SpinPacer}: busy-spin with {@code Thread.onSpinWait}; ~1 us late, burns a core</li>
+ *   <li>{@link HybridPacer}: park until close to the deadline, then spin; near-spin precision
+ *       at near-park cost</li>
+ * </ul>
+ * A pacer never returns before the deadline unless the thread is interrupted (the interrupt
+ * flag is left set for the caller). Pacers keep per-thread state: use one per tick loop.
+ */
+public interface TickPacer {
+
+    /**
+     * Block until {@code System.nanoTime() >= deadlineNanos}.
+     */
+    void awaitDeadline(long deadlineNanos);
+
+    /**
+     * @param name {@code sleep}, {@code park}, {@code spin} or {@code hybrid}
+     * @throws IllegalArgumentException for any other name
+     */
+    static TickPacer forName(String name) {
+        return switch (name) {
+            case "sleep" -> new SleepPacer();
+            case "park" -> new ParkPacer();
+            case "spin" -> new SpinPacer();
+            case "hybrid" -> new HybridPacer();
+            default -> throw new IllegalArgumentException("Unknown tick pacer: " + name);
+        };
+    }
+}
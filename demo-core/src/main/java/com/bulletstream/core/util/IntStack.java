@@ -1,5 +1,8 @@
 package com.bulletstream.core.util;
 
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
 /**
  * Fixed-capacity primitive int stack for entity index recycling.
  * Zero-allocation push/pop operations.
@@ -37,6 +40,50 @@ public final class IntStack {
         return data[--size];
     }
 
+    /**
+     * Pop up to {@code max} integers at once into {@code out[offset, offset + n)} (one array copy).
+     * @return n, the number popped (fewer than max if the stack runs out)
+     */
+    public int popBatch(int[] out, int offset, int max) {
+        int n = Math.min(max, size);
+        size -= n;
+        System.arraycopy(data, size, out, offset, n);
+        return n;
+    }
+
+    /**
+     * Push {@code values[offset, offset + count)} at once (one array copy).
+     * @throws IllegalStateException if they do not all fit (nothing is pushed)
+     */
+    public void pushBatch(int[] values, int offset, int count) {
+        if (count > data.length - size) {
+            throw new IllegalStateException("IntStack is full");
+        }
+        System.arraycopy(values, offset, data, size, count);
+        size += count;
+    }
+
+    /**
+     * Copy the stack, bottom first, into {@code out} at {@code offset} (one bulk copy).
+     * @return bytes written ({@code size() * 4})
+     */
+    public long writeTo(MemorySegment out, ValueLayout.OfInt layout, long offset) {
+        MemorySegment.copy(data, 0, out, layout, offset, size);
+        return (long) size * Integer.BYTES;
+    }
+
+    /**
+     * Replace the contents with {@code count} values read by {@link #writeTo}.
+     * @throws IllegalStateException if they do not fit (the stack is left unchanged)
+     */
+    public void readFrom(MemorySegment in, ValueLayout.OfInt layout, long offset, int count) {
+        if (count < 0 || count > data.length) {
+            throw new IllegalStateException("IntStack of " + data.length + " cannot hold " + count);
+        }
+        MemorySegment.copy(in, layout, offset, data, 0, count);
+        size = count;
+    }
+
     /**
      * Check if the stack is empty.
      * @return true if empty
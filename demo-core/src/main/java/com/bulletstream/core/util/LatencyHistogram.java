@@ -0,0 +1,145 @@
+package com.bulletstream.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear histogram of non-negative long values (HdrHistogram-style buckets).
+ * Values below 128 are counted exactly; above that each power of two is split into 64 equal
+ * sub-buckets, so any recorded value is reported within 1/64 (~1.6%) of its true value.
+ * Zero-allocation record; values above the trackable maximum are clamped to it.
+ *
+ * <p>Not thread-safe: one writer, or one histogram per thread combined with {@link #add}.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;     // Exact range [0, 128)
+    private static final int HALF_COUNT = SUB_COUNT >> 1;   // Sub-buckets per power of two above it
+
+    private final long highestTrackableValue;
+    private final long[] counts;
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * @param highestTrackableValue largest distinguishable value (e.g. 10 s in nanoseconds)
+     * @throws IllegalArgumentException if not positive
+     */
+    public LatencyHistogram(long highestTrackableValue) {
+        if (highestTrackableValue <= 0) {
+            throw new IllegalArgumentException("highestTrackableValue must be positive");
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new long[bucketIndex(highestTrackableValue) + 1];
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        long clamped = Math.min(value, highestTrackableValue);
+        counts[bucketIndex(clamped)]++;
+        totalCount++;
+        sum += clamped;
+        if (clamped < min) {
+            min = clamped;
+        }
+        if (clamped > max) {
+            max = clamped;
+        }
+    }
+
+    /**
+     * Add every count of {@code other} to this histogram.
+     * @throws IllegalArgumentException if the trackable ranges differ
+     */
+    public void add(LatencyHistogram other) {
+        if (other.highestTrackableValue != highestTrackableValue) {
+            throw new IllegalArgumentException("Histogram ranges differ");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * @param percentile in [0, 100]
+     * @return the highest value equivalent to the bucket holding that percentile (capped at the
+     *         maximum recorded), or 0 if empty
+     * @throws IllegalArgumentException if the percentile is out of range
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Percentile out of range: " + percentile);
+        }
+        if (totalCount == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return smallest recorded value, or 0 if empty
+     */
+    public long getMin() {
+        return totalCount == 0 ? 0L : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return exact mean of the recorded (clamped) values, or 0 if empty
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        // Shift so the value's top SUB_BITS bits remain: (value >>> shift) is in [64, 128)
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return SUB_COUNT + (shift - 1) * HALF_COUNT + (int) (value >>> shift) - HALF_COUNT;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_COUNT;
+        int shift = offset / HALF_COUNT + 1;
+        long subBucket = offset % HALF_COUNT + HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
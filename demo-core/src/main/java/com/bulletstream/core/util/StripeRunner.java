@@ -0,0 +1,100 @@
+package com.bulletstream.core.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs a body over a fixed number of stripes on a ForkJoinPool and waits for all of them.
+ * Stripe tasks are preallocated and reinitialized per run, so steady-state runs do not
+ * allocate task objects. Bodies must only touch their own stripe's data.
+ */
+public final class StripeRunner {
+
+    /**
+     * Work for one stripe. Implementations are reused every run (no capturing lambdas in hot paths).
+     */
+    @FunctionalInterface
+    public interface StripeBody {
+        void run(int stripe, int stripeCount);
+    }
+
+    private final ForkJoinPool pool;
+    private final StripeTask[] tasks;
+    private final RootTask root;
+
+    /**
+     * @param pool pool the stripes run on (not owned; caller shuts it down)
+     * @param stripeCount number of stripes per run
+     * @throws IllegalArgumentException if stripeCount is not positive
+     */
+    public StripeRunner(ForkJoinPool pool, int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+        }
+        this.pool = pool;
+        this.tasks = new StripeTask[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            tasks[i] = new StripeTask(i, stripeCount);
+        }
+        this.root = new RootTask(tasks);
+    }
+
+    /**
+     * Run the body once per stripe and block until every stripe has finished.
+     * Exceptions thrown by a stripe are rethrown to the caller.
+     */
+    public void run(StripeBody body) {
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i].reinitialize();
+            tasks[i].body = body;
+        }
+        root.reinitialize();
+        pool.invoke(root);
+    }
+
+    public int getStripeCount() {
+        return tasks.length;
+    }
+
+    /**
+     * Start of a stripe's slice when [0, count) is split into contiguous, near-equal slices.
+     * The slice for stripe s is [sliceStart(count, s, n), sliceStart(count, s + 1, n)).
+     */
+    public static int sliceStart(int count, int stripe, int stripeCount) {
+        return (int) ((long) count * stripe / stripeCount);
+    }
+
+    private static final class StripeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int stripe;
+        private final int stripeCount;
+        private transient StripeBody body;
+
+        StripeTask(int stripe, int stripeCount) {
+            this.stripe = stripe;
+            this.stripeCount = stripeCount;
+        }
+
+        @Override
+        protected void compute() {
+            body.run(stripe, stripeCount);
+        }
+    }
+
+    private static final class RootTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient StripeTask[] tasks;
+
+        RootTask(StripeTask[] tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            ForkJoinTask.invokeAll(tasks);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.bulletstream.core;
 
+import com.bulletstream.core.storage.HeapComponentStore;
+import com.bulletstream.core.storage.OffHeapComponentStore;
 import com.bulletstream.test.StrictUnitTest;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,8 +46,8 @@ class GameWorldTest extends StrictUnitTest {
         
         // Spawn entity (generation 1, index 0)
         int firstEntityId = world.spawnEntity(10.0f, 10.0f, 0.0f, 0.0f, (byte) 0);
-        int firstIndex = firstEntityId & 0xFFFF;
-        int firstGeneration = firstEntityId >>> 16;
+        int firstIndex = world.indexOf(firstEntityId);
+        int firstGeneration = world.getIdLayout().generation(firstEntityId);
         
         assertEquals(0, firstIndex);
         assertEquals(1, firstGeneration);
@@ -57,8 +59,8 @@ class GameWorldTest extends StrictUnitTest {
         
         // Spawn new entity (should reuse index 0 but increment generation to 2)
         int secondEntityId = world.spawnEntity(20.0f, 20.0f, 0.0f, 0.0f, (byte) 0);
-        int secondIndex = secondEntityId & 0xFFFF;
-        int secondGeneration = secondEntityId >>> 16;
+        int secondIndex = world.indexOf(secondEntityId);
+        int secondGeneration = world.getIdLayout().generation(secondEntityId);
         
         assertEquals(0, secondIndex); // Same index
         assertEquals(2, secondGeneration); // Incremented generation
@@ -89,7 +91,7 @@ class GameWorldTest extends StrictUnitTest {
         
         // Spawn player entity
         int playerId = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
-        int playerIndex = playerId & 0xFFFF;
+        int playerIndex = world.indexOf(playerId);
         
         byte playerFlags = world.getFlags(playerIndex);
         assertTrue((playerFlags & GameWorld.FLAG_ACTIVE) != 0);
@@ -98,7 +100,7 @@ class GameWorldTest extends StrictUnitTest {
         
         // Spawn bullet entity
         int bulletId = world.spawnEntity(10.0f, 10.0f, 5.0f, 0.0f, GameWorld.FLAG_BULLET);
-        int bulletIndex = bulletId & 0xFFFF;
+        int bulletIndex = world.indexOf(bulletId);
         
         byte bulletFlags = world.getFlags(bulletIndex);
         assertTrue((bulletFlags & GameWorld.FLAG_ACTIVE) != 0);
@@ -114,8 +116,8 @@ class GameWorldTest extends StrictUnitTest {
         int entity1 = world.spawnEntity(0.0f, 0.0f, 10.0f, 0.0f, (byte) 0);
         int entity2 = world.spawnEntity(0.0f, 0.0f, 10.0f, 0.0f, (byte) 0);
         
-        int index1 = entity1 & 0xFFFF;
-        int index2 = entity2 & 0xFFFF;
+        int index1 = world.indexOf(entity1);
+        int index2 = world.indexOf(entity2);
         
         // Despawn first entity
         world.despawnEntity(entity1);
@@ -136,7 +138,7 @@ class GameWorldTest extends StrictUnitTest {
         
         // Spawn entity at index 0
         int entityId = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0);
-        int index = entityId & 0xFFFF;
+        int index = world.indexOf(entityId);
         
         // Manually set generation to 0xFFFE (65534) - one below max
         // Note: This is testing internal state, in production this would happen after many spawns/despawns
@@ -150,7 +152,161 @@ class GameWorldTest extends StrictUnitTest {
         
         // Verify the entity is still valid and generation increased
         int currentId = world.getEntityId(index);
-        int currentGen = currentId >>> 16;
+        int currentGen = world.getIdLayout().generation(currentId);
         assertTrue(currentGen >= 1); // Should be valid generation (not 0)
     }
+
+    @Test
+    void testActiveSetTracksSpawnAndDespawn() {
+        GameWorld world = new GameWorld(10);
+        
+        int e0 = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0);
+        int e1 = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0);
+        int e2 = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0);
+        assertEquals(3, world.getActiveCount());
+        
+        // Despawn middle entity: last index fills the hole
+        world.despawnEntity(e1);
+        assertEquals(2, world.getActiveCount());
+        assertEquals(3, world.getEntityCount()); // High-water mark unchanged
+        assertEquals(world.indexOf(e0), world.getActiveIndex(0));
+        assertEquals(world.indexOf(e2), world.getActiveIndex(1));
+        
+        // Respawn reuses index 1 and appends it to the dense set
+        int e3 = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0);
+        assertEquals(3, world.getActiveCount());
+        assertEquals(world.indexOf(e3), world.getActiveIndex(2));
+        assertTrue(world.isActive(e3));
+        assertFalse(world.isActive(e1)); // Generation check still applies
+    }
+
+    @Test
+    void testActiveSetDespawnLastAndOnly() {
+        GameWorld world = new GameWorld(10);
+        
+        int e0 = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0);
+        int e1 = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0);
+        
+        world.despawnEntity(e1); // Last slot
+        assertEquals(1, world.getActiveCount());
+        assertEquals(world.indexOf(e0), world.getActiveIndex(0));
+        
+        world.despawnEntity(e0); // Only slot
+        assertEquals(0, world.getActiveCount());
+    }
+
+    @Test
+    void testDoubleDespawnThrows() {
+        GameWorld world = new GameWorld(10);
+        int entityId = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0);
+        world.despawnEntity(entityId);
+        
+        assertThrows(IllegalArgumentException.class, () -> world.despawnEntity(entityId));
+        assertEquals(0, world.getActiveCount());
+    }
+
+    @Test
+    void testSparseUpdateSkipsHoles() {
+        GameWorld world = new GameWorld(100);
+        int[] ids = new int[100];
+        for (int i = 0; i < 100; i++) {
+            ids[i] = world.spawnEntity(0.0f, 0.0f, 1.0f, 2.0f, GameWorld.FLAG_BULLET);
+        }
+        
+        // Despawn 90% so update takes the dense-set path
+        for (int i = 0; i < 100; i++) {
+            if (i % 10 != 0) {
+                world.despawnEntity(ids[i]);
+            }
+        }
+        assertEquals(10, world.getActiveCount());
+        
+        world.update(1.0f);
+        
+        for (int i = 0; i < 100; i++) {
+            if (i % 10 == 0) {
+                assertVectorEquals(1.0f, 2.0f, world.getPositionX(i), world.getPositionY(i));
+            } else {
+                assertVectorEquals(0.0f, 0.0f, world.getPositionX(i), world.getPositionY(i));
+            }
+        }
+    }
+
+    @Test
+    void testMillionEntitiesDoNotAlias() {
+        int capacity = 1_000_000;
+        GameWorld world = new GameWorld(new OffHeapComponentStore(capacity));
+        assertEquals(20, world.getIdLayout().getIndexBits());
+        for (int i = 0; i < capacity; i++) {
+            assertEquals(i, world.indexOf(world.spawnEntity(i, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_BULLET)));
+        }
+        assertEquals(-1, world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0));
+
+        // Index 65536 + 7 would have aliased index 7 under the 16/16 layout
+        int high = world.getEntityId(65_543);
+        int low = world.getEntityId(7);
+        assertNotEquals(high, low);
+        world.despawnEntity(high);
+        assertFalse(world.isActive(high));
+        assertTrue(world.isActive(low));
+        assertEquals(7.0f, world.getPositionX(7));
+
+        int respawned = world.spawnEntity(1.0f, 2.0f, 0.0f, 0.0f, (byte) 0);
+        assertEquals(65_543, world.indexOf(respawned));
+        assertEquals(2, world.getIdLayout().generation(respawned));
+        assertFalse(world.isActive(high), "Old generation stays stale");
+        assertEquals(capacity - 1, world.indexOf(world.getEntityId(capacity - 1)));
+        assertTrue(world.isActive(world.getEntityId(capacity - 1)));
+    }
+
+    @Test
+    void testCustomLayoutWrapsGeneration() {
+        // 8 generation bits: 254 generations before a slot's IDs repeat
+        EntityIdLayout layout = new EntityIdLayout(24);
+        GameWorld world = new GameWorld(new HeapComponentStore(4), layout);
+        int first = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0);
+        int id = first;
+        for (int g = 2; g <= layout.getMaxGeneration(); g++) {
+            world.despawnEntity(id);
+            id = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0);
+            assertEquals(g, layout.generation(id));
+        }
+        world.despawnEntity(id);
+        id = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, (byte) 0);
+        assertEquals(first, id, "Wraps to generation 1, never 0 or all ones");
+        assertNotEquals(-1, layout.compose(layout.getMaxGeneration(), layout.getIndexMask()));
+    }
+
+    @Test
+    void testLayoutMustCoverCapacity() {
+        assertEquals(EntityIdLayout.DEFAULT, EntityIdLayout.forCapacity(65_536));
+        assertEquals(17, EntityIdLayout.forCapacity(65_537).getIndexBits());
+        assertThrows(IllegalArgumentException.class,
+                     () -> new GameWorld(new HeapComponentStore(300), new EntityIdLayout(8)));
+        assertThrows(IllegalArgumentException.class, () -> new EntityIdLayout(25));
+        assertThrows(IllegalArgumentException.class, () -> EntityIdLayout.forCapacity(1 << 25));
+    }
+
+    @Test
+    void testStateHashTracksStateNotOrder() {
+        GameWorld a = new GameWorld(16);
+        GameWorld b = new GameWorld(16);
+        int a1 = a.spawnEntity(1.0f, 2.0f, 3.0f, 4.0f, GameWorld.FLAG_PLAYER);
+        int a2 = a.spawnEntity(5.0f, 6.0f, 0.0f, 0.0f, GameWorld.FLAG_BULLET);
+        int a3 = a.spawnEntity(7.0f, 8.0f, 0.0f, 0.0f, GameWorld.FLAG_BULLET);
+        b.spawnEntity(1.0f, 2.0f, 3.0f, 4.0f, GameWorld.FLAG_PLAYER);
+        b.spawnEntity(5.0f, 6.0f, 0.0f, 0.0f, GameWorld.FLAG_BULLET);
+        int b3 = b.spawnEntity(7.0f, 8.0f, 0.0f, 0.0f, GameWorld.FLAG_BULLET);
+        assertEquals(a.stateHash(), b.stateHash());
+
+        // Despawns in a different order leave a different active-set order, same state
+        a.despawnEntity(a1);
+        a.despawnEntity(a3);
+        b.despawnEntity(b3);
+        b.despawnEntity(b.getEntityId(0));
+        assertEquals(a.stateHash(), b.stateHash());
+
+        a.setVelocity(a.indexOf(a2), 0.0f, Math.ulp(0.0f));
+        assertNotEquals(a.stateHash(), b.stateHash());
+    }
 }
@@ -0,0 +1,122 @@
+package com.bulletstream.core;
+
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class IntegratorTest extends StrictUnitTest {
+
+    private static final int COUNT = 1027; // Not a multiple of any lane count (exercises the tail)
+
+    @Test
+    void testScalarSkipsInactive() {
+        float[] px = {0.0f, 0.0f};
+        float[] py = {0.0f, 0.0f};
+        float[] vx = {10.0f, 10.0f};
+        float[] vy = {5.0f, 5.0f};
+        byte[] flags = {GameWorld.FLAG_ACTIVE, GameWorld.FLAG_BULLET}; // Second is not active
+
+        Integrator.integrateScalar(px, py, vx, vy, flags, 0, 2, 1.0f);
+
+        assertVectorEquals(10.0f, 5.0f, px[0], py[0]);
+        assertVectorEquals(0.0f, 0.0f, px[1], py[1]);
+    }
+
+    @Test
+    void testScalarRespectsRange() {
+        float[] px = new float[4];
+        float[] py = new float[4];
+        float[] vx = {1.0f, 1.0f, 1.0f, 1.0f};
+        float[] vy = new float[4];
+        byte[] flags = {1, 1, 1, 1};
+
+        Integrator.integrateScalar(px, py, vx, vy, flags, 1, 3, 1.0f);
+
+        assertEquals(0.0f, px[0]);
+        assertEquals(1.0f, px[1]);
+        assertEquals(1.0f, px[2]);
+        assertEquals(0.0f, px[3]);
+    }
+
+    @Test
+    void testVectorMatchesScalarBitForBit() {
+        assumeTrue(VectorIntegrator.isSupported(), "No matching vector species on this CPU");
+
+        Columns scalar = new Columns();
+        Columns vector = new Columns();
+
+        for (int step = 0; step < 3; step++) {
+            Integrator.integrateScalar(scalar.px, scalar.py, scalar.vx, scalar.vy, scalar.flags, 0, COUNT, 0.016f);
+            VectorIntegrator.integrate(vector.px, vector.py, vector.vx, vector.vy, vector.flags, 0, COUNT, 0.016f);
+        }
+
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(Float.floatToRawIntBits(scalar.px[i]), Float.floatToRawIntBits(vector.px[i]), "x at " + i);
+            assertEquals(Float.floatToRawIntBits(scalar.py[i]), Float.floatToRawIntBits(vector.py[i]), "y at " + i);
+        }
+    }
+
+    @Test
+    void testVectorLeavesInactiveLanesUntouched() {
+        assumeTrue(VectorIntegrator.isSupported(), "No matching vector species on this CPU");
+
+        Columns columns = new Columns();
+        VectorIntegrator.integrate(columns.px, columns.py, columns.vx, columns.vy, columns.flags, 0, COUNT, 1.0f);
+
+        for (int i = 0; i < COUNT; i++) {
+            if ((columns.flags[i] & GameWorld.FLAG_ACTIVE) == 0) {
+                assertEquals(i, columns.px[i], "inactive x moved at " + i);
+                assertEquals(-i, columns.py[i], "inactive y moved at " + i);
+            }
+        }
+    }
+
+    @Test
+    void testVectorHandlesNonZeroOffset() {
+        assumeTrue(VectorIntegrator.isSupported(), "No matching vector species on this CPU");
+
+        Columns scalar = new Columns();
+        Columns vector = new Columns();
+
+        Integrator.integrateScalar(scalar.px, scalar.py, scalar.vx, scalar.vy, scalar.flags, 3, COUNT - 5, 0.5f);
+        VectorIntegrator.integrate(vector.px, vector.py, vector.vx, vector.vy, vector.flags, 3, COUNT - 5, 0.5f);
+
+        assertArrayEquals(scalar.px, vector.px);
+        assertArrayEquals(scalar.py, vector.py);
+    }
+
+    @Test
+    void testGameWorldUpdateUsesDispatch() {
+        GameWorld world = new GameWorld(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            world.spawnEntity(i, i, 1.0f, -1.0f, (byte) 0);
+        }
+
+        world.update(2.0f);
+
+        for (int i = 0; i < COUNT; i++) {
+            assertVectorEquals(i + 2.0f, i - 2.0f, world.getPositionX(i), world.getPositionY(i));
+        }
+    }
+
+    private static final class Columns {
+        final float[] px = new float[COUNT];
+        final float[] py = new float[COUNT];
+        final float[] vx = new float[COUNT];
+        final float[] vy = new float[COUNT];
+        final byte[] flags = new byte[COUNT];
+
+        Columns() {
+            for (int i = 0; i < COUNT; i++) {
+                px[i] = i;
+                py[i] = -i;
+                vx[i] = 0.1f * i + 0.3f;
+                vy[i] = -0.7f * i;
+                // Every third entity inactive, mixed with other flag bits
+                flags[i] = (byte) (i % 3 == 0 ? GameWorld.FLAG_BULLET : GameWorld.FLAG_ACTIVE | GameWorld.FLAG_ENEMY);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.bulletstream.core;
+
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedSpatialHashTest extends StrictUnitTest {
+
+    @Test
+    void testInsertBuildAndQuery() {
+        SortedSpatialHash hash = new SortedSpatialHash(1000.0f, 1000.0f, 100);
+
+        hash.insert(0, 10.0f, 10.0f);
+        hash.insert(1, 500.0f, 500.0f);
+        hash.insert(2, 15.0f, 15.0f);
+        hash.build();
+
+        List<Integer> results = new ArrayList<>();
+        hash.query(10.0f, 10.0f, results::add);
+
+        assertEquals(List.of(0, 2), results); // Contiguous bucket, insert order
+    }
+
+    @Test
+    void testNeighborQuery() {
+        SortedSpatialHash hash = new SortedSpatialHash(1000.0f, 1000.0f, 100);
+
+        hash.insert(0, 32.0f, 32.0f);    // Cell (0, 0)
+        hash.insert(1, 96.0f, 32.0f);    // Cell (1, 0) - Adjacent
+        hash.insert(2, 32.0f, 96.0f);    // Cell (0, 1) - Adjacent
+        hash.insert(3, 200.0f, 200.0f);  // Cell (3, 3) - Far away
+        hash.build();
+
+        List<Integer> results = new ArrayList<>();
+        hash.queryNeighbors(32.0f, 32.0f, results::add);
+
+        assertTrue(results.contains(0));
+        assertTrue(results.contains(1));
+        assertTrue(results.contains(2));
+        assertFalse(results.contains(3));
+    }
+
+    @Test
+    void testMatchesLinkedLayout() {
+        SortedSpatialHash sorted = new SortedSpatialHash(1000.0f, 1000.0f, 100);
+        SpatialHash linked = new SpatialHash(1000.0f, 1000.0f, 100);
+
+        for (int i = 0; i < 100; i++) {
+            float x = (i * 37) % 1000;
+            float y = (i * 91) % 1000;
+            sorted.insert(i, x, y);
+            linked.insert(i, x, y);
+        }
+        sorted.build();
+        linked.build();
+
+        for (int i = 0; i < 100; i += 7) {
+            float x = (i * 53) % 1000;
+            float y = (i * 17) % 1000;
+            List<Integer> expected = new ArrayList<>();
+            List<Integer> actual = new ArrayList<>();
+            linked.queryNeighbors(x, y, expected::add);
+            sorted.queryNeighbors(x, y, actual::add);
+            expected.sort(null);
+            actual.sort(null);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void testClearAndRebuild() {
+        SortedSpatialHash hash = new SortedSpatialHash(1000.0f, 1000.0f, 100);
+
+        hash.insert(0, 10.0f, 10.0f);
+        hash.insert(1, 500.0f, 500.0f);
+        hash.build();
+        hash.clear();
+
+        hash.insert(1, 12.0f, 12.0f);
+        hash.build();
+
+        List<Integer> results = new ArrayList<>();
+        hash.query(10.0f, 10.0f, results::add);
+        assertEquals(List.of(1), results);
+
+        results.clear();
+        hash.query(500.0f, 500.0f, results::add);
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void testQueryBeforeBuildThrows() {
+        SortedSpatialHash hash = new SortedSpatialHash(1000.0f, 1000.0f, 100);
+        hash.insert(0, 10.0f, 10.0f);
+
+        assertThrows(IllegalStateException.class, () -> hash.query(10.0f, 10.0f, index -> { }));
+        assertThrows(IllegalStateException.class, () -> hash.queryNeighbors(10.0f, 10.0f, index -> { }));
+    }
+
+    @Test
+    void testEmptyIndexQueryable() {
+        SortedSpatialHash hash = new SortedSpatialHash(1000.0f, 1000.0f, 100);
+
+        List<Integer> results = new ArrayList<>();
+        hash.queryNeighbors(10.0f, 10.0f, results::add);
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void testBoundsClampingAndInvalidIndex() {
+        SortedSpatialHash hash = new SortedSpatialHash(1000.0f, 1000.0f, 100);
+
+        hash.insert(0, -10.0f, -10.0f);
+        hash.insert(1, 10000.0f, 10000.0f);
+        hash.insert(-1, 10.0f, 10.0f);   // Ignored
+        hash.insert(100, 10.0f, 10.0f);  // Ignored
+        hash.build();
+
+        List<Integer> results = new ArrayList<>();
+        hash.query(0.0f, 0.0f, results::add);
+        assertEquals(List.of(0), results);
+
+        results.clear();
+        hash.query(999.0f, 999.0f, results::add);
+        assertEquals(List.of(1), results);
+    }
+
+    @Test
+    void testQueryAabbSinkCopiesContiguousBuckets() {
+        SortedSpatialHash hash = new SortedSpatialHash(1000.0f, 1000.0f, 100, 32.0f);
+
+        hash.insert(0, 10.0f, 10.0f);    // Cell (0, 0)
+        hash.insert(1, 40.0f, 10.0f);    // Cell (1, 0)
+        hash.insert(2, 12.0f, 12.0f);    // Cell (0, 0)
+        hash.insert(3, 500.0f, 500.0f);  // Outside box
+        hash.build();
+
+        int[] sink = new int[8];
+        assertEquals(3, hash.queryAabb(0.0f, 0.0f, 63.0f, 31.0f, sink));
+        assertEquals(0, sink[0]);
+        assertEquals(2, sink[1]);
+        assertEquals(1, sink[2]);
+
+        // Truncated sink: only what fits is written, total still reported
+        int[] small = new int[1];
+        assertEquals(3, hash.queryAabb(0.0f, 0.0f, 63.0f, 31.0f, small));
+        assertEquals(0, small[0]);
+    }
+
+    @Test
+    void testQueryRadiusMatchesLinkedLayout() {
+        SortedSpatialHash sorted = new SortedSpatialHash(1000.0f, 1000.0f, 100, 48.0f);
+        SpatialHash linked = new SpatialHash(1000.0f, 1000.0f, 100, 48.0f);
+
+        for (int i = 0; i < 100; i++) {
+            float x = (i * 37) % 1000;
+            float y = (i * 91) % 1000;
+            sorted.insert(i, x, y);
+            linked.insert(i, x, y);
+        }
+        sorted.build();
+
+        List<Integer> expected = new ArrayList<>();
+        List<Integer> actual = new ArrayList<>();
+        linked.queryRadius(400.0f, 600.0f, 150.0f, expected::add);
+        sorted.queryRadius(400.0f, 600.0f, 150.0f, actual::add);
+        expected.sort(null);
+        actual.sort(null);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+}
@@ -67,6 +67,61 @@ class SpatialHashTest extends StrictUnitTest {
         assertTrue(results.isEmpty());
     }
 
+    @Test
+    void testClearOnlyResetsTouchedCells() {
+        SpatialHash hash = new SpatialHash(1000.0f, 1000.0f, 100);
+        
+        hash.insert(0, 10.0f, 10.0f);
+        hash.insert(1, 15.0f, 15.0f);   // Same cell as 0
+        hash.insert(2, 500.0f, 500.0f);
+        hash.insert(3, 900.0f, 100.0f);
+        assertEquals(3, hash.getTouchedCellCount());
+        
+        hash.clear();
+        assertEquals(0, hash.getTouchedCellCount());
+        
+        List<Integer> results = new ArrayList<>();
+        hash.query(10.0f, 10.0f, results::add);
+        hash.query(500.0f, 500.0f, results::add);
+        hash.query(900.0f, 100.0f, results::add);
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void testReinsertAfterClear() {
+        SpatialHash hash = new SpatialHash(1000.0f, 1000.0f, 100);
+        
+        // Tick 1: entity 0 in cell A, entity 1 in cell B
+        hash.insert(0, 10.0f, 10.0f);
+        hash.insert(1, 500.0f, 500.0f);
+        hash.clear();
+        
+        // Tick 2: entity 1 moves into cell A, entity 0 leaves the grid
+        hash.insert(1, 12.0f, 12.0f);
+        
+        List<Integer> results = new ArrayList<>();
+        hash.query(10.0f, 10.0f, results::add);
+        assertEquals(List.of(1), results); // No stale link to entity 0
+        
+        results.clear();
+        hash.query(500.0f, 500.0f, results::add);
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void testTouchedCellsBoundedByEntityCount() {
+        // Far more cells than entities
+        SpatialHash hash = new SpatialHash(16384.0f, 16384.0f, 4);
+        
+        for (int tick = 0; tick < 3; tick++) {
+            for (int i = 0; i < 4; i++) {
+                hash.insert(i, i * 4000.0f + tick, i * 4000.0f);
+            }
+            assertEquals(4, hash.getTouchedCellCount());
+            hash.clear();
+        }
+    }
+
     @Test
     void testBoundsClamping() {
         SpatialHash hash = new SpatialHash(1000.0f, 1000.0f, 100);
@@ -109,4 +164,124 @@ class SpatialHashTest extends StrictUnitTest {
         assertEquals(16, hash.getGridHeight());
         assertEquals(64.0f, hash.getCellSize(), 0.001f);
     }
+
+    @Test
+    void testCustomCellSize() {
+        SpatialHash hash = new SpatialHash(1000.0f, 1000.0f, 100, 16.0f);
+        
+        // Expected grid: ceil(1000/16) = 63 x 63
+        assertEquals(63, hash.getGridWidth());
+        assertEquals(63, hash.getGridHeight());
+        assertEquals(16.0f, hash.getCellSize(), 0.001f);
+        
+        hash.insert(0, 10.0f, 10.0f);   // Cell (0, 0)
+        hash.insert(1, 20.0f, 10.0f);   // Cell (1, 0) with 16-unit cells
+        
+        List<Integer> results = new ArrayList<>();
+        hash.query(10.0f, 10.0f, results::add);
+        assertEquals(List.of(0), results);
+    }
+
+    @Test
+    void testInvalidCellSizeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHash(1000.0f, 1000.0f, 100, 0.0f));
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHash(1000.0f, 1000.0f, 100, -64.0f));
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHash(1000.0f, 1000.0f, 100, Float.NaN));
+    }
+
+    @Test
+    void testQueryAabbVisitsCoveredCells() {
+        SpatialHash hash = new SpatialHash(1000.0f, 1000.0f, 100);
+        
+        hash.insert(0, 10.0f, 10.0f);     // Cell (0, 0)
+        hash.insert(1, 300.0f, 200.0f);   // Cell (4, 3)
+        hash.insert(2, 330.0f, 10.0f);    // Cell (5, 0) - outside box columns
+        hash.insert(3, 10.0f, 260.0f);    // Cell (0, 4) - outside box rows
+        
+        List<Integer> results = new ArrayList<>();
+        hash.queryAabb(0.0f, 0.0f, 319.0f, 255.0f, results::add); // Cells (0..4, 0..3)
+        results.sort(null);
+        
+        assertEquals(List.of(0, 1), results);
+    }
+
+    @Test
+    void testQueryAabbEmptyAndNaN() {
+        SpatialHash hash = new SpatialHash(1000.0f, 1000.0f, 100);
+        hash.insert(0, 10.0f, 10.0f);
+        
+        int[] sink = new int[4];
+        assertEquals(0, hash.queryAabb(100.0f, 0.0f, 0.0f, 100.0f, sink)); // min > max
+        assertEquals(0, hash.queryAabb(Float.NaN, 0.0f, 100.0f, 100.0f, sink));
+    }
+
+    @Test
+    void testQueryRadiusSkipsUnreachedCornerCells() {
+        SpatialHash hash = new SpatialHash(1000.0f, 1000.0f, 100);
+        
+        // Circle centred in cell (2, 2) at (160, 160) with radius 60
+        hash.insert(0, 160.0f, 160.0f);   // Centre cell
+        hash.insert(1, 100.0f, 160.0f);   // Cell (1, 2) - edge neighbour, reached
+        hash.insert(2, 100.0f, 100.0f);   // Cell (1, 1) - corner, nearest point (128,128) at ~45 units
+        hash.insert(3, 250.0f, 250.0f);   // Cell (3, 3) - corner, nearest point (192,192) at ~45 units
+        
+        List<Integer> results = new ArrayList<>();
+        hash.queryRadius(160.0f, 160.0f, 40.0f, results::add);
+        results.sort(null);
+        assertEquals(List.of(0, 1), results); // Radius 40 does not reach the corner cells
+        
+        results.clear();
+        hash.queryRadius(160.0f, 160.0f, 60.0f, results::add);
+        results.sort(null);
+        assertEquals(List.of(0, 1, 2, 3), results);
+    }
+
+    @Test
+    void testQueryRadiusLargerThanCell() {
+        SpatialHash hash = new SpatialHash(1000.0f, 1000.0f, 100);
+        
+        hash.insert(0, 500.0f, 500.0f);
+        hash.insert(1, 700.0f, 500.0f);   // 3 cells away
+        hash.insert(2, 900.0f, 900.0f);   // Out of reach
+        
+        int[] sink = new int[8];
+        int count = hash.queryRadius(500.0f, 500.0f, 220.0f, sink);
+        
+        assertEquals(2, count);
+        assertTrue((sink[0] == 0 && sink[1] == 1) || (sink[0] == 1 && sink[1] == 0));
+        assertEquals(0, hash.queryRadius(500.0f, 500.0f, -1.0f, sink));
+    }
+
+    @Test
+    void testQueryRadiusCentredOutsideWorld() {
+        SpatialHash hash = new SpatialHash(1000.0f, 1000.0f, 100);
+        
+        hash.insert(0, -50.0f, 10.0f);       // Clamped into cell (0, 0)
+        hash.insert(1, 1040.0f, 1030.0f);    // Clamped into the far corner cell
+        
+        int[] sink = new int[8];
+        assertEquals(1, hash.queryAabb(-80.0f, -10.0f, -40.0f, 30.0f, sink));
+        assertEquals(1, hash.queryRadius(-60.0f, 10.0f, 20.0f, sink));
+        assertEquals(0, sink[0]);
+        
+        List<Integer> results = new ArrayList<>();
+        hash.queryRadius(1050.0f, 1050.0f, 30.0f, results::add);
+        assertEquals(List.of(1), results);
+    }
+
+    @Test
+    void testSinkTruncationReportsTotal() {
+        SpatialHash hash = new SpatialHash(1000.0f, 1000.0f, 100);
+        for (int i = 0; i < 10; i++) {
+            hash.insert(i, 32.0f, 32.0f);
+        }
+        
+        int[] sink = new int[4];
+        int count = hash.queryAabb(0.0f, 0.0f, 63.0f, 63.0f, sink);
+        
+        assertEquals(10, count); // Total found
+        for (int value : sink) {
+            assertTrue(value >= 0 && value < 10); // Only the first 4 were written
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.bulletstream.core;
+
+import com.bulletstream.core.storage.OffHeapComponentStore;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpawnBatchTest extends StrictUnitTest {
+
+    @Test
+    void testBatchMatchesSingleSpawns() {
+        GameWorld single = new GameWorld(64);
+        GameWorld batched = new GameWorld(64);
+        SpawnBatch batch = new SpawnBatch(32);
+        for (int i = 0; i < 20; i++) {
+            single.spawnEntity(i, -i, i * 2.0f, 1.0f, GameWorld.FLAG_BULLET);
+            batch.add(i, -i, i * 2.0f, 1.0f);
+        }
+        int[] ids = new int[32];
+        assertEquals(20, batched.spawnBatch(batch, GameWorld.FLAG_BULLET, ids));
+
+        assertEquals(single.getActiveCount(), batched.getActiveCount());
+        for (int k = 0; k < 20; k++) {
+            assertTrue(batched.isActive(ids[k]));
+            int index = batched.indexOf(ids[k]);
+            assertEquals(single.getEntityId(index), ids[k]);
+            assertEquals(single.getFlags(index), batched.getFlags(index));
+            assertVectorEquals(single.getPositionX(index), single.getPositionY(index),
+                               batched.getPositionX(index), batched.getPositionY(index));
+            assertVectorEquals(single.getVelocityX(index), single.getVelocityY(index),
+                               batched.getVelocityX(index), batched.getVelocityY(index));
+            assertEquals(-1L, batched.getInputTick(index));
+        }
+    }
+
+    @Test
+    void testBatchRecyclesThenExtendsAndStopsWhenFull() {
+        GameWorld world = new GameWorld(new OffHeapComponentStore(8));
+        int[] ids = new int[8];
+        float[] zeros = new float[8];
+        assertEquals(4, world.spawnBatch(zeros, zeros, zeros, zeros, 0, 4, GameWorld.FLAG_BULLET, ids));
+        world.despawnEntity(ids[1]);
+        world.despawnEntity(ids[2]);
+        int stale = ids[1];
+        world.setRadius(world.indexOf(ids[2]), 5.0f);
+
+        // 2 recycled slots (new generation, components reset) + 4 fresh, capped at capacity 8
+        assertEquals(6, world.spawnBatch(zeros, zeros, zeros, zeros, 0, 8, GameWorld.FLAG_BULLET, ids));
+        assertEquals(8, world.getActiveCount());
+        assertFalse(world.isActive(stale));
+        int recycledGenerations = 0;
+        for (int k = 0; k < 6; k++) {
+            assertTrue(world.isActive(ids[k]));
+            assertEquals(0.0f, world.getRadius(world.indexOf(ids[k])));
+            if (world.getIdLayout().generation(ids[k]) == 2) {
+                recycledGenerations++;
+            }
+        }
+        assertEquals(2, recycledGenerations);
+        assertEquals(0, world.spawnBatch(zeros, zeros, zeros, zeros, 0, 1, (byte) 0, ids));
+        assertThrows(IllegalArgumentException.class,
+                     () -> world.spawnBatch(zeros, zeros, zeros, zeros, 4, 5, (byte) 0, new int[8]));
+    }
+
+    @Test
+    void testDespawnBatchSkipsStaleAndDuplicates() {
+        GameWorld world = new GameWorld(16);
+        int[] ids = new int[6];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = world.spawnEntity(i, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_BULLET);
+        }
+        world.despawnEntity(ids[0]);
+        int[] victims = {ids[0], ids[1], ids[1], ids[3], ids[5]};
+        assertEquals(3, world.despawnBatch(victims, 0, victims.length));
+        assertEquals(2, world.getActiveCount());
+        assertTrue(world.isActive(ids[2]));
+        assertTrue(world.isActive(ids[4]));
+        // The dense set still lists exactly the survivors
+        int seen = world.getActiveIndex(0) + world.getActiveIndex(1);
+        assertEquals(world.indexOf(ids[2]) + world.indexOf(ids[4]), seen);
+    }
+
+    @Test
+    void testQueuedDespawnsWaitForFlush() {
+        GameWorld world = new GameWorld(16);
+        int a = world.spawnEntity(0.0f, 0.0f, 1.0f, 0.0f, GameWorld.FLAG_BULLET);
+        int b = world.spawnEntity(0.0f, 0.0f, 1.0f, 0.0f, GameWorld.FLAG_BULLET);
+        world.queueDespawn(a);
+        world.queueDespawn(a);
+        assertTrue(world.isActive(a), "Still alive while systems iterate");
+        assertEquals(2, world.getActiveCount());
+        assertEquals(2, world.getPendingDespawnCount());
+
+        assertEquals(1, world.flushDespawns());
+        assertFalse(world.isActive(a));
+        assertTrue(world.isActive(b));
+        assertEquals(0, world.getPendingDespawnCount());
+        assertEquals(0, world.flushDespawns());
+    }
+}
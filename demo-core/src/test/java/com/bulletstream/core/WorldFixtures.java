@@ -0,0 +1,102 @@
+package com.bulletstream.core;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Shared world fixture and column-by-column comparison for tests that check two worlds
+ * (or a world and a copy of it) hold the same state.
+ */
+public final class WorldFixtures {
+
+    /** Spawned first and never despawned by {@link #populate}, so their indices are stable. */
+    public static final int PLAYERS = 8;
+    public static final float WORLD_SIZE = 1024.0f;
+
+    private WorldFixtures() {
+    }
+
+    /**
+     * Spawns {@code spawns} entities: {@link #PLAYERS} players, then bullets with an enemy every fifth.
+     * Despawns every seventh non-player to leave holes, respawns a few enemies into the freed indices
+     * (new generations) and applies one input. Same seed, same world on any backend.
+     */
+    public static GameWorld populate(GameWorld world, int spawns) {
+        Random random = new Random(7);
+        int first = world.getEntityCount();
+        for (int i = 0; i < spawns; i++) {
+            byte entityFlags = i < PLAYERS ? GameWorld.FLAG_PLAYER
+                    : i % 5 == 0 ? GameWorld.FLAG_ENEMY : GameWorld.FLAG_BULLET;
+            int entityId = world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                                             random.nextFloat() * 50.0f - 25.0f, random.nextFloat() * 50.0f - 25.0f,
+                                             entityFlags);
+            int index = world.indexOf(entityId);
+            world.setRadius(index, entityFlags == GameWorld.FLAG_ENEMY ? 12.0f : 2.0f + i % 3);
+            world.setOwnerId(index, entityFlags == GameWorld.FLAG_BULLET ? world.getEntityId(first + i % PLAYERS) : 0);
+        }
+        int last = world.getEntityCount();
+        for (int i = first + PLAYERS; i < last; i += 7) {
+            world.despawnEntity(world.getEntityId(i));
+        }
+        for (int i = 0; i < spawns / 20; i++) {
+            world.spawnEntity(i, i, 1.0f, -1.0f, GameWorld.FLAG_ENEMY);
+        }
+        world.applyInput(world.getEntityId(first + 3), 99L, (byte) 1, 0.5f);
+        return world;
+    }
+
+    /**
+     * Despawns every live entity whose index is not a multiple of {@code keepEvery}.
+     */
+    public static void thin(GameWorld world, int keepEvery) {
+        for (int i = 0; i < world.getEntityCount(); i++) {
+            int entityId = world.getEntityId(i);
+            if (i % keepEvery != 0 && world.isActive(entityId)) {
+                world.despawnEntity(entityId);
+            }
+        }
+    }
+
+    /**
+     * Asserts every column of two worlds matches, floats bit for bit.
+     */
+    public static void assertSameWorld(GameWorld expected, GameWorld actual) {
+        assertSameView(expected, actual);
+        for (int i = 0; i < expected.getEntityCount(); i++) {
+            assertEquals(Float.floatToRawIntBits(expected.getRadius(i)),
+                         Float.floatToRawIntBits(actual.getRadius(i)), "radius at " + i);
+            assertEquals(expected.getOwnerId(i), actual.getOwnerId(i), "owner at " + i);
+            assertEquals(expected.getInputMask(i), actual.getInputMask(i), "input mask at " + i);
+            assertEquals(Float.floatToRawIntBits(expected.getAimAngle(i)),
+                         Float.floatToRawIntBits(actual.getAimAngle(i)), "aim at " + i);
+        }
+        assertEquals(expected.stateHash(), actual.stateHash());
+    }
+
+    /**
+     * Asserts every column a {@link WorldView} exposes matches, including the active set order.
+     */
+    public static void assertSameView(WorldView expected, WorldView actual) {
+        assertEquals(expected.getEntityCount(), actual.getEntityCount(), "entity count");
+        assertEquals(expected.getActiveCount(), actual.getActiveCount(), "active count");
+        for (int slot = 0; slot < expected.getActiveCount(); slot++) {
+            assertEquals(expected.getActiveIndex(slot), actual.getActiveIndex(slot), "active order at " + slot);
+        }
+        for (int i = 0; i < expected.getEntityCount(); i++) {
+            int entityId = expected.getEntityId(i);
+            assertEquals(entityId, actual.getEntityId(i), "id at " + i);
+            assertEquals(expected.getFlags(i), actual.getFlags(i), "flags at " + i);
+            assertEquals(expected.isActive(entityId), actual.isActive(entityId), "liveness at " + i);
+            assertEquals(Float.floatToRawIntBits(expected.getPositionX(i)),
+                         Float.floatToRawIntBits(actual.getPositionX(i)), "x at " + i);
+            assertEquals(Float.floatToRawIntBits(expected.getPositionY(i)),
+                         Float.floatToRawIntBits(actual.getPositionY(i)), "y at " + i);
+            assertEquals(Float.floatToRawIntBits(expected.getVelocityX(i)),
+                         Float.floatToRawIntBits(actual.getVelocityX(i)), "vx at " + i);
+            assertEquals(Float.floatToRawIntBits(expected.getVelocityY(i)),
+                         Float.floatToRawIntBits(actual.getVelocityY(i)), "vy at " + i);
+            assertEquals(expected.getInputTick(i), actual.getInputTick(i), "input tick at " + i);
+        }
+    }
+}
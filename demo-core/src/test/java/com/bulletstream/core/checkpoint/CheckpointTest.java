@@ -0,0 +1,134 @@
+package com.bulletstream.core.checkpoint;
+
+import com.bulletstream.core.EntityIdLayout;
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.storage.HeapComponentStore;
+import com.bulletstream.core.storage.OffHeapComponentStore;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.bulletstream.core.WorldFixtures.assertSameWorld;
+import static com.bulletstream.core.WorldFixtures.populate;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointTest extends StrictUnitTest {
+    private static final int CAPACITY = 1000;
+    private static final int SPAWNS = 600;
+    private static final float DT = 1.0f / 60.0f;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRoundTripAcrossBackends() throws IOException {
+        GameWorld original = populate(new GameWorld(new HeapComponentStore(CAPACITY)), SPAWNS);
+        Path file = dir.resolve("world.ckpt");
+        long bytes = CheckpointWriter.write(original, 1234L, file);
+        assertEquals(original.getCheckpointBytes(), bytes);
+        assertEquals(bytes, Files.size(file));
+        assertFalse(Files.exists(dir.resolve("world.ckpt.tmp")));
+
+        GameWorld restored = new GameWorld(new OffHeapComponentStore(CAPACITY));
+        restored.spawnEntity(1.0f, 1.0f, 0.0f, 0.0f, GameWorld.FLAG_BULLET); // Overwritten by the restore
+        assertEquals(1234L, CheckpointReader.restore(restored, file));
+        assertSameWorld(original, restored);
+
+        // Free list restored too: both worlds keep recycling the same indices and generations
+        for (int t = 0; t < 10; t++) {
+            assertEquals(original.spawnEntity(0.0f, 0.0f, 2.0f, 0.0f, GameWorld.FLAG_BULLET),
+                         restored.spawnEntity(0.0f, 0.0f, 2.0f, 0.0f, GameWorld.FLAG_BULLET));
+            original.update(DT);
+            restored.update(DT);
+        }
+        assertSameWorld(original, restored);
+    }
+
+    @Test
+    void testBackgroundWriter() throws IOException, InterruptedException {
+        GameWorld world = populate(new GameWorld(new OffHeapComponentStore(CAPACITY)), SPAWNS);
+        Path first = dir.resolve("first.ckpt");
+        Path second = dir.resolve("second.ckpt");
+        CheckpointWriter writer = new CheckpointWriter(CAPACITY);
+        assertTrue(writer.checkpoint(world, 10L, first));
+        long hashAtFirst = world.stateHash();
+        // The tick goes on while the first checkpoint is written; it must not leak into it
+        world.update(DT);
+        world.despawnEntity(world.getEntityId(1));
+        writer.checkpoint(world, 11L, second);
+        long hashAtSecond = world.stateHash();
+        writer.close();
+        assertEquals(writer.getCapturedCount(), writer.getWrittenCount());
+        assertEquals(0L, writer.getFailedCount());
+        assertFalse(writer.isWriting());
+
+        GameWorld restored = new GameWorld(new HeapComponentStore(CAPACITY));
+        assertEquals(10L, CheckpointReader.restore(restored, first));
+        assertEquals(hashAtFirst, restored.stateHash());
+        if (writer.getCapturedCount() == 2) {
+            assertEquals(11L, CheckpointReader.restore(restored, second));
+            assertEquals(hashAtSecond, restored.stateHash());
+        } else {
+            assertEquals(1L, writer.getSkippedCount());
+        }
+    }
+
+    @Test
+    void testFailedWriteIsCounted() throws InterruptedException {
+        CheckpointWriter writer = new CheckpointWriter(CAPACITY);
+        assertTrue(writer.checkpoint(populate(new GameWorld(new HeapComponentStore(CAPACITY)), SPAWNS), 0L,
+                                     dir.resolve("missing").resolve("world.ckpt")));
+        writer.close();
+        assertEquals(1L, writer.getFailedCount());
+        assertEquals(0L, writer.getWrittenCount());
+    }
+
+    @Test
+    void testRejectedCheckpointLeavesWorldUntouched() {
+        GameWorld source = populate(new GameWorld(new HeapComponentStore(CAPACITY)), SPAWNS);
+        MemorySegment checkpoint = MemorySegment.ofArray(new byte[(int) GameWorld.maxCheckpointBytes(CAPACITY)]);
+        long bytes = source.writeCheckpoint(checkpoint, 5L);
+
+        GameWorld target = new GameWorld(CAPACITY);
+        target.spawnEntity(3.0f, 4.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        long hash = target.stateHash();
+
+        // Truncated
+        assertThrows(IllegalArgumentException.class, () -> target.restoreCheckpoint(checkpoint.asSlice(0L, bytes - 8)));
+        // Too many entities for the capacity
+        assertThrows(IllegalArgumentException.class, () -> new GameWorld(100).restoreCheckpoint(checkpoint));
+        // Different entity ID layout
+        GameWorld wide = new GameWorld(new HeapComponentStore(CAPACITY), new EntityIdLayout(20));
+        assertThrows(IllegalArgumentException.class, () -> wide.restoreCheckpoint(checkpoint));
+        // Corrupt active index
+        MemorySegment corrupt = MemorySegment.ofArray(checkpoint.asSlice(0L, bytes).toArray(
+                ValueLayout.JAVA_BYTE));
+        corrupt.set(ValueLayout.JAVA_INT_UNALIGNED, bytes - 8, -5);
+        assertThrows(IllegalArgumentException.class, () -> target.restoreCheckpoint(corrupt));
+        // Not a checkpoint at all
+        assertThrows(IllegalArgumentException.class,
+                     () -> target.restoreCheckpoint(MemorySegment.ofArray(new byte[128])));
+        assertEquals(hash, target.stateHash());
+        assertEquals(1, target.getActiveCount());
+
+        assertEquals(5L, target.restoreCheckpoint(checkpoint));
+        assertSameWorld(source, target);
+    }
+
+    @Test
+    void testPendingDespawnsBlockCheckpoint() {
+        GameWorld world = populate(new GameWorld(new HeapComponentStore(CAPACITY)), SPAWNS);
+        world.queueDespawn(world.getEntityId(1));
+        MemorySegment out = MemorySegment.ofArray(new byte[(int) GameWorld.maxCheckpointBytes(CAPACITY)]);
+        assertThrows(IllegalStateException.class, () -> world.writeCheckpoint(out, 0L));
+        world.flushDespawns();
+        assertEquals(world.getCheckpointBytes(), world.writeCheckpoint(out, 0L));
+        assertThrows(IndexOutOfBoundsException.class, () -> world.writeCheckpoint(out.asSlice(0L, 64L), 0L));
+    }
+}
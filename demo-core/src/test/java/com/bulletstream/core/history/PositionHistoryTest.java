@@ -0,0 +1,89 @@
+package com.bulletstream.core.history;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.storage.OffHeapComponentStore;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionHistoryTest extends StrictUnitTest {
+
+    @Test
+    void testRecordsPositionsPerTick() {
+        GameWorld world = new GameWorld(new OffHeapComponentStore(16));
+        PositionHistory history = new PositionHistory(4, 16);
+        int id = world.spawnEntity(10.0f, 20.0f, 1.0f, -1.0f, GameWorld.FLAG_PLAYER);
+        int index = world.indexOf(id);
+        for (long tick = 0; tick < 3; tick++) {
+            history.record(world, tick);
+            world.update(1.0f);
+        }
+        for (long tick = 0; tick < 3; tick++) {
+            PositionHistory.Frame frame = history.get(tick);
+            assertEquals(tick, frame.getTick());
+            assertTrue(frame.contains(index, id));
+            assertVectorEquals(10.0f + tick, 20.0f - tick, frame.getPositionX(index), frame.getPositionY(index));
+        }
+        assertNull(history.get(3L));
+        assertEquals(3, history.getStoredCount());
+        assertEquals(4L * 16 * 12, history.getFootprintBytes());
+    }
+
+    @Test
+    void testOldTicksAreEvictedAndRewindClamps() {
+        GameWorld world = new GameWorld(8);
+        PositionHistory history = new PositionHistory(3, 8);
+        assertNull(history.rewind(0L));
+        for (long tick = 10; tick < 15; tick++) {
+            history.record(world, tick);
+        }
+        assertNull(history.get(11L));
+        assertEquals(12L, history.get(12L).getTick());
+        assertEquals(12L, history.rewind(0L).getTick(), "Capped at the oldest frame");
+        assertEquals(13L, history.rewind(13L).getTick());
+        assertEquals(14L, history.rewind(99L).getTick());
+        assertEquals(3, history.getStoredCount());
+    }
+
+    @Test
+    void testGapRestartsHistory() {
+        GameWorld world = new GameWorld(8);
+        PositionHistory history = new PositionHistory(4, 8);
+        history.record(world, 0L);
+        history.record(world, 1L);
+        history.record(world, 5L);
+        assertEquals(1, history.getStoredCount());
+        assertNull(history.get(1L), "Tick 1 is still in its slot but not contiguous with tick 5");
+        assertEquals(5L, history.rewind(1L).getTick());
+    }
+
+    @Test
+    void testRecycledIndexIsNotTheSameEntity() {
+        GameWorld world = new GameWorld(8);
+        PositionHistory history = new PositionHistory(4, 8);
+        int old = world.spawnEntity(1.0f, 1.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        history.record(world, 0L);
+        world.despawnEntity(old);
+        int recycled = world.spawnEntity(2.0f, 2.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        assertEquals(world.indexOf(old), world.indexOf(recycled));
+
+        PositionHistory.Frame frame = history.get(0L);
+        assertTrue(frame.contains(world.indexOf(old), old));
+        assertFalse(frame.contains(world.indexOf(recycled), recycled));
+        assertFalse(frame.contains(5, 5), "Index never allocated at tick 0");
+    }
+
+    @Test
+    void testRejectsBadInput() {
+        GameWorld world = new GameWorld(8);
+        PositionHistory history = new PositionHistory(2, 4);
+        history.record(world, 3L);
+        assertThrows(IllegalArgumentException.class, () -> history.record(world, 3L));
+        for (int i = 0; i < 5; i++) {
+            world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_BULLET);
+        }
+        assertThrows(IllegalArgumentException.class, () -> history.record(world, 4L));
+        assertThrows(IllegalArgumentException.class, () -> new PositionHistory(0, 4));
+    }
+}
@@ -0,0 +1,100 @@
+package com.bulletstream.core.input;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputQueueTest extends StrictUnitTest {
+
+    @Test
+    void testDrainAppliesInputToWorld() {
+        GameWorld world = new GameWorld(10);
+        int player = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        InputQueue queue = new InputQueue(16);
+
+        byte mask = (byte) (InputPayload.INPUT_UP | InputPayload.INPUT_SHOOT);
+        assertTrue(queue.offer(player, 5L, mask, 1.5f));
+        // Nothing applied until the tick thread drains
+        assertEquals(0, world.getInputMask(world.indexOf(player)));
+
+        assertEquals(1, queue.drain(world));
+        assertEquals(mask, world.getInputMask(world.indexOf(player)));
+        assertEquals(1.5f, world.getAimAngle(world.indexOf(player)), EPSILON);
+        assertEquals(0, queue.drain(world)); // Already drained
+    }
+
+    @Test
+    void testLaterInputWins() {
+        GameWorld world = new GameWorld(10);
+        int player = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        InputQueue queue = new InputQueue(16);
+
+        queue.offer(player, 1L, InputPayload.INPUT_LEFT, 0.0f);
+        queue.offer(player, 2L, InputPayload.INPUT_RIGHT, 0.5f);
+        assertEquals(2, queue.drain(world));
+
+        assertEquals(InputPayload.INPUT_RIGHT, world.getInputMask(world.indexOf(player)));
+    }
+
+    @Test
+    void testStaleEntityRejected() {
+        GameWorld world = new GameWorld(10);
+        int stale = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        world.despawnEntity(stale);
+        int current = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER); // Same index
+        InputQueue queue = new InputQueue(16);
+
+        queue.offer(stale, 1L, InputPayload.INPUT_UP, 0.0f);
+        assertEquals(1, queue.drain(world));
+
+        assertEquals(1, queue.getRejectedCount());
+        assertEquals(0, world.getInputMask(world.indexOf(current))); // Not applied to the new occupant
+    }
+
+    @Test
+    void testFullQueueDropsAndRecordsAreRecycled() {
+        GameWorld world = new GameWorld(10);
+        int player = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        InputQueue queue = new InputQueue(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(player, i, (byte) 0, 0.0f));
+        }
+        assertFalse(queue.offer(player, 4L, (byte) 0, 0.0f));
+        assertEquals(1, queue.getDroppedCount());
+
+        assertEquals(4, queue.drain(world));
+
+        // Records went back to the pool
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(player, i, (byte) 0, 0.0f));
+        }
+    }
+
+    @Test
+    void testConcurrentProducers() throws InterruptedException {
+        GameWorld world = new GameWorld(10);
+        int player = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        InputQueue queue = new InputQueue(8192);
+
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    queue.offer(player, i, InputPayload.INPUT_DOWN, 0.0f);
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(4000, queue.drain(world));
+        assertEquals(0, queue.getDroppedCount());
+        assertEquals(InputPayload.INPUT_DOWN, world.getInputMask(world.indexOf(player)));
+    }
+}
@@ -0,0 +1,157 @@
+package com.bulletstream.core.match;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.input.InputQueue;
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.core.pattern.BulletPattern;
+import com.bulletstream.core.system.CollisionSystem;
+import com.bulletstream.core.system.InputSystem;
+import com.bulletstream.core.system.SimulationStep;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchSchedulerTest extends StrictUnitTest {
+
+    private static final int ENTITIES = 64;
+    private static final int TICK_RATE = 200;
+
+    private MatchScheduler scheduler;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    private static Match newMatch(int id) {
+        GameWorld world = new GameWorld(ENTITIES);
+        int player = world.spawnEntity(10.0f, 10.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        world.applyInput(player, 0L, InputPayload.INPUT_RIGHT, 0.0f);
+        InputSystem inputSystem = new InputSystem(ENTITIES, 4, BulletPattern.spread(1, 0.0f),
+                                                  100.0f, 300.0f, 2.0f, 10);
+        CollisionSystem collisions = new CollisionSystem(new SpatialHash(1000.0f, 1000.0f, ENTITIES), ENTITIES);
+        SimulationStep simulation = new SimulationStep(world, inputSystem, collisions, null, 1000.0f, 1000.0f);
+        return new Match(id, simulation, new InputQueue(16), TICK_RATE);
+    }
+
+    private static void awaitTicks(Match match, long ticks) {
+        while (match.getTicks() < ticks) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+    }
+
+    @Test
+    void testMatchesArePinnedAndBalanced() {
+        scheduler = new MatchScheduler(2, "park");
+        scheduler.start();
+        Match[] matches = new Match[6];
+        Thread[][] seenOn = new Thread[matches.length][1];
+        boolean[] migrated = new boolean[matches.length];
+        for (int m = 0; m < matches.length; m++) {
+            matches[m] = newMatch(m);
+            int slot = m;
+            matches[m].setListener(match -> {
+                Thread current = Thread.currentThread();
+                if (seenOn[slot][0] == null) {
+                    seenOn[slot][0] = current;
+                } else if (seenOn[slot][0] != current) {
+                    migrated[slot] = true;
+                }
+            });
+            scheduler.add(matches[m]);
+        }
+        assertEquals(3, scheduler.getMatchCount(0));
+        assertEquals(3, scheduler.getMatchCount(1));
+
+        for (Match match : matches) {
+            awaitTicks(match, 10);
+        }
+        for (int m = 0; m < matches.length; m++) {
+            assertFalse(migrated[m], "Match " + m + " changed threads");
+            assertEquals("match-worker-" + matches[m].getWorker(), seenOn[m][0].getName());
+        }
+        // Every match moved its own player from its held input
+        assertTrue(matches[0].getWorld().getPositionX(0) > 10.0f);
+    }
+
+    @Test
+    void testOverrunsAreCountedAndBacklogDropped() {
+        scheduler = new MatchScheduler(1, "park");
+        scheduler.start();
+        Match slow = newMatch(0);
+        // Each tick takes about four periods: every tick overruns and the schedule must resync
+        slow.setListener(match -> LockSupport.parkNanos(4 * 1_000_000_000L / TICK_RATE));
+        Match fast = newMatch(1);
+        scheduler.add(slow);
+        scheduler.add(fast);
+
+        awaitTicks(slow, 6);
+        assertTrue(slow.getOverruns() > 0);
+        assertTrue(slow.getSkippedTicks() > 0);
+        assertTrue(slow.getMaxWorkNanos() >= 4 * 1_000_000_000L / TICK_RATE);
+        assertTrue(fast.getTicks() > 0, "Slow neighbour does not starve the other match");
+    }
+
+    @Test
+    void testRemovedMatchStopsTicking() {
+        scheduler = new MatchScheduler(1, "park");
+        scheduler.start();
+        Match match = newMatch(0);
+        scheduler.add(match);
+        awaitTicks(match, 3);
+        scheduler.remove(match);
+        while (scheduler.getMatchCount(0) != 0) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+        long ticks = match.getTicks();
+        LockSupport.parkNanos(20_000_000L);
+        assertEquals(ticks, match.getTicks());
+        assertThrows(IllegalStateException.class, () -> scheduler.add(match));
+    }
+
+    @Test
+    void testMatchRunsInputSystemShots() {
+        scheduler = new MatchScheduler(1, "park");
+        scheduler.start();
+        Match match = newMatch(0);
+        match.getInputQueue().offer(match.getWorld().getEntityId(0), 0L,
+                                    (byte) (InputPayload.INPUT_RIGHT | InputPayload.INPUT_SHOOT), 0.0f);
+        scheduler.add(match);
+        awaitTicks(match, 3);
+        scheduler.remove(match);
+        while (scheduler.getMatchCount(0) != 0) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+        assertTrue(match.getWorld().getActiveCount() > 1, "Held SHOOT fired a bullet");
+    }
+
+    @Test
+    void testFailingMatchIsRemovedAndWorkerSurvives() {
+        scheduler = new MatchScheduler(1, "park");
+        scheduler.start();
+        Match failing = newMatch(0);
+        failing.setListener(match -> {
+            if (match.getCurrentTick() == 3) {
+                throw new IllegalStateException("Game rule failed");
+            }
+        });
+        Match healthy = newMatch(1);
+        scheduler.add(failing);
+        scheduler.add(healthy);
+
+        while (scheduler.getMatchCount(0) != 1) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+        assertTrue(failing.isRemoved());
+        assertEquals(2, failing.getTicks(), "The failed tick is not recorded");
+        long ticks = healthy.getTicks();
+        awaitTicks(healthy, ticks + 5);
+    }
+}
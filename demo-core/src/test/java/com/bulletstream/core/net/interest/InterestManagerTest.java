@@ -0,0 +1,160 @@
+package com.bulletstream.core.net.interest;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+import com.bulletstream.core.util.StripeRunner;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterestManagerTest extends StrictUnitTest {
+
+    private static final float WORLD_SIZE = 2048.0f;
+    private static final int ENTITIES = 3000;
+    private static final int CLIENTS = 16;
+    private static final float VIEW_WIDTH = 400.0f;
+    private static final float VIEW_HEIGHT = 300.0f;
+
+    @Test
+    void testVisibleSetMatchesBruteForce() {
+        GameWorld world = new GameWorld(ENTITIES);
+        int[] players = populate(world);
+        InterestManager interest = newManager(ENTITIES, null);
+        for (int c = 0; c < CLIENTS; c++) {
+            interest.setViewer(c, players[c]);
+        }
+
+        interest.update(world, 1L);
+
+        for (int c = 0; c < CLIENTS; c++) {
+            int viewer = world.indexOf(players[c]);
+            float cx = world.getPositionX(viewer);
+            float cy = world.getPositionY(viewer);
+            boolean[] seen = new boolean[ENTITIES];
+            for (int i = 0; i < interest.getVisibleCount(c); i++) {
+                seen[interest.getVisibleIndex(c, i)] = true;
+            }
+            int expected = 0;
+            for (int e = 0; e < world.getEntityCount(); e++) {
+                boolean inView = Math.abs(world.getPositionX(e) - cx) <= VIEW_WIDTH * 0.5f
+                                 && Math.abs(world.getPositionY(e) - cy) <= VIEW_HEIGHT * 0.5f;
+                assertEquals(inView, seen[e], "client " + c + " entity " + e);
+                expected += inView ? 1 : 0;
+            }
+            assertEquals(expected, interest.getVisibleCount(c));
+            assertEquals(0, interest.getTruncatedCount(c));
+            assertTrue(seen[viewer], "a player always sees itself");
+        }
+    }
+
+    @Test
+    void testPackedMessageDecodes() {
+        GameWorld world = new GameWorld(ENTITIES);
+        int[] players = populate(world);
+        InterestManager interest = newManager(ENTITIES, null);
+        interest.setViewer(3, players[3]);
+
+        interest.update(world, 42L);
+
+        ByteBuffer packed = interest.getPacked(3);
+        ProtocolCodec.StateView view = new ProtocolCodec.StateView().wrap(packed.duplicate());
+        assertEquals(42L, view.getServerTick());
+        assertEquals(interest.getVisibleCount(3), view.getEntityCount());
+        for (int i = 0; i < view.getEntityCount(); i++) {
+            int entity = interest.getVisibleIndex(3, i);
+            assertEquals(world.getEntityId(entity), view.getEntityId(i));
+            assertEquals(world.getPositionX(entity), view.getX(i), 0.0f);
+        }
+        assertFalse(interest.getPacked(0).hasRemaining(), "unattached slot sends nothing");
+    }
+
+    @Test
+    void testParallelPackingMatchesSerial() {
+        GameWorld world = new GameWorld(ENTITIES);
+        int[] players = populate(world);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            InterestManager serial = newManager(ENTITIES, null);
+            InterestManager parallel = newManager(ENTITIES, new StripeRunner(pool, 4));
+            for (int c = 0; c < CLIENTS; c++) {
+                serial.setViewer(c, players[c]);
+                parallel.setViewer(c, players[c]);
+            }
+
+            serial.update(world, 7L);
+            parallel.update(world, 7L);
+
+            for (int c = 0; c < CLIENTS; c++) {
+                assertEquals(serial.getPacked(c), parallel.getPacked(c), "client " + c);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testListedClientsPackLikeFullUpdate() {
+        GameWorld world = new GameWorld(ENTITIES);
+        int[] players = populate(world);
+        InterestManager full = newManager(ENTITIES, null);
+        InterestManager listed = newManager(ENTITIES, null);
+        for (int c = 0; c < CLIENTS; c++) {
+            full.setViewer(c, players[c]);
+            listed.setViewer(c, players[c]);
+        }
+
+        full.update(world, 9L);
+        listed.update(world, 9L, new int[] {2, 11, 5}, 2);
+
+        assertEquals(full.getPacked(2), listed.getPacked(2));
+        assertEquals(full.getPacked(11), listed.getPacked(11));
+        assertEquals(full.getVisibleCount(11), listed.getVisibleCount(11));
+        assertFalse(listed.getPacked(5).hasRemaining(), "not listed: nothing packed");
+    }
+
+    @Test
+    void testTruncationCountedAndDespawnedViewerSendsNothing() {
+        GameWorld world = new GameWorld(ENTITIES);
+        int[] players = populate(world);
+        InterestManager interest = newManager(4, null);
+        interest.setViewer(0, players[0]);
+        interest.setViewer(1, players[1]);
+        world.despawnEntity(players[1]);
+
+        interest.update(world, 1L);
+
+        assertEquals(4, interest.getVisibleCount(0));
+        assertTrue(interest.getTruncatedCount(0) > 0);
+        assertEquals(0, interest.getVisibleCount(1));
+        assertFalse(interest.getPacked(1).hasRemaining());
+
+        interest.removeViewer(0);
+        assertEquals(1, interest.getViewerCount());
+        assertFalse(interest.getPacked(0).hasRemaining());
+    }
+
+    private static InterestManager newManager(int maxVisible, StripeRunner runner) {
+        return new InterestManager(new SpatialHash(WORLD_SIZE, WORLD_SIZE, ENTITIES), ENTITIES, CLIENTS, maxVisible,
+                                   VIEW_WIDTH, VIEW_HEIGHT, runner);
+    }
+
+    private static int[] populate(GameWorld world) {
+        Random random = new Random(5);
+        int[] players = new int[CLIENTS];
+        for (int c = 0; c < CLIENTS; c++) {
+            players[c] = world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                                           0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        }
+        for (int i = CLIENTS; i < ENTITIES; i++) {
+            world.spawnEntity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE,
+                              0.0f, 0.0f, GameWorld.FLAG_BULLET);
+        }
+        return players;
+    }
+}
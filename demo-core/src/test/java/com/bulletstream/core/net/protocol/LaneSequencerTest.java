@@ -0,0 +1,40 @@
+package com.bulletstream.core.net.protocol;
+
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LaneSequencerTest extends StrictUnitTest {
+
+    @Test
+    void testOutgoingSequencesArePerLane() {
+        LaneSequencer sequencer = new LaneSequencer();
+        assertEquals(0L, sequencer.nextOutgoing(LanePacket.LANE_UNRELIABLE));
+        assertEquals(1L, sequencer.nextOutgoing(LanePacket.LANE_UNRELIABLE));
+        assertEquals(0L, sequencer.nextOutgoing(LanePacket.LANE_RELIABLE));
+        assertEquals(2L, sequencer.nextOutgoing(LanePacket.LANE_UNRELIABLE));
+    }
+
+    @Test
+    void testStaleAndDuplicatePacketsDropped() {
+        LaneSequencer sequencer = new LaneSequencer();
+        assertTrue(sequencer.acceptIncoming(LanePacket.LANE_UNRELIABLE, 5L));
+        assertFalse(sequencer.acceptIncoming(LanePacket.LANE_UNRELIABLE, 5L)); // Duplicate
+        assertFalse(sequencer.acceptIncoming(LanePacket.LANE_UNRELIABLE, 3L)); // Late
+        assertTrue(sequencer.acceptIncoming(LanePacket.LANE_UNRELIABLE, 9L));  // Gaps are fine
+
+        assertEquals(9L, sequencer.getLastIncoming(LanePacket.LANE_UNRELIABLE));
+        assertEquals(2L, sequencer.getStaleCount(LanePacket.LANE_UNRELIABLE));
+        // Lanes are independent
+        assertTrue(sequencer.acceptIncoming(LanePacket.LANE_RELIABLE, 0L));
+        assertEquals(0L, sequencer.getStaleCount(LanePacket.LANE_RELIABLE));
+    }
+
+    @Test
+    void testUnknownLaneRejected() {
+        LaneSequencer sequencer = new LaneSequencer();
+        assertThrows(IllegalArgumentException.class, () -> sequencer.nextOutgoing((byte) 7));
+        assertThrows(IllegalArgumentException.class, () -> sequencer.acceptIncoming((byte) -1, 0L));
+    }
+}
@@ -6,6 +6,8 @@ import io.fury.config.Language;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class SerializationTest extends StrictUnitTest {
@@ -116,4 +118,101 @@ class SerializationTest extends StrictUnitTest {
         assertEquals(original.getEntityCount(), deserialized.getEntityCount());
         assertArrayEquals(original.getPackedPositionData(), deserialized.getPackedPositionData());
     }
+
+    @Test
+    void testCodecInputRoundTrip() {
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        byte mask = (byte) (InputPayload.INPUT_UP | InputPayload.INPUT_SHOOT);
+        ProtocolCodec.encodeInput(buf, LanePacket.LANE_UNRELIABLE, 7L, 100L, mask, 1.57f);
+        assertEquals(ProtocolCodec.INPUT_BYTES, buf.position());
+
+        buf.flip();
+        assertEquals(LanePacket.LANE_UNRELIABLE, ProtocolCodec.peekLane(buf));
+        assertEquals(ProtocolCodec.TYPE_INPUT, ProtocolCodec.peekType(buf));
+        assertEquals(7L, ProtocolCodec.peekSequence(buf));
+
+        InputPayload decoded = new InputPayload();
+        assertEquals(7L, ProtocolCodec.decodeInput(buf, decoded));
+        assertEquals(100L, decoded.getTick());
+        assertEquals(mask, decoded.getInputMask());
+        assertEquals(1.57f, decoded.getAngle(), 0.001f);
+        assertFalse(buf.hasRemaining());
+    }
+
+    @Test
+    void testCodecAdminRoundTrip() {
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        ProtocolCodec.encode(buf, new LanePacket(LanePacket.LANE_RELIABLE, 3L,
+                new AdminCommand(AdminCommand.TYPE_SET_TIME_SCALE, 0.5f)));
+        assertEquals(ProtocolCodec.ADMIN_BYTES, buf.position());
+
+        buf.flip();
+        AdminCommand decoded = new AdminCommand();
+        assertEquals(3L, ProtocolCodec.decodeAdmin(buf, decoded));
+        assertEquals(AdminCommand.TYPE_SET_TIME_SCALE, decoded.getType());
+        assertEquals(0.5f, decoded.getValue(), 0.001f);
+    }
+
+    @Test
+    void testCodecStateRoundTripReusesArray() {
+        float[] data = new float[300];
+        for (int i = 0; i < 100; i++) {
+            data[i * 3] = i;
+            data[i * 3 + 1] = i * 10;
+            data[i * 3 + 2] = i * 20;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(ProtocolCodec.stateBytes(100));
+        ProtocolCodec.encodeState(buf, LanePacket.LANE_UNRELIABLE, 9L, new StatePayload(1000L, 100, data));
+        assertFalse(buf.hasRemaining()); // Exactly stateBytes(100)
+
+        buf.flip();
+        float[] reused = new float[300];
+        StatePayload decoded = new StatePayload(0L, 0, reused);
+        assertEquals(9L, ProtocolCodec.decodeState(buf, decoded));
+        assertEquals(1000L, decoded.getServerTick());
+        assertEquals(100, decoded.getEntityCount());
+        assertSame(reused, decoded.getPackedPositionData());
+        assertArrayEquals(data, decoded.getPackedPositionData());
+    }
+
+    @Test
+    void testCodecStateViewReadsInPlace() {
+        ByteBuffer buf = ByteBuffer.allocateDirect(256);
+        int start = ProtocolCodec.beginState(buf, LanePacket.LANE_UNRELIABLE, 11L, 55L);
+        ProtocolCodec.putEntity(buf, 0x00020001, 1.5f, 2.5f); // Generation 2, index 1
+        ProtocolCodec.putEntity(buf, 0x00010005, 3.5f, 4.5f);
+        assertEquals(2, ProtocolCodec.endState(buf, start));
+
+        buf.flip();
+        ProtocolCodec.StateView view = new ProtocolCodec.StateView().wrap(buf);
+        assertEquals(11L, view.getSequence());
+        assertEquals(55L, view.getServerTick());
+        assertEquals(2, view.getEntityCount());
+        assertEquals(0x00020001, view.getEntityId(0)); // Full int id, not float-rounded
+        assertEquals(4.5f, view.getY(1), 0.0f);
+        assertEquals(3.5f, view.getX(1), 0.0f);
+        assertFalse(buf.hasRemaining());
+    }
+
+    @Test
+    void testCodecRejectsWrongTypeAndMalformedCount() {
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        ProtocolCodec.encodeAdmin(buf, LanePacket.LANE_RELIABLE, 1L, AdminCommand.TYPE_SET_TICK_RATE, 30.0f);
+        buf.flip();
+        assertThrows(IllegalArgumentException.class, () -> ProtocolCodec.decodeInput(buf, new InputPayload()));
+
+        ByteBuffer state = ByteBuffer.allocate(64);
+        int start = ProtocolCodec.beginState(state, LanePacket.LANE_UNRELIABLE, 1L, 1L);
+        ProtocolCodec.endState(state, start);
+        state.putInt(start + ProtocolCodec.HEADER_BYTES + 8, 1_000_000); // Claims more than is present
+        state.flip();
+        assertThrows(IllegalArgumentException.class, () -> ProtocolCodec.decodeState(state, new StatePayload()));
+    }
+
+    @Test
+    void testCodecRejectsUnknownPayload() {
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        LanePacket packet = new LanePacket(LanePacket.LANE_RELIABLE, 1L, "not a payload");
+        assertThrows(IllegalArgumentException.class, () -> ProtocolCodec.encode(buf, packet));
+    }
 }
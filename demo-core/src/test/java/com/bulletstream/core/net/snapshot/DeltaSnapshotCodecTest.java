@@ -0,0 +1,305 @@
+package com.bulletstream.core.net.snapshot;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.net.protocol.LanePacket;
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static com.bulletstream.core.WorldFixtures.populate;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaSnapshotCodecTest extends StrictUnitTest {
+
+    private static final float DT = 1.0f / 60.0f;
+    private static final int ENTITIES = 500;
+    private static final int SPAWNS = ENTITIES - 20; // Room for the churn tests to respawn
+
+    private final DeltaSnapshotCodec codec =
+            new DeltaSnapshotCodec(DeltaSnapshotCodec.DEFAULT_QUANTUM, DT, DeltaSnapshotCodec.DEFAULT_THRESHOLD);
+    private final ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+
+    @Test
+    void testFullSnapshotRoundTrip() {
+        GameWorld world = populate(new GameWorld(ENTITIES), SPAWNS);
+        SnapshotRing server = new SnapshotRing(8, ENTITIES);
+        SnapshotRing client = new SnapshotRing(8, ENTITIES);
+
+        Snapshot captured = codec.capture(world, 1L, server);
+        assertEquals(world.getActiveCount(), codec.encode(buf, LanePacket.LANE_UNRELIABLE, 1L, null, captured));
+
+        buf.flip();
+        assertSnapshotsEqual(captured, codec.decode(buf, client));
+        assertFalse(buf.hasRemaining());
+    }
+
+    @Test
+    void testClientReconstructsEveryTickWithChurn() {
+        GameWorld world = populate(new GameWorld(ENTITIES), SPAWNS);
+        SnapshotRing server = new SnapshotRing(8, ENTITIES);
+        SnapshotRing client = new SnapshotRing(8, ENTITIES);
+        Random random = new Random(3);
+
+        long baselineTick = DeltaSnapshotCodec.NO_BASELINE;
+        for (long tick = 1; tick <= 30; tick++) {
+            world.update(DT);
+            // Churn: despawn some, respawn into freed indices (new generations), steer some
+            for (int k = 0; k < 5; k++) {
+                int index = random.nextInt(world.getEntityCount());
+                if (world.isActive(world.getEntityId(index))) {
+                    world.despawnEntity(world.getEntityId(index));
+                }
+            }
+            for (int k = 0; k < 4; k++) {
+                world.spawnEntity(random.nextFloat() * 1000.0f, random.nextFloat() * 1000.0f,
+                                  50.0f, -25.0f, GameWorld.FLAG_BULLET);
+            }
+
+            Snapshot captured = codec.capture(world, tick, server);
+            buf.clear();
+            codec.encode(buf, LanePacket.LANE_UNRELIABLE, tick, server.get(baselineTick), captured);
+            buf.flip();
+            assertSnapshotsEqual(captured, codec.decode(buf, client));
+
+            // Ack every third tick so baselines are sometimes several ticks old
+            if (tick % 3 == 0) {
+                baselineTick = tick;
+            }
+        }
+    }
+
+    @Test
+    void testClientReconstructsItsViewAsItMoves() {
+        GameWorld world = new GameWorld(ENTITIES + 1);
+        int viewer = world.spawnEntity(300.0f, 500.0f, 240.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        populate(world, SPAWNS);
+        SnapshotRing server = new SnapshotRing(8, ENTITIES + 1);
+        SnapshotRing client = new SnapshotRing(8, ENTITIES + 1);
+        int viewerIndex = world.indexOf(viewer);
+
+        long baselineTick = DeltaSnapshotCodec.NO_BASELINE;
+        for (long tick = 1; tick <= 30; tick++) {
+            world.update(DT);
+            Snapshot captured = codec.capture(world, tick, server);
+            buf.clear();
+            assertTrue(codec.encodeView(buf, LanePacket.LANE_UNRELIABLE, tick, server.get(baselineTick), captured,
+                                        viewerIndex, viewer, 150.0f, 100.0f, ENTITIES) >= 0);
+            buf.flip();
+            Snapshot view = codec.decode(buf, client);
+
+            int expected = 0;
+            int viewerAt = captured.find(viewerIndex, viewer);
+            for (int i = 0; i < captured.getCount(); i++) {
+                if (Math.abs(captured.getQx(i) - captured.getQx(viewerAt)) <= codec.quantize(150.0f)
+                        && Math.abs(captured.getQy(i) - captured.getQy(viewerAt)) <= codec.quantize(100.0f)) {
+                    int at = view.find(captured.getIndex(i), captured.getEntityId(i));
+                    assertTrue(at >= 0, "missing index " + captured.getIndex(i) + " at tick " + tick);
+                    assertEquals(captured.getQx(i), view.getQx(at));
+                    assertEquals(captured.getQy(i), view.getQy(at));
+                    expected++;
+                }
+            }
+            assertEquals(expected, view.getCount(), "view size at tick " + tick);
+            assertTrue(expected > 1 && expected < captured.getCount());
+
+            if (tick % 3 == 0) {
+                baselineTick = tick;
+            }
+        }
+    }
+
+    @Test
+    void testViewIsCutToMaxEntities() {
+        GameWorld world = populate(new GameWorld(ENTITIES), SPAWNS);
+        int viewer = world.getEntityId(0);
+        Snapshot captured = codec.capture(world, 1L, new SnapshotRing(4, ENTITIES));
+
+        assertEquals(ENTITIES / 2, codec.encodeView(buf, LanePacket.LANE_UNRELIABLE, 1L, null, captured,
+                                                    0, viewer, 2000.0f, 2000.0f, ENTITIES / 2));
+        buf.flip();
+        Snapshot view = codec.decode(buf, new SnapshotRing(4, ENTITIES));
+        assertEquals(ENTITIES / 2, view.getCount());
+        for (int i = 0; i < view.getCount(); i++) {
+            assertEquals(captured.getIndex(i), view.getIndex(i), "first entities by index at " + i);
+        }
+
+        // A viewer past the cut still sees itself
+        int last = captured.getCount() - 1;
+        buf.clear();
+        assertEquals(10, codec.encodeView(buf, LanePacket.LANE_UNRELIABLE, 2L, null, captured,
+                                          captured.getIndex(last), captured.getEntityId(last), 2000.0f, 2000.0f, 10));
+        buf.flip();
+        view = codec.decode(buf, new SnapshotRing(4, ENTITIES));
+        assertEquals(10, view.getCount());
+        assertEquals(captured.getIndex(8), view.getIndex(8));
+        assertEquals(captured.getIndex(last), view.getIndex(9));
+
+        buf.clear().limit(64);
+        assertEquals(-1, codec.encodeView(buf, LanePacket.LANE_UNRELIABLE, 1L, null, captured,
+                                          0, viewer, 2000.0f, 2000.0f, ENTITIES));
+        assertThrows(IllegalArgumentException.class, () -> codec.encodeView(buf, LanePacket.LANE_UNRELIABLE, 1L,
+                null, captured, 0, viewer, 2000.0f, 2000.0f, 0));
+        buf.clear();
+        assertEquals(world.getActiveCount(), codec.encodeView(buf, LanePacket.LANE_UNRELIABLE, 1L, null, captured,
+                                                              0, viewer, 2000.0f, 2000.0f, ENTITIES));
+    }
+
+    @Test
+    void testCutViewAlwaysFitsItsBudget() {
+        int budget = 1200;
+        int cut = DeltaSnapshotCodec.maxViewEntities(budget);
+        assertTrue(cut > 0);
+        GameWorld world = populate(new GameWorld(ENTITIES), SPAWNS);
+        int viewer = world.getEntityId(0);
+        SnapshotRing server = new SnapshotRing(8, ENTITIES);
+        SnapshotRing client = new SnapshotRing(8, ENTITIES);
+        Random random = new Random(5);
+
+        long baselineTick = DeltaSnapshotCodec.NO_BASELINE;
+        for (long tick = 1; tick <= 30; tick++) {
+            world.update(DT);
+            // Churn below the cut, so the view's membership keeps changing
+            for (int k = 0; k < 5; k++) {
+                int index = 1 + random.nextInt(cut * 2);
+                if (world.isActive(world.getEntityId(index))) {
+                    world.despawnEntity(world.getEntityId(index));
+                }
+                world.spawnEntity(random.nextFloat() * 1000.0f, random.nextFloat() * 1000.0f,
+                                  -80.0f, 45.0f, GameWorld.FLAG_BULLET);
+            }
+            Snapshot captured = codec.capture(world, tick, server);
+            buf.clear().limit(budget);
+            assertTrue(codec.encodeView(buf, LanePacket.LANE_UNRELIABLE, tick, server.get(baselineTick), captured,
+                                        0, viewer, 2000.0f, 2000.0f, cut) >= 0, "fits at tick " + tick);
+            buf.flip();
+            Snapshot view = codec.decode(buf, client);
+
+            assertEquals(cut, view.getCount());
+            for (int i = 0; i < cut; i++) {
+                assertEquals(captured.getIndex(i), view.getIndex(i), "index at " + i);
+                assertEquals(captured.getEntityId(i), view.getEntityId(i), "id at " + i);
+                assertEquals(captured.getQx(i), view.getQx(i), "x at " + i);
+                assertEquals(captured.getQy(i), view.getQy(i), "y at " + i);
+            }
+            if (tick % 2 == 0) {
+                baselineTick = tick;
+            }
+        }
+    }
+
+    @Test
+    void testStraightBulletsCostNothingAfterSpawn() {
+        GameWorld world = new GameWorld(ENTITIES);
+        for (int i = 0; i < ENTITIES; i++) {
+            world.spawnEntity(i, i * 2.0f, 300.0f, -120.0f, GameWorld.FLAG_BULLET);
+        }
+        SnapshotRing server = new SnapshotRing(8, ENTITIES);
+        Snapshot baseline = codec.capture(world, 1L, server);
+
+        world.update(DT);
+        world.update(DT);
+        Snapshot current = codec.capture(world, 3L, server);
+
+        assertEquals(0, codec.encode(buf, LanePacket.LANE_UNRELIABLE, 3L, baseline, current));
+        int deltaBytes = buf.position();
+        assertTrue(deltaBytes * 10 < ProtocolCodec.stateBytes(ENTITIES),
+                   "delta " + deltaBytes + " vs full " + ProtocolCodec.stateBytes(ENTITIES));
+    }
+
+    @Test
+    void testDeadReckoningStaysWithinThreshold() {
+        GameWorld world = new GameWorld(1);
+        int bullet = world.spawnEntity(0.0f, 0.0f, 123.456f, 77.7f, GameWorld.FLAG_BULLET);
+        SnapshotRing server = new SnapshotRing(4, 1);
+        float maxError = DeltaSnapshotCodec.DEFAULT_THRESHOLD * DeltaSnapshotCodec.DEFAULT_QUANTUM
+                         + DeltaSnapshotCodec.DEFAULT_QUANTUM;
+
+        int corrections = 0;
+        Snapshot previous = codec.capture(world, 0L, server);
+        for (long tick = 1; tick <= 600; tick++) {
+            world.update(DT);
+            Snapshot snapshot = codec.capture(world, tick, server);
+            assertEquals(world.getPositionX(world.indexOf(bullet)), codec.dequantize(snapshot.getQx(0)), maxError);
+            assertEquals(world.getPositionY(world.indexOf(bullet)), codec.dequantize(snapshot.getQy(0)), maxError);
+            buf.clear();
+            corrections += codec.encode(buf, LanePacket.LANE_UNRELIABLE, tick, previous, snapshot);
+            previous = snapshot;
+        }
+        assertTrue(corrections < 60, "corrections: " + corrections);
+    }
+
+    @Test
+    void testEvictedBaselineRejected() {
+        GameWorld world = populate(new GameWorld(ENTITIES), SPAWNS);
+        SnapshotRing server = new SnapshotRing(8, ENTITIES);
+        SnapshotRing client = new SnapshotRing(2, ENTITIES);
+
+        Snapshot baseline = codec.capture(world, 1L, server);
+        buf.clear();
+        codec.encode(buf, LanePacket.LANE_UNRELIABLE, 1L, null, baseline);
+        buf.flip();
+        codec.decode(buf, client);
+        codec.capture(world, 2L, server);
+        Snapshot current = codec.capture(world, 5L, server); // Client ring of 2 cannot hold 1 and 5 apart
+
+        buf.clear();
+        codec.encode(buf, LanePacket.LANE_UNRELIABLE, 5L, baseline, current);
+        buf.flip();
+        assertThrows(IllegalStateException.class, () -> codec.decode(buf, client));
+    }
+
+    @Test
+    void testRingEvictsOldTicks() {
+        SnapshotRing ring = new SnapshotRing(4, 1);
+        ring.acquire(1L);
+        assertNotNull(ring.get(1L));
+        ring.acquire(5L); // Same slot
+        assertNull(ring.get(1L));
+        assertSame(ring.get(5L), ring.latest());
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotRing(1, 1));
+    }
+
+    @Test
+    void testClientBaselinesOnlyMoveForward() {
+        SnapshotRing ring = new SnapshotRing(4, 1);
+        ring.acquire(7L);
+        ClientBaselines baselines = new ClientBaselines(2);
+        assertNull(baselines.baselineFor(0, ring));
+
+        baselines.acknowledge(0, 7L);
+        baselines.acknowledge(0, 3L); // Late ack
+        assertEquals(7L, baselines.getAckedTick(0));
+        assertSame(ring.get(7L), baselines.baselineFor(0, ring));
+
+        baselines.reset(0);
+        assertNull(baselines.baselineFor(0, ring));
+    }
+
+    @Test
+    void testVarintAndZigZagRoundTrip() {
+        int[] values = {0, 1, -1, 63, -64, 127, 128, 65535, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int value : values) {
+            buf.clear();
+            DeltaSnapshotCodec.putZigZag(buf, value);
+            buf.flip();
+            assertEquals(value, DeltaSnapshotCodec.getZigZag(buf));
+        }
+    }
+
+    private static void assertSnapshotsEqual(Snapshot expected, Snapshot actual) {
+        assertEquals(expected.getTick(), actual.getTick());
+        assertEquals(expected.getCount(), actual.getCount());
+        for (int i = 0; i < expected.getCount(); i++) {
+            assertEquals(expected.getIndex(i), actual.getIndex(i), "index at " + i);
+            assertEquals(expected.getEntityId(i), actual.getEntityId(i), "id at " + i);
+            assertEquals(expected.getFlags(i), actual.getFlags(i), "flags at " + i);
+            assertEquals(expected.getQx(i), actual.getQx(i), "x at " + i);
+            assertEquals(expected.getQy(i), actual.getQy(i), "y at " + i);
+            assertEquals(expected.getQvx(i), actual.getQvx(i), "vx at " + i);
+            assertEquals(expected.getQvy(i), actual.getQvy(i), "vy at " + i);
+        }
+    }
+}
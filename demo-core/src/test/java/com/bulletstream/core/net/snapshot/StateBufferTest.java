@@ -0,0 +1,134 @@
+package com.bulletstream.core.net.snapshot;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.net.interest.InterestManager;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.bulletstream.core.WorldFixtures.assertSameView;
+import static com.bulletstream.core.WorldFixtures.populate;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateBufferTest extends StrictUnitTest {
+    private static final int CAPACITY = 2000;
+    private static final int SPAWNS = 1500;
+    private static final float WORLD_SIZE = 2048.0f;
+
+    @Test
+    void testFrameCopiesWorld() {
+        GameWorld world = populate(new GameWorld(CAPACITY), SPAWNS);
+        StateBuffer buffer = new StateBuffer(CAPACITY, world.getIdLayout());
+        assertNull(buffer.acquire());
+        assertTrue(buffer.publish(world, 7L, 0.25f));
+
+        StateFrame frame = buffer.acquire();
+        assertEquals(7L, frame.getTick());
+        assertEquals(0.25f, frame.getStepSeconds());
+        assertSameView(world, frame);
+        assertEquals(99L, frame.getInputTick(frame.indexOf(world.getEntityId(3))));
+
+        // The frame is a copy: the world moves on without it
+        int first = world.getEntityId(0);
+        world.update(1.0f);
+        world.despawnEntity(first);
+        assertFalse(world.isActive(first));
+        assertTrue(frame.isActive(first));
+        assertNotEquals(world.getPositionX(1), frame.getPositionX(1));
+        buffer.release(frame);
+    }
+
+    @Test
+    void testHeldFrameIsNotOverwritten() {
+        GameWorld world = populate(new GameWorld(CAPACITY), SPAWNS);
+        StateBuffer buffer = new StateBuffer(CAPACITY, world.getIdLayout());
+        assertTrue(buffer.publish(world, 1L, 1.0f));
+        StateFrame held = buffer.acquire();
+
+        assertTrue(buffer.publish(world, 2L, 1.0f)); // Into the other frame
+        assertFalse(buffer.publish(world, 3L, 1.0f)); // Would overwrite the held one
+        assertEquals(1L, held.getTick());
+        assertEquals(1L, buffer.getSkippedCount());
+        buffer.release(held);
+
+        StateFrame latest = buffer.acquire();
+        assertEquals(2L, latest.getTick());
+        buffer.release(latest);
+        assertTrue(buffer.publish(world, 3L, 1.0f));
+        assertEquals(3L, buffer.getPublishedCount());
+    }
+
+    @Test
+    void testReaderNeverSeesTornFrame() throws InterruptedException {
+        // Every entity moves one unit per tick, so a consistent frame has x == tick everywhere
+        GameWorld world = new GameWorld(CAPACITY);
+        for (int i = 0; i < 500; i++) {
+            world.spawnEntity(0.0f, i, 1.0f, 0.0f, GameWorld.FLAG_BULLET);
+        }
+        StateBuffer buffer = new StateBuffer(CAPACITY, world.getIdLayout());
+        int ticks = 100;
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            long last = -1L;
+            while (last < ticks - 1 && failure.get() == null) {
+                StateFrame frame = buffer.acquire();
+                if (frame == null) {
+                    Thread.yield();
+                    continue;
+                }
+                long tick = frame.getTick();
+                for (int i = 0; i < frame.getEntityCount(); i++) {
+                    if (frame.getPositionX(i) != tick) {
+                        failure.set("Frame " + tick + " has x=" + frame.getPositionX(i) + " at " + i);
+                        break;
+                    }
+                }
+                if (frame.getTick() != tick) {
+                    failure.set("Frame changed from tick " + tick + " to " + frame.getTick() + " while held");
+                }
+                last = tick;
+                buffer.release(frame);
+                Thread.yield();
+            }
+        });
+        reader.start();
+        for (long tick = 0; tick < ticks; tick++) {
+            if (tick > 0) {
+                world.update(1.0f);
+            }
+            while (!buffer.publish(world, tick, 1.0f)) {
+                Thread.yield(); // Every tick must get through, so the reader sees the last one
+            }
+        }
+        reader.join();
+        assertNull(failure.get());
+    }
+
+    @Test
+    void testInterestPacksFrameLikeWorld() {
+        GameWorld world = populate(new GameWorld(CAPACITY), SPAWNS);
+        StateBuffer buffer = new StateBuffer(CAPACITY, world.getIdLayout());
+        buffer.publish(world, 4L, 1.0f);
+        StateFrame frame = buffer.acquire();
+        InterestManager fromWorld = newManager();
+        InterestManager fromFrame = newManager();
+        for (int c = 0; c < 8; c++) {
+            fromWorld.setViewer(c, world.getEntityId(c));
+            fromFrame.setViewer(c, world.getEntityId(c));
+        }
+        fromWorld.update(world, 4L);
+        fromFrame.update(frame, 4L);
+        for (int c = 0; c < 8; c++) {
+            assertTrue(fromWorld.getVisibleCount(c) > 0);
+            assertEquals(fromWorld.getPacked(c), fromFrame.getPacked(c));
+        }
+        buffer.release(frame);
+    }
+
+    private static InterestManager newManager() {
+        return new InterestManager(new SpatialHash(WORLD_SIZE, WORLD_SIZE, CAPACITY), CAPACITY, 8, 512,
+                                   400.0f, 300.0f, null);
+    }
+}
@@ -0,0 +1,68 @@
+package com.bulletstream.core.pattern;
+
+import com.bulletstream.core.SpawnBatch;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulletPatternTest extends StrictUnitTest {
+
+    private static float angleOf(SpawnBatch batch, int row) {
+        return (float) Math.atan2(batch.getVelocityY(row), batch.getVelocityX(row));
+    }
+
+    private static float speedOf(SpawnBatch batch, int row) {
+        return (float) Math.hypot(batch.getVelocityX(row), batch.getVelocityY(row));
+    }
+
+    @Test
+    void testRingCoversCircleEvenly() {
+        SpawnBatch batch = new SpawnBatch(8);
+        BulletPattern.ring(4).emit(batch, 10.0f, 20.0f, 0.0f, 100.0f);
+        assertEquals(4, batch.size());
+        assertVectorEquals(100.0f, 0.0f, batch.getVelocityX(0), batch.getVelocityY(0));
+        assertEquals(0.0f, batch.getVelocityX(1), 1e-4f);
+        assertEquals(100.0f, batch.getVelocityY(1), 1e-4f);
+        assertEquals(-100.0f, batch.getVelocityX(2), 1e-4f);
+        for (int k = 0; k < 4; k++) {
+            assertVectorEquals(10.0f, 20.0f, batch.getX(k), batch.getY(k));
+            assertEquals(100.0f, speedOf(batch, k), 1e-3f);
+        }
+    }
+
+    @Test
+    void testSpreadIsCentredOnAim() {
+        SpawnBatch batch = new SpawnBatch(8);
+        float aim = 1.0f;
+        BulletPattern.spread(5, 0.8f).emit(batch, 0.0f, 0.0f, aim, 50.0f);
+        assertEquals(aim - 0.4f, angleOf(batch, 0), 1e-5f);
+        assertEquals(aim, angleOf(batch, 2), 1e-5f);
+        assertEquals(aim + 0.4f, angleOf(batch, 4), 1e-5f);
+
+        batch.clear();
+        BulletPattern.spread(1, 0.8f).emit(batch, 0.0f, 0.0f, aim, 50.0f);
+        assertEquals(aim, angleOf(batch, 0), 1e-5f);
+    }
+
+    @Test
+    void testSpiralTurnsEachVolley() {
+        SpawnBatch batch = new SpawnBatch(16);
+        BulletPattern spiral = BulletPattern.spiral(3, 0.25f);
+        spiral.emit(batch, 0.0f, 0.0f, 0.0f, 10.0f);
+        spiral.emit(batch, 0.0f, 0.0f, 0.0f, 10.0f);
+        assertEquals(6, batch.size());
+        assertEquals(0.0f, angleOf(batch, 0), 1e-5f);
+        assertEquals(0.25f, angleOf(batch, 3), 1e-5f);
+        assertEquals(3, spiral.size());
+    }
+
+    @Test
+    void testVolleyMustFit() {
+        SpawnBatch batch = new SpawnBatch(5);
+        batch.add(0.0f, 0.0f, 0.0f, 0.0f);
+        assertThrows(IllegalStateException.class, () -> BulletPattern.ring(5).emit(batch, 0.0f, 0.0f, 0.0f, 1.0f));
+        assertEquals(1, batch.size(), "Nothing added");
+        assertThrows(IllegalArgumentException.class, () -> BulletPattern.ring(0));
+    }
+}
@@ -0,0 +1,176 @@
+package com.bulletstream.core.replay;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.net.protocol.AdminCommand;
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.core.pattern.BulletPattern;
+import com.bulletstream.core.system.CollisionSystem;
+import com.bulletstream.core.system.InputSystem;
+import com.bulletstream.core.system.SimulationStep;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTest extends StrictUnitTest {
+    private static final int CAPACITY = 1024;
+    private static final float WORLD = 1024.0f;
+    private static final float DT = 1.0f / 60.0f;
+    private static final int PLAYERS = 16;
+    private static final int TICKS = 200;
+
+    @TempDir
+    Path dir;
+
+    private static SimulationStep newStep() {
+        GameWorld world = new GameWorld(CAPACITY);
+        InputSystem inputs = new InputSystem(CAPACITY, PLAYERS, BulletPattern.ring(3), 100.0f, 300.0f, 2.0f, 5);
+        CollisionSystem collisions = new CollisionSystem(new SpatialHash(WORLD, WORLD, CAPACITY), CAPACITY);
+        return new SimulationStep(world, inputs, collisions, null, WORLD, WORLD);
+    }
+
+    /**
+     * Players join, wander and shoot at each other; one leaves halfway. Returns the final hash.
+     */
+    private static long recordSession(ReplayRecorder recorder) {
+        SimulationStep step = newStep();
+        GameWorld world = step.getWorld();
+        int[] players = new int[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            float x = 200.0f + i % 4 * 150.0f;
+            float y = 200.0f + i / 4 * 150.0f;
+            players[i] = world.spawnEntity(x, y, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+            world.setRadius(world.indexOf(players[i]), 10.0f);
+            recorder.recordSpawn(players[i], x, y, 0.0f, 0.0f, GameWorld.FLAG_PLAYER, 10.0f);
+        }
+        for (long tick = 0; tick < TICKS; tick++) {
+            for (int i = 0; i < PLAYERS; i++) {
+                if (!world.isActive(players[i])) {
+                    continue;
+                }
+                byte mask = (byte) ((1 << ((tick / 20 + i) & 3)) | (i % 3 == 0 ? InputPayload.INPUT_SHOOT : 0));
+                float angle = tick * 0.1f + i;
+                world.applyInput(players[i], tick, mask, angle);
+                recorder.recordInput(players[i], tick, mask, angle);
+            }
+            if (tick == TICKS / 2) {
+                world.despawnEntity(players[5]);
+                recorder.recordDespawn(players[5]);
+                recorder.recordAdmin(AdminCommand.TYPE_SET_TIME_SCALE, 0.5f);
+            }
+            float dt = tick > TICKS / 2 ? DT * 0.5f : DT;
+            step.run(tick, dt);
+            recorder.endTick(tick, dt, world);
+        }
+        return world.stateHash();
+    }
+
+    @Test
+    void testReplayReproducesSession() throws IOException {
+        Path file = dir.resolve("session.replay");
+        long finalHash;
+        long written;
+        // A small window forces the recorder to map several windows
+        try (ReplayRecorder recorder = new ReplayRecorder(file, CAPACITY, 10, 4096)) {
+            finalHash = recordSession(recorder);
+            written = recorder.getBytesWritten();
+            assertEquals(TICKS, recorder.getTicks());
+        }
+        assertEquals(written, Files.size(file), "Cut to the bytes written");
+
+        ReplayPlayer player = new ReplayPlayer(file);
+        assertEquals(CAPACITY, player.getMaxEntities());
+        SimulationStep step = newStep();
+        assertEquals(TICKS, player.play(step));
+        assertEquals(TICKS / 10, player.getHashChecks());
+        assertEquals(0, player.getMismatches());
+        assertEquals(-1L, player.getFirstMismatchTick());
+        assertEquals(1, player.getAdminCommands());
+        assertTrue(player.getInputs() > 0);
+        assertEquals(finalHash, step.getWorld().stateHash());
+        assertTrue(step.getWorld().getActiveCount() > PLAYERS, "Bullets in flight");
+
+        // The same log plays again into another world
+        assertEquals(TICKS, player.play(newStep()));
+        assertEquals(0, player.getMismatches());
+    }
+
+    @Test
+    void testTamperedInputIsCaughtByHash() throws IOException {
+        Path file = dir.resolve("tampered.replay");
+        try (ReplayRecorder recorder = new ReplayRecorder(file, CAPACITY, 10)) {
+            recordSession(recorder);
+        }
+        // Reverse the movement keys of the first input after tick 50
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_WRITE, 0L, channel.size());
+            int offset = ReplayLog.HEADER_BYTES;
+            long ticks = 0;
+            while (true) {
+                byte type = data.get(offset);
+                if (type == ReplayLog.TYPE_INPUT && ticks > 50) {
+                    int maskAt = offset + 1 + Integer.BYTES + Long.BYTES;
+                    data.put(maskAt, (byte) (data.get(maskAt) ^ 0x0F));
+                    break;
+                }
+                if (type == ReplayLog.TYPE_TICK) {
+                    ticks++;
+                }
+                offset += switch (type) {
+                    case ReplayLog.TYPE_INPUT -> ReplayLog.INPUT_BYTES;
+                    case ReplayLog.TYPE_ADMIN -> ReplayLog.ADMIN_BYTES;
+                    case ReplayLog.TYPE_SPAWN -> ReplayLog.SPAWN_BYTES;
+                    case ReplayLog.TYPE_DESPAWN -> ReplayLog.DESPAWN_BYTES;
+                    case ReplayLog.TYPE_TICK -> ReplayLog.TICK_BYTES;
+                    default -> ReplayLog.HASH_BYTES;
+                };
+            }
+        }
+        ReplayPlayer player = new ReplayPlayer(file);
+        assertEquals(TICKS, player.play(newStep()));
+        assertTrue(player.getMismatches() > 0);
+        assertTrue(player.getFirstMismatchTick() > 50, "Diverges only after the edit");
+    }
+
+    @Test
+    void testUnclosedLogReplaysWhatWasWritten() throws IOException {
+        Path file = dir.resolve("crashed.replay");
+        ReplayRecorder recorder = new ReplayRecorder(file, CAPACITY, 10, 4096);
+        recordSession(recorder);
+        // No close(): the file still ends in zero-filled mapped space
+        assertTrue(Files.size(file) > recorder.getBytesWritten());
+
+        ReplayPlayer player = new ReplayPlayer(file);
+        assertEquals(TICKS, player.play(newStep()));
+        assertEquals(0, player.getMismatches());
+        recorder.close();
+    }
+
+    @Test
+    void testRejectsForeignFilesAndWrongWorld() throws IOException {
+        Path junk = dir.resolve("junk.bin");
+        Files.write(junk, new byte[64]);
+        assertThrows(IOException.class, () -> new ReplayPlayer(junk));
+
+        Path file = dir.resolve("empty.replay");
+        try (ReplayRecorder recorder = new ReplayRecorder(file, CAPACITY, 0)) {
+            assertEquals(ReplayLog.HEADER_BYTES, recorder.getBytesWritten());
+        }
+        ReplayPlayer player = new ReplayPlayer(file);
+        assertEquals(0, player.play(newStep()));
+
+        SimulationStep used = newStep();
+        used.getWorld().spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        assertThrows(IllegalArgumentException.class, () -> player.play(used));
+        assertThrows(IllegalArgumentException.class, () -> new ReplayRecorder(file, 0, 10));
+    }
+}
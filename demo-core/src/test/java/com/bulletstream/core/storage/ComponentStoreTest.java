@@ -0,0 +1,94 @@
+package com.bulletstream.core.storage;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.Integrator;
+import com.bulletstream.core.WorldFixtures;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+import static com.bulletstream.core.WorldFixtures.assertSameWorld;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentStoreTest extends StrictUnitTest {
+
+    private static final int CAPACITY = 1000;
+
+    /**
+     * Same populate/despawn/update script against a world on the given store.
+     */
+    private static GameWorld script(ComponentStore store, boolean sparse) {
+        GameWorld world = WorldFixtures.populate(new GameWorld(store), CAPACITY);
+        if (sparse) {
+            WorldFixtures.thin(world, 10);
+        }
+        for (int t = 0; t < 10; t++) {
+            world.update(1.0f / 60.0f);
+        }
+        return world;
+    }
+
+    @Test
+    void testOffHeapMatchesHeapDense() {
+        assertSameWorld(script(new HeapComponentStore(CAPACITY), false),
+                        script(new OffHeapComponentStore(CAPACITY), false));
+    }
+
+    @Test
+    void testOffHeapMatchesHeapSparse() {
+        assertSameWorld(script(new HeapComponentStore(CAPACITY), true),
+                        script(new OffHeapComponentStore(CAPACITY), true));
+    }
+
+    @Test
+    void testOffHeapStartsZeroedAndBoundsChecked() {
+        OffHeapComponentStore store = new OffHeapComponentStore(3);
+        assertEquals(3, store.capacity());
+        assertEquals(0, store.getEntityId(2));
+        assertEquals(0L, store.getInputTick(2));
+        assertEquals(0.0f, store.getPositionY(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getPositionX(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.setFlags(-1, (byte) 1));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapComponentStore(-1));
+    }
+
+    @Test
+    void testSegmentKernelsAreBitIdentical() {
+        int n = 103; // Not a multiple of any lane count: exercises the scalar tail
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment[] simd = columns(arena, n);
+            MemorySegment[] scalar = columns(arena, n);
+            Integrator.integrate(simd[0], simd[1], simd[2], simd[3], simd[4], 0, n, 0.016f);
+            Integrator.integrateScalar(scalar[0], scalar[1], scalar[2], scalar[3], scalar[4], 0, n, 0.016f);
+            assertEquals(-1L, simd[0].mismatch(scalar[0]));
+            assertEquals(-1L, simd[1].mismatch(scalar[1]));
+            // Inactive entities were not moved
+            assertEquals(1.0f, simd[0].getAtIndex(ValueLayout.JAVA_FLOAT, 1));
+        }
+    }
+
+    private static MemorySegment[] columns(Arena arena, int n) {
+        MemorySegment[] columns = new MemorySegment[5];
+        for (int c = 0; c < 4; c++) {
+            columns[c] = arena.allocate((long) n * Float.BYTES, OffHeapComponentStore.COLUMN_ALIGNMENT);
+            for (int i = 0; i < n; i++) {
+                columns[c].setAtIndex(ValueLayout.JAVA_FLOAT, i, c < 2 ? i : i * 0.5f - 7.0f);
+            }
+        }
+        columns[4] = arena.allocate(n);
+        for (int i = 0; i < n; i++) {
+            columns[4].set(ValueLayout.JAVA_BYTE, i, i % 2 == 0 ? GameWorld.FLAG_ACTIVE : 0);
+        }
+        return columns;
+    }
+
+    @Test
+    void testForName() {
+        assertInstanceOf(HeapComponentStore.class, ComponentStore.forName("heap", 4));
+        assertInstanceOf(OffHeapComponentStore.class, ComponentStore.forName("offheap", 4));
+        assertThrows(IllegalArgumentException.class, () -> ComponentStore.forName("disk", 4));
+    }
+}
@@ -0,0 +1,201 @@
+package com.bulletstream.core.system;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.history.PositionHistory;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollisionSystemTest extends StrictUnitTest {
+
+    private GameWorld world;
+    private CollisionSystem collisions;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld(100);
+        collisions = new CollisionSystem(new SpatialHash(1000.0f, 1000.0f, 100), 16);
+    }
+
+    @Test
+    void testBulletHitsEnemy() {
+        int enemy = spawn(100.0f, 100.0f, GameWorld.FLAG_ENEMY, 10.0f, 0);
+        int bullet = spawn(108.0f, 100.0f, GameWorld.FLAG_BULLET, 2.0f, 0);
+
+        assertEquals(1, collisions.update(world));
+
+        ContactBuffer contacts = collisions.getContacts();
+        assertEquals(world.indexOf(bullet), contacts.getBullet(0));
+        assertEquals(world.indexOf(enemy), contacts.getTarget(0));
+    }
+
+    @Test
+    void testBulletMissesJustOutsideRadius() {
+        spawn(100.0f, 100.0f, GameWorld.FLAG_PLAYER, 10.0f, 0);
+        spawn(112.1f, 100.0f, GameWorld.FLAG_BULLET, 2.0f, 0);
+
+        assertEquals(0, collisions.update(world));
+    }
+
+    @Test
+    void testTouchingRadiiCountAsHit() {
+        spawn(100.0f, 100.0f, GameWorld.FLAG_PLAYER, 10.0f, 0);
+        spawn(112.0f, 100.0f, GameWorld.FLAG_BULLET, 2.0f, 0);
+
+        assertEquals(1, collisions.update(world));
+    }
+
+    @Test
+    void testHitAcrossCellBoundary() {
+        // Cell size is 64: target in cell (0,0), bullet in cell (1,0)
+        spawn(60.0f, 30.0f, GameWorld.FLAG_ENEMY, 8.0f, 0);
+        spawn(66.0f, 30.0f, GameWorld.FLAG_BULLET, 1.0f, 0);
+
+        assertEquals(1, collisions.update(world));
+    }
+
+    @Test
+    void testBulletIgnoresOwner() {
+        int player = spawn(100.0f, 100.0f, GameWorld.FLAG_PLAYER, 10.0f, 0);
+        spawn(100.0f, 100.0f, GameWorld.FLAG_BULLET, 2.0f, player);
+
+        assertEquals(0, collisions.update(world));
+    }
+
+    @Test
+    void testBulletHitsOtherPlayerButNotOwner() {
+        int owner = spawn(100.0f, 100.0f, GameWorld.FLAG_PLAYER, 10.0f, 0);
+        int other = spawn(104.0f, 100.0f, GameWorld.FLAG_PLAYER, 10.0f, 0);
+        spawn(102.0f, 100.0f, GameWorld.FLAG_BULLET, 2.0f, owner);
+
+        assertEquals(1, collisions.update(world));
+        assertEquals(world.indexOf(other), collisions.getContacts().getTarget(0));
+    }
+
+    @Test
+    void testStaleOwnerIdDoesNotShieldRecycledIndex() {
+        int owner = spawn(100.0f, 100.0f, GameWorld.FLAG_PLAYER, 10.0f, 0);
+        world.despawnEntity(owner);
+        // Same index, new generation
+        spawn(100.0f, 100.0f, GameWorld.FLAG_PLAYER, 10.0f, 0);
+        spawn(100.0f, 100.0f, GameWorld.FLAG_BULLET, 2.0f, owner);
+
+        assertEquals(1, collisions.update(world));
+    }
+
+    @Test
+    void testBulletsDoNotCollideWithBullets() {
+        spawn(100.0f, 100.0f, GameWorld.FLAG_BULLET, 5.0f, 0);
+        spawn(100.0f, 100.0f, GameWorld.FLAG_BULLET, 5.0f, 0);
+
+        assertEquals(0, collisions.update(world));
+    }
+
+    @Test
+    void testDespawnedEntitiesIgnored() {
+        int enemy = spawn(100.0f, 100.0f, GameWorld.FLAG_ENEMY, 10.0f, 0);
+        int bullet = spawn(100.0f, 100.0f, GameWorld.FLAG_BULLET, 2.0f, 0);
+        assertEquals(1, collisions.update(world));
+
+        world.despawnEntity(enemy);
+        assertEquals(0, collisions.update(world));
+
+        spawn(100.0f, 100.0f, GameWorld.FLAG_ENEMY, 10.0f, 0);
+        world.despawnEntity(bullet);
+        assertEquals(0, collisions.update(world));
+    }
+
+    @Test
+    void testContactOverflowIsCountedNotThrown() {
+        spawn(100.0f, 100.0f, GameWorld.FLAG_ENEMY, 10.0f, 0);
+        for (int i = 0; i < 20; i++) {
+            spawn(100.0f, 100.0f, GameWorld.FLAG_BULLET, 1.0f, 0);
+        }
+
+        assertEquals(16, collisions.update(world));
+        assertEquals(4, collisions.getContacts().getDropped());
+
+        // Next tick starts from an empty buffer
+        world.despawnEntity(world.getEntityId(0));
+        assertEquals(0, collisions.update(world));
+        assertEquals(0, collisions.getContacts().getDropped());
+    }
+
+    @Test
+    void testLagCompensatedHitUsesShooterViewTick() {
+        PositionHistory history = new PositionHistory(8, 100);
+        collisions.setLagCompensation(history);
+        int target = spawn(100.0f, 100.0f, GameWorld.FLAG_PLAYER, 10.0f, 0);
+        world.setVelocity(world.indexOf(target), 40.0f, 0.0f);
+        int lagging = spawn(500.0f, 500.0f, GameWorld.FLAG_PLAYER, 10.0f, 0);
+        int silent = spawn(700.0f, 500.0f, GameWorld.FLAG_PLAYER, 10.0f, 0);
+        for (long tick = 0; tick < 4; tick++) {
+            if (tick > 0) {
+                world.update(1.0f);
+            }
+            history.record(world, tick);
+        }
+        // Target is at x=220 now; the lagging shooter last saw tick 1 (x=140)
+        world.applyInput(lagging, 1L, (byte) 0, 0.0f);
+        int bullet = spawn(140.0f, 100.0f, GameWorld.FLAG_BULLET, 2.0f, lagging);
+
+        assertEquals(0, collisions.update(world), "Misses the present target");
+        assertEquals(1, collisions.update(world, history));
+        assertEquals(world.indexOf(bullet), collisions.getContacts().getBullet(0));
+        assertEquals(world.indexOf(target), collisions.getContacts().getTarget(0));
+
+        // Same spot, but the shooter has no view tick: tested against the present
+        world.despawnEntity(bullet);
+        spawn(140.0f, 100.0f, GameWorld.FLAG_BULLET, 2.0f, silent);
+        assertEquals(0, collisions.update(world, history));
+    }
+
+    @Test
+    void testLagCompensationClampsToHistoryAndSkipsUnbornTargets() {
+        PositionHistory history = new PositionHistory(2, 100);
+        collisions.setLagCompensation(history);
+        int shooter = spawn(500.0f, 500.0f, GameWorld.FLAG_PLAYER, 10.0f, 0);
+        history.record(world, 0L);
+        int target = spawn(100.0f, 100.0f, GameWorld.FLAG_ENEMY, 10.0f, 0);
+        history.record(world, 1L);
+        spawn(100.0f, 100.0f, GameWorld.FLAG_BULLET, 2.0f, shooter);
+
+        world.applyInput(shooter, 0L, (byte) 0, 0.0f);
+        assertEquals(0, collisions.update(world, history), "Target did not exist at tick 0");
+        world.applyInput(shooter, 1L, (byte) 0, 0.0f);
+        assertEquals(1, collisions.update(world, history));
+        assertEquals(world.indexOf(target), collisions.getContacts().getTarget(0));
+
+        // Tick 0 has been evicted: an older view is capped at the oldest frame (tick 1)
+        history.record(world, 2L);
+        world.applyInput(shooter, 0L, (byte) 0, 0.0f);
+        assertEquals(1, collisions.update(world, history));
+    }
+
+    @Test
+    void testEmptyHistoryFallsBackToPresent() {
+        spawn(100.0f, 100.0f, GameWorld.FLAG_ENEMY, 10.0f, 0);
+        spawn(105.0f, 100.0f, GameWorld.FLAG_BULLET, 2.0f, 0);
+        assertEquals(1, collisions.update(world, new PositionHistory(4, 100)));
+    }
+
+    @Test
+    void testLagCompensationRequiresSizedHistory() {
+        PositionHistory history = new PositionHistory(4, 100);
+        history.record(world, 0L);
+        assertThrows(IllegalStateException.class, () -> collisions.update(world, history));
+        collisions.setLagCompensation(history);
+        assertEquals(0, collisions.update(world, history));
+    }
+
+    private int spawn(float x, float y, byte entityFlags, float radius, int ownerId) {
+        int entityId = world.spawnEntity(x, y, 0.0f, 0.0f, entityFlags);
+        int index = world.indexOf(entityId);
+        world.setRadius(index, radius);
+        world.setOwnerId(index, ownerId);
+        return entityId;
+    }
+}
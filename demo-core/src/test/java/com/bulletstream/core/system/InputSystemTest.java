@@ -0,0 +1,135 @@
+package com.bulletstream.core.system;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.core.pattern.BulletPattern;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputSystemTest extends StrictUnitTest {
+    private static final float SPEED = 100.0f;
+    private static final float DIAGONAL = (float) (SPEED / Math.sqrt(2.0));
+
+    private static InputSystem newSystem(int maxShots, BulletPattern pattern, int fireInterval) {
+        return new InputSystem(64, maxShots, pattern, SPEED, 300.0f, 2.0f, fireInterval);
+    }
+
+    private static void assertVelocity(GameWorld world, int id, float vx, float vy) {
+        int index = world.indexOf(id);
+        assertEquals(vx, world.getVelocityX(index), 1e-4f);
+        assertEquals(vy, world.getVelocityY(index), 1e-4f);
+    }
+
+    @Test
+    void testDirectionBitsSetVelocity() {
+        GameWorld world = new GameWorld(64);
+        InputSystem system = newSystem(8, BulletPattern.spread(1, 0.0f), 1);
+        int up = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        int downRight = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        int cancelled = world.spawnEntity(0.0f, 0.0f, 5.0f, 5.0f, GameWorld.FLAG_PLAYER);
+        int idle = world.spawnEntity(0.0f, 0.0f, 5.0f, 5.0f, GameWorld.FLAG_PLAYER);
+        int bullet = world.spawnEntity(0.0f, 0.0f, 7.0f, 0.0f, GameWorld.FLAG_BULLET);
+        world.applyInput(up, 1L, InputPayload.INPUT_UP, 0.0f);
+        world.applyInput(downRight, 1L, (byte) (InputPayload.INPUT_DOWN | InputPayload.INPUT_RIGHT), 0.0f);
+        world.applyInput(cancelled, 1L, (byte) (InputPayload.INPUT_LEFT | InputPayload.INPUT_RIGHT
+                                                | InputPayload.INPUT_UP), 0.0f);
+
+        assertEquals(0, system.update(world, 0L));
+        assertVelocity(world, up, 0.0f, -SPEED);
+        assertVelocity(world, downRight, DIAGONAL, DIAGONAL);
+        assertVelocity(world, cancelled, 0.0f, -SPEED);
+        assertVelocity(world, idle, 0.0f, 0.0f);
+        assertVelocity(world, bullet, 7.0f, 0.0f); // Not a player: untouched
+    }
+
+    @Test
+    void testShotsSpawnOwnedBulletsAtFireInterval() {
+        GameWorld world = new GameWorld(64);
+        InputSystem system = newSystem(8, BulletPattern.spread(1, 0.0f), 3);
+        int shooter = world.spawnEntity(10.0f, 20.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        world.applyInput(shooter, 1L, InputPayload.INPUT_SHOOT, (float) (Math.PI / 2.0));
+
+        assertEquals(1, system.update(world, 0L));
+        FireBuffer shots = system.getShots();
+        assertEquals(shooter, shots.getShooter(0));
+        assertVectorEquals(10.0f, 20.0f, shots.getX(0), shots.getY(0));
+        assertEquals(1, system.spawnShots(world));
+        assertEquals(2, world.getActiveCount());
+
+        int bullet = world.getActiveIndex(1);
+        assertEquals(GameWorld.FLAG_BULLET | GameWorld.FLAG_ACTIVE, world.getFlags(bullet));
+        assertEquals(shooter, world.getOwnerId(bullet));
+        assertEquals(2.0f, world.getRadius(bullet));
+        assertEquals(0.0f, world.getVelocityX(bullet), 1e-3f);
+        assertEquals(300.0f, world.getVelocityY(bullet), 1e-3f);
+
+        // Held trigger: ticks 1 and 2 are inside the interval, tick 3 fires again
+        assertEquals(0, system.update(world, 1L));
+        assertEquals(0, system.spawnShots(world));
+        assertEquals(0, system.update(world, 2L));
+        assertEquals(1, system.update(world, 3L));
+    }
+
+    @Test
+    void testRespawnInRecycledIndexFiresImmediately() {
+        GameWorld world = new GameWorld(64);
+        InputSystem system = newSystem(8, BulletPattern.spread(1, 0.0f), 10);
+        int first = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        world.applyInput(first, 1L, InputPayload.INPUT_SHOOT, 0.0f);
+        assertEquals(1, system.update(world, 0L));
+
+        world.despawnEntity(first);
+        int rejoined = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        assertEquals(world.indexOf(first), world.indexOf(rejoined));
+        world.applyInput(rejoined, 1L, InputPayload.INPUT_SHOOT, 0.0f);
+
+        // Inside the previous occupant's interval, but this is a new player
+        assertEquals(1, system.update(world, 1L));
+        assertEquals(rejoined, system.getShots().getShooter(0));
+        assertEquals(0, system.update(world, 2L));
+    }
+
+    @Test
+    void testPatternVolleysAndDroppedShots() {
+        GameWorld world = new GameWorld(64);
+        InputSystem system = newSystem(2, BulletPattern.ring(4), 1);
+        int[] players = new int[3];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = world.spawnEntity(i, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+            world.applyInput(players[i], 1L, InputPayload.INPUT_SHOOT, 0.0f);
+        }
+        assertEquals(2, system.update(world, 0L));
+        assertEquals(1, system.getShots().getDropped());
+        assertEquals(8, system.spawnShots(world));
+
+        int[] owned = new int[players.length];
+        for (int s = 0; s < world.getActiveCount(); s++) {
+            int index = world.getActiveIndex(s);
+            if ((world.getFlags(index) & GameWorld.FLAG_BULLET) != 0) {
+                int owner = world.getOwnerId(index);
+                owned[owner == players[0] ? 0 : owner == players[1] ? 1 : 2]++;
+            }
+        }
+        assertArrayEquals(new int[] {4, 4, 0}, owned);
+    }
+
+    @Test
+    void testFullWorldSpawnsWhatFits() {
+        GameWorld world = new GameWorld(3);
+        InputSystem system = newSystem(4, BulletPattern.ring(4), 1);
+        int player = world.spawnEntity(0.0f, 0.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        world.applyInput(player, 1L, InputPayload.INPUT_SHOOT, 0.0f);
+        system.update(world, 0L);
+        assertEquals(2, system.spawnShots(world));
+        assertEquals(3, world.getActiveCount());
+    }
+
+    @Test
+    void testRejectsBadSizes() {
+        BulletPattern single = BulletPattern.spread(1, 0.0f);
+        assertThrows(IllegalArgumentException.class, () -> newSystem(0, single, 1));
+        assertThrows(IllegalArgumentException.class, () -> newSystem(4, single, 0));
+    }
+}
@@ -0,0 +1,113 @@
+package com.bulletstream.core.system;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.WorldFixtures;
+import com.bulletstream.core.util.StripeRunner;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static com.bulletstream.core.WorldFixtures.assertSameWorld;
+import static com.bulletstream.core.WorldFixtures.populate;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTickTest extends StrictUnitTest {
+
+    private static final int ENTITIES = 4000;
+    private static final float WORLD_SIZE = WorldFixtures.WORLD_SIZE;
+
+    private ForkJoinPool pool;
+    private StripeRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        runner = new StripeRunner(pool, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testParallelUpdateIsBitIdentical() {
+        GameWorld serial = populate(new GameWorld(ENTITIES), ENTITIES);
+        GameWorld parallel = populate(new GameWorld(ENTITIES), ENTITIES);
+
+        for (int step = 0; step < 10; step++) {
+            serial.update(0.016f);
+            parallel.update(0.016f, runner);
+        }
+
+        assertSameWorld(serial, parallel);
+    }
+
+    @Test
+    void testParallelUpdateIsBitIdenticalWhenSparse() {
+        GameWorld serial = populate(new GameWorld(ENTITIES), ENTITIES);
+        GameWorld parallel = populate(new GameWorld(ENTITIES), ENTITIES);
+        // Despawn 3 of every 4 so update walks the dense active set
+        WorldFixtures.thin(serial, 4);
+        WorldFixtures.thin(parallel, 4);
+
+        for (int step = 0; step < 10; step++) {
+            serial.update(0.016f);
+            parallel.update(0.016f, runner);
+        }
+
+        assertSameWorld(serial, parallel);
+    }
+
+    @Test
+    void testParallelContactsMatchSerialOrder() {
+        GameWorld world = populate(new GameWorld(ENTITIES), ENTITIES);
+        CollisionSystem serial = new CollisionSystem(new SpatialHash(WORLD_SIZE, WORLD_SIZE, ENTITIES), ENTITIES);
+        CollisionSystem parallel = new CollisionSystem(
+                new SpatialHash(WORLD_SIZE, WORLD_SIZE, ENTITIES), ENTITIES, runner);
+
+        int expected = serial.update(world);
+        assertTrue(expected > 0, "fixture should produce contacts");
+        assertEquals(expected, parallel.update(world));
+
+        ContactBuffer a = serial.getContacts();
+        ContactBuffer b = parallel.getContacts();
+        for (int c = 0; c < expected; c++) {
+            assertEquals(a.getBullet(c), b.getBullet(c), "bullet at " + c);
+            assertEquals(a.getTarget(c), b.getTarget(c), "target at " + c);
+        }
+    }
+
+    @Test
+    void testParallelOverflowTruncatesLikeSerial() {
+        GameWorld world = populate(new GameWorld(ENTITIES), ENTITIES);
+        CollisionSystem serial = new CollisionSystem(new SpatialHash(WORLD_SIZE, WORLD_SIZE, ENTITIES), 8);
+        CollisionSystem parallel = new CollisionSystem(new SpatialHash(WORLD_SIZE, WORLD_SIZE, ENTITIES), 8, runner);
+
+        assertEquals(serial.update(world), parallel.update(world));
+        assertEquals(serial.getContacts().getDropped(), parallel.getContacts().getDropped());
+        for (int c = 0; c < 8; c++) {
+            assertEquals(serial.getContacts().getBullet(c), parallel.getContacts().getBullet(c));
+        }
+    }
+
+    @Test
+    void testSliceStartCoversRangeExactly() {
+        assertEquals(0, StripeRunner.sliceStart(10, 0, 3));
+        assertEquals(3, StripeRunner.sliceStart(10, 1, 3));
+        assertEquals(6, StripeRunner.sliceStart(10, 2, 3));
+        assertEquals(10, StripeRunner.sliceStart(10, 3, 3));
+        // Fewer items than stripes: some slices are empty
+        assertEquals(0, StripeRunner.sliceStart(2, 1, 4));
+        assertEquals(2, StripeRunner.sliceStart(2, 4, 4));
+    }
+
+    @Test
+    void testInvalidStripeCountRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new StripeRunner(pool, 0));
+    }
+}
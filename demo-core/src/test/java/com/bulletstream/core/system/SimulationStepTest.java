@@ -0,0 +1,49 @@
+package com.bulletstream.core.system;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.core.pattern.BulletPattern;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationStepTest extends StrictUnitTest {
+    private GameWorld world;
+    private SimulationStep step;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld(64);
+        InputSystem inputs = new InputSystem(64, 8, BulletPattern.spread(1, 0.0f), 100.0f, 500.0f, 2.0f, 1);
+        CollisionSystem collisions = new CollisionSystem(new SpatialHash(1000.0f, 1000.0f, 64), 64);
+        step = new SimulationStep(world, inputs, collisions, null, 1000.0f, 1000.0f);
+    }
+
+    @Test
+    void testShotTravelsAndIsSpentOnHit() {
+        int shooter = world.spawnEntity(100.0f, 100.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        int target = world.spawnEntity(150.0f, 100.0f, 0.0f, 0.0f, GameWorld.FLAG_ENEMY);
+        world.setRadius(world.indexOf(target), 10.0f);
+        world.applyInput(shooter, 0L, InputPayload.INPUT_SHOOT, 0.0f);
+
+        assertEquals(0, step.run(0L, 0.05f), "Bullet spawned and moved 25 units");
+        assertEquals(3, world.getActiveCount());
+        world.applyInput(shooter, 1L, (byte) 0, 0.0f);
+        assertEquals(1, step.run(1L, 0.05f), "Reaches the target at x=150");
+        assertEquals(2, world.getActiveCount(), "Spent bullet despawned in the same tick");
+        assertTrue(world.isActive(target));
+    }
+
+    @Test
+    void testBulletsLeavingTheWorldAreRetired() {
+        int bullet = world.spawnEntity(990.0f, 500.0f, 500.0f, 0.0f, GameWorld.FLAG_BULLET);
+        step.run(0L, 0.01f);
+        assertTrue(world.isActive(bullet));
+        step.run(1L, 0.05f);
+        assertFalse(world.isActive(bullet));
+        assertEquals(0, world.getActiveCount());
+    }
+}
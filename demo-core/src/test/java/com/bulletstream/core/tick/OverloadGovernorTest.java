@@ -0,0 +1,59 @@
+package com.bulletstream.core.tick;
+
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverloadGovernorTest extends StrictUnitTest {
+
+    /**
+     * Feed one window (a second of ticks) at {@code load} of the budget.
+     */
+    private static int runWindow(OverloadGovernor governor, int rate, int target, double load) {
+        long dt = 1_000_000_000L / rate;
+        int next = rate;
+        for (int i = 0; i < rate; i++) {
+            next = governor.onTick((long) (dt * load), dt, rate, target);
+            if (i < rate - 1) {
+                assertEquals(rate, next, "Decides only at the end of a window");
+            }
+        }
+        return next;
+    }
+
+    @Test
+    void testOverloadStepsDownToFloor() {
+        OverloadGovernor governor = new OverloadGovernor(20);
+        int rate = 60;
+        rate = runWindow(governor, rate, 60, 1.2);
+        assertEquals(45, rate);
+        rate = runWindow(governor, rate, 60, 1.2);
+        assertEquals(34, rate);
+        rate = runWindow(governor, rate, 60, 1.2);
+        rate = runWindow(governor, rate, 60, 1.2);
+        assertEquals(20, rate);
+        assertEquals(20, runWindow(governor, rate, 60, 1.2), "Never below the floor");
+    }
+
+    @Test
+    void testRecoversTowardsTargetOnly() {
+        OverloadGovernor governor = new OverloadGovernor(20);
+        assertEquals(37, runWindow(governor, 30, 60, 0.2));
+        assertEquals(60, runWindow(governor, 50, 60, 0.2), "Capped at the target");
+        assertEquals(60, runWindow(governor, 60, 60, 0.2), "Never above the target");
+        assertEquals(40, runWindow(governor, 40, 60, 0.7), "Between the marks: hold");
+    }
+
+    @Test
+    void testResetStartsFreshWindow() {
+        OverloadGovernor governor = new OverloadGovernor(20);
+        long dt = 1_000_000_000L / 60;
+        for (int i = 0; i < 59; i++) {
+            governor.onTick(dt * 2, dt, 60, 60);
+        }
+        governor.reset();
+        assertEquals(60, runWindow(governor, 60, 60, 0.7));
+        assertThrows(IllegalArgumentException.class, () -> new OverloadGovernor(20, 0.5, 0.9));
+    }
+}
@@ -0,0 +1,74 @@
+package com.bulletstream.core.tick;
+
+import com.bulletstream.core.net.protocol.AdminCommand;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickControlTest extends StrictUnitTest {
+
+    @Test
+    void testCommandsApplyOnlyBetweenTicks() {
+        TickControl control = new TickControl(60);
+        assertTrue(control.offer(AdminCommand.TYPE_SET_TICK_RATE, 30.0f));
+        assertTrue(control.offer(AdminCommand.TYPE_SET_TIME_SCALE, 0.5f));
+        assertEquals(60, control.getTickRate(), "Queued, not applied");
+
+        assertEquals(2, control.applyPending());
+        assertEquals(30, control.getTickRate());
+        assertEquals(30, control.getTargetTickRate());
+        assertEquals(1_000_000_000L / 30, control.getDtNanos());
+        assertEquals(0.5f / 30, control.getStepSeconds(), 1e-6f);
+        assertEquals(0, control.applyPending());
+    }
+
+    @Test
+    void testInvalidCommandsAreRejected() {
+        TickControl control = new TickControl(60);
+        control.offer(AdminCommand.TYPE_SET_TICK_RATE, 1_000.0f);
+        control.offer(AdminCommand.TYPE_SET_TICK_RATE, 29.5f);
+        control.offer(AdminCommand.TYPE_SET_TIME_SCALE, -1.0f);
+        control.offer(AdminCommand.TYPE_SET_TIME_SCALE, Float.NaN);
+        control.offer(99, 1.0f);
+        control.offer(AdminCommand.TYPE_SET_TIME_SCALE, 0.0f);
+
+        assertEquals(1, control.applyPending());
+        assertEquals(5, control.getRejectedCount());
+        assertEquals(60, control.getTickRate());
+        assertEquals(0.0f, control.getStepSeconds(), "Time scale 0 pauses the simulation");
+        assertThrows(IllegalArgumentException.class, () -> new TickControl(TickControl.MIN_TICK_RATE - 1));
+    }
+
+    @Test
+    void testGovernorRateChangesKeepTarget() {
+        TickControl control = new TickControl(60);
+        control.setTickRate(45);
+        assertEquals(45, control.getTickRate());
+        assertEquals(60, control.getTargetTickRate());
+    }
+
+    @Test
+    void testFullQueueDropsCommands() {
+        TickControl control = new TickControl(60);
+        int accepted = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (control.offer(AdminCommand.TYPE_SET_TIME_SCALE, 1.0f)) {
+                accepted++;
+            }
+        }
+        assertTrue(accepted < 1_000);
+        assertEquals(1_000 - accepted, control.getRejectedCount());
+        assertEquals(accepted, control.applyPending());
+    }
+
+    @Test
+    void testAccumulatorKeepsTickPhaseAcrossRateChange() {
+        long oldDt = 1_000_000_000L / 60;
+        long newDt = 1_000_000_000L / 30;
+        long half = TickControl.rescaleAccumulator(oldDt / 2, oldDt, newDt);
+        assertEquals(newDt / 2, half, 1);
+        assertTrue(TickControl.rescaleAccumulator(oldDt - 1, oldDt, newDt) < newDt, "Never a whole tick");
+        assertEquals(0L, TickControl.rescaleAccumulator(0L, oldDt, newDt));
+    }
+}
@@ -0,0 +1,66 @@
+package com.bulletstream.core.tick;
+
+import com.bulletstream.core.util.LatencyHistogram;
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickPacerTest extends StrictUnitTest {
+
+    private static final long PERIOD_NANOS = 2_000_000L; // 500 Hz keeps each run short
+    private static final int TICKS = 15;
+
+    @Test
+    void testNoStrategyWakesEarly() {
+        for (String name : new String[] {"sleep", "park", "spin", "hybrid"}) {
+            LatencyHistogram lateness = measure(TickPacer.forName(name), 5);
+            assertEquals(5, lateness.getCount(), name);
+        }
+    }
+
+    @Test
+    void testLatenessDistributions() {
+        LatencyHistogram sleep = measure(new SleepPacer(), TICKS);
+        LatencyHistogram park = measure(new ParkPacer(), TICKS);
+        LatencyHistogram spin = measure(new SpinPacer(), TICKS);
+        LatencyHistogram hybrid = measure(new HybridPacer(), TICKS);
+
+        // Spinning finishes the wait itself; sleep only notices the deadline on its next 1 ms wake-up
+        long sleepMedian = sleep.getValueAtPercentile(50.0);
+        assertTrue(spin.getValueAtPercentile(50.0) < sleepMedian,
+                   "spin p50 " + spin.getValueAtPercentile(50.0) + " vs sleep p50 " + sleepMedian);
+        assertTrue(hybrid.getValueAtPercentile(50.0) < sleepMedian,
+                   "hybrid p50 " + hybrid.getValueAtPercentile(50.0) + " vs sleep p50 " + sleepMedian);
+        assertEquals(TICKS, park.getCount());
+    }
+
+    @Test
+    void testHybridMarginStaysWithinBounds() {
+        HybridPacer pacer = new HybridPacer(10_000L, 500_000L);
+        measure(pacer, TICKS);
+        assertTrue(pacer.getMarginNanos() >= 10_000L && pacer.getMarginNanos() <= 500_000L);
+    }
+
+    @Test
+    void testInvalidConfigurationRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TickPacer.forName("yield"));
+        assertThrows(IllegalArgumentException.class, () -> new HybridPacer(10L, 5L));
+    }
+
+    /**
+     * Run ticks at a fixed rate and record how late each wake-up was; fails on an early wake-up.
+     */
+    private static LatencyHistogram measure(TickPacer pacer, int ticks) {
+        LatencyHistogram lateness = new LatencyHistogram(1_000_000_000L);
+        long deadline = System.nanoTime() + PERIOD_NANOS;
+        for (int i = 0; i < ticks; i++) {
+            pacer.awaitDeadline(deadline);
+            long late = System.nanoTime() - deadline;
+            assertTrue(late >= 0, "woke early by " + -late + " ns");
+            lateness.record(late);
+            deadline += PERIOD_NANOS;
+        }
+        return lateness;
+    }
+}
@@ -0,0 +1,75 @@
+package com.bulletstream.core.util;
+
+import com.bulletstream.test.StrictUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest extends StrictUnitTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram(SECOND);
+        for (long v = 1; v <= 100; v++) {
+            histogram.record(v);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50, histogram.getValueAtPercentile(50.0));
+        assertEquals(99, histogram.getValueAtPercentile(99.0));
+        assertEquals(100, histogram.getValueAtPercentile(100.0));
+        assertEquals(1, histogram.getMin());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    void testLargeValuesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram(SECOND);
+        for (long v = 1; v <= 10_000; v++) {
+            histogram.record(v * 1_000L); // 1us .. 10ms
+        }
+        long p50 = histogram.getValueAtPercentile(50.0);
+        long p99 = histogram.getValueAtPercentile(99.0);
+        assertEquals(5_000_000.0, p50, 5_000_000.0 / 64);
+        assertEquals(9_900_000.0, p99, 9_900_000.0 / 64);
+        assertEquals(10_000_000L, histogram.getMax());
+        assertTrue(p50 >= 5_000_000L, "reported value is the bucket's upper bound");
+    }
+
+    @Test
+    void testBucketBoundsRoundTrip() {
+        for (long v = 0; v < 1 << 20; v += 7) {
+            int index = LatencyHistogram.bucketIndex(v);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= v, "upper bound at " + v);
+            assertTrue(index == 0 || LatencyHistogram.highestEquivalentValue(index - 1) < v, "lower bound at " + v);
+        }
+    }
+
+    @Test
+    void testAddMergesAndClamps() {
+        LatencyHistogram a = new LatencyHistogram(SECOND);
+        LatencyHistogram b = new LatencyHistogram(SECOND);
+        a.record(10);
+        b.record(20);
+        b.record(5 * SECOND); // Clamped to the trackable maximum
+        a.add(b);
+        assertEquals(3, a.getCount());
+        assertEquals(10, a.getMin());
+        assertEquals(SECOND, a.getMax());
+        assertEquals(SECOND, a.getValueAtPercentile(100.0));
+
+        a.reset();
+        assertEquals(0, a.getCount());
+        assertEquals(0, a.getValueAtPercentile(99.0));
+    }
+
+    @Test
+    void testInvalidInputsRejected() {
+        LatencyHistogram histogram = new LatencyHistogram(SECOND);
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101.0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.add(new LatencyHistogram(SECOND * 2)));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(0));
+    }
+}
@@ -1,103 +1,898 @@
 package com.bulletstream.server;
 
 import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.Integrator;
+import com.bulletstream.core.SpatialHash;
+import com.bulletstream.core.checkpoint.CheckpointReader;
+import com.bulletstream.core.checkpoint.CheckpointWriter;
+import com.bulletstream.core.history.PositionHistory;
+import com.bulletstream.core.input.InputQueue;
+import com.bulletstream.core.net.interest.InterestManager;
+import com.bulletstream.core.net.protocol.LanePacket;
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+import com.bulletstream.core.net.snapshot.ClientBaselines;
+import com.bulletstream.core.net.snapshot.DeltaSnapshotCodec;
+import com.bulletstream.core.net.snapshot.Snapshot;
+import com.bulletstream.core.net.snapshot.SnapshotRing;
+import com.bulletstream.core.net.snapshot.StateBuffer;
+import com.bulletstream.core.net.snapshot.StateFrame;
+import com.bulletstream.core.pattern.BulletPattern;
+import com.bulletstream.core.replay.ReplayRecorder;
+import com.bulletstream.core.system.CollisionSystem;
+import com.bulletstream.core.system.ContactBuffer;
+import com.bulletstream.core.system.InputSystem;
+import com.bulletstream.core.system.SimulationStep;
+import com.bulletstream.core.tick.HybridPacer;
+import com.bulletstream.core.tick.OverloadGovernor;
+import com.bulletstream.core.tick.TickControl;
+import com.bulletstream.core.tick.TickPacer;
+import com.bulletstream.core.util.LatencyHistogram;
+import com.bulletstream.core.util.StripeRunner;
+import com.bulletstream.server.net.BroadcastStage;
+import com.bulletstream.server.net.NetServer;
+import com.bulletstream.server.net.Session;
+import com.bulletstream.server.net.SessionRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * Authoritative Game Server with fixed-tick game loop.
  * Uses fixed-step accumulator for deterministic simulation.
+ * Tick rate and time scale can change while running ({@link TickControl}); changes apply between
+ * ticks, and the {@link OverloadGovernor} drops the rate while ticks overrun their budget.
+ *
+ * <p>At the end of every tick the world is published to a {@link StateBuffer}; a state publisher
+ * thread captures delta snapshots, encodes per-client views and sends state from the published
+ * frame while the tick thread moves on to the next step.
+ *
+ * <p>With interest filtering each client gets its view as a STATE_DELTA against the last snapshot it
+ * acknowledged, or against nothing until it has one. Views are cut to what fits one datagram of
+ * {@link NetServer#MAX_STATE_BYTES}; a delta that still does not fit goes out as the area-of-interest
+ * STATE instead.
  */
 public final class GameServer {
     private static final Logger log = LoggerFactory.getLogger(GameServer.class);
+
+    // World bounds (game units)
+    private static final float WORLD_WIDTH = 4096.0f;
+    private static final float WORLD_HEIGHT = 4096.0f;
+
+    // Max inputs in flight between two ticks
+    private static final int INPUT_QUEUE_CAPACITY = 16384;
+
+    // Snapshot baselines kept for delta encoding (ticks); clients acking older than this get a full snapshot
+    private static final int SNAPSHOT_HISTORY = 64;
+
+    // Area of interest: client slots, entities per client message, view rectangle (game units).
+    // A view is cut to what fits one state datagram: as a delta against any baseline, or as a STATE
+    private static final int MAX_CLIENTS = 1024;
+    private static final int MAX_VIEW_ENTITIES = DeltaSnapshotCodec.maxViewEntities(NetServer.MAX_STATE_BYTES);
+    private static final int MAX_VISIBLE =
+            (NetServer.MAX_STATE_BYTES - ProtocolCodec.STATE_FIXED_BYTES) / ProtocolCodec.STATE_ENTITY_BYTES;
+    private static final float VIEW_WIDTH = 1920.0f;
+    private static final float VIEW_HEIGHT = 1080.0f;
+
+    // Players spawn on a 32x32 grid of start positions, one per client slot
+    private static final int SPAWN_GRID = 32;
+    private static final float PLAYER_RADIUS = 12.0f;
+
+    // Movement and shooting (game units per second; one bullet per shot every FIRE_INTERVAL ticks)
+    private static final float PLAYER_SPEED = 200.0f;
+    private static final float BULLET_SPEED = 600.0f;
+    private static final float BULLET_RADIUS = 4.0f;
+    private static final int FIRE_INTERVAL = 6;
+
+    // State goes out every SEND_INTERVAL ticks (30 Hz at 60 ticks/sec)
+    private static final int SEND_INTERVAL = 2;
+
+    // Broadcast encode stats are logged every 10 seconds of published ticks (at 60 ticks/sec)
+    private static final int BROADCAST_LOG_INTERVAL = 600;
+
+    private static final long PUBLISHER_SHUTDOWN_SECONDS = 5L;
+
+    // Maximum frame time fed into the accumulator (prevents the spiral of death)
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    // Replay logs carry a world hash once a second (at 60 ticks/sec)
+    private static final int REPLAY_HASH_INTERVAL = 60;
+
+    // World checkpoint every 10 seconds (at 60 ticks/sec)
+    private static final int CHECKPOINT_INTERVAL = 600;
+
+    // Default ports
+    private static final int TCP_PORT = 7777;
+    private static final int UDP_PORT = 7778;
     
     private final GameWorld world;
-    private final int tickRate;
+    private final SimulationStep simulation;
+    private final InputQueue inputQueue;
+    private final StateBuffer stateBuffer;
+    private final StatePublisher statePublisher;
+    private final AtomicBoolean publishPending = new AtomicBoolean();
+    private Thread publisher;           // null: state is sent on the tick thread
+    private boolean concurrentPublish = true;
+    private final DeltaSnapshotCodec snapshotCodec;    // Captures on the state publisher; encodes are read-only
+    private final SnapshotRing snapshotHistory;
+    private final ViewEncoder viewEncoder;     // State publisher, or its encode stripes
+    private volatile long deltaStatesSent;     // Written by the state publisher only
+    private volatile long fullStatesSent;      // Written by the state publisher only
+    private final int[] fallbackClients = new int[MAX_CLIENTS]; // State publisher only: views sent as STATE
+    private final InterestManager interestManager;
+    private final SessionRegistry sessions;
+    private final ClientBaselines clientBaselines;
+    private final SessionEvents sessionEvents;
+    private NetServer netServer;              // null until a transport is attached
+    private BroadcastStage broadcast;
+    private boolean interestFiltering = true;
+    private ReplayRecorder replayRecorder;    // null: not recording
+    private CheckpointWriter checkpointWriter; // null: no checkpoints
+    private Path checkpointFile;
+    private int checkpointInterval;
+    private final ForkJoinPool workerPool;   // null in single-threaded mode
+    private final StripeRunner stripeRunner; // null in single-threaded mode
+    private final ForkJoinPool packingPool;  // Per-client view encodes; null in single-threaded mode
+    private final StripeRunner encodeRunner; // Over packingPool; null in single-threaded mode
+    private final TickControl tickControl;
+    private OverloadGovernor governor;         // null: fixed rate
+    private TickPacer pacer = new HybridPacer();
+    private final LatencyHistogram tickLateness = new LatencyHistogram(MAX_FRAME_NANOS); // Tick thread only
+    private volatile long tickJitterP50Nanos;
+    private volatile long tickJitterP99Nanos;
+    private volatile long tickJitterMaxNanos;
     private volatile boolean running;
     private long currentTick;
 
     public GameServer(int maxEntities, int tickRate) {
+        this(maxEntities, tickRate, 1);
+    }
+
+    /**
+     * @param workerThreads threads for the parallel physics/collision step (1 = single-threaded tick)
+     */
+    public GameServer(int maxEntities, int tickRate, int workerThreads) {
+        if (workerThreads > 1) {
+            this.workerPool = new ForkJoinPool(workerThreads);
+            this.stripeRunner = new StripeRunner(workerPool, workerThreads);
+            this.packingPool = new ForkJoinPool(workerThreads);
+            this.encodeRunner = new StripeRunner(packingPool, workerThreads);
+        } else {
+            this.workerPool = null;
+            this.stripeRunner = null;
+            this.packingPool = null;
+            this.encodeRunner = null;
+        }
         this.world = new GameWorld(maxEntities);
-        this.tickRate = tickRate;
+        this.inputQueue = new InputQueue(INPUT_QUEUE_CAPACITY);
+        this.simulation = newSimulation(world, stripeRunner);
+        this.snapshotCodec = new DeltaSnapshotCodec(DeltaSnapshotCodec.DEFAULT_QUANTUM, 1.0f / tickRate,
+                                                    DeltaSnapshotCodec.DEFAULT_THRESHOLD);
+        this.snapshotHistory = new SnapshotRing(SNAPSHOT_HISTORY, maxEntities);
+        // Packs only the few STATE fallbacks, on the publisher itself
+        this.interestManager = new InterestManager(new SpatialHash(WORLD_WIDTH, WORLD_HEIGHT, maxEntities),
+                                                   maxEntities, MAX_CLIENTS, Math.min(MAX_VISIBLE, maxEntities),
+                                                   VIEW_WIDTH, VIEW_HEIGHT, null);
+        // Own pool: view encodes on the publisher must not queue behind the next tick's stripes
+        this.viewEncoder = new ViewEncoder(encodeRunner == null ? 1 : encodeRunner.getStripeCount());
+        this.stateBuffer = new StateBuffer(maxEntities, world.getIdLayout());
+        this.statePublisher = new StatePublisher();
+        this.sessions = new SessionRegistry(MAX_CLIENTS);
+        this.clientBaselines = new ClientBaselines(MAX_CLIENTS);
+        this.sessionEvents = new SessionEvents();
+        this.tickControl = new TickControl(tickRate);
+        this.governor = new OverloadGovernor(TickControl.MIN_TICK_RATE);
         this.running = false;
         this.currentTick = 0;
     }
 
+    /**
+     * The server's simulation step (systems and their settings) for a world; offline replay
+     * builds its step here so it runs exactly what the server ran.
+     * @param runner stripe runner for the parallel update, or null for single-threaded
+     */
+    public static SimulationStep newSimulation(GameWorld world, StripeRunner runner) {
+        int maxEntities = world.getStore().capacity();
+        InputSystem inputSystem = new InputSystem(maxEntities, MAX_CLIENTS, BulletPattern.spread(1, 0.0f),
+                                                  PLAYER_SPEED, BULLET_SPEED, BULLET_RADIUS, FIRE_INTERVAL);
+        CollisionSystem collisionSystem = new CollisionSystem(
+                new SpatialHash(WORLD_WIDTH, WORLD_HEIGHT, maxEntities), maxEntities, runner);
+        return new SimulationStep(world, inputSystem, collisionSystem, runner, WORLD_WIDTH, WORLD_HEIGHT);
+    }
+
+    /**
+     * Attach a bound transport before {@link #start()}; without one the server simulates headless.
+     */
+    public void attachTransport(NetServer transport) {
+        this.netServer = transport;
+        this.broadcast = transport.newBroadcastStage();
+    }
+
+    /**
+     * How the loop waits between ticks (default {@link HybridPacer}); call before {@link #start()}.
+     */
+    public void setTickPacer(TickPacer tickPacer) {
+        this.pacer = tickPacer;
+    }
+
+    /**
+     * Let the tick rate drop under sustained overload (the default) or hold it fixed;
+     * call before {@link #start()}.
+     */
+    public void setOverloadGovernor(OverloadGovernor overloadGovernor) {
+        this.governor = overloadGovernor;
+    }
+
+    /**
+     * With filtering (the default) each client gets only what is near its player. Without it the
+     * whole world is encoded once per send and fanned out to every client; call before {@link #start()}.
+     */
+    public void setInterestFiltering(boolean enabled) {
+        this.interestFiltering = enabled;
+    }
+
+    /**
+     * Test hits against where targets were at the shooter's input tick, up to {@code historyTicks}
+     * back (0 turns it off, the default). Clients must then stamp inputs with the server tick of
+     * the latest state they displayed. Call before {@link #start()}.
+     * @throws IllegalArgumentException if historyTicks is negative
+     */
+    public void setLagCompensation(int historyTicks) {
+        if (historyTicks < 0) {
+            throw new IllegalArgumentException("historyTicks must not be negative: " + historyTicks);
+        }
+        simulation.setLagCompensation(
+                historyTicks == 0 ? null : new PositionHistory(historyTicks, world.getStore().capacity()));
+    }
+
+    /**
+     * Append joins, leaves, inputs, admin commands and step lengths to a replay log (null to stop);
+     * call before {@link #start()}. The caller closes the recorder after the server stops.
+     */
+    public void setReplayRecorder(ReplayRecorder recorder) {
+        this.replayRecorder = recorder;
+    }
+
+    /**
+     * Send state from a separate publisher thread in parallel with the next tick (the default), or
+     * on the tick thread right after each step. Call before {@link #start()}.
+     */
+    public void setConcurrentPublish(boolean enabled) {
+        this.concurrentPublish = enabled;
+    }
+
+    /**
+     * Checkpoint the world to {@code file} every {@code intervalTicks} ticks and when the loop stops
+     * (null writer to stop); call before {@link #start()}. Captures cost the tick a bulk copy, the
+     * file is written in the background. The caller closes the writer after the server stops.
+     * @throws IllegalArgumentException if intervalTicks is not positive
+     */
+    public void setCheckpointing(CheckpointWriter writer, Path file, int intervalTicks) {
+        if (intervalTicks <= 0) {
+            throw new IllegalArgumentException("intervalTicks must be positive: " + intervalTicks);
+        }
+        this.checkpointWriter = writer;
+        this.checkpointFile = file;
+        this.checkpointInterval = intervalTicks;
+    }
+
+    /**
+     * Resume from a checkpoint: the world and tick counter continue where it was written. Player
+     * entities are despawned, since no session survives a restart; clients rejoin as new players.
+     * Call before {@link #start()}.
+     * @throws IllegalStateException if recording a replay (replays start from an empty world)
+     * @throws IllegalArgumentException if the file is not a checkpoint of a world this size
+     */
+    public void restoreCheckpoint(Path file) throws IOException {
+        if (replayRecorder != null) {
+            throw new IllegalStateException("Cannot restore a checkpoint while recording a replay");
+        }
+        long tick = CheckpointReader.restore(world, file);
+        int players = 0;
+        for (int index = 0; index < world.getEntityCount(); index++) {
+            int flags = world.getFlags(index);
+            if ((flags & GameWorld.FLAG_ACTIVE) != 0 && (flags & GameWorld.FLAG_PLAYER) != 0) {
+                world.despawnEntity(world.getEntityId(index));
+                players++;
+            }
+        }
+        currentTick = tick + 1;
+        log.info("Restored checkpoint {} at tick {}: {} entities ({} players dropped)",
+                 file, tick, world.getActiveCount(), players);
+    }
+
     public void start() {
         running = true;
-        log.info("Game server starting at {} ticks/sec", tickRate);
+        if (concurrentPublish) {
+            statePublisher.stopped = false;
+            publisher = new Thread(statePublisher, "state-publisher");
+            publisher.setDaemon(true);
+            publisher.start();
+        }
+        log.info("Game server starting at {} ticks/sec ({} worker threads, {} integration)",
+                 tickControl.getTickRate(), stripeRunner == null ? 1 : stripeRunner.getStripeCount(),
+                 Integrator.isSimdEnabled() ? "SIMD" : "scalar");
         
         // Fixed-step accumulator loop (using nanoseconds for precision)
         long t = 0L;
-        long dtNanos = 1_000_000_000L / tickRate; // Nanoseconds per tick
+        long dtNanos = tickControl.getDtNanos(); // Nanoseconds per tick
+        float dtSeconds = tickControl.getStepSeconds(); // Simulated seconds per tick
         long currentTimeNanos = System.nanoTime();
         long accumulatorNanos = 0L;
         
-        // Maximum frame time cap (0.25 seconds in nanoseconds)
-        final long maxFrameTimeNanos = 250_000_000L;
-        
         while (running) {
             long newTimeNanos = System.nanoTime();
             long frameTimeNanos = newTimeNanos - currentTimeNanos;
             currentTimeNanos = newTimeNanos;
             
             // Cap maximum frame time to prevent spiral of death
-            if (frameTimeNanos > maxFrameTimeNanos) {
-                frameTimeNanos = maxFrameTimeNanos;
+            if (frameTimeNanos > MAX_FRAME_NANOS) {
+                frameTimeNanos = MAX_FRAME_NANOS;
             }
             
             accumulatorNanos += frameTimeNanos;
             
             while (accumulatorNanos >= dtNanos) {
+                long tickStartNanos = System.nanoTime();
+
                 // 1. Drain Network Queue (JCTools) -> Apply Inputs
-                // TODO: Process input queue
-                
-                // 2. Physics Step (GameWorld.update)
-                float dtSeconds = dtNanos / 1_000_000_000.0f;
-                world.update(dtSeconds);
-                
-                // 3. Collision Step (SpatialHash)
-                // TODO: Implement collision detection
+                sessions.processEvents(sessionEvents);
+                inputQueue.drain(world, replayRecorder);
+
+                // 2-3. Input, shots, physics and collisions (SimulationStep, shared with replay)
+                simulation.run(currentTick, dtSeconds);
+                warnIfContactsDropped(simulation.getContacts());
+                if (replayRecorder != null) {
+                    replayRecorder.endTick(currentTick, dtSeconds, world);
+                }
+                if (checkpointWriter != null && currentTick % checkpointInterval == 0) {
+                    checkpoint(currentTick);
+                }
                 
-                // 4. Pack & Broadcast State (if tick % sendRate == 0)
-                // TODO: Broadcast state to clients
+                // 4. Publish state: snapshots are captured, packed and sent from the published frame
+                stateBuffer.publish(world, currentTick, dtSeconds);
+                if (publisher == null) {
+                    statePublisher.publishLatest();
+                } else if (publishPending.compareAndSet(false, true)) {
+                    LockSupport.unpark(publisher); // Latest-wins: a busy publisher picks this frame up next
+                }
                 
                 t += dtNanos;
                 accumulatorNanos -= dtNanos;
                 currentTick++;
+
+                // 5. Rate and time scale changes (admin commands, governor) apply between ticks
+                if (tickControl.applyPending(replayRecorder) > 0 && governor != null) {
+                    governor.reset();
+                }
+                if (governor != null) {
+                    int currentRate = tickControl.getTickRate();
+                    int rate = governor.onTick(System.nanoTime() - tickStartNanos, dtNanos,
+                                               currentRate, tickControl.getTargetTickRate());
+                    if (rate < currentRate) {
+                        log.warn("Ticks over budget: tick rate {} -> {}", currentRate, rate);
+                    } else if (rate > currentRate) {
+                        log.info("Tick load recovered: tick rate {} -> {}", currentRate, rate);
+                    }
+                    tickControl.setTickRate(rate);
+                }
+                long newDtNanos = tickControl.getDtNanos();
+                if (newDtNanos != dtNanos) {
+                    accumulatorNanos = TickControl.rescaleAccumulator(accumulatorNanos, dtNanos, newDtNanos);
+                    dtNanos = newDtNanos;
+                }
+                dtSeconds = tickControl.getStepSeconds(); // The publisher takes it from the frame
                 
-                if (currentTick % (tickRate * 10) == 0) {
-                    log.debug("Server tick: {} (t={}s)", currentTick, t / 1_000_000_000.0);
+                if (currentTick % (tickControl.getTickRate() * 10L) == 0) {
+                    log.debug("Server tick: {} (t={}s), tick-start jitter p50={}us p99={}us max={}us, "
+                              + "{} state publishes skipped", currentTick, t / 1_000_000_000.0,
+                              tickJitterP50Nanos / 1_000, tickJitterP99Nanos / 1_000, tickJitterMaxNanos / 1_000,
+                              stateBuffer.getSkippedCount());
                 }
             }
             
-            // Small sleep to avoid busy-waiting
+            // Wait until the accumulator holds a full tick again; how late we wake is tick-start jitter
+            long deadlineNanos = currentTimeNanos + (dtNanos - accumulatorNanos);
+            pacer.awaitDeadline(deadlineNanos);
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            recordTickLateness(Math.max(0L, System.nanoTime() - deadlineNanos));
+        }
+        
+        if (publisher != null) {
+            statePublisher.stopped = true;
+            LockSupport.unpark(publisher);
             try {
-                Thread.sleep(1);
+                publisher.join(TimeUnit.SECONDS.toMillis(PUBLISHER_SHUTDOWN_SECONDS));
+                if (publisher.isAlive()) {
+                    log.warn("State publisher did not stop in {}s", PUBLISHER_SHUTDOWN_SECONDS);
+                }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                break;
             }
+            publisher = null;
+        }
+        if (workerPool != null) {
+            workerPool.shutdown();
+            packingPool.shutdown();
+        }
+        if (checkpointWriter != null && currentTick > 0) {
+            checkpoint(currentTick - 1); // Last completed tick
         }
-        
         log.info("Game server stopped after {} ticks", currentTick);
     }
 
+    /**
+     * Capture the world for a background checkpoint of the tick just run.
+     */
+    private void checkpoint(long tick) {
+        if (!checkpointWriter.checkpoint(world, tick, checkpointFile)) {
+            log.warn("Checkpoint at tick {} skipped: previous checkpoints still writing", tick);
+        } else if (checkpointWriter.getLastCaptureNanos() > tickControl.getDtNanos() / 4) {
+            log.warn("Checkpoint capture took {}us", checkpointWriter.getLastCaptureNanos() / 1_000);
+        }
+    }
+
+    /**
+     * Accumulate tick-start lateness and publish its percentiles once per second of ticks.
+     */
+    private void recordTickLateness(long latenessNanos) {
+        tickLateness.record(latenessNanos);
+        if (tickLateness.getCount() >= tickControl.getTickRate()) {
+            tickJitterP50Nanos = tickLateness.getValueAtPercentile(50.0);
+            tickJitterP99Nanos = tickLateness.getValueAtPercentile(99.0);
+            tickJitterMaxNanos = tickLateness.getMax();
+            tickLateness.reset();
+        }
+    }
+
+    /**
+     * Send every bound client its area-of-interest state on the unreliable lane, then flush once:
+     * a delta of its view against its acknowledged baseline, encoded in parallel across client
+     * stripes. Only clients whose delta does not fit get the area-of-interest STATE, packed for
+     * them alone.
+     */
+    private void sendState(StateFrame frame, Snapshot snapshot) {
+        long tick = frame.getTick();
+        viewEncoder.frame = frame;
+        viewEncoder.snapshot = snapshot;
+        if (encodeRunner == null) {
+            viewEncoder.run(0, 1);
+        } else {
+            encodeRunner.run(viewEncoder);
+        }
+        viewEncoder.frame = null;
+        viewEncoder.snapshot = null;
+        deltaStatesSent += viewEncoder.takeDeltas();
+        fullStatesSent += viewEncoder.takeFulls();
+
+        int fallbacks = 0;
+        int capacity = sessions.capacity();
+        for (int c = 0; c < capacity; c++) {
+            if (viewEncoder.fallback[c]) {
+                fallbackClients[fallbacks++] = c;
+            }
+        }
+        interestManager.update(frame, tick, fallbackClients, fallbacks);
+        for (int k = 0; k < fallbacks; k++) {
+            int c = fallbackClients[k];
+            Session session = sessions.get(c);
+            if (session != null) {
+                netServer.sendUnreliable(session, interestManager.getPacked(c));
+                fullStatesSent++;
+            }
+        }
+        netServer.flush();
+    }
+
+    /**
+     * Tell the client which of its inputs the coming state reflects, when that has changed.
+     */
+    private void sendInputAck(Session session, StateFrame frame) {
+        int playerId = session.getEntityId();
+        if (playerId == Session.NO_ENTITY || !frame.isActive(playerId)) {
+            return;
+        }
+        long inputTick = frame.getInputTick(frame.indexOf(playerId));
+        if (inputTick > session.getEchoedInputTick()) {
+            netServer.sendInputAck(session, frame.getTick(), inputTick);
+            session.setEchoedInputTick(inputTick);
+        }
+    }
+
+    /**
+     * Encode the whole world once (as much as fits in a datagram) and fan it out to every bound client.
+     */
+    private void broadcastState(StateFrame frame) {
+        ByteBuffer buf = broadcast.begin();
+        long tick = frame.getTick();
+        int start = ProtocolCodec.beginState(buf, LanePacket.LANE_UNRELIABLE, tick, tick);
+        int fit = Math.min(frame.getActiveCount(), buf.remaining() / ProtocolCodec.STATE_ENTITY_BYTES);
+        for (int slot = 0; slot < fit; slot++) {
+            int i = frame.getActiveIndex(slot);
+            ProtocolCodec.putEntity(buf, frame.getEntityId(i), frame.getPositionX(i), frame.getPositionY(i));
+        }
+        ProtocolCodec.endState(buf, start);
+        broadcast.seal(buf);
+
+        int capacity = sessions.capacity();
+        for (int c = 0; c < capacity; c++) {
+            Session session = sessions.get(c);
+            if (session != null) {
+                sendInputAck(session, frame);
+                broadcast.add(session);
+            }
+        }
+        netServer.flush();
+        broadcast.publish();
+    }
+
+    /**
+     * Log when this tick's contacts overflowed the contact buffer; the overflow was not resolved.
+     */
+    private void warnIfContactsDropped(ContactBuffer contacts) {
+        if (contacts.getDropped() > 0) {
+            log.warn("Contact buffer full: {} contacts dropped at tick {}", contacts.getDropped(), currentTick);
+        }
+    }
+
+    /**
+     * Per-client view encodes for one send, over contiguous stripes of client slots. Each stripe
+     * has its own delta buffer and counters and only touches its own clients' sessions.
+     */
+    private final class ViewEncoder implements StripeRunner.StripeBody {
+        StateFrame frame;
+        Snapshot snapshot;
+        final boolean[] fallback = new boolean[MAX_CLIENTS]; // Per client: delta did not fit, send STATE
+        private final ByteBuffer[] buffers;
+        private final long[] deltas;
+        private final long[] fulls;
+
+        ViewEncoder(int stripeCount) {
+            this.buffers = new ByteBuffer[stripeCount];
+            for (int s = 0; s < stripeCount; s++) {
+                buffers[s] = ByteBuffer.allocate(NetServer.MAX_STATE_BYTES);
+            }
+            this.deltas = new long[stripeCount];
+            this.fulls = new long[stripeCount];
+        }
+
+        @Override
+        public void run(int stripe, int stripeCount) {
+            int capacity = sessions.capacity();
+            int to = StripeRunner.sliceStart(capacity, stripe + 1, stripeCount);
+            for (int c = StripeRunner.sliceStart(capacity, stripe, stripeCount); c < to; c++) {
+                fallback[c] = false;
+                Session session = sessions.get(c);
+                if (session != null) {
+                    send(stripe, c, session);
+                }
+            }
+        }
+
+        private void send(int stripe, int client, Session session) {
+            sendInputAck(session, frame);
+            int viewerId = interestManager.getViewer(client);
+            if (viewerId == Session.NO_ENTITY || !frame.isActive(viewerId)) {
+                return;
+            }
+            Snapshot baseline = clientBaselines.baselineFor(client, snapshotHistory);
+            ByteBuffer buf = buffers[stripe];
+            buf.clear();
+            if (snapshotCodec.encodeView(buf, LanePacket.LANE_UNRELIABLE, frame.getTick(), baseline, snapshot,
+                                         frame.indexOf(viewerId), viewerId, VIEW_WIDTH * 0.5f,
+                                         VIEW_HEIGHT * 0.5f, MAX_VIEW_ENTITIES) < 0) {
+                fallback[client] = true;
+                return;
+            }
+            buf.flip();
+            netServer.sendUnreliable(session, buf);
+            if (baseline != null) {
+                deltas[stripe]++;
+            } else {
+                fulls[stripe]++;
+            }
+        }
+
+        long takeDeltas() {
+            long sum = 0L;
+            for (int s = 0; s < deltas.length; s++) {
+                sum += deltas[s];
+                deltas[s] = 0L;
+            }
+            return sum;
+        }
+
+        long takeFulls() {
+            long sum = 0L;
+            for (int s = 0; s < fulls.length; s++) {
+                sum += fulls[s];
+                fulls[s] = 0L;
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Snapshot capture, view encoding and sends for the latest published frame. As the publisher
+     * thread it parks until the tick thread flags a new frame and unparks it; frames published while
+     * it is busy are superseded, not queued. Without that thread the tick calls {@link #publishLatest()}.
+     */
+    private final class StatePublisher implements Runnable {
+        private long lastTick = -1L;
+        volatile boolean stopped;
+
+        @Override
+        public void run() {
+            while (!stopped) {
+                if (publishPending.getAndSet(false)) { // A publish from here on flags another round
+                    publishLatest();
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+        }
+
+        void publishLatest() {
+            StateFrame frame = stateBuffer.acquire();
+            if (frame == null) {
+                return;
+            }
+            try {
+                long tick = frame.getTick();
+                if (tick <= lastTick) {
+                    return;
+                }
+                // Send whenever a send tick was reached, even if its own frame was superseded
+                if (netServer != null && Math.floorDiv(tick, SEND_INTERVAL) > Math.floorDiv(lastTick, SEND_INTERVAL)) {
+                    if (interestFiltering) {
+                        // Snapshots are captured only for ticks that go out
+                        updateViewers();
+                        snapshotCodec.setTickSeconds(frame.getStepSeconds());
+                        sendState(frame, snapshotCodec.capture(frame, tick, snapshotHistory));
+                    } else {
+                        broadcastState(frame);
+                    }
+                }
+                if (tick / BROADCAST_LOG_INTERVAL > lastTick / BROADCAST_LOG_INTERVAL) {
+                    if (broadcast != null && !interestFiltering) {
+                        log.debug("Broadcast: encode {}us, {} bytes to {} clients",
+                                  broadcast.getLastEncodeNanos() / 1_000, broadcast.getLastBytesOut(),
+                                  broadcast.getLastTargets());
+                    } else if (netServer != null) {
+                        log.debug("State: {} deltas, {} full views sent", deltaStatesSent, fullStatesSent);
+                    }
+                }
+                lastTick = tick;
+            } finally {
+                stateBuffer.release(frame);
+            }
+        }
+
+        /**
+         * Point each client slot's view at its session's player (set and cleared on the tick thread).
+         */
+        private void updateViewers() {
+            int capacity = sessions.capacity();
+            for (int c = 0; c < capacity; c++) {
+                Session session = sessions.get(c);
+                int playerId = session == null ? Session.NO_ENTITY : session.getEntityId();
+                if (playerId == interestManager.getViewer(c)) {
+                    continue;
+                }
+                if (playerId == Session.NO_ENTITY) {
+                    interestManager.removeViewer(c);
+                } else {
+                    interestManager.setViewer(c, playerId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Joins and leaves, applied on the tick thread.
+     */
+    private final class SessionEvents implements SessionRegistry.Listener {
+        @Override
+        public void onJoin(Session session) {
+            int clientId = session.getClientId();
+            float cellWidth = WORLD_WIDTH / SPAWN_GRID;
+            float cellHeight = WORLD_HEIGHT / SPAWN_GRID;
+            float x = (clientId % SPAWN_GRID + 0.5f) * cellWidth;
+            float y = (clientId / SPAWN_GRID % SPAWN_GRID + 0.5f) * cellHeight;
+            int playerId = world.spawnEntity(x, y, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+            if (playerId == -1) {
+                log.warn("World full, refusing client {}", clientId);
+                session.getTcpChannel().close();
+                return;
+            }
+            world.setRadius(world.indexOf(playerId), PLAYER_RADIUS);
+            if (replayRecorder != null) {
+                replayRecorder.recordSpawn(playerId, x, y, 0.0f, 0.0f, GameWorld.FLAG_PLAYER, PLAYER_RADIUS);
+            }
+            session.setEntityId(playerId); // The state publisher makes it the slot's viewer
+            clientBaselines.reset(clientId);
+            if (netServer != null) {
+                netServer.sendWelcome(session);
+            }
+        }
+
+        @Override
+        public void onLeave(Session session) {
+            int playerId = session.getEntityId();
+            if (playerId != Session.NO_ENTITY && world.isActive(playerId)) {
+                world.despawnEntity(playerId);
+                if (replayRecorder != null) {
+                    replayRecorder.recordDespawn(playerId);
+                }
+            }
+            session.setEntityId(Session.NO_ENTITY);
+            clientBaselines.reset(session.getClientId());
+        }
+    }
+
     public void stop() {
         running = false;
     }
 
+    /**
+     * Input queue for network threads to publish player inputs into.
+     */
+    public InputQueue getInputQueue() {
+        return inputQueue;
+    }
+
+    /**
+     * Recent snapshots, used as delta baselines; written by the state publisher.
+     */
+    public SnapshotRing getSnapshotHistory() {
+        return snapshotHistory;
+    }
+
+    /**
+     * Per-client view filtering, updated by the state publisher; each client slot follows its
+     * session's player entity. Only clients sent a STATE instead of a delta are packed.
+     */
+    public InterestManager getInterestManager() {
+        return interestManager;
+    }
+
+    /**
+     * Client slots; the transport opens and closes sessions here.
+     */
+    public SessionRegistry getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Per-client acked snapshot ticks, fed by the transport.
+     */
+    public ClientBaselines getClientBaselines() {
+        return clientBaselines;
+    }
+
+    /**
+     * @return client views sent as a STATE_DELTA against an acknowledged baseline
+     */
+    public long getDeltaStatesSent() {
+        return deltaStatesSent;
+    }
+
+    /**
+     * @return client views sent whole: a STATE_DELTA without baseline, or the packed STATE
+     */
+    public long getFullStatesSent() {
+        return fullStatesSent;
+    }
+
+    /**
+     * Whole-world fan-out used when interest filtering is off; null without a transport.
+     */
+    public BroadcastStage getBroadcast() {
+        return broadcast;
+    }
+
+    /**
+     * Tick-start lateness (wake-up after the deadline), median over the last second of ticks.
+     */
+    public long getTickJitterP50Nanos() {
+        return tickJitterP50Nanos;
+    }
+
+    public long getTickJitterP99Nanos() {
+        return tickJitterP99Nanos;
+    }
+
+    public long getTickJitterMaxNanos() {
+        return tickJitterMaxNanos;
+    }
+
+    /**
+     * Queue tick rate / time scale commands (any thread) and read the current values.
+     */
+    public TickControl getTickControl() {
+        return tickControl;
+    }
+
     public long getCurrentTick() {
         return currentTick;
     }
 
-    public static void main(String[] args) {
+    /**
+     * Startup policy for a checkpoint file and a replay log (either may be null). An existing
+     * checkpoint is restored first; a resumed world records no replay, since replays start from an
+     * empty world. Otherwise the replay is recorded from the first tick. Call before {@link #start()}.
+     * @return the recorder now attached to the server (the caller closes it after the server stops), or null
+     * @throws IllegalArgumentException if the checkpoint file is not a checkpoint of a world this size
+     */
+    public static ReplayRecorder restoreOrRecord(GameServer server, Path checkpointFile, Path replayFile)
+            throws IOException {
+        if (checkpointFile != null && Files.exists(checkpointFile)) {
+            server.restoreCheckpoint(checkpointFile);
+            if (replayFile != null) {
+                log.warn("Resumed from {}: not recording replay to {} (replays start from an empty world)",
+                         checkpointFile, replayFile);
+            }
+            return null;
+        }
+        if (replayFile == null) {
+            return null;
+        }
+        ReplayRecorder recorder = new ReplayRecorder(replayFile, server.world.getStore().capacity(),
+                                                     REPLAY_HASH_INTERVAL);
+        server.setReplayRecorder(recorder);
+        log.info("Recording replay to {}", replayFile);
+        return recorder;
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
         log.info("BulletStream Server - Starting");
-        GameServer server = new GameServer(1000, 60);
+        int workerThreads = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int tcpPort = args.length > 1 ? Integer.parseInt(args[1]) : TCP_PORT;
+        int udpPort = args.length > 2 ? Integer.parseInt(args[2]) : UDP_PORT;
+        String pacerName = args.length > 3 ? args[3] : "hybrid";
+        String replayFile = args.length > 4 ? args[4] : null;
+        String checkpointPath = args.length > 5 ? args[5] : null;
+        int lagCompensationTicks = args.length > 6 ? Integer.parseInt(args[6]) : 0;
+        int maxEntities = 8192;
+        GameServer server = new GameServer(maxEntities, 60, workerThreads);
+        NetServer transport = new NetServer(server.getSessions(), server.getInputQueue(),
+                                            server.getClientBaselines(), 1);
+        transport.bind("0.0.0.0", tcpPort, udpPort);
+        transport.setAdminControl(server.getTickControl());
+        server.attachTransport(transport);
+        server.setTickPacer(TickPacer.forName(pacerName));
+        if (lagCompensationTicks > 0) {
+            server.setLagCompensation(lagCompensationTicks);
+            log.info("Lag compensation over {} ticks", lagCompensationTicks);
+        }
+        Path checkpointFile = checkpointPath == null ? null : Path.of(checkpointPath);
+        ReplayRecorder recorder = restoreOrRecord(server, checkpointFile,
+                                                  replayFile == null ? null : Path.of(replayFile));
+        CheckpointWriter checkpoints = null;
+        if (checkpointFile != null) {
+            checkpoints = new CheckpointWriter(maxEntities);
+            server.setCheckpointing(checkpoints, checkpointFile, CHECKPOINT_INTERVAL);
+        }
         
         // Add shutdown hook
         Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
         
         server.start();
+        transport.close();
+        if (recorder != null) {
+            recorder.close();
+        }
+        if (checkpoints != null) {
+            checkpoints.close();
+        }
     }
 }
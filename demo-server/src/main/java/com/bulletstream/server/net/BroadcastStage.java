@@ -0,0 +1,274 @@
+package com.bulletstream.server.net;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.channel.socket.DatagramPacket;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Encode-once fan-out of a message shared by many clients.
+ * The message is encoded a single time into a pooled direct buffer; every recipient gets a
+ * retained slice of that same memory, so N recipients cost N reference counts, not N copies.
+ * Recipients are grouped by event loop and each group is handed over as one task that writes
+ * and flushes all of its channels, instead of one cross-thread write task per channel.
+ *
+ * <p>Per publish, from the publishing thread (the state publisher):
+ * <pre>
+ * ByteBuffer buf = stage.begin();   // encode at buf.position()
+ * stage.seal(buf);
+ * stage.add(...);                   // once per recipient
+ * stage.publish();
+ * </pre>
+ * State is latest-wins: a recipient is skipped, not queued, when its event loop is still busy
+ * with the previous publish or its channel is not writable (slow consumer).
+ */
+public final class BroadcastStage {
+    private final ByteBufAllocator allocator;
+    private final Channel udpChannel;
+    private final int maxMessageBytes;
+    private final int maxTargets;
+    private Batch[] batches = new Batch[0];
+
+    private ByteBuf message;               // Publishing thread only
+    private int messageStart;              // Position of the message in the encode view
+    private long encodeStartNanos;
+    private long lastEncodeNanos;
+    private int lastTargets;
+    private long lastBytesOut;
+
+    private final AtomicLong bytesOut = new AtomicLong();
+    private final AtomicLong messagesOut = new AtomicLong();
+    private final AtomicLong busyDropped = new AtomicLong();       // Event loop still on the previous publish
+    private final AtomicLong unwritableDropped = new AtomicLong(); // Channel outbound buffer full
+
+    /**
+     * @param udpChannel unconnected datagram channel for {@link #add(Session)}, or null
+     * @param maxMessageBytes capacity of the buffer returned by {@link #begin()}
+     * @param maxTargets most recipients in one publish
+     */
+    public BroadcastStage(ByteBufAllocator allocator, Channel udpChannel, int maxMessageBytes, int maxTargets) {
+        if (maxMessageBytes <= 0 || maxTargets <= 0) {
+            throw new IllegalArgumentException("maxMessageBytes and maxTargets must be positive");
+        }
+        this.allocator = allocator;
+        this.udpChannel = udpChannel;
+        this.maxMessageBytes = maxMessageBytes;
+        this.maxTargets = maxTargets;
+    }
+
+    /**
+     * Start a publish.
+     * @return a view of the message buffer; encode from its position (not necessarily 0) up to its limit
+     * @throws IllegalStateException if the previous publish was not finished
+     */
+    public ByteBuffer begin() {
+        if (message != null) {
+            throw new IllegalStateException("Previous broadcast not published");
+        }
+        encodeStartNanos = System.nanoTime();
+        message = allocator.directBuffer(maxMessageBytes);
+        lastTargets = 0;
+        ByteBuffer view = message.internalNioBuffer(0, maxMessageBytes);
+        messageStart = view.position();
+        return view;
+    }
+
+    /**
+     * End encoding: the message is everything written to the view returned by {@link #begin()}.
+     */
+    public void seal(ByteBuffer buf) {
+        checkStarted();
+        message.writerIndex(buf.position() - messageStart);
+        lastEncodeNanos = System.nanoTime() - encodeStartNanos;
+    }
+
+    /**
+     * Add a client's UDP address as a recipient. Unbound sessions are skipped.
+     */
+    public void add(Session session) {
+        InetSocketAddress address = session.getUdpAddress();
+        if (address != null) {
+            add(udpChannel, address);
+        }
+    }
+
+    /**
+     * Add a connected channel (TCP, or a connected datagram channel) as a recipient.
+     */
+    public void add(Channel channel) {
+        add(channel, null);
+    }
+
+    private void add(Channel channel, InetSocketAddress recipient) {
+        checkStarted();
+        Batch batch = batchFor(channel.eventLoop());
+        if (batch.inFlight) {
+            busyDropped.incrementAndGet();
+            return;
+        }
+        if (batch.count == maxTargets) {
+            throw new IllegalStateException("More than " + maxTargets + " broadcast targets");
+        }
+        batch.channels[batch.count] = channel;
+        batch.recipients[batch.count] = recipient;
+        batch.count++;
+        lastTargets++;
+    }
+
+    /**
+     * Hand every non-empty batch to its event loop and drop this thread's reference to the message.
+     */
+    public void publish() {
+        checkStarted();
+        ByteBuf shared = message;
+        message = null;
+        lastBytesOut = (long) shared.readableBytes() * lastTargets;
+        for (int b = 0; b < batches.length; b++) {
+            Batch batch = batches[b];
+            // An in-flight batch still holds last publish's targets: its loop owns it until discard()
+            if (!batch.inFlight && batch.count > 0) {
+                batch.message = shared.retain();
+                batch.inFlight = true;
+                try {
+                    batch.loop.execute(batch);
+                } catch (RejectedExecutionException e) {
+                    batch.discard(); // Event loop shutting down
+                }
+            }
+        }
+        shared.release();
+    }
+
+    private void checkStarted() {
+        if (message == null) {
+            throw new IllegalStateException("No broadcast in progress");
+        }
+    }
+
+    private Batch batchFor(EventLoop loop) {
+        for (int b = 0; b < batches.length; b++) {
+            if (batches[b].loop == loop) {
+                return batches[b];
+            }
+        }
+        // First target on this event loop: loops are fixed, so this happens once per loop
+        Batch batch = new Batch(loop, maxTargets);
+        batches = Arrays.copyOf(batches, batches.length + 1);
+        batches[batches.length - 1] = batch;
+        return batch;
+    }
+
+    /**
+     * @return time from {@link #begin()} to {@link #seal} in the last publish
+     */
+    public long getLastEncodeNanos() {
+        return lastEncodeNanos;
+    }
+
+    /**
+     * @return recipients scheduled by the last publish
+     */
+    public int getLastTargets() {
+        return lastTargets;
+    }
+
+    /**
+     * @return message bytes times recipients scheduled by the last publish
+     */
+    public long getLastBytesOut() {
+        return lastBytesOut;
+    }
+
+    /**
+     * @return bytes actually written to channels, all publishes
+     */
+    public long getBytesOut() {
+        return bytesOut.get();
+    }
+
+    /**
+     * @return messages actually written to channels, all publishes
+     */
+    public long getMessagesOut() {
+        return messagesOut.get();
+    }
+
+    public long getBusyDropped() {
+        return busyDropped.get();
+    }
+
+    public long getUnwritableDropped() {
+        return unwritableDropped.get();
+    }
+
+    /**
+     * The recipients on one event loop; reused every publish once the previous run has finished.
+     */
+    private final class Batch implements Runnable {
+        private final EventLoop loop;
+        private final Channel[] channels;
+        private final InetSocketAddress[] recipients;
+        private int count;
+        private ByteBuf message;
+        private volatile boolean inFlight;
+
+        Batch(EventLoop loop, int capacity) {
+            this.loop = loop;
+            this.channels = new Channel[capacity];
+            this.recipients = new InetSocketAddress[capacity];
+        }
+
+        @Override
+        public void run() {
+            int length = message.readableBytes();
+            int written = 0;
+            Channel unflushed = null;
+            for (int i = 0; i < count; i++) {
+                Channel channel = channels[i];
+                InetSocketAddress recipient = recipients[i];
+                // Consecutive targets on one channel (the shared UDP socket) get a single flush
+                if (unflushed != null && unflushed != channel) {
+                    unflushed.flush();
+                    unflushed = null;
+                }
+                if (!channel.isActive()) {
+                    continue;
+                }
+                if (!channel.isWritable()) {
+                    unwritableDropped.incrementAndGet();
+                    continue;
+                }
+                ByteBuf slice = message.retainedSlice();
+                if (recipient != null) {
+                    channel.write(new DatagramPacket(slice, recipient), channel.voidPromise());
+                } else {
+                    channel.write(slice, channel.voidPromise());
+                }
+                unflushed = channel;
+                written++;
+            }
+            if (unflushed != null) {
+                unflushed.flush();
+            }
+            bytesOut.addAndGet((long) length * written);
+            messagesOut.addAndGet(written);
+            discard();
+        }
+
+        void discard() {
+            Arrays.fill(channels, 0, count, null);
+            Arrays.fill(recipients, 0, count, null);
+            message.release();
+            message = null;
+            count = 0;
+            inFlight = false;
+        }
+    }
+}
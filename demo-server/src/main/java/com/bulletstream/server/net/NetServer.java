@@ -0,0 +1,353 @@
+package com.bulletstream.server.net;
+
+import com.bulletstream.core.input.InputQueue;
+import com.bulletstream.core.net.protocol.AdminCommand;
+import com.bulletstream.core.net.protocol.InputPayload;
+import com.bulletstream.core.net.protocol.LanePacket;
+import com.bulletstream.core.net.protocol.ProtocolCodec;
+import com.bulletstream.core.net.snapshot.ClientBaselines;
+import com.bulletstream.core.tick.TickControl;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dual-lane Netty transport.
+ * Reliable lane: TCP, 2-byte length-prefixed frames (session handshake, admin, events).
+ * Unreliable lane: one UDP socket, one message per datagram (inputs and acks in, state out).
+ * Uses native epoll when available and pooled direct buffers throughout.
+ *
+ * <p>I/O threads never touch the world: inputs go to the {@link InputQueue}, acks to
+ * {@link ClientBaselines}, and joins/leaves to the {@link SessionRegistry}. Unreliable
+ * packets older than the newest one already accepted from the same client are dropped.
+ * ADMIN messages go to the {@link TickControl} set with {@link #setAdminControl}, and are only
+ * accepted from loopback connections.
+ */
+public final class NetServer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(NetServer.class);
+
+    /**
+     * Largest state payload on the unreliable lane: fits a typical path MTU without IP
+     * fragmentation, where losing any one fragment would lose the whole datagram.
+     */
+    public static final int MAX_STATE_BYTES = 1200;
+
+    private static final int MAX_FRAME_BYTES = 0xFFFF;
+    private static final int LENGTH_FIELD_BYTES = 2;
+
+    private final SessionRegistry sessions;
+    private final InputQueue inputs;
+    private final ClientBaselines baselines;
+    private final EventLoopGroup bossGroup;
+    private final EventLoopGroup workerGroup;
+    private Channel tcpChannel;
+    private Channel udpChannel;
+    private volatile TickControl adminControl;
+
+    private final AtomicLong inputsReceived = new AtomicLong();
+    private final AtomicLong staleDropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong(); // Malformed, unknown sender or bad bind
+
+    /**
+     * @param ioThreads worker event loop threads (TCP connections and the UDP socket)
+     */
+    public NetServer(SessionRegistry sessions, InputQueue inputs, ClientBaselines baselines, int ioThreads) {
+        this.sessions = sessions;
+        this.inputs = inputs;
+        this.baselines = baselines;
+        this.bossGroup = NettyTransport.newEventLoopGroup(1);
+        this.workerGroup = NettyTransport.newEventLoopGroup(ioThreads);
+    }
+
+    /**
+     * Bind both lanes (port 0 picks an ephemeral port; see {@link #getTcpPort()} / {@link #getUdpPort()}).
+     */
+    public void bind(String host, int tcpPort, int udpPort) throws InterruptedException {
+        ServerBootstrap tcp = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(NettyTransport.serverChannelType())
+                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(
+                                new LengthFieldBasedFrameDecoder(MAX_FRAME_BYTES, 0, LENGTH_FIELD_BYTES,
+                                                                 0, LENGTH_FIELD_BYTES),
+                                new LengthFieldPrepender(LENGTH_FIELD_BYTES),
+                                new ReliableHandler());
+                    }
+                });
+        tcpChannel = tcp.bind(host, tcpPort).sync().channel();
+
+        Bootstrap udp = new Bootstrap()
+                .group(workerGroup)
+                .channel(NettyTransport.datagramChannelType())
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .handler(new UnreliableHandler());
+        udpChannel = udp.bind(host, udpPort).sync().channel();
+
+        log.info("Listening on tcp/{} udp/{} ({})", getTcpPort(), getUdpPort(),
+                 NettyTransport.isEpoll() ? "epoll" : "nio");
+    }
+
+    /**
+     * Accept ADMIN messages from loopback clients and queue them on {@code control};
+     * null (the default) rejects every ADMIN message.
+     */
+    public void setAdminControl(TickControl control) {
+        this.adminControl = control;
+    }
+
+    public int getTcpPort() {
+        return ((InetSocketAddress) tcpChannel.localAddress()).getPort();
+    }
+
+    public int getUdpPort() {
+        return ((InetSocketAddress) udpChannel.localAddress()).getPort();
+    }
+
+    /**
+     * Queue an encoded message to a client's UDP address (not flushed; see {@link #flush()}).
+     * The message is copied from its position to its limit; its position is left unchanged.
+     * Does nothing if the client has not bound UDP yet or the message is empty.
+     */
+    public void sendUnreliable(Session session, ByteBuffer message) {
+        InetSocketAddress address = session.getUdpAddress();
+        int length = message.remaining();
+        if (address == null || length == 0) {
+            return;
+        }
+        ByteBuf buf = udpChannel.alloc().directBuffer(length);
+        int position = message.position();
+        buf.writeBytes(message);
+        message.position(position);
+        udpChannel.write(new DatagramPacket(buf, address), udpChannel.voidPromise());
+    }
+
+    /**
+     * Queue an INPUT_ACK telling the client the newest input applied to its player (not flushed).
+     * Its sequence is the server tick, like the STATE it precedes.
+     */
+    public void sendInputAck(Session session, long serverTick, long inputTick) {
+        InetSocketAddress address = session.getUdpAddress();
+        if (address == null) {
+            return;
+        }
+        ByteBuf buf = udpChannel.alloc().directBuffer(ProtocolCodec.INPUT_ACK_BYTES);
+        ProtocolCodec.encodeInputAck(buf.internalNioBuffer(0, ProtocolCodec.INPUT_ACK_BYTES), serverTick, inputTick);
+        buf.writerIndex(ProtocolCodec.INPUT_ACK_BYTES);
+        udpChannel.write(new DatagramPacket(buf, address), udpChannel.voidPromise());
+    }
+
+    /**
+     * A fan-out stage for state shared by every client, sent on the unreliable lane.
+     * Requires {@link #bind}; messages are limited to {@link #MAX_STATE_BYTES}.
+     */
+    public BroadcastStage newBroadcastStage() {
+        return new BroadcastStage(udpChannel.alloc(), udpChannel, MAX_STATE_BYTES, sessions.capacity());
+    }
+
+    /**
+     * Flush queued unreliable writes.
+     */
+    public void flush() {
+        udpChannel.flush();
+    }
+
+    /**
+     * Send WELCOME on the reliable lane (tick thread, once the player entity exists).
+     */
+    public void sendWelcome(Session session) {
+        Channel channel = session.getTcpChannel();
+        ByteBuf buf = channel.alloc().directBuffer(ProtocolCodec.WELCOME_BYTES);
+        // Encode straight into the pooled buffer's memory
+        ByteBuffer nio = buf.internalNioBuffer(0, ProtocolCodec.WELCOME_BYTES);
+        ProtocolCodec.encodeWelcome(nio, session.getSequencer().nextOutgoing(LanePacket.LANE_RELIABLE),
+                                    session.getClientId(), session.getEntityId(), session.getToken());
+        buf.writerIndex(ProtocolCodec.WELCOME_BYTES);
+        channel.writeAndFlush(buf, channel.voidPromise());
+    }
+
+    public long getInputsReceived() {
+        return inputsReceived.get();
+    }
+
+    public long getStaleDropped() {
+        return staleDropped.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public void close() {
+        if (tcpChannel != null) {
+            tcpChannel.close().syncUninterruptibly();
+        }
+        if (udpChannel != null) {
+            udpChannel.close().syncUninterruptibly();
+        }
+        bossGroup.shutdownGracefully().syncUninterruptibly();
+        workerGroup.shutdownGracefully().syncUninterruptibly();
+    }
+
+    /**
+     * One per TCP connection: opens the session on HELLO, closes it on disconnect.
+     */
+    private final class ReliableHandler extends SimpleChannelInboundHandler<ByteBuf> {
+        private final AdminCommand admin = new AdminCommand(); // Event loop thread only
+        private Session session;
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+            ByteBuffer nio = frame.internalNioBuffer(frame.readerIndex(), frame.readableBytes());
+            if (nio.remaining() < ProtocolCodec.HEADER_BYTES) {
+                rejected.incrementAndGet();
+                ctx.close();
+                return;
+            }
+            byte type = ProtocolCodec.peekType(nio);
+            if (session == null) {
+                if (type != ProtocolCodec.TYPE_HELLO) {
+                    rejected.incrementAndGet();
+                    ctx.close();
+                    return;
+                }
+                session = sessions.open(ctx.channel());
+                if (session == null) {
+                    log.warn("Server full, refusing {}", ctx.channel().remoteAddress());
+                    ctx.close();
+                    return;
+                }
+                session.getSequencer().acceptIncoming(LanePacket.LANE_RELIABLE, ProtocolCodec.peekSequence(nio));
+                log.info("Client {} connected from {}", session.getClientId(), ctx.channel().remoteAddress());
+                return;
+            }
+            if (!session.getSequencer().acceptIncoming(LanePacket.LANE_RELIABLE, ProtocolCodec.peekSequence(nio))) {
+                staleDropped.incrementAndGet();
+                return;
+            }
+            if (type == ProtocolCodec.TYPE_ADMIN && nio.remaining() >= ProtocolCodec.ADMIN_BYTES) {
+                handleAdmin(ctx, nio);
+                return;
+            }
+            log.debug("Client {}: unsupported reliable message type {}", session.getClientId(), type);
+        }
+
+        private void handleAdmin(ChannelHandlerContext ctx, ByteBuffer nio) {
+            TickControl control = adminControl;
+            InetSocketAddress remote = (InetSocketAddress) ctx.channel().remoteAddress();
+            if (control == null || !remote.getAddress().isLoopbackAddress()) {
+                rejected.incrementAndGet();
+                log.warn("Client {}: admin command refused from {}", session.getClientId(), remote);
+                return;
+            }
+            ProtocolCodec.decodeAdmin(nio, admin);
+            if (!control.offer(admin.getType(), admin.getValue())) {
+                log.warn("Client {}: admin queue full, dropped {}", session.getClientId(), admin);
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            if (session != null) {
+                log.info("Client {} disconnected", session.getClientId());
+                sessions.close(session);
+                session = null;
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.warn("Closing {}: {}", ctx.channel().remoteAddress(), cause.toString());
+            ctx.close();
+        }
+    }
+
+    /**
+     * The single UDP socket: BIND, INPUT and ACK from every client.
+     */
+    private final class UnreliableHandler extends SimpleChannelInboundHandler<DatagramPacket> {
+        private final InputPayload input = new InputPayload(); // Event loop thread only
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket packet) {
+            ByteBuf content = packet.content();
+            if (content.readableBytes() < ProtocolCodec.HEADER_BYTES) {
+                rejected.incrementAndGet();
+                return;
+            }
+            ByteBuffer nio = content.internalNioBuffer(content.readerIndex(), content.readableBytes());
+            try {
+                handle(nio, packet.sender());
+            } catch (IllegalArgumentException | BufferUnderflowException e) {
+                rejected.incrementAndGet();
+            }
+        }
+
+        private void handle(ByteBuffer nio, InetSocketAddress sender) {
+            byte type = ProtocolCodec.peekType(nio);
+            if (type == ProtocolCodec.TYPE_BIND) {
+                ProtocolCodec.readHeader(nio, ProtocolCodec.TYPE_BIND);
+                int clientId = nio.getInt();
+                long token = nio.getLong();
+                if (!sessions.bind(clientId, token, sender)) {
+                    rejected.incrementAndGet();
+                }
+                return;
+            }
+
+            Session session = sessions.lookup(sender);
+            if (session == null || !isWellFormed(type, nio.remaining())) {
+                rejected.incrementAndGet();
+                return;
+            }
+            // Only a well-formed message may move the sequence: a bogus one would silence the session
+            if (!session.getSequencer().acceptIncoming(LanePacket.LANE_UNRELIABLE, ProtocolCodec.peekSequence(nio))) {
+                staleDropped.incrementAndGet();
+                return;
+            }
+            if (type == ProtocolCodec.TYPE_INPUT) {
+                ProtocolCodec.decodeInput(nio, input);
+                int entityId = session.getEntityId();
+                if (entityId != Session.NO_ENTITY) {
+                    inputs.offer(entityId, input.getTick(), input.getInputMask(), input.getAngle());
+                    inputsReceived.incrementAndGet();
+                }
+            } else {
+                ProtocolCodec.readHeader(nio, ProtocolCodec.TYPE_ACK);
+                baselines.acknowledge(session.getClientId(), nio.getLong());
+            }
+        }
+
+        private static boolean isWellFormed(byte type, int length) {
+            return type == ProtocolCodec.TYPE_INPUT ? length >= ProtocolCodec.INPUT_BYTES
+                    : type == ProtocolCodec.TYPE_ACK && length >= ProtocolCodec.ACK_BYTES;
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.warn("UDP error: {}", cause.toString());
+        }
+    }
+}
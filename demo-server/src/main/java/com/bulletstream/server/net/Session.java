@@ -0,0 +1,85 @@
+package com.bulletstream.server.net;
+
+import com.bulletstream.core.net.protocol.LaneSequencer;
+import io.netty.channel.Channel;
+
+import java.net.InetSocketAddress;
+
+/**
+ * One connected client: its TCP channel, its bound UDP address and its player entity.
+ * Fields set by one thread and read by others are volatile.
+ */
+public final class Session {
+    public static final int NO_ENTITY = -1;
+
+    private final int clientId;
+    private final long token;
+    private final Channel tcpChannel;
+    private final LaneSequencer sequencer = new LaneSequencer();
+    private volatile InetSocketAddress udpAddress;
+    private volatile int entityId = NO_ENTITY;
+    private long echoedInputTick = -1L; // One state-sending thread at a time (publisher or an encode stripe)
+
+    Session(int clientId, long token, Channel tcpChannel) {
+        this.clientId = clientId;
+        this.token = token;
+        this.tcpChannel = tcpChannel;
+    }
+
+    public int getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Secret sent in WELCOME over TCP; the client proves its UDP address by echoing it in BIND.
+     */
+    public long getToken() {
+        return token;
+    }
+
+    public Channel getTcpChannel() {
+        return tcpChannel;
+    }
+
+    /**
+     * Incoming sequences: reliable lane on the TCP event loop, unreliable lane on the UDP event loop.
+     * Outgoing sequences: reliable lane only, on the tick thread (WELCOME). Unreliable messages
+     * (STATE, STATE_DELTA, INPUT_ACK) use the server tick as their sequence instead.
+     */
+    public LaneSequencer getSequencer() {
+        return sequencer;
+    }
+
+    /**
+     * @return the client's UDP address, or null until it has sent a valid BIND
+     */
+    public InetSocketAddress getUdpAddress() {
+        return udpAddress;
+    }
+
+    void setUdpAddress(InetSocketAddress address) {
+        this.udpAddress = address;
+    }
+
+    /**
+     * @return the player entity (set by the tick thread on join), or {@link #NO_ENTITY}
+     */
+    public int getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(int entityId) {
+        this.entityId = entityId;
+    }
+
+    /**
+     * @return the last input tick sent back in INPUT_ACK (state-sending thread only), -1 if none
+     */
+    public long getEchoedInputTick() {
+        return echoedInputTick;
+    }
+
+    public void setEchoedInputTick(long inputTick) {
+        this.echoedInputTick = inputTick;
+    }
+}
@@ -0,0 +1,124 @@
+package com.bulletstream.server.net;
+
+import io.netty.channel.Channel;
+import org.jctools.queues.MpscArrayQueue;
+
+import java.net.InetSocketAddress;
+import java.security.SecureRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Client slots shared by the network threads and the tick thread.
+ * I/O threads open, bind and close sessions; joins and leaves are handed to the tick
+ * thread through MPSC queues so only the tick thread touches the world. A slot is only
+ * reused after the tick thread has processed its leave.
+ */
+public final class SessionRegistry {
+
+    /**
+     * Session lifecycle callbacks, run on the tick thread.
+     */
+    public interface Listener {
+        void onJoin(Session session);
+
+        void onLeave(Session session);
+    }
+
+    private final AtomicReferenceArray<Session> slots;
+    private final MpscArrayQueue<Session> joins;
+    private final MpscArrayQueue<Session> leaves;
+    private final ConcurrentHashMap<InetSocketAddress, Session> byAddress;
+    private final SecureRandom tokens = new SecureRandom();
+
+    public SessionRegistry(int maxClients) {
+        this.slots = new AtomicReferenceArray<>(maxClients);
+        // At most maxClients sessions exist at once, so these offers never fail
+        this.joins = new MpscArrayQueue<>(maxClients);
+        this.leaves = new MpscArrayQueue<>(maxClients);
+        this.byAddress = new ConcurrentHashMap<>(maxClients);
+    }
+
+    /**
+     * Claim a free slot for a new TCP connection (I/O thread).
+     * @return the session, or null if the server is full
+     */
+    public Session open(Channel tcpChannel) {
+        for (int clientId = 0; clientId < slots.length(); clientId++) {
+            if (slots.get(clientId) == null) {
+                Session session = new Session(clientId, tokens.nextLong(), tcpChannel);
+                if (slots.compareAndSet(clientId, null, session)) {
+                    joins.offer(session);
+                    return session;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tie a UDP address to a session if the token matches (I/O thread).
+     * @return false if the client id or token is wrong
+     */
+    public boolean bind(int clientId, long token, InetSocketAddress address) {
+        if (clientId < 0 || clientId >= slots.length()) {
+            return false;
+        }
+        Session session = slots.get(clientId);
+        if (session == null || session.getToken() != token) {
+            return false;
+        }
+        InetSocketAddress previous = session.getUdpAddress();
+        if (!address.equals(previous)) {
+            if (previous != null) {
+                byAddress.remove(previous, session);
+            }
+            session.setUdpAddress(address);
+            byAddress.put(address, session);
+        }
+        return true;
+    }
+
+    /**
+     * Start closing a session (I/O thread, on TCP disconnect). The slot frees on the next tick.
+     */
+    public void close(Session session) {
+        InetSocketAddress address = session.getUdpAddress();
+        if (address != null) {
+            byAddress.remove(address, session);
+        }
+        leaves.offer(session);
+    }
+
+    /**
+     * @return the session bound to a UDP address, or null
+     */
+    public Session lookup(InetSocketAddress address) {
+        return byAddress.get(address);
+    }
+
+    /**
+     * @return the session in a slot, or null
+     */
+    public Session get(int clientId) {
+        return slots.get(clientId);
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Deliver pending joins, then leaves, to the listener (tick thread).
+     */
+    public void processEvents(Listener listener) {
+        Session session;
+        while ((session = joins.poll()) != null) {
+            listener.onJoin(session);
+        }
+        while ((session = leaves.poll()) != null) {
+            listener.onLeave(session);
+            slots.compareAndSet(session.getClientId(), session, null);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bulletstream.server;
+
+import com.bulletstream.core.GameWorld;
+import com.bulletstream.core.checkpoint.CheckpointWriter;
+import com.bulletstream.core.replay.ReplayRecorder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Startup with a checkpoint file and a replay log, as {@link GameServer#main} does it.
+ */
+@Timeout(value = 5, unit = TimeUnit.SECONDS)
+class GameServerStartupTest {
+
+    private static final int MAX_ENTITIES = 1000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testExistingCheckpointResumesWithoutRecording() throws IOException {
+        GameWorld crashed = new GameWorld(MAX_ENTITIES);
+        crashed.spawnEntity(10.0f, 20.0f, 0.0f, 0.0f, GameWorld.FLAG_PLAYER);
+        crashed.spawnEntity(30.0f, 40.0f, 5.0f, 0.0f, GameWorld.FLAG_BULLET);
+        Path checkpoint = dir.resolve("world.ckpt");
+        CheckpointWriter.write(crashed, 41L, checkpoint);
+        Path replay = dir.resolve("match.replay");
+
+        GameServer server = new GameServer(MAX_ENTITIES, 60);
+        assertNull(GameServer.restoreOrRecord(server, checkpoint, replay));
+        assertEquals(42L, server.getCurrentTick());
+        assertFalse(Files.exists(replay));
+    }
+
+    @Test
+    void testFreshStartRecords() throws IOException {
+        Path replay = dir.resolve("match.replay");
+        GameServer server = new GameServer(MAX_ENTITIES, 60);
+        ReplayRecorder recorder = GameServer.restoreOrRecord(server, dir.resolve("missing.ckpt"), replay);
+        assertNotNull(recorder);
+        recorder.close();
+        assertEquals(0L, server.getCurrentTick());
+        assertTrue(Files.exists(replay));
+    }
+}